@@ -0,0 +1,191 @@
+package com.example.podcastbackend.cache;
+
+import com.example.podcastbackend.response.EpisodeSearchResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static net.logstash.logback.argument.StructuredArguments.kv;
+
+/**
+ * Speculative next-page cache for episode search.
+ *
+ * Users who page mostly go one page at a time, and page N+1 would otherwise
+ * pay the full search latency again. After page N is served its next page
+ * is computed on the low-priority {@code searchPrefetchExecutor} and kept
+ * for {@code ttl-seconds}; how it is computed is the caller's
+ * {@link Pages} — another ES query for BM25 and exact, a slice of the
+ * already fused ranking (hits in RRF order, stored vectors dropped, not the
+ * ES windows) for hybrid and hybrid_lite. Serving a prefetched page
+ * schedules the one after it.
+ *
+ * Prefetching yields to live traffic: it is skipped while more than
+ * {@code max-load} of the {@code searchApi} rate limiter's current period is
+ * used, while the {@code elasticsearch} circuit breaker is not closed, and
+ * when the executor's queue is full ({@code search.prefetch.skipped}).
+ * {@code search.prefetch.lookups} counts page > 1 lookups by result and
+ * {@code search.prefetch.unused} prefetched pages that expired or were
+ * evicted without being served.
+ */
+@Component
+public class EpisodePagePrefetcher {
+
+    private static final Logger log = LoggerFactory.getLogger(EpisodePagePrefetcher.class);
+
+    /** Page {@code page} of one ranking: same query, index, mode and page size. */
+    @FunctionalInterface
+    public interface Pages {
+        EpisodeSearchResponse page(int page);
+    }
+
+    /** A prefetched page and how to compute the pages after it. */
+    public record Prefetched(EpisodeSearchResponse response, Pages pages) {
+    }
+
+    private record Entry(EpisodeSearchResponse response, Pages pages, AtomicBoolean served) {
+    }
+
+    private final boolean enabled;
+    private final double maxLoad;
+    private final Executor executor;
+    private final RateLimiter searchRateLimiter;
+    private final CircuitBreaker esCircuitBreaker;
+    private final Cache<String, Entry> cache;
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+    private final MeterRegistry meterRegistry;
+    private final Counter scheduled;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter unused;
+
+    public EpisodePagePrefetcher(
+            MeterRegistry meterRegistry,
+            RateLimiterRegistry rateLimiterRegistry,
+            CircuitBreakerRegistry circuitBreakerRegistry,
+            @Qualifier("searchPrefetchExecutor") Executor executor,
+            @Value("${search.prefetch.enabled:false}") boolean enabled,
+            @Value("${search.prefetch.ttl-seconds:120}") long ttlSeconds,
+            @Value("${search.prefetch.max-entries:2000}") long maxEntries,
+            @Value("${search.prefetch.max-load:0.5}") double maxLoad) {
+        this.enabled = enabled;
+        this.maxLoad = maxLoad;
+        this.executor = executor;
+        this.searchRateLimiter = rateLimiterRegistry.rateLimiter("searchApi");
+        this.esCircuitBreaker = circuitBreakerRegistry.circuitBreaker("elasticsearch");
+        this.meterRegistry = meterRegistry;
+        this.scheduled = meterRegistry.counter("search.prefetch.scheduled");
+        this.hits = meterRegistry.counter("search.prefetch.lookups", "result", "hit");
+        this.misses = meterRegistry.counter("search.prefetch.lookups", "result", "miss");
+        this.unused = meterRegistry.counter("search.prefetch.unused");
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(ttlSeconds, TimeUnit.SECONDS)
+                .maximumSize(maxEntries)
+                .removalListener((String key, Entry entry, RemovalCause cause) -> {
+                    if (cause.wasEvicted() && entry != null && !entry.served().get()) {
+                        unused.increment();
+                    }
+                })
+                .build();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /** Page {@code page} of the ranking {@code key} if it was prefetched, else null. */
+    public Prefetched get(String key, int page) {
+        if (!enabled) {
+            return null;
+        }
+        Entry entry = cache.getIfPresent(key + "#" + page);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        entry.served().set(true);
+        return new Prefetched(entry.response(), entry.pages());
+    }
+
+    /**
+     * Computes page {@code page} of the ranking {@code key} in the
+     * background, unless it is past the last page of {@code total} results,
+     * already cached or in flight, or the system is busy. Only {@code ok}
+     * responses are kept.
+     */
+    public void prefetch(String key, int page, int size, int total, Pages pages) {
+        if (!enabled || (long) (page - 1) * size >= total) {
+            return;
+        }
+        String pageKey = key + "#" + page;
+        if (cache.getIfPresent(pageKey) != null) {
+            return;
+        }
+        String busy = busyReason();
+        if (busy != null) {
+            skipped(busy);
+            return;
+        }
+        if (!inFlight.add(pageKey)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    EpisodeSearchResponse response = pages.page(page);
+                    if ("ok".equals(response.status())) {
+                        cache.put(pageKey, new Entry(response, pages, new AtomicBoolean()));
+                    }
+                } catch (RuntimeException e) {
+                    skipped("failed");
+                    log.debug("search_prefetch_failed", kv("page", page), kv("error", e.getMessage()));
+                } finally {
+                    inFlight.remove(pageKey);
+                }
+            });
+            scheduled.increment();
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(pageKey);
+            skipped("queue_full");
+        }
+    }
+
+    private String busyReason() {
+        if (esCircuitBreaker.getState() != CircuitBreaker.State.CLOSED) {
+            return "es_unhealthy";
+        }
+        int limit = searchRateLimiter.getRateLimiterConfig().getLimitForPeriod();
+        int available = Math.max(0, searchRateLimiter.getMetrics().getAvailablePermissions());
+        if (limit > 0 && 1.0 - (double) available / limit > maxLoad) {
+            return "load";
+        }
+        return null;
+    }
+
+    private void skipped(String reason) {
+        meterRegistry.counter("search.prefetch.skipped", "reason", reason).increment();
+    }
+
+    long size() {
+        cache.cleanUp();
+        return cache.estimatedSize();
+    }
+}
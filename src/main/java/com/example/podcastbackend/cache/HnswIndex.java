@@ -0,0 +1,300 @@
+package com.example.podcastbackend.cache;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.function.IntPredicate;
+
+/**
+ * Hierarchical Navigable Small World graph over unit vectors, ranked by dot
+ * product (i.e. cosine similarity).
+ *
+ * Nodes are the row numbers of the vectors passed to {@link #build}. Each
+ * node is assigned a random top layer; the upper layers are sparse express
+ * lanes and layer 0 links every node to up to {@code 2 * m} neighbours.
+ * A new node picks its neighbours with the diversity heuristic from the
+ * HNSW paper (Malkov &amp; Yashunin), which keeps clusters connected to each
+ * other; a neighbour whose list is full drops its farthest link instead of
+ * re-running the heuristic, which keeps builds fast.
+ *
+ * The graph is built once and never modified, so searches need no locking.
+ */
+final class HnswIndex {
+
+    /**
+     * A node and its cosine similarity to the query.
+     */
+    record Result(int node, float similarity) {
+    }
+
+    private static final Comparator<Result> NEAREST_FIRST =
+            Comparator.comparingDouble(Result::similarity).reversed();
+    private static final Comparator<Result> FARTHEST_FIRST =
+            Comparator.comparingDouble(Result::similarity);
+
+    private final float[][] vectors;
+    private final int m;
+    private final int maxLayer0;
+    private final int[][][] links;
+    private final int[][] linkCounts;
+    private int entryPoint = -1;
+    private int topLayer = -1;
+
+    private HnswIndex(float[][] vectors, int m) {
+        this.vectors = vectors;
+        this.m = m;
+        this.maxLayer0 = 2 * m;
+        this.links = new int[vectors.length][][];
+        this.linkCounts = new int[vectors.length][];
+    }
+
+    /**
+     * Builds the graph. Vectors are normalized in place; all must have the
+     * same dimension.
+     */
+    static HnswIndex build(float[][] vectors, int m, int efConstruction, long seed) {
+        HnswIndex index = new HnswIndex(vectors, Math.max(2, m));
+        Random random = new Random(seed);
+        double levelMultiplier = 1 / Math.log(index.m);
+        for (int node = 0; node < vectors.length; node++) {
+            normalize(vectors[node]);
+            int layer = (int) (-Math.log(1 - random.nextDouble()) * levelMultiplier);
+            index.insert(node, layer, Math.max(efConstruction, index.m));
+        }
+        return index;
+    }
+
+    int size() {
+        return vectors.length;
+    }
+
+    int dimension() {
+        return vectors.length > 0 ? vectors[0].length : 0;
+    }
+
+    /**
+     * Approximate {@code k} nearest nodes accepted by {@code filter}, nearest
+     * first. Rejected nodes are still traversed, so a selective filter costs
+     * more hops but does not disconnect the graph.
+     */
+    List<Result> search(float[] query, int k, int ef, IntPredicate filter) {
+        if (entryPoint < 0 || k <= 0) {
+            return List.of();
+        }
+        float[] q = normalized(query);
+        int ep = entryPoint;
+        for (int layer = topLayer; layer > 0; layer--) {
+            ep = greedy(q, ep, layer);
+        }
+        List<Result> found = searchLayer(q, ep, Math.max(ef, k), 0, filter);
+        return found.size() > k ? found.subList(0, k) : found;
+    }
+
+    /**
+     * Exact {@code k} nearest nodes accepted by {@code filter}, by scanning
+     * every vector.
+     */
+    List<Result> exact(float[] query, int k, IntPredicate filter) {
+        float[] q = normalized(query);
+        PriorityQueue<Result> best = new PriorityQueue<>(FARTHEST_FIRST);
+        for (int node = 0; node < vectors.length; node++) {
+            if (filter != null && !filter.test(node)) {
+                continue;
+            }
+            best.add(new Result(node, dot(q, vectors[node])));
+            if (best.size() > k) {
+                best.poll();
+            }
+        }
+        List<Result> results = new ArrayList<>(best);
+        results.sort(NEAREST_FIRST);
+        return results;
+    }
+
+    private void insert(int node, int layer, int efConstruction) {
+        links[node] = new int[layer + 1][];
+        linkCounts[node] = new int[layer + 1];
+        for (int l = 0; l <= layer; l++) {
+            links[node][l] = new int[capacity(l)];
+        }
+        if (entryPoint < 0) {
+            entryPoint = node;
+            topLayer = layer;
+            return;
+        }
+
+        float[] q = vectors[node];
+        int ep = entryPoint;
+        for (int l = topLayer; l > layer; l--) {
+            ep = greedy(q, ep, l);
+        }
+        for (int l = Math.min(layer, topLayer); l >= 0; l--) {
+            List<Result> candidates = searchLayer(q, ep, efConstruction, l, null);
+            List<Result> selected = selectNeighbors(candidates, m);
+            for (Result neighbor : selected) {
+                addLink(node, neighbor.node(), l);
+                addLink(neighbor.node(), node, l);
+            }
+            ep = candidates.get(0).node();
+        }
+        if (layer > topLayer) {
+            entryPoint = node;
+            topLayer = layer;
+        }
+    }
+
+    private int capacity(int layer) {
+        return layer == 0 ? maxLayer0 : m;
+    }
+
+    private void addLink(int from, int to, int layer) {
+        int[] list = links[from][layer];
+        int count = linkCounts[from][layer];
+        if (count < list.length) {
+            list[count] = to;
+            linkCounts[from][layer] = count + 1;
+            return;
+        }
+        // Full: the new link replaces the farthest one, if it is nearer
+        float[] base = vectors[from];
+        int farthest = -1;
+        float farthestSimilarity = dot(base, vectors[to]);
+        for (int i = 0; i < count; i++) {
+            float similarity = dot(base, vectors[list[i]]);
+            if (similarity < farthestSimilarity) {
+                farthestSimilarity = similarity;
+                farthest = i;
+            }
+        }
+        if (farthest >= 0) {
+            list[farthest] = to;
+        }
+    }
+
+    /**
+     * Diversity heuristic: a candidate is kept only if it is closer to the
+     * base than to every neighbour already kept. Slots left over are filled
+     * with the nearest pruned candidates. {@code candidates} must be sorted
+     * nearest first.
+     */
+    private List<Result> selectNeighbors(List<Result> candidates, int max) {
+        List<Result> selected = new ArrayList<>(max);
+        List<Result> pruned = new ArrayList<>();
+        for (Result candidate : candidates) {
+            if (selected.size() >= max) {
+                break;
+            }
+            float[] v = vectors[candidate.node()];
+            boolean diverse = true;
+            for (Result kept : selected) {
+                if (dot(v, vectors[kept.node()]) > candidate.similarity()) {
+                    diverse = false;
+                    break;
+                }
+            }
+            if (diverse) {
+                selected.add(candidate);
+            } else {
+                pruned.add(candidate);
+            }
+        }
+        for (int i = 0; i < pruned.size() && selected.size() < max; i++) {
+            selected.add(pruned.get(i));
+        }
+        return selected;
+    }
+
+    private int greedy(float[] q, int ep, int layer) {
+        int current = ep;
+        float best = dot(q, vectors[current]);
+        boolean improved = true;
+        while (improved) {
+            improved = false;
+            int[] neighbors = links[current][layer];
+            int count = linkCounts[current][layer];
+            for (int i = 0; i < count; i++) {
+                float similarity = dot(q, vectors[neighbors[i]]);
+                if (similarity > best) {
+                    best = similarity;
+                    current = neighbors[i];
+                    improved = true;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Best-first search of one layer. Returns up to {@code ef} nodes accepted
+     * by {@code filter} (all nodes when null), nearest first.
+     */
+    private List<Result> searchLayer(float[] q, int ep, int ef, int layer, IntPredicate filter) {
+        boolean[] visited = new boolean[vectors.length];
+        PriorityQueue<Result> candidates = new PriorityQueue<>(NEAREST_FIRST);
+        PriorityQueue<Result> results = new PriorityQueue<>(FARTHEST_FIRST);
+
+        Result start = new Result(ep, dot(q, vectors[ep]));
+        visited[ep] = true;
+        candidates.add(start);
+        if (filter == null || filter.test(ep)) {
+            results.add(start);
+        }
+
+        while (!candidates.isEmpty()) {
+            Result current = candidates.poll();
+            if (results.size() >= ef && current.similarity() < results.peek().similarity()) {
+                break;
+            }
+            int[] neighbors = links[current.node()][layer];
+            int count = linkCounts[current.node()][layer];
+            for (int i = 0; i < count; i++) {
+                int neighbor = neighbors[i];
+                if (visited[neighbor]) {
+                    continue;
+                }
+                visited[neighbor] = true;
+                float similarity = dot(q, vectors[neighbor]);
+                if (results.size() < ef || similarity > results.peek().similarity()) {
+                    Result result = new Result(neighbor, similarity);
+                    candidates.add(result);
+                    if (filter == null || filter.test(neighbor)) {
+                        results.add(result);
+                        if (results.size() > ef) {
+                            results.poll();
+                        }
+                    }
+                }
+            }
+        }
+
+        List<Result> sorted = new ArrayList<>(results);
+        sorted.sort(NEAREST_FIRST);
+        return sorted;
+    }
+
+    static float dot(float[] a, float[] b) {
+        float sum = 0f;
+        for (int i = 0; i < a.length; i++) {
+            sum += a[i] * b[i];
+        }
+        return sum;
+    }
+
+    static void normalize(float[] v) {
+        float norm = (float) Math.sqrt(dot(v, v));
+        if (norm > 0f) {
+            for (int i = 0; i < v.length; i++) {
+                v[i] /= norm;
+            }
+        }
+    }
+
+    private static float[] normalized(float[] v) {
+        float[] copy = Arrays.copyOf(v, v.length);
+        normalize(copy);
+        return copy;
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.podcastbackend.cache;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.Time;
+import co.elastic.clients.elasticsearch._types.query_dsl.Query;
+import co.elastic.clients.elasticsearch.core.ClearScrollRequest;
+import co.elastic.clients.elasticsearch.core.ScrollRequest;
+import co.elastic.clients.elasticsearch.core.SearchRequest;
+import co.elastic.clients.elasticsearch.core.search.Hit;
+import co.elastic.clients.elasticsearch.core.search.ResponseBody;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static net.logstash.logback.argument.StructuredArguments.kv;
+
+/**
+ * Reads every document matching a query with the scroll API, one page at a
+ * time, and always clears the scroll context afterwards.
+ */
+final class IndexScroller {
+
+    private static final Logger log = LoggerFactory.getLogger(IndexScroller.class);
+
+    private static final Time KEEP_ALIVE = Time.of(t -> t.time("1m"));
+
+    private final ElasticsearchClient esClient;
+    private final int pageSize;
+
+    IndexScroller(ElasticsearchClient esClient, int pageSize) {
+        this.esClient = esClient;
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * Passes the hits with a {@code _source} to {@code consumer} and returns
+     * how many there were.
+     */
+    int scroll(String index, Query query, List<String> fields, Consumer<Hit<JsonNode>> consumer) throws Exception {
+        ResponseBody<JsonNode> page = esClient.search(SearchRequest.of(s -> s
+                .index(index)
+                .query(query)
+                .size(pageSize)
+                .sort(so -> so.field(f -> f.field("_doc")))
+                .source(src -> src.filter(f -> f.includes(fields)))
+                .scroll(KEEP_ALIVE)), JsonNode.class);
+        List<String> scrollIds = new ArrayList<>();
+        int scanned = 0;
+        try {
+            while (true) {
+                String scrollId = page.scrollId();
+                if (scrollId != null && !scrollIds.contains(scrollId)) {
+                    scrollIds.add(scrollId);
+                }
+                List<Hit<JsonNode>> hits = page.hits().hits();
+                for (Hit<JsonNode> hit : hits) {
+                    if (hit.source() != null) {
+                        consumer.accept(hit);
+                        scanned++;
+                    }
+                }
+                if (hits.size() < pageSize || scrollId == null) {
+                    return scanned;
+                }
+                page = esClient.scroll(ScrollRequest.of(s -> s.scrollId(scrollId).scroll(KEEP_ALIVE)), JsonNode.class);
+            }
+        } finally {
+            if (!scrollIds.isEmpty()) {
+                try {
+                    esClient.clearScroll(ClearScrollRequest.of(c -> c.scrollId(scrollIds)));
+                } catch (Exception e) {
+                    log.debug("clear_scroll_failed", kv("index", index), kv("error", e.getMessage()));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.example.podcastbackend.cache;
+
+import com.example.podcastbackend.request.EpisodeSearchRequest;
+import com.example.podcastbackend.response.EpisodeSearchResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Pre-serialized episode search bodies for the most frequent queries,
+ * written by {@link com.example.podcastbackend.service.TopQueryMaterializer}.
+ *
+ * A body is stored as the JSON before and after its {@code searchRequestId}
+ * value, so serving it is two array copies around a fresh request id — no
+ * ES call and no serialization. Entries are keyed by the mode the caller
+ * sent, {@code auto} included, the same way the query log records it.
+ * Requests with {@code lang=auto}, date order or another page size are
+ * never looked up.
+ *
+ * Each entry is served for at most {@code max-age-seconds} after it was
+ * computed ({@code stale} otherwise), and all entries of an episode alias
+ * are dropped as soon as the alias is seen pointing at another index.
+ */
+@Component
+public class MaterializedEpisodeResults {
+
+    /** One materialized page: the JSON around its request id, and what the query log needs. */
+    public record Entry(byte[] head, byte[] tail, EpisodeSearchResponse response, String alias, String generation,
+                        Instant computedAt) {
+
+        /**
+         * {@code response} serialized by {@code jsonMapper}, which must be the
+         * mapper the MVC JSON converter uses so a served body matches a live one
+         * byte for byte.
+         */
+        public static Entry of(JsonMapper jsonMapper, EpisodeSearchResponse response, String alias,
+                               String generation, Instant computedAt) {
+            // searchRequestId is the last field; everything around its value is fixed
+            String placeholder = UUID.randomUUID().toString();
+            byte[] json = jsonMapper.writeValueAsBytes(new EpisodeSearchResponse(
+                    response.status(), response.data(), response.warning(), response.error(), placeholder));
+            int at = lastIndexOf(json, placeholder.getBytes(StandardCharsets.UTF_8));
+            return new Entry(Arrays.copyOfRange(json, 0, at), Arrays.copyOfRange(json, at + placeholder.length(),
+                    json.length), response, alias, generation, computedAt);
+        }
+
+        /** The response body with {@code searchRequestId} set to {@code requestId}. */
+        public byte[] body(String requestId) {
+            byte[] id = requestId.getBytes(StandardCharsets.UTF_8);
+            byte[] body = new byte[head.length + id.length + tail.length];
+            System.arraycopy(head, 0, body, 0, head.length);
+            System.arraycopy(id, 0, body, head.length, id.length);
+            System.arraycopy(tail, 0, body, head.length + id.length, tail.length);
+            return body;
+        }
+    }
+
+    private final boolean enabled;
+    private final int pageSize;
+    private final int pages;
+    private final Duration maxAge;
+    private final Clock clock;
+    private volatile Map<String, Entry> entries = Map.of();
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter stale;
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public MaterializedEpisodeResults(
+            MeterRegistry meterRegistry,
+            @Value("${search.materialized.enabled:false}") boolean enabled,
+            @Value("${search.materialized.page-size:20}") int pageSize,
+            @Value("${search.materialized.pages:2}") int pages,
+            @Value("${search.materialized.max-age-seconds:1800}") long maxAgeSeconds) {
+        this(meterRegistry, enabled, pageSize, pages, maxAgeSeconds, Clock.systemUTC());
+    }
+
+    MaterializedEpisodeResults(MeterRegistry meterRegistry, boolean enabled, int pageSize, int pages,
+                               long maxAgeSeconds, Clock clock) {
+        this.enabled = enabled;
+        this.pageSize = pageSize;
+        this.pages = pages;
+        this.maxAge = Duration.ofSeconds(maxAgeSeconds);
+        this.clock = clock;
+        this.meterRegistry = meterRegistry;
+        this.hits = meterRegistry.counter("search.materialized.lookups", "result", "hit");
+        this.misses = meterRegistry.counter("search.materialized.lookups", "result", "miss");
+        this.stale = meterRegistry.counter("search.materialized.lookups", "result", "stale");
+        Gauge.builder("search.materialized.entries", this, r -> r.entries.size()).register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int pageSize() {
+        return pageSize;
+    }
+
+    public int pages() {
+        return pages;
+    }
+
+    /** The fresh materialized page for {@code request}, or null. */
+    public Entry get(EpisodeSearchRequest request) {
+        if (!enabled || !eligible(request)) {
+            return null;
+        }
+        Entry entry = entries.get(key(request.getQ(), request.getLang(), request.getSearchMode(), request.getPage()));
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        if (entry.computedAt().plus(maxAge).isBefore(clock.instant())) {
+            stale.increment();
+            return null;
+        }
+        hits.increment();
+        return entry;
+    }
+
+    /** Replaces every entry with the result of a materialization run. */
+    public void replace(Map<String, Entry> materialized) {
+        entries = Map.copyOf(materialized);
+    }
+
+    /**
+     * Drops the entries of {@code alias} computed against another index than
+     * {@code generation}; returns how many were dropped.
+     */
+    public int invalidate(String alias, String generation) {
+        Map<String, Entry> current = entries;
+        Map<String, Entry> kept = new HashMap<>(current);
+        kept.values().removeIf(e -> e.alias().equals(alias) && !Objects.equals(e.generation(), generation));
+        int dropped = current.size() - kept.size();
+        if (dropped > 0) {
+            entries = Map.copyOf(kept);
+            meterRegistry.counter("search.materialized.invalidated", "alias", alias).increment(dropped);
+        }
+        return dropped;
+    }
+
+    /** The generation each alias's entries were computed against. */
+    public Map<String, String> generations() {
+        Map<String, String> generations = new HashMap<>();
+        entries.values().forEach(e -> generations.putIfAbsent(e.alias(), e.generation()));
+        return generations;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public static String key(String q, String lang, EpisodeSearchRequest.SearchMode mode, int page) {
+        return (lang != null ? lang : "") + "|" + mode + "|" + page + "|" + q;
+    }
+
+    private boolean eligible(EpisodeSearchRequest request) {
+        return request.getSize() == pageSize
+                && request.getPage() <= pages
+                && !request.sortByDate()
+                && !"auto".equals(request.getLang());
+    }
+
+    private static int lastIndexOf(byte[] bytes, byte[] target) {
+        outer:
+        for (int i = bytes.length - target.length; i >= 0; i--) {
+            for (int j = 0; j < target.length; j++) {
+                if (bytes[i + j] != target[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        throw new IllegalStateException("searchRequestId not found in serialized response");
+    }
+}
@@ -73,6 +73,35 @@ public class RankingsCache {
         log.info("Cached {} items for key: {}", items.size(), key);
     }
 
+    /**
+     * Restore an entry with its original timestamp (warm start from a
+     * snapshot). Does not replace an entry that is already newer.
+     */
+    public void restore(String country, String type, List<RankingsItem> items, Instant cachedAt) {
+        String key = buildKey(country, type);
+        cache.merge(key, new CacheEntry(items, cachedAt, cacheTtlSeconds),
+                (current, restored) -> current.cachedAt().isAfter(restored.cachedAt()) ? current : restored);
+    }
+
+    /**
+     * Point-in-time copy of all entries, keyed by {@code country:type}
+     */
+    public Map<String, CacheEntry> entries() {
+        return Map.copyOf(cache);
+    }
+
+    /**
+     * Restart the TTL of an existing entry without changing its items — used
+     * when Apple confirms the chart is unchanged. Returns false if there is no
+     * entry to refresh.
+     */
+    public boolean touch(String country, String type) {
+        String key = buildKey(country, type);
+        CacheEntry touched = cache.computeIfPresent(key,
+                (k, entry) -> new CacheEntry(entry.items(), Instant.now(), cacheTtlSeconds));
+        return touched != null;
+    }
+
     /**
      * Get stale cache entry (even if expired) - used as fallback when API fails
      */
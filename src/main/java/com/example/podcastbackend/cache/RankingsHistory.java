@@ -0,0 +1,248 @@
+package com.example.podcastbackend.cache;
+
+import com.example.podcastbackend.response.RankMovement;
+import com.example.podcastbackend.response.RankingsItem;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded rank history per (region, type), used to annotate each refreshed
+ * chart with {@link RankMovement}s.
+ *
+ * Every series interns its show ids into a small dictionary and keeps each
+ * chart as an {@code int[]} of dictionary codes in rank order, so a day of
+ * hourly top-100 charts costs a few KB instead of a copy of every item. A
+ * chart identical to the latest one replaces it rather than being added, so
+ * "previous" always means the previous distinct chart.
+ *
+ * Movements are computed once per refresh and stored on the cached items;
+ * requests never touch the history.
+ */
+@Component
+public class RankingsHistory {
+
+    /**
+     * One chart of a series: {@code codes[i]} is the dictionary code of the
+     * entry ranked {@code i + 1}, or -1 for an entry without an id.
+     */
+    public record Point(Instant at, int[] codes) {
+    }
+
+    /**
+     * Serializable form of a series, persisted in the rankings snapshot.
+     */
+    public record Series(List<String> ids, List<Point> points) {
+    }
+
+    private final int maxSnapshots;
+    private final int deltaWindow;
+    private final Map<String, Timeline> timelines = new ConcurrentHashMap<>();
+
+    public RankingsHistory(
+            @Value("${rankings.history.max-snapshots:24}") int maxSnapshots,
+            @Value("${rankings.history.delta-window:6}") int deltaWindow) {
+        this.maxSnapshots = Math.max(2, maxSnapshots);
+        this.deltaWindow = Math.max(1, Math.min(deltaWindow, this.maxSnapshots - 1));
+    }
+
+    /**
+     * Adds a freshly fetched chart and returns its items annotated with their
+     * movement. Items are returned unchanged while there is nothing to
+     * compare with.
+     */
+    public List<RankingsItem> record(String region, String type, List<RankingsItem> items, Instant at) {
+        Timeline timeline = timelines.computeIfAbsent(key(region, type), k -> new Timeline());
+        synchronized (timeline) {
+            timeline.append(items, at, maxSnapshots);
+            return timeline.annotate(items, deltaWindow);
+        }
+    }
+
+    /**
+     * Adds a chart whose items were already annotated elsewhere (e.g. by the
+     * replica that fetched it), so this instance keeps a complete history.
+     */
+    public void append(String region, String type, List<RankingsItem> items, Instant at) {
+        Timeline timeline = timelines.computeIfAbsent(key(region, type), k -> new Timeline());
+        synchronized (timeline) {
+            timeline.append(items, at, maxSnapshots);
+        }
+    }
+
+    /**
+     * Copy of the series for persistence, or null if nothing was recorded.
+     */
+    public Series export(String region, String type) {
+        Timeline timeline = timelines.get(key(region, type));
+        if (timeline == null) {
+            return null;
+        }
+        synchronized (timeline) {
+            return new Series(List.copyOf(timeline.ids), List.copyOf(timeline.points));
+        }
+    }
+
+    /**
+     * Restores a persisted series. Ignored if the pair already has history;
+     * points referring to unknown codes are dropped.
+     */
+    public void restore(String region, String type, Series series) {
+        if (series == null || series.ids() == null || series.points() == null) {
+            return;
+        }
+        Timeline restored = new Timeline();
+        for (String id : series.ids()) {
+            restored.intern(id);
+        }
+        for (Point point : series.points()) {
+            if (point != null && point.at() != null && point.codes() != null && restored.isValid(point.codes())) {
+                restored.points.addLast(point);
+            }
+        }
+        while (restored.points.size() > maxSnapshots) {
+            restored.points.removeFirst();
+        }
+        restored.compact();
+        timelines.putIfAbsent(key(region, type), restored);
+    }
+
+    public int size(String region, String type) {
+        Timeline timeline = timelines.get(key(region, type));
+        if (timeline == null) {
+            return 0;
+        }
+        synchronized (timeline) {
+            return timeline.points.size();
+        }
+    }
+
+    public void clear() {
+        timelines.clear();
+    }
+
+    private static String key(String region, String type) {
+        return region + ":" + type;
+    }
+
+    /**
+     * Mutable series; callers synchronize on the instance.
+     */
+    private static final class Timeline {
+
+        private final List<String> ids = new ArrayList<>();
+        private final Map<String, Integer> codes = new HashMap<>();
+        private final ArrayDeque<Point> points = new ArrayDeque<>();
+
+        void append(List<RankingsItem> items, Instant at, int maxSnapshots) {
+            int[] chart = new int[items.size()];
+            for (int i = 0; i < chart.length; i++) {
+                String id = items.get(i).showId();
+                chart[i] = id != null ? intern(id) : -1;
+            }
+            Point latest = points.peekLast();
+            if (latest != null && Arrays.equals(latest.codes(), chart)) {
+                points.removeLast();
+            }
+            points.addLast(new Point(at, chart));
+            if (points.size() > maxSnapshots) {
+                points.removeFirst();
+                compact();
+            }
+        }
+
+        List<RankingsItem> annotate(List<RankingsItem> items, int deltaWindow) {
+            if (points.size() < 2) {
+                return items;
+            }
+            Point[] history = points.toArray(new Point[0]);
+            int current = history.length - 1;
+            int[] previous = rankByCode(history[current - 1]);
+            int[] window = rankByCode(history[Math.max(0, current - deltaWindow)]);
+
+            List<RankingsItem> annotated = new ArrayList<>(items.size());
+            for (RankingsItem item : items) {
+                Integer code = item.showId() != null ? codes.get(item.showId()) : null;
+                if (code == null) {
+                    annotated.add(item.withMovement(null));
+                    continue;
+                }
+                int before = previous[code];
+                int windowBefore = window[code];
+                Integer change = before > 0 ? before - item.rank() : null;
+                Integer windowChange = windowBefore > 0 ? windowBefore - item.rank() : null;
+                annotated.add(item.withMovement(new RankMovement(
+                        before > 0 ? before : null, change, windowChange, trend(change))));
+            }
+            return annotated;
+        }
+
+        int intern(String id) {
+            Integer code = codes.get(id);
+            if (code == null) {
+                code = ids.size();
+                ids.add(id);
+                codes.put(id, code);
+            }
+            return code;
+        }
+
+        boolean isValid(int[] chart) {
+            for (int code : chart) {
+                if (code < -1 || code >= ids.size()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Rebuilds the dictionary with only the ids still referenced, so it
+         * stays bounded as charts roll off.
+         */
+        void compact() {
+            List<String> oldIds = new ArrayList<>(ids);
+            List<Point> oldPoints = new ArrayList<>(points);
+            ids.clear();
+            codes.clear();
+            points.clear();
+            for (Point point : oldPoints) {
+                int[] remapped = new int[point.codes().length];
+                for (int i = 0; i < remapped.length; i++) {
+                    int code = point.codes()[i];
+                    remapped[i] = code >= 0 ? intern(oldIds.get(code)) : -1;
+                }
+                points.addLast(new Point(point.at(), remapped));
+            }
+        }
+
+        /**
+         * Rank of every dictionary code in the chart, 0 if absent.
+         */
+        private int[] rankByCode(Point point) {
+            int[] ranks = new int[ids.size()];
+            int[] chart = point.codes();
+            for (int i = 0; i < chart.length; i++) {
+                if (chart[i] >= 0 && ranks[chart[i]] == 0) {
+                    ranks[chart[i]] = i + 1;
+                }
+            }
+            return ranks;
+        }
+
+        private static String trend(Integer change) {
+            if (change == null) {
+                return RankMovement.NEW;
+            }
+            return change > 0 ? RankMovement.UP : change < 0 ? RankMovement.DOWN : RankMovement.SAME;
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.podcastbackend.cache;
+
+import com.example.podcastbackend.response.RankingsItem;
+import com.example.podcastbackend.response.RankingsResponse;
+import com.example.podcastbackend.response.RankingsResponseData;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPOutputStream;
+
+import static net.logstash.logback.argument.StructuredArguments.kv;
+
+/**
+ * Serialized {@code GET /api/rankings} bodies, built once per refresh.
+ *
+ * Each (region, type) chart keeps one payload per effective limit — plain
+ * JSON, its gzip encoding and a strong ETag over the JSON bytes (the gzip
+ * body is a different representation and gets its own tag). The common
+ * limits ({@code rankings.payload.eager-limits}) are built as soon as a chart
+ * is refreshed; any other limit is built on first request and kept until the
+ * next refresh replaces the chart. Bodies are serialized with the MVC
+ * converter's {@link JsonMapper}, so they match what the live endpoint writes.
+ */
+@Component
+public class RankingsPayloadCache {
+
+    private static final Logger log = LoggerFactory.getLogger(RankingsPayloadCache.class);
+
+    public record Payload(byte[] json, byte[] gzip, String etag, Instant updatedAt) {
+
+        /** The ETag of the gzip body: the JSON tag with a {@code -gzip} suffix. */
+        public String gzipEtag() {
+            return etag.substring(0, etag.length() - 1) + "-gzip\"";
+        }
+    }
+
+    private record Chart(String region, String type, List<RankingsItem> items, Instant updatedAt,
+                         Map<Integer, Payload> byLimit) {
+    }
+
+    private final JsonMapper jsonMapper;
+    private final List<Integer> eagerLimits;
+    private final Map<String, Chart> charts = new ConcurrentHashMap<>();
+
+    public RankingsPayloadCache(
+            JsonMapper jsonMapper,
+            @Value("${rankings.payload.eager-limits:10,20,50,100}") List<Integer> eagerLimits) {
+        this.jsonMapper = jsonMapper;
+        this.eagerLimits = eagerLimits;
+    }
+
+    /**
+     * Replaces the payloads for a chart. Called right after the chart is
+     * written to {@link RankingsCache}.
+     */
+    public void prepare(String region, String type, List<RankingsItem> items, Instant updatedAt) {
+        Chart chart = new Chart(region, type, items, updatedAt, new ConcurrentHashMap<>());
+        for (int limit : eagerLimits) {
+            payload(chart, limit);
+        }
+        charts.put(key(region, type), chart);
+        log.debug("rankings_payload_prepared", kv("region", region), kv("type", type),
+                kv("limits", chart.byLimit().size()));
+    }
+
+    /**
+     * Payload for the request, or null if no chart has been prepared for the
+     * pair yet.
+     */
+    public Payload get(String region, String type, int limit) {
+        Chart chart = charts.get(key(region, type));
+        return chart != null ? payload(chart, limit) : null;
+    }
+
+    public void clear() {
+        charts.clear();
+    }
+
+    private Payload payload(Chart chart, int limit) {
+        // Limits beyond the chart length all render the same body
+        int effective = Math.max(0, Math.min(limit, chart.items().size()));
+        return chart.byLimit().computeIfAbsent(effective, l -> build(chart, l));
+    }
+
+    private Payload build(Chart chart, int limit) {
+        var data = new RankingsResponseData(chart.region(), chart.type(),
+                chart.items().subList(0, limit), chart.updatedAt());
+        byte[] json = jsonMapper.writeValueAsBytes(RankingsResponse.ok(data));
+        return new Payload(json, gzip(json), etag(json), chart.updatedAt());
+    }
+
+    private static byte[] gzip(byte[] bytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static String etag(byte[] bytes) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(bytes);
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String key(String region, String type) {
+        return region + ":" + type;
+    }
+}
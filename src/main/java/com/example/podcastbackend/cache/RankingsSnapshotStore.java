@@ -0,0 +1,150 @@
+package com.example.podcastbackend.cache;
+
+import com.example.podcastbackend.response.RankingsItem;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static net.logstash.logback.argument.StructuredArguments.kv;
+
+/**
+ * Local snapshot of {@link RankingsCache}, so a restarted instance can serve
+ * the last known charts before its first Apple fetch completes.
+ *
+ * The whole cache is written as one gzip-compressed JSON document to a temp
+ * file next to the snapshot and then renamed over it, so a crash mid-write
+ * leaves the previous snapshot intact. Entries keep their original
+ * {@code cachedAt}; anything older than {@code max-age-hours} is ignored on load.
+ * Each entry also carries the pair's compact {@link RankingsHistory} so rank
+ * movements survive a restart.
+ */
+@Component
+public class RankingsSnapshotStore {
+
+    private static final Logger log = LoggerFactory.getLogger(RankingsSnapshotStore.class);
+
+    private static final int FORMAT_VERSION = 1;
+
+    public record Entry(String region, String type, Instant cachedAt, List<RankingsItem> items,
+                        RankingsHistory.Series history) {
+    }
+
+    record Snapshot(int version, List<Entry> entries) {
+    }
+
+    private final RankingsCache rankingsCache;
+    private final RankingsHistory rankingsHistory;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final Path path;
+    private final Duration maxAge;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Counter writeFailures;
+
+    public RankingsSnapshotStore(
+            RankingsCache rankingsCache,
+            RankingsHistory rankingsHistory,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${rankings.snapshot.enabled:true}") boolean enabled,
+            @Value("${rankings.snapshot.path:${java.io.tmpdir}/podcast-backend/rankings-snapshot.json.gz}") String path,
+            @Value("${rankings.snapshot.max-age-hours:48}") long maxAgeHours) {
+        this.rankingsCache = rankingsCache;
+        this.rankingsHistory = rankingsHistory;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.path = Path.of(path);
+        this.maxAge = Duration.ofHours(maxAgeHours);
+        this.writeFailures = meterRegistry.counter("rankings.snapshot.write.failure");
+    }
+
+    /**
+     * Writes the current cache contents. Never throws; a failed write keeps
+     * the previous snapshot.
+     */
+    public void save() {
+        if (!enabled) {
+            return;
+        }
+        lock.lock();
+        try {
+            List<Entry> entries = new ArrayList<>();
+            for (Map.Entry<String, RankingsCache.CacheEntry> e : rankingsCache.entries().entrySet()) {
+                String[] key = e.getKey().split(":", 2);
+                entries.add(new Entry(key[0], key[1], e.getValue().cachedAt(), e.getValue().items(),
+                        rankingsHistory.export(key[0], key[1])));
+            }
+            Files.createDirectories(path.toAbsolutePath().getParent());
+            Path temp = Files.createTempFile(path.toAbsolutePath().getParent(), path.getFileName().toString(), ".tmp");
+            try {
+                try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(temp))) {
+                    objectMapper.writeValue(out, new Snapshot(FORMAT_VERSION, entries));
+                }
+                move(temp, path);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+            log.debug("rankings_snapshot_saved", kv("entries", entries.size()), kv("path", path.toString()));
+        } catch (IOException | RuntimeException e) {
+            writeFailures.increment();
+            log.warn("rankings_snapshot_save_failed", kv("path", path.toString()), kv("error", e.getMessage()));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Reads the snapshot left by a previous run. Returns an empty list if there
+     * is none or it cannot be read.
+     */
+    public List<Entry> load() {
+        if (!enabled) {
+            return List.of();
+        }
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(path))) {
+            Snapshot snapshot = objectMapper.readValue(in, Snapshot.class);
+            if (snapshot.version() != FORMAT_VERSION || snapshot.entries() == null) {
+                log.warn("rankings_snapshot_unsupported", kv("version", snapshot.version()));
+                return List.of();
+            }
+            Instant oldest = Instant.now().minus(maxAge);
+            return snapshot.entries().stream()
+                    .filter(e -> e.cachedAt() != null && e.items() != null && e.cachedAt().isAfter(oldest))
+                    .toList();
+        } catch (NoSuchFileException e) {
+            return List.of();
+        } catch (IOException | RuntimeException e) {
+            log.warn("rankings_snapshot_load_failed", kv("path", path.toString()), kv("error", e.getMessage()));
+            return List.of();
+        }
+    }
+
+    private static void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
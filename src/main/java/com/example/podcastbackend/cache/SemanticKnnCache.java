@@ -0,0 +1,249 @@
+package com.example.podcastbackend.cache;
+
+import co.elastic.clients.elasticsearch.core.SearchResponse;
+import co.elastic.clients.elasticsearch.core.search.Hit;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.DoubleSupplier;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Cache of kNN-leg results keyed by query vector rather than query text.
+ *
+ * Rewordings of the same intent ("ai podcast", "podcasts about AI") embed
+ * to nearly the same vector and return nearly the same neighbours, so a
+ * lookup matches any cached vector whose cosine similarity to the query is
+ * at least {@code similarity-threshold}. Entries are grouped by partition —
+ * the caller's key for index, filters and window, plus the vector dimension
+ * — and only vectors in the same partition are compared.
+ *
+ * Each partition keeps up to {@code max-entries-per-partition} normalized
+ * vectors in one contiguous array (oldest overwritten first) and answers a
+ * lookup with a linear scalar dot-product scan; a lookup in a full
+ * partition of 256 384-dimensional vectors takes about 0.05 ms at p50
+ * ({@code SemanticKnnCacheBenchmark}), next to milliseconds for an ES kNN
+ * round trip. Entries older than
+ * {@code ttl-seconds} are ignored. At most {@code max-partitions} partitions
+ * are kept; the least valuable is evicted to admit a new one, and a partition
+ * not looked up for {@code ttl-seconds} is dropped with its entries.
+ *
+ * A fraction {@code audit-rate} of hits still runs the ES query and records
+ * how many of the cached ids it returned ({@code search.knn_cache.overlap}),
+ * so the threshold can be tuned against real traffic; the fresh result is
+ * returned and cached.
+ */
+@Component
+public class SemanticKnnCache {
+
+    private final boolean enabled;
+    private final double threshold;
+    private final int capacity;
+    private final long ttlNanos;
+    private final double auditRate;
+    private final LongSupplier clock;
+    private final DoubleSupplier random;
+    private final Cache<String, Partition> partitions;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Timer lookupTimer;
+    private final DistributionSummary hitSimilarity;
+    private final DistributionSummary overlap;
+
+    @Autowired
+    public SemanticKnnCache(
+            MeterRegistry meterRegistry,
+            @Value("${search.knn-cache.enabled:false}") boolean enabled,
+            @Value("${search.knn-cache.similarity-threshold:0.97}") double threshold,
+            @Value("${search.knn-cache.max-entries-per-partition:256}") int capacity,
+            @Value("${search.knn-cache.max-partitions:64}") int maxPartitions,
+            @Value("${search.knn-cache.ttl-seconds:600}") long ttlSeconds,
+            @Value("${search.knn-cache.audit-rate:0.05}") double auditRate) {
+        this(meterRegistry, enabled, threshold, capacity, maxPartitions, ttlSeconds, auditRate,
+                System::nanoTime, () -> ThreadLocalRandom.current().nextDouble());
+    }
+
+    SemanticKnnCache(MeterRegistry meterRegistry, boolean enabled, double threshold, int capacity,
+                     int maxPartitions, long ttlSeconds, double auditRate,
+                     LongSupplier clock, DoubleSupplier random) {
+        this.enabled = enabled;
+        this.threshold = threshold;
+        this.capacity = Math.max(1, capacity);
+        this.ttlNanos = ttlSeconds * 1_000_000_000L;
+        this.auditRate = auditRate;
+        this.clock = clock;
+        this.random = random;
+        this.partitions = Caffeine.newBuilder()
+                .maximumSize(maxPartitions)
+                .expireAfterAccess(ttlNanos, TimeUnit.NANOSECONDS)
+                .ticker(clock::getAsLong)
+                .build();
+        this.hits = meterRegistry.counter("search.knn_cache.lookups", "result", "hit");
+        this.misses = meterRegistry.counter("search.knn_cache.lookups", "result", "miss");
+        this.lookupTimer = meterRegistry.timer("search.knn_cache.lookup.duration");
+        this.hitSimilarity = meterRegistry.summary("search.knn_cache.hit_similarity");
+        this.overlap = meterRegistry.summary("search.knn_cache.overlap");
+        Gauge.builder("search.knn_cache.entries", this, SemanticKnnCache::size).register(meterRegistry);
+    }
+
+    /**
+     * The cached result of a near-duplicate vector in {@code partition}, or
+     * the result of {@code fetch}, which is then cached.
+     */
+    public SearchResponse<JsonNode> search(String partition, float[] vector,
+                                           Supplier<SearchResponse<JsonNode>> fetch) {
+        if (!enabled || vector == null || vector.length == 0) {
+            return fetch.get();
+        }
+        float[] normalized = Arrays.copyOf(vector, vector.length);
+        HnswIndex.normalize(normalized);
+        String key = partition + "|" + vector.length;
+        Partition entries = partitions.get(key, k -> new Partition(vector.length, capacity));
+
+        long now = clock.getAsLong();
+        long start = System.nanoTime();
+        Match match = entries.nearest(normalized, now - ttlNanos);
+        lookupTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        if (match == null || match.similarity() < threshold) {
+            misses.increment();
+            SearchResponse<JsonNode> fresh = fetch.get();
+            entries.put(normalized, fresh, now);
+            return fresh;
+        }
+        hits.increment();
+        hitSimilarity.record(match.similarity());
+        if (random.getAsDouble() < auditRate) {
+            SearchResponse<JsonNode> fresh = fetch.get();
+            overlap.record(overlap(match.result(), fresh));
+            entries.put(normalized, fresh, now);
+            return fresh;
+        }
+        return match.result();
+    }
+
+    int size() {
+        partitions.cleanUp();
+        int size = 0;
+        for (Partition partition : partitions.asMap().values()) {
+            size += partition.size();
+        }
+        return size;
+    }
+
+    /**
+     * Fraction of the fresh hit ids that the cached result also returned.
+     */
+    static double overlap(SearchResponse<JsonNode> cached, SearchResponse<JsonNode> fresh) {
+        List<Hit<JsonNode>> freshHits = fresh.hits().hits();
+        if (freshHits.isEmpty()) {
+            return cached.hits().hits().isEmpty() ? 1.0 : 0.0;
+        }
+        Set<String> cachedIds = new HashSet<>();
+        for (Hit<JsonNode> hit : cached.hits().hits()) {
+            cachedIds.add(hit.id());
+        }
+        int shared = 0;
+        for (Hit<JsonNode> hit : freshHits) {
+            if (cachedIds.contains(hit.id())) {
+                shared++;
+            }
+        }
+        return (double) shared / freshHits.size();
+    }
+
+    private record Match(SearchResponse<JsonNode> result, float similarity) {
+    }
+
+    /**
+     * Ring of normalized vectors stored back to back, with their results
+     * and insertion times.
+     */
+    private static final class Partition {
+
+        private final int dimension;
+        private final float[] vectors;
+        private final SearchResponse<?>[] results;
+        private final long[] insertedAt;
+        private int count;
+        private int next;
+
+        Partition(int dimension, int capacity) {
+            this.dimension = dimension;
+            this.vectors = new float[dimension * capacity];
+            this.results = new SearchResponse<?>[capacity];
+            this.insertedAt = new long[capacity];
+        }
+
+        @SuppressWarnings("unchecked")
+        synchronized Match nearest(float[] query, long notBefore) {
+            int best = -1;
+            float bestSimilarity = -2f;
+            for (int i = 0; i < count; i++) {
+                if (insertedAt[i] < notBefore) {
+                    continue;
+                }
+                float sum = dot(query, vectors, i * dimension);
+                if (sum > bestSimilarity) {
+                    bestSimilarity = sum;
+                    best = i;
+                }
+            }
+            return best < 0 ? null : new Match((SearchResponse<JsonNode>) results[best], bestSimilarity);
+        }
+
+        /**
+         * Dot product of {@code query} and the vector at {@code offset}. Four
+         * independent sums let consecutive multiply-adds overlap instead of
+         * waiting on one running total; HotSpot does not vectorize a float
+         * reduction either way.
+         */
+        private float dot(float[] query, float[] vectors, int offset) {
+            float s0 = 0f;
+            float s1 = 0f;
+            float s2 = 0f;
+            float s3 = 0f;
+            int d = 0;
+            int bound = dimension & ~3;
+            for (; d < bound; d += 4) {
+                s0 += query[d] * vectors[offset + d];
+                s1 += query[d + 1] * vectors[offset + d + 1];
+                s2 += query[d + 2] * vectors[offset + d + 2];
+                s3 += query[d + 3] * vectors[offset + d + 3];
+            }
+            for (; d < dimension; d++) {
+                s0 += query[d] * vectors[offset + d];
+            }
+            return (s0 + s1) + (s2 + s3);
+        }
+
+        synchronized void put(float[] vector, SearchResponse<JsonNode> result, long now) {
+            System.arraycopy(vector, 0, vectors, next * dimension, dimension);
+            results[next] = result;
+            insertedAt[next] = now;
+            next = (next + 1) % results.length;
+            count = Math.min(count + 1, results.length);
+        }
+
+        synchronized int size() {
+            return count;
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.example.podcastbackend.cache;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.ElasticsearchException;
+import co.elastic.clients.elasticsearch.core.CreateRequest;
+import co.elastic.clients.elasticsearch.core.GetRequest;
+import co.elastic.clients.elasticsearch.core.GetResponse;
+import co.elastic.clients.elasticsearch.core.IndexRequest;
+import com.example.podcastbackend.response.RankingsItem;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static net.logstash.logback.argument.StructuredArguments.kv;
+
+/**
+ * Optional rankings store shared by all replicas, kept in a small ES index.
+ *
+ * For each (region, type) the index holds a {@code chart:<region>:<type>}
+ * document with the latest items and their {@code cached_at}, and a
+ * {@code lease:<region>:<type>} document naming the instance allowed to fetch
+ * from Apple until {@code expires_at}. A lease is taken with a create, or with
+ * a compare-and-set on {@code _seq_no}/{@code _primary_term} once the previous
+ * holder's lease has expired, so only one replica wins each round.
+ *
+ * The store never makes rankings less available than a standalone instance:
+ * when ES cannot be reached, reads return nothing and the lease is reported
+ * as acquired, so every pod falls back to fetching on its own.
+ */
+@Component
+public class SharedRankingsStore {
+
+    private static final Logger log = LoggerFactory.getLogger(SharedRankingsStore.class);
+
+    private static final TypeReference<List<RankingsItem>> ITEMS = new TypeReference<>() {
+    };
+
+    public record SharedChart(List<RankingsItem> items, Instant cachedAt) {
+    }
+
+    private final ElasticsearchClient esClient;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final String index;
+    private final Duration leaseDuration;
+    private final String instanceId;
+
+    private final Counter leaseAcquired;
+    private final Counter leaseHeld;
+    private final Counter unavailable;
+
+    public SharedRankingsStore(
+            ElasticsearchClient esClient,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${rankings.shared-store.enabled:false}") boolean enabled,
+            @Value("${rankings.shared-store.index:rankings-store}") String index,
+            @Value("${rankings.shared-store.lease-seconds:120}") long leaseSeconds,
+            @Value("${rankings.shared-store.instance-id:}") String instanceId) {
+        this.esClient = esClient;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.index = index;
+        this.leaseDuration = Duration.ofSeconds(leaseSeconds);
+        this.instanceId = instanceId.isBlank() ? defaultInstanceId() : instanceId;
+        this.leaseAcquired = meterRegistry.counter("rankings.shared_store.lease", "result", "acquired");
+        this.leaseHeld = meterRegistry.counter("rankings.shared_store.lease", "result", "held");
+        this.unavailable = meterRegistry.counter("rankings.shared_store.unavailable");
+        if (enabled) {
+            log.info("rankings_shared_store_enabled", kv("index", index), kv("instance_id", this.instanceId));
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Latest chart published by any replica, or null if there is none or ES
+     * cannot be reached.
+     */
+    public SharedChart read(String region, String type) {
+        try {
+            GetResponse<JsonNode> response = esClient.get(
+                    GetRequest.of(g -> g.index(index).id(chartId(region, type))), JsonNode.class);
+            JsonNode source = response.source();
+            if (!response.found() || source == null || !source.path("items").isArray()) {
+                return null;
+            }
+            List<RankingsItem> items = objectMapper.convertValue(source.get("items"), ITEMS);
+            return new SharedChart(items, Instant.ofEpochMilli(source.path("cached_at").asLong()));
+        } catch (IOException | ElasticsearchException e) {
+            unavailable.increment();
+            log.warn("rankings_shared_read_failed", kv("region", region), kv("type", type), kv("error", e.getMessage()));
+            return null;
+        } catch (IllegalArgumentException e) {
+            log.warn("rankings_shared_chart_invalid", kv("region", region), kv("type", type), kv("error", e.getMessage()));
+            return null;
+        }
+    }
+
+    /**
+     * Tries to become the fetcher for the pair. Returns false only when another
+     * instance holds a live lease; an ES failure returns true so this instance
+     * fetches on its own rather than serving nothing.
+     */
+    public boolean tryAcquireLease(String region, String type) {
+        String id = leaseId(region, type);
+        Instant now = Instant.now();
+        ObjectNode lease = objectMapper.createObjectNode()
+                .put("region", region)
+                .put("type", type)
+                .put("holder", instanceId)
+                .put("expires_at", now.plus(leaseDuration).toEpochMilli());
+        try {
+            GetResponse<JsonNode> current = esClient.get(GetRequest.of(g -> g.index(index).id(id)), JsonNode.class);
+            if (!current.found() || current.source() == null) {
+                esClient.create(CreateRequest.of(c -> c.index(index).id(id).document((JsonNode) lease)));
+            } else {
+                JsonNode held = current.source();
+                boolean mine = instanceId.equals(held.path("holder").asText());
+                if (!mine && held.path("expires_at").asLong() > now.toEpochMilli()) {
+                    leaseHeld.increment();
+                    return false;
+                }
+                esClient.index(IndexRequest.of(i -> i
+                        .index(index)
+                        .id(id)
+                        .ifSeqNo(current.seqNo())
+                        .ifPrimaryTerm(current.primaryTerm())
+                        .document((JsonNode) lease)));
+            }
+            leaseAcquired.increment();
+            return true;
+        } catch (ElasticsearchException e) {
+            if (e.status() == 409) {
+                // Another instance won the create / compare-and-set
+                leaseHeld.increment();
+                return false;
+            }
+            unavailable.increment();
+            log.warn("rankings_lease_failed", kv("region", region), kv("type", type), kv("error", e.getMessage()));
+            return true;
+        } catch (IOException e) {
+            unavailable.increment();
+            log.warn("rankings_lease_failed", kv("region", region), kv("type", type), kv("error", e.getMessage()));
+            return true;
+        }
+    }
+
+    /**
+     * Publishes a freshly fetched chart for the other replicas. Never throws.
+     */
+    public void publish(String region, String type, List<RankingsItem> items, Instant cachedAt) {
+        ObjectNode chart = objectMapper.createObjectNode()
+                .put("region", region)
+                .put("type", type)
+                .put("cached_at", cachedAt.toEpochMilli())
+                .put("fetched_by", instanceId);
+        chart.set("items", objectMapper.valueToTree(items));
+        try {
+            esClient.index(IndexRequest.of(i -> i.index(index).id(chartId(region, type)).document((JsonNode) chart)));
+        } catch (IOException | ElasticsearchException e) {
+            unavailable.increment();
+            log.warn("rankings_shared_publish_failed", kv("region", region), kv("type", type), kv("error", e.getMessage()));
+        }
+    }
+
+    private static String chartId(String region, String type) {
+        return "chart:" + region + ":" + type;
+    }
+
+    private static String leaseId(String region, String type) {
+        return "lease:" + region + ":" + type;
+    }
+
+    private static String defaultInstanceId() {
+        String host = System.getenv("HOSTNAME");
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        return host != null && !host.isBlank() ? host + "-" + suffix : suffix;
+    }
+}
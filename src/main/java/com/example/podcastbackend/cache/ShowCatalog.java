@@ -0,0 +1,231 @@
+package com.example.podcastbackend.cache;
+
+import com.example.podcastbackend.response.EpisodeSearchItem;
+import com.example.podcastbackend.response.ShowDetail;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Immutable, column-oriented copy of the {@code shows} index.
+ *
+ * Each field is one array indexed by row, with {@code episode_count} and
+ * {@code updated_at} as primitive columns. Low-cardinality strings
+ * (language, publisher, categories) are interned through a shared pool, so
+ * thousands of shows reference a handful of {@code String} instances.
+ * Instances are never modified: {@link ShowCatalogLoader} builds a new one
+ * and swaps it in.
+ */
+public final class ShowCatalog {
+
+    private static final int NO_COUNT = -1;
+
+    /**
+     * One show as read from the index, before it is packed into columns.
+     */
+    public record Show(
+            String showId,
+            String title,
+            String publisher,
+            String imageUrl,
+            String description,
+            String language,
+            List<String> categories,
+            Integer episodeCount,
+            Map<String, String> externalIds,
+            Map<String, String> externalUrls,
+            long updatedAt
+    ) {
+    }
+
+    public static final ShowCatalog EMPTY = new Builder(new HashMap<>()).build();
+
+    private final Map<String, Integer> rows;
+    private final String[] showIds;
+    private final String[] titles;
+    private final String[] publishers;
+    private final String[] imageUrls;
+    private final String[] descriptions;
+    private final String[] languages;
+    private final String[][] categories;
+    private final int[] episodeCounts;
+    private final Map<String, String>[] externalIds;
+    private final Map<String, String>[] externalUrls;
+    private final long[] updatedAt;
+    private final long highWaterMark;
+
+    @SuppressWarnings("unchecked")
+    private ShowCatalog(Map<String, Show> shows, Map<String, String> pool) {
+        int n = shows.size();
+        rows = new HashMap<>(Math.max(16, (int) (n / 0.75f) + 1));
+        showIds = new String[n];
+        titles = new String[n];
+        publishers = new String[n];
+        imageUrls = new String[n];
+        descriptions = new String[n];
+        languages = new String[n];
+        categories = new String[n][];
+        episodeCounts = new int[n];
+        externalIds = new Map[n];
+        externalUrls = new Map[n];
+        updatedAt = new long[n];
+
+        long max = 0;
+        int row = 0;
+        for (Show show : shows.values()) {
+            rows.put(show.showId(), row);
+            showIds[row] = show.showId();
+            titles[row] = show.title();
+            publishers[row] = intern(pool, show.publisher());
+            imageUrls[row] = show.imageUrl();
+            descriptions[row] = show.description();
+            languages[row] = intern(pool, show.language());
+            categories[row] = internAll(pool, show.categories());
+            episodeCounts[row] = show.episodeCount() != null ? show.episodeCount() : NO_COUNT;
+            externalIds[row] = copyOrNull(show.externalIds());
+            externalUrls[row] = copyOrNull(show.externalUrls());
+            updatedAt[row] = show.updatedAt();
+            max = Math.max(max, show.updatedAt());
+            row++;
+        }
+        highWaterMark = max;
+    }
+
+    public int size() {
+        return showIds.length;
+    }
+
+    /**
+     * Latest {@code updated_at} (epoch millis) in the catalog; the next
+     * incremental refresh asks for documents updated since.
+     */
+    public long highWaterMark() {
+        return highWaterMark;
+    }
+
+    public boolean contains(String showId) {
+        return rows.containsKey(showId);
+    }
+
+    /**
+     * All mirrored fields of the show, or null if it is not in the catalog.
+     */
+    public Show show(String showId) {
+        Integer row = rows.get(showId);
+        return row != null ? row(row) : null;
+    }
+
+    /**
+     * Visits every show in row order.
+     */
+    public void forEach(Consumer<Show> action) {
+        for (int row = 0; row < showIds.length; row++) {
+            action.accept(row(row));
+        }
+    }
+
+    public ShowDetail detail(String showId) {
+        Integer row = rows.get(showId);
+        if (row == null) {
+            return null;
+        }
+        String[] cats = categories[row];
+        return new ShowDetail(
+                showIds[row],
+                descriptions[row],
+                cats != null ? List.of(cats) : null,
+                languages[row],
+                episodeCounts[row] != NO_COUNT ? episodeCounts[row] : null
+        );
+    }
+
+    public EpisodeSearchItem.ShowInfo showInfo(String showId) {
+        Integer row = rows.get(showId);
+        if (row == null) {
+            return null;
+        }
+        String appleUrl = externalUrls[row] != null ? externalUrls[row].get("apple_podcasts") : null;
+        return new EpisodeSearchItem.ShowInfo(
+                showIds[row],
+                titles[row],
+                publishers[row],
+                imageUrls[row],
+                appleUrl != null ? new EpisodeSearchItem.ExternalUrl(appleUrl) : null
+        );
+    }
+
+    /**
+     * Builder seeded with this catalog's rows, for an incremental refresh.
+     */
+    public Builder toBuilder(Map<String, String> pool) {
+        Map<String, Show> shows = new LinkedHashMap<>(Math.max(16, (int) (size() / 0.75f) + 1));
+        for (int row = 0; row < showIds.length; row++) {
+            shows.put(showIds[row], row(row));
+        }
+        return new Builder(pool, shows);
+    }
+
+    private Show row(int row) {
+        String[] cats = categories[row];
+        return new Show(showIds[row], titles[row], publishers[row], imageUrls[row],
+                descriptions[row], languages[row], cats != null ? List.of(cats) : null,
+                episodeCounts[row] != NO_COUNT ? episodeCounts[row] : null,
+                externalIds[row], externalUrls[row], updatedAt[row]);
+    }
+
+    private static Map<String, String> copyOrNull(Map<String, String> values) {
+        return values == null || values.isEmpty() ? null : Map.copyOf(values);
+    }
+
+    private static String intern(Map<String, String> pool, String value) {
+        return value == null ? null : pool.computeIfAbsent(value, v -> v);
+    }
+
+    private static String[] internAll(Map<String, String> pool, List<String> values) {
+        if (values == null || values.isEmpty()) {
+            return null;
+        }
+        String[] interned = new String[values.size()];
+        for (int i = 0; i < interned.length; i++) {
+            interned[i] = intern(pool, values.get(i));
+        }
+        return interned;
+    }
+
+    /**
+     * Collects shows (later puts of the same id win) and packs them into a
+     * new catalog. Not thread-safe; used by one refresh at a time.
+     */
+    public static final class Builder {
+
+        private final Map<String, String> pool;
+        private final Map<String, Show> shows;
+
+        public Builder(Map<String, String> pool) {
+            this(pool, new LinkedHashMap<>());
+        }
+
+        private Builder(Map<String, String> pool, Map<String, Show> shows) {
+            this.pool = pool;
+            this.shows = shows;
+        }
+
+        public Builder put(Show show) {
+            if (show.showId() != null) {
+                shows.put(show.showId(), show);
+            }
+            return this;
+        }
+
+        public int size() {
+            return shows.size();
+        }
+
+        public ShowCatalog build() {
+            return new ShowCatalog(shows, pool);
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package com.example.podcastbackend.cache;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.query_dsl.Query;
+import co.elastic.clients.json.JsonData;
+import com.fasterxml.jackson.databind.JsonNode;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static net.logstash.logback.argument.StructuredArguments.kv;
+
+/**
+ * Keeps an in-memory {@link ShowCatalog} of the whole {@code shows} index.
+ *
+ * The first run scrolls the full index; later runs only scroll documents
+ * whose {@code updated_at} is at or after the catalog's high-water mark and
+ * merge them into a copy, which then replaces the current catalog in one
+ * volatile write. Incremental runs cannot see deletions, so the catalog is
+ * rebuilt from scratch every {@code full-reload-minutes}.
+ *
+ * Until the first load completes (or when disabled) {@link #current()}
+ * returns null and callers use ES directly.
+ */
+@Component
+public class ShowCatalogLoader {
+
+    private static final Logger log = LoggerFactory.getLogger(ShowCatalogLoader.class);
+
+    private static final List<String> SOURCE_FIELDS = List.of(
+            "show_id", "title", "publisher", "image_url", "description", "language",
+            "categories", "episode_count", "external_ids", "external_urls", "updated_at");
+
+    private final IndexScroller scroller;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final String showsIndex;
+    private final Duration fullReloadInterval;
+
+    private volatile ShowCatalog catalog;
+    private volatile Instant lastFullLoad;
+    private volatile Instant lastRefresh;
+    private Map<String, String> pool = new HashMap<>();
+
+    public ShowCatalogLoader(
+            ElasticsearchClient esClient,
+            MeterRegistry meterRegistry,
+            @Value("${shows.catalog.enabled:true}") boolean enabled,
+            @Value("${elasticsearch.indices.shows:shows}") String showsIndex,
+            @Value("${shows.catalog.page-size:1000}") int pageSize,
+            @Value("${shows.catalog.full-reload-minutes:360}") long fullReloadMinutes) {
+        this.scroller = new IndexScroller(esClient, pageSize);
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.showsIndex = showsIndex;
+        this.fullReloadInterval = Duration.ofMinutes(fullReloadMinutes);
+        Gauge.builder("shows.catalog.size", this, l -> l.catalog != null ? l.catalog.size() : 0)
+                .register(meterRegistry);
+        Gauge.builder("shows.catalog.age.seconds", this, ShowCatalogLoader::ageSeconds)
+                .register(meterRegistry);
+    }
+
+    /**
+     * The current catalog, or null if it has not been loaded.
+     */
+    public ShowCatalog current() {
+        return catalog;
+    }
+
+    /**
+     * Loads or refreshes the catalog. Runs once at startup; a failed run
+     * keeps the previous catalog.
+     */
+    @Scheduled(fixedDelayString = "${shows.catalog.refresh-interval-ms:300000}")
+    public synchronized void refresh() {
+        if (!enabled) {
+            return;
+        }
+        ShowCatalog base = catalog;
+        boolean full = base == null || lastFullLoad == null
+                || Duration.between(lastFullLoad, Instant.now()).compareTo(fullReloadInterval) >= 0;
+        String mode = full ? "full" : "incremental";
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "failure";
+        try {
+            ShowCatalog.Builder builder;
+            Query query;
+            if (full) {
+                pool = new HashMap<>();
+                builder = new ShowCatalog.Builder(pool);
+                query = Query.of(q -> q.matchAll(m -> m));
+            } else {
+                builder = base.toBuilder(pool);
+                long since = base.highWaterMark();
+                query = Query.of(q -> q.range(r -> r
+                        .field("updated_at")
+                        .gte(JsonData.of(since))
+                        .format("epoch_millis")));
+            }
+            int scanned = scroller.scroll(showsIndex, query, SOURCE_FIELDS,
+                    hit -> builder.put(toShow(hit.id(), hit.source())));
+            ShowCatalog loaded = builder.build();
+            catalog = loaded;
+            lastRefresh = Instant.now();
+            if (full) {
+                lastFullLoad = lastRefresh;
+            }
+            outcome = "success";
+            log.info("show_catalog_refreshed", kv("mode", mode), kv("scanned", scanned),
+                    kv("shows", loaded.size()), kv("high_water_mark", loaded.highWaterMark()));
+        } catch (Exception e) {
+            log.warn("show_catalog_refresh_failed", kv("mode", mode), kv("error", e.getMessage()));
+        } finally {
+            sample.stop(Timer.builder("shows.catalog.refresh.duration")
+                    .tags("mode", mode, "outcome", outcome)
+                    .register(meterRegistry));
+        }
+    }
+
+    private static ShowCatalog.Show toShow(String docId, JsonNode src) {
+        String showId = text(src, "show_id");
+        List<String> categories = null;
+        JsonNode cats = src.get("categories");
+        if (cats != null && cats.isArray() && !cats.isEmpty()) {
+            categories = new ArrayList<>(cats.size());
+            for (JsonNode cat : cats) {
+                if (cat.isTextual()) {
+                    categories.add(cat.asText());
+                }
+            }
+        }
+        JsonNode count = src.get("episode_count");
+        return new ShowCatalog.Show(
+                showId != null ? showId : docId,
+                text(src, "title"),
+                text(src, "publisher"),
+                text(src, "image_url"),
+                text(src, "description"),
+                text(src, "language"),
+                categories == null || categories.isEmpty() ? null : categories,
+                count != null && count.isNumber() ? count.asInt() : null,
+                textMap(src.get("external_ids")),
+                textMap(src.get("external_urls")),
+                epochMillis(src.get("updated_at"))
+        );
+    }
+
+    private static long epochMillis(JsonNode value) {
+        if (value == null || value.isNull()) {
+            return 0L;
+        }
+        if (value.isNumber()) {
+            return value.asLong();
+        }
+        String text = value.asText();
+        try {
+            return OffsetDateTime.parse(text).toInstant().toEpochMilli();
+        } catch (DateTimeParseException e) {
+            try {
+                return Instant.parse(text).toEpochMilli();
+            } catch (DateTimeParseException ignored) {
+                return 0L;
+            }
+        }
+    }
+
+    private static Map<String, String> textMap(JsonNode obj) {
+        if (obj == null || !obj.isObject()) {
+            return null;
+        }
+        Map<String, String> result = new HashMap<>();
+        obj.properties().forEach(entry -> {
+            if (!entry.getValue().isNull()) {
+                result.put(entry.getKey(), entry.getValue().asText());
+            }
+        });
+        return result;
+    }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode v = node.get(field);
+        return v != null && !v.isNull() && v.isTextual() ? v.asText() : null;
+    }
+
+    private double ageSeconds() {
+        Instant refreshed = lastRefresh;
+        return refreshed != null ? Duration.between(refreshed, Instant.now()).toMillis() / 1000.0 : Double.NaN;
+    }
+}
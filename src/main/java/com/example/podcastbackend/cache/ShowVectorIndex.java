@@ -0,0 +1,256 @@
+package com.example.podcastbackend.cache;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.query_dsl.Query;
+import co.elastic.clients.elasticsearch.core.SearchResponse;
+import co.elastic.clients.elasticsearch.core.search.Hit;
+import co.elastic.clients.elasticsearch.core.search.TotalHitsRelation;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntPredicate;
+
+import static net.logstash.logback.argument.StructuredArguments.kv;
+
+/**
+ * In-process kNN over the show embeddings, an alternative to ES kNN for the
+ * shows index.
+ *
+ * The embeddings are scrolled from the {@code shows} index into an
+ * {@link HnswIndex} on the scheduler thread whenever the
+ * {@link ShowCatalog} has changed since the last build; the finished graph
+ * replaces the previous one in one volatile write. Requests filtered to a
+ * few shows (e.g. a rare language) are answered with an exact scan instead.
+ *
+ * Results are shaped like an ES kNN response (hits keyed by document id,
+ * {@code _source} from the catalog, cosine score as {@code (1 + cos) / 2})
+ * so the mapper and RRF fusion need no changes. {@link #search} returns
+ * null when the index is disabled, not built yet, or built for another
+ * vector dimension; callers then query ES.
+ */
+@Component
+public class ShowVectorIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(ShowVectorIndex.class);
+
+    private static final long SEED = 42L;
+
+    private record Built(
+            HnswIndex graph,
+            String[] docIds,
+            String[] showIds,
+            String[] languages,
+            Map<String, Integer> languageCounts,
+            int catalogSize,
+            long catalogHighWaterMark
+    ) {
+    }
+
+    private final IndexScroller scroller;
+    private final ShowCatalogLoader catalogLoader;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final String showsIndex;
+    private final String field;
+    private final int m;
+    private final int efConstruction;
+    private final int efSearch;
+    private final int exactThreshold;
+
+    private volatile Built built;
+
+    public ShowVectorIndex(
+            ElasticsearchClient esClient,
+            ShowCatalogLoader catalogLoader,
+            MeterRegistry meterRegistry,
+            @Value("${shows.vector-index.enabled:false}") boolean enabled,
+            @Value("${elasticsearch.indices.shows:shows}") String showsIndex,
+            @Value("${shows.vector-index.field:embedding}") String field,
+            @Value("${shows.vector-index.page-size:500}") int pageSize,
+            @Value("${shows.vector-index.m:16}") int m,
+            @Value("${shows.vector-index.ef-construction:100}") int efConstruction,
+            @Value("${shows.vector-index.ef-search:100}") int efSearch,
+            @Value("${shows.vector-index.exact-threshold:2000}") int exactThreshold) {
+        this.scroller = new IndexScroller(esClient, pageSize);
+        this.catalogLoader = catalogLoader;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.showsIndex = showsIndex;
+        this.field = field;
+        this.m = m;
+        this.efConstruction = efConstruction;
+        this.efSearch = efSearch;
+        this.exactThreshold = exactThreshold;
+        Gauge.builder("shows.vector_index.size", this, i -> i.built != null ? i.built.graph().size() : 0)
+                .register(meterRegistry);
+    }
+
+    public boolean isReady() {
+        return built != null;
+    }
+
+    /**
+     * Rebuilds the graph if the catalog changed since the last build. A
+     * failed build keeps the previous graph.
+     */
+    @Scheduled(fixedDelayString = "${shows.vector-index.check-interval-ms:60000}")
+    public synchronized void rebuildIfCatalogChanged() {
+        if (!enabled) {
+            return;
+        }
+        ShowCatalog catalog = catalogLoader.current();
+        if (catalog == null) {
+            return;
+        }
+        Built previous = built;
+        if (previous != null && previous.catalogSize() == catalog.size()
+                && previous.catalogHighWaterMark() == catalog.highWaterMark()) {
+            return;
+        }
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "failure";
+        try {
+            List<String> docIds = new ArrayList<>();
+            List<String> showIds = new ArrayList<>();
+            List<String> languages = new ArrayList<>();
+            List<float[]> vectors = new ArrayList<>();
+            Map<String, String> pool = new HashMap<>();
+            int[] dimension = {-1};
+            int scanned = scroller.scroll(showsIndex, Query.of(q -> q.exists(e -> e.field(field))),
+                    List.of("show_id", "language", field), hit -> {
+                        float[] vector = vector(hit.source().get(field));
+                        if (vector == null || (dimension[0] >= 0 && vector.length != dimension[0])) {
+                            return;
+                        }
+                        dimension[0] = vector.length;
+                        JsonNode showId = hit.source().get("show_id");
+                        JsonNode language = hit.source().get("language");
+                        docIds.add(hit.id());
+                        showIds.add(showId != null && showId.isTextual() ? showId.asText() : hit.id());
+                        String lang = language != null && language.isTextual() ? language.asText() : null;
+                        languages.add(lang != null ? pool.computeIfAbsent(lang, l -> l) : null);
+                        vectors.add(vector);
+                    });
+
+            Map<String, Integer> languageCounts = new HashMap<>();
+            for (String language : languages) {
+                if (language != null) {
+                    languageCounts.merge(language, 1, Integer::sum);
+                }
+            }
+            HnswIndex graph = HnswIndex.build(vectors.toArray(new float[0][]), m, efConstruction, SEED);
+            built = new Built(graph, docIds.toArray(new String[0]), showIds.toArray(new String[0]),
+                    languages.toArray(new String[0]), languageCounts, catalog.size(), catalog.highWaterMark());
+            outcome = "success";
+            log.info("show_vector_index_built", kv("scanned", scanned), kv("vectors", graph.size()),
+                    kv("dimension", graph.dimension()));
+        } catch (Exception e) {
+            log.warn("show_vector_index_build_failed", kv("error", e.getMessage()));
+        } finally {
+            sample.stop(Timer.builder("shows.vector_index.build.duration")
+                    .tags("outcome", outcome)
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * The {@code k} shows nearest to {@code vector}, restricted to
+     * {@code languages} when given, as an ES-shaped response; or null if the
+     * local index cannot answer.
+     */
+    public SearchResponse<JsonNode> search(float[] vector, List<String> languages, int k) {
+        Built current = built;
+        ShowCatalog catalog = catalogLoader.current();
+        if (!enabled || current == null || catalog == null || current.graph().dimension() != vector.length) {
+            return null;
+        }
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        IntPredicate filter = null;
+        int candidates = current.graph().size();
+        if (languages != null && !languages.isEmpty()) {
+            Set<String> allowed = new HashSet<>(languages);
+            String[] nodeLanguages = current.languages();
+            filter = node -> nodeLanguages[node] != null && allowed.contains(nodeLanguages[node]);
+            candidates = 0;
+            for (String language : allowed) {
+                candidates += current.languageCounts().getOrDefault(language, 0);
+            }
+        }
+        boolean exact = candidates <= exactThreshold;
+        List<HnswIndex.Result> results = exact
+                ? current.graph().exact(vector, k, filter)
+                : current.graph().search(vector, k, efSearch, filter);
+
+        List<Hit<JsonNode>> hits = new ArrayList<>(results.size());
+        for (HnswIndex.Result result : results) {
+            ShowCatalog.Show show = catalog.show(current.showIds()[result.node()]);
+            if (show == null) {
+                // Deleted since the graph was built
+                continue;
+            }
+            double score = (1 + result.similarity()) / 2;
+            String docId = current.docIds()[result.node()];
+            hits.add(Hit.of(h -> h.index(showsIndex).id(docId).score(score).source(source(show))));
+        }
+        sample.stop(Timer.builder("shows.vector_index.search.duration")
+                .tags("strategy", exact ? "exact" : "hnsw")
+                .register(meterRegistry));
+
+        return SearchResponse.of(r -> r
+                .took(0)
+                .timedOut(false)
+                .shards(s -> s.total(1).successful(1).failed(0))
+                .hits(h -> h
+                        .total(t -> t.value(hits.size()).relation(TotalHitsRelation.Eq))
+                        .hits(hits)
+                        .maxScore(hits.isEmpty() ? null : hits.get(0).score())));
+    }
+
+    private static float[] vector(JsonNode node) {
+        if (node == null || !node.isArray() || node.isEmpty()) {
+            return null;
+        }
+        float[] vector = new float[node.size()];
+        for (int i = 0; i < vector.length; i++) {
+            vector[i] = (float) node.get(i).asDouble();
+        }
+        return vector;
+    }
+
+    private static JsonNode source(ShowCatalog.Show show) {
+        ObjectNode src = JsonNodeFactory.instance.objectNode();
+        src.put("show_id", show.showId());
+        src.put("title", show.title());
+        src.put("description", show.description());
+        src.put("language", show.language());
+        src.put("publisher", show.publisher());
+        src.put("image_url", show.imageUrl());
+        if (show.episodeCount() != null) {
+            src.put("episode_count", show.episodeCount());
+        }
+        if (show.externalIds() != null) {
+            show.externalIds().forEach(src.putObject("external_ids")::put);
+        }
+        if (show.externalUrls() != null) {
+            show.externalUrls().forEach(src.putObject("external_urls")::put);
+        }
+        return src;
+    }
+}
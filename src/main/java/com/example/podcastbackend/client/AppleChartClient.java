@@ -1,34 +1,71 @@
 package com.example.podcastbackend.client;
 
-import com.fasterxml.jackson.databind.JsonNode;
+import com.example.podcastbackend.response.RankingsItem;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.time.Duration;
-
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Fetches Apple chart feeds.
+ *
+ * Requests are conditional: the {@code ETag}/{@code Last-Modified} validators
+ * of the last 200 for each feed are sent back as {@code If-None-Match}/
+ * {@code If-Modified-Since}, and a 304 is returned as
+ * {@link ChartFetch#unchanged()} without reading a body. Bodies are
+ * requested gzip-encoded and parsed as a stream by {@link AppleChartParser}.
+ */
 @Component
 public class AppleChartClient {
 
     private static final Logger log = LoggerFactory.getLogger(AppleChartClient.class);
 
-    private static final String PODCAST_CHART_URL =
-            "https://rss.applemarketingtools.com/api/v2/%s/podcasts/top/100/podcasts.json";
+    private static final String PODCAST_CHART_PATH = "/%s/podcasts/top/100/podcasts.json";
 
-    private static final String EPISODE_CHART_URL =
-            "https://rss.applemarketingtools.com/api/v2/%s/podcasts/top/100/podcast-episodes.json";
+    private static final String EPISODE_CHART_PATH = "/%s/podcasts/top/100/podcast-episodes.json";
 
-    private final HttpClient httpClient;
-    private final ObjectMapper objectMapper;
+    /**
+     * Result of one chart fetch: either fresh items, or "unchanged since the
+     * last fetch" (items is null).
+     */
+    public record ChartFetch(boolean notModified, List<RankingsItem> items) {
+
+        public static ChartFetch unchanged() {
+            return new ChartFetch(true, null);
+        }
 
-    public AppleChartClient(ObjectMapper objectMapper) {
-        this.objectMapper = objectMapper;
+        public static ChartFetch of(List<RankingsItem> items) {
+            return new ChartFetch(false, items);
+        }
+    }
+
+    private record Validators(String etag, String lastModified) {
+    }
+
+    private final HttpClient httpClient;
+    private final AppleChartParser parser;
+    private final String baseUrl;
+    private final Map<String, Validators> validators = new ConcurrentHashMap<>();
+
+    public AppleChartClient(
+            ObjectMapper objectMapper,
+            @Value("${apple.chart.base-url:https://rss.applemarketingtools.com/api/v2}") String baseUrl) {
+        this.parser = new AppleChartParser(objectMapper.getFactory());
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
         this.httpClient = HttpClient.newBuilder()
                 .connectTimeout(Duration.ofSeconds(10))
                 .followRedirects(HttpClient.Redirect.ALWAYS)
@@ -36,38 +73,63 @@ public class AppleChartClient {
     }
 
     @CircuitBreaker(name = "appleApi", fallbackMethod = "fallbackPodcastChart")
-    public JsonNode fetchPodcastChart(String region) {
-        String url = String.format(PODCAST_CHART_URL, region);
+    public ChartFetch fetchPodcastChart(String region) {
+        String url = baseUrl + String.format(PODCAST_CHART_PATH, region);
         return fetchChart(url, "podcast", region);
     }
 
     @CircuitBreaker(name = "appleApi", fallbackMethod = "fallbackEpisodeChart")
-    public JsonNode fetchEpisodeChart(String region) {
-        String url = String.format(EPISODE_CHART_URL, region);
+    public ChartFetch fetchEpisodeChart(String region) {
+        String url = baseUrl + String.format(EPISODE_CHART_PATH, region);
         return fetchChart(url, "episode", region);
     }
 
-    private JsonNode fetchChart(String url, String type, String region) {
+    /**
+     * Drops the remembered validators so the next fetch of the feed downloads
+     * the full body (e.g. when the cached copy it would confirm is gone).
+     */
+    public void forgetValidators(String region, String type) {
+        String path = "episode".equals(type) ? EPISODE_CHART_PATH : PODCAST_CHART_PATH;
+        validators.remove(baseUrl + String.format(path, region));
+    }
+
+    private ChartFetch fetchChart(String url, String type, String region) {
         try {
             log.info("Fetching {} chart for region: {}", type, region);
 
-            HttpRequest request = HttpRequest.newBuilder()
+            HttpRequest.Builder builder = HttpRequest.newBuilder()
                     .uri(URI.create(url))
                     .timeout(Duration.ofSeconds(30))
                     .header("Accept", "application/json")
-                    .GET()
-                    .build();
-
-            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
-
-            if (response.statusCode() != 200) {
-                log.error("Apple API returned status {}: {}", response.statusCode(), response.body());
-                throw new RuntimeException("Apple API returned status " + response.statusCode());
+                    .header("Accept-Encoding", "gzip")
+                    .GET();
+            Validators known = validators.get(url);
+            if (known != null) {
+                if (known.etag() != null) {
+                    builder.header("If-None-Match", known.etag());
+                }
+                if (known.lastModified() != null) {
+                    builder.header("If-Modified-Since", known.lastModified());
+                }
             }
 
-            JsonNode json = objectMapper.readTree(response.body());
-            log.info("Successfully fetched {} chart for region: {}", type, region);
-            return json;
+            HttpResponse<InputStream> response = httpClient.send(builder.build(), HttpResponse.BodyHandlers.ofInputStream());
+
+            try (InputStream body = decode(response)) {
+                if (response.statusCode() == 304) {
+                    log.info("{} chart for region {} not modified", type, region);
+                    return ChartFetch.unchanged();
+                }
+                if (response.statusCode() != 200) {
+                    log.error("Apple API returned status {}", response.statusCode());
+                    throw new RuntimeException("Apple API returned status " + response.statusCode());
+                }
+
+                List<RankingsItem> items = parser.parse(body, type);
+                rememberValidators(url, response);
+                log.info("Successfully fetched {} chart for region: {}", type, region);
+                return ChartFetch.of(items);
+            }
 
         } catch (Exception e) {
             log.error("Failed to fetch {} chart for region: {}", type, region, e);
@@ -75,14 +137,32 @@ public class AppleChartClient {
         }
     }
 
+    private static InputStream decode(HttpResponse<InputStream> response) throws IOException {
+        String encoding = response.headers().firstValue("Content-Encoding").orElse("");
+        if (response.statusCode() == 200 && "gzip".equalsIgnoreCase(encoding.trim())) {
+            return new GZIPInputStream(response.body(), 16 * 1024);
+        }
+        return response.body();
+    }
+
+    private void rememberValidators(String url, HttpResponse<?> response) {
+        String etag = response.headers().firstValue("ETag").orElse(null);
+        String lastModified = response.headers().firstValue("Last-Modified").orElse(null);
+        if (etag == null && lastModified == null) {
+            validators.remove(url);
+        } else {
+            validators.put(url, new Validators(etag, lastModified));
+        }
+    }
+
     @SuppressWarnings("unused")
-    private JsonNode fallbackPodcastChart(String region, Throwable t) {
+    private ChartFetch fallbackPodcastChart(String region, Throwable t) {
         log.warn("Circuit breaker fallback for podcast chart, region: {}, error: {}", region, t.getMessage());
         return null;
     }
 
     @SuppressWarnings("unused")
-    private JsonNode fallbackEpisodeChart(String region, Throwable t) {
+    private ChartFetch fallbackEpisodeChart(String region, Throwable t) {
         log.warn("Circuit breaker fallback for episode chart, region: {}, error: {}", region, t.getMessage());
         return null;
     }
@@ -0,0 +1,106 @@
+package com.example.podcastbackend.client;
+
+import com.example.podcastbackend.response.RankingsItem;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming reader for the Apple marketing-tools chart feed.
+ *
+ * Walks the token stream straight to {@code feed.results} and builds one
+ * {@link RankingsItem} per entry, skipping every other field (genres, links,
+ * copyright, ...) without materializing it. No tree is built for the feed.
+ */
+final class AppleChartParser {
+
+    private final JsonFactory jsonFactory;
+
+    AppleChartParser(JsonFactory jsonFactory) {
+        this.jsonFactory = jsonFactory;
+    }
+
+    List<RankingsItem> parse(InputStream body, String type) throws IOException {
+        List<RankingsItem> items = new ArrayList<>(100);
+        boolean isEpisode = "episode".equals(type);
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return items;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("feed".equals(field) && value == JsonToken.START_OBJECT) {
+                    readFeed(parser, isEpisode, items);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+        return items;
+    }
+
+    private void readFeed(JsonParser parser, boolean isEpisode, List<RankingsItem> items) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("results".equals(field) && value == JsonToken.START_ARRAY) {
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    items.add(readEntry(parser, isEpisode, items.size() + 1));
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    private RankingsItem readEntry(JsonParser parser, boolean isEpisode, int rank) throws IOException {
+        String id = null;
+        String name = null;
+        String artistName = null;
+        String artworkUrl = null;
+        String collectionName = null;
+        String collectionId = null;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if (value == JsonToken.START_OBJECT || value == JsonToken.START_ARRAY) {
+                parser.skipChildren();
+                continue;
+            }
+            String text = value == JsonToken.VALUE_NULL ? null : parser.getValueAsString();
+            switch (field) {
+                case "id" -> id = text;
+                case "name" -> name = text;
+                case "artistName" -> artistName = text;
+                case "artworkUrl100" -> artworkUrl = text;
+                case "collectionName" -> collectionName = text;
+                case "collectionId" -> collectionId = text;
+                default -> {
+                    // not used by rankings
+                }
+            }
+        }
+
+        String idPrefix = isEpisode ? "episode:apple:" : "show:apple:";
+        String parentShowId = (isEpisode && collectionId != null) ? "show:apple:" + collectionId : null;
+
+        return new RankingsItem(
+                rank,
+                id != null ? idPrefix + id : null,
+                parentShowId,
+                name,
+                artistName != null ? artistName : collectionName,
+                artworkUrl,
+                null, // language not in chart response
+                null, // episodeCount not applicable
+                null  // externalUrls
+        );
+    }
+}
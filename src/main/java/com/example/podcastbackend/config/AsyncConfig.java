@@ -1,23 +1,72 @@
 package com.example.podcastbackend.config;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
 
+import static net.logstash.logback.argument.StructuredArguments.kv;
+
+/**
+ * Executors for work that runs off the request thread.
+ *
+ * With {@code spring.threads.virtual.enabled=true} Spring Boot already runs
+ * Tomcat request handling on virtual threads; the fan-out executor used by
+ * search to overlap its blocking ES and embedding calls follows the same
+ * switch. In platform mode it is a bounded pool whose overflow runs on the
+ * caller, so a fan-out task is never rejected.
+ *
+ * Speculative next-page prefetches run on their own small pool of
+ * minimum-priority threads with a short queue; a prefetch that does not fit
+ * is dropped rather than queued behind live work.
+ *
+ * Query/click logging does not use an {@code @Async} executor: events go
+ * through {@link com.example.podcastbackend.log.LogEventPipeline}, whose
+ * lock-free buffer cannot reject a submission on the request thread.
+ */
 @Configuration
 @EnableAsync
 public class AsyncConfig {
 
-    @Bean(name = "logTaskExecutor")
-    public Executor logTaskExecutor() {
+    private static final Logger log = LoggerFactory.getLogger(AsyncConfig.class);
+
+    @Bean(name = "searchFanOutExecutor")
+    public Executor searchFanOutExecutor(
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+            @Value("${search.fan-out.max-threads:64}") int maxThreads) {
+        log.info("search_fan_out_executor", kv("virtual_threads", virtualThreads));
+        if (virtualThreads) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("search-vt-");
+            executor.setVirtualThreads(true);
+            return executor;
+        }
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(Math.min(8, maxThreads));
+        executor.setMaxPoolSize(maxThreads);
+        executor.setQueueCapacity(0);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setThreadNamePrefix("search-fan-out-");
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean(name = "searchPrefetchExecutor")
+    public Executor searchPrefetchExecutor(
+            @Value("${search.prefetch.threads:2}") int threads,
+            @Value("${search.prefetch.queue-capacity:32}") int queueCapacity) {
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(2);
-        executor.setMaxPoolSize(5);
-        executor.setQueueCapacity(100);
-        executor.setThreadNamePrefix("log-async-");
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadPriority(Thread.MIN_PRIORITY);
+        executor.setThreadNamePrefix("search-prefetch-");
         executor.initialize();
         return executor;
     }
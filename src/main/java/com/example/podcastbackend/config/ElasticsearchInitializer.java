@@ -4,6 +4,7 @@ import co.elastic.clients.elasticsearch.ElasticsearchClient;
 import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.io.StringReader;
@@ -12,7 +13,9 @@ import static net.logstash.logback.argument.StructuredArguments.kv;
 
 /**
  * Creates the {@code query-logs} and {@code click-logs} Elasticsearch indices
- * on startup if they do not already exist.
+ * on startup if they do not already exist, plus the shared rankings store
+ * index when {@code rankings.shared-store.enabled} is set. Fields added to
+ * {@code query-logs} later are also put on an existing index.
  *
  * Failures are caught and logged as warnings — they must not prevent the
  * application from starting (e.g. when ES is unavailable during local tests).
@@ -28,10 +31,12 @@ public class ElasticsearchInitializer {
                 "properties": {
                   "request_id":       { "type": "keyword" },
                   "timestamp":        { "type": "date" },
-                  "query":            { "type": "text" },
+                  "query":            { "type": "text",
+                                        "fields": { "raw": { "type": "keyword", "ignore_above": 256 } } },
                   "query_lang":       { "type": "keyword" },
                   "selected_lang":    { "type": "keyword" },
                   "mode":             { "type": "keyword" },
+                  "requested_mode":   { "type": "keyword" },
                   "target_index":     { "type": "keyword" },
                   "is_cross_lang":    { "type": "boolean" },
                   "result_count":     { "type": "integer" },
@@ -46,13 +51,33 @@ public class ElasticsearchInitializer {
             }
             """;
 
+    // Added to indices created before query.raw existed; applies to new documents only
+    private static final String QUERY_RAW_FIELD = """
+            {
+              "properties": {
+                "query": { "type": "text",
+                           "fields": { "raw": { "type": "keyword", "ignore_above": 256 } } }
+              }
+            }
+            """;
+
+    // The mode the caller sent (auto included); mode holds the one that ran
+    private static final String REQUESTED_MODE_FIELD = """
+            {
+              "properties": {
+                "requested_mode": { "type": "keyword" }
+              }
+            }
+            """;
+
     private static final String CLICK_LOGS_MAPPING = """
             {
               "mappings": {
                 "properties": {
                   "request_id":         { "type": "keyword" },
                   "timestamp":          { "type": "date" },
-                  "query":              { "type": "text" },
+                  "query":              { "type": "text",
+                                          "fields": { "raw": { "type": "keyword", "ignore_above": 256 } } },
                   "selected_lang":      { "type": "keyword" },
                   "clicked_episode_id": { "type": "keyword" },
                   "clicked_rank":       { "type": "integer" },
@@ -63,16 +88,47 @@ public class ElasticsearchInitializer {
             }
             """;
 
+    // Chart items are only stored and fetched by id, never searched
+    private static final String RANKINGS_STORE_MAPPING = """
+            {
+              "settings": { "number_of_shards": 1 },
+              "mappings": {
+                "properties": {
+                  "region":     { "type": "keyword" },
+                  "type":       { "type": "keyword" },
+                  "holder":     { "type": "keyword" },
+                  "fetched_by": { "type": "keyword" },
+                  "expires_at": { "type": "date", "format": "epoch_millis" },
+                  "cached_at":  { "type": "date", "format": "epoch_millis" },
+                  "items":      { "type": "object", "enabled": false }
+                }
+              }
+            }
+            """;
+
     private final ElasticsearchClient esClient;
+    private final boolean sharedRankingsEnabled;
+    private final String sharedRankingsIndex;
 
-    public ElasticsearchInitializer(ElasticsearchClient esClient) {
+    public ElasticsearchInitializer(
+            ElasticsearchClient esClient,
+            @Value("${rankings.shared-store.enabled:false}") boolean sharedRankingsEnabled,
+            @Value("${rankings.shared-store.index:rankings-store}") String sharedRankingsIndex) {
         this.esClient = esClient;
+        this.sharedRankingsEnabled = sharedRankingsEnabled;
+        this.sharedRankingsIndex = sharedRankingsIndex;
     }
 
     @PostConstruct
     public void init() {
         createIndexIfAbsent("query-logs", QUERY_LOGS_MAPPING);
+        putMapping("query-logs", QUERY_RAW_FIELD);
+        putMapping("query-logs", REQUESTED_MODE_FIELD);
         createIndexIfAbsent("click-logs", CLICK_LOGS_MAPPING);
+        putMapping("click-logs", QUERY_RAW_FIELD);
+        if (sharedRankingsEnabled) {
+            createIndexIfAbsent(sharedRankingsIndex, RANKINGS_STORE_MAPPING);
+        }
     }
 
     private void createIndexIfAbsent(String indexName, String mappingJson) {
@@ -93,4 +149,17 @@ public class ElasticsearchInitializer {
                     kv("error", e.getMessage()));
         }
     }
+
+    private void putMapping(String indexName, String propertiesJson) {
+        try {
+            esClient.indices().putMapping(p -> p
+                    .index(indexName)
+                    .withJson(new StringReader(propertiesJson))
+            );
+        } catch (Exception e) {
+            log.warn("index_mapping_update_failed",
+                    kv("index", indexName),
+                    kv("error", e.getMessage()));
+        }
+    }
 }
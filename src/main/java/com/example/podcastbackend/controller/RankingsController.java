@@ -1,20 +1,31 @@
 package com.example.podcastbackend.controller;
 
+import com.example.podcastbackend.cache.RankingsPayloadCache;
 import com.example.podcastbackend.request.RankingsRequest;
 import com.example.podcastbackend.response.RankingsResponse;
 import com.example.podcastbackend.service.RankingsService;
 import io.github.resilience4j.ratelimiter.annotation.RateLimiter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.Pattern;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Duration;
+
 @RestController
 @RequestMapping("/api/rankings")
 @Validated
@@ -22,27 +33,96 @@ import org.springframework.web.bind.annotation.*;
 public class RankingsController {
 
     private final RankingsService rankingsService;
+    private final CacheControl cacheControl;
 
-    public RankingsController(RankingsService rankingsService) {
+    public RankingsController(
+            RankingsService rankingsService,
+            @Value("${rankings.http.max-age-seconds:300}") long maxAgeSeconds) {
         this.rankingsService = rankingsService;
+        this.cacheControl = CacheControl.maxAge(Duration.ofSeconds(maxAgeSeconds)).cachePublic();
     }
 
     @GetMapping
     @RateLimiter(name = "rankingsApi")
     @Operation(summary = "Get rankings", description = "Retrieve podcast or episode rankings from Apple Charts")
     @ApiResponses({
-            @ApiResponse(responseCode = "200", description = "Rankings retrieved successfully"),
+            @ApiResponse(responseCode = "200", description = "Rankings retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = RankingsResponse.class))),
+            @ApiResponse(responseCode = "304", description = "Rankings unchanged since the ETag in If-None-Match"),
             @ApiResponse(responseCode = "400", description = "Invalid request parameters"),
             @ApiResponse(responseCode = "429", description = "Rate limit exceeded"),
             @ApiResponse(responseCode = "503", description = "Apple Charts service unavailable")
     })
-    public RankingsResponse getRankings(
+    public ResponseEntity<?> getRankings(
             @Parameter(description = "Region code", example = "tw") @RequestParam(name = "region", defaultValue = "tw") @Pattern(regexp = "^(tw|us|cn)$", message = "Region must be 'tw', 'us', or 'cn'") String region,
 
             @Parameter(description = "Chart type", example = "podcast") @RequestParam(defaultValue = "podcast") @Pattern(regexp = "^(podcast|episode)$", message = "Type must be 'podcast' or 'episode'") String type,
 
-            @Parameter(description = "Number of results to return", example = "20") @RequestParam(defaultValue = "20") @Min(value = 1, message = "Limit must be at least 1") @Max(value = 100, message = "Limit must not exceed 100") Integer limit) {
+            @Parameter(description = "Number of results to return", example = "20") @RequestParam(defaultValue = "20") @Min(value = 1, message = "Limit must be at least 1") @Max(value = 100, message = "Limit must not exceed 100") Integer limit,
+
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+
+            @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
         RankingsRequest request = new RankingsRequest(region, type, limit);
-        return rankingsService.getRankings(request);
+
+        RankingsPayloadCache.Payload payload = rankingsService.getRankingsPayload(request);
+        if (payload == null) {
+            // Chart not prepared yet (cold start) — serialize the regular response
+            return ResponseEntity.ok()
+                    .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                    .body(rankingsService.getRankings(request));
+        }
+
+        // Each encoding is its own representation, so the two bodies carry different strong ETags
+        boolean gzip = acceptsGzip(acceptEncoding);
+        String etag = gzip ? payload.gzipEtag() : payload.etag();
+        if (etagMatches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(cacheControl)
+                    .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(etag)
+                .lastModified(payload.updatedAt())
+                .cacheControl(cacheControl)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(payload.gzip());
+        }
+        return response.body(payload.json());
+    }
+
+    private static boolean etagMatches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            // If-None-Match uses weak comparison
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length == 1 || !parts[1].trim().matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
     }
 }
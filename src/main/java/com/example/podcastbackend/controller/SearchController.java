@@ -1,27 +1,70 @@
 package com.example.podcastbackend.controller;
 
+import com.example.podcastbackend.exception.InvalidSearchParamException;
+import com.example.podcastbackend.request.EpisodeBatchSearchRequest;
 import com.example.podcastbackend.request.EpisodeSearchRequest;
 import com.example.podcastbackend.request.ShowSearchRequest;
+import com.example.podcastbackend.request.UnifiedSearchRequest;
+import com.example.podcastbackend.response.EpisodeBatchSearchResponse;
 import com.example.podcastbackend.response.EpisodeSearchResponse;
 import com.example.podcastbackend.response.ShowSearchResponse;
+import com.example.podcastbackend.response.SuggestResponse;
+import com.example.podcastbackend.response.UnifiedSearchResponse;
 import com.example.podcastbackend.service.SearchService;
+import com.example.podcastbackend.suggest.SuggestService;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import io.github.resilience4j.ratelimiter.RequestNotPermitted;
 import io.github.resilience4j.ratelimiter.annotation.RateLimiter;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
 @RequestMapping("/api/search")
+@Validated
 @Tag(name = "Search", description = "Podcast and episode search APIs")
 public class SearchController {
 
     private final SearchService searchService;
+    private final SuggestService suggestService;
+    private final io.github.resilience4j.ratelimiter.RateLimiter searchRateLimiter;
+    private final int batchMaxItems;
 
-    public SearchController(SearchService searchService) {
+    public SearchController(SearchService searchService, SuggestService suggestService,
+                            RateLimiterRegistry rateLimiterRegistry,
+                            @Value("${search.batch.max-items:20}") int batchMaxItems) {
         this.searchService = searchService;
+        this.suggestService = suggestService;
+        this.searchRateLimiter = rateLimiterRegistry.rateLimiter("searchApi");
+        this.batchMaxItems = batchMaxItems;
+    }
+
+    @PostMapping
+    @RateLimiter(name = "searchApi")
+    @Operation(summary = "Search shows and episodes", description = "One query, first page of shows and of episodes with independent sizes; the query is embedded once for both")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Search completed successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid request parameters"),
+            @ApiResponse(responseCode = "429", description = "Rate limit exceeded")
+    })
+    public UnifiedSearchResponse searchAll(
+            @Valid @RequestBody UnifiedSearchRequest request
+    ) {
+        return searchService.searchAll(request);
     }
 
     @PostMapping("/shows")
@@ -42,13 +85,61 @@ public class SearchController {
     @RateLimiter(name = "searchApi")
     @Operation(summary = "Search episodes", description = "Search for podcast episodes by keyword with pagination and sorting")
     @ApiResponses({
-            @ApiResponse(responseCode = "200", description = "Search completed successfully"),
+            // The body is untyped when a materialized top query is served as stored JSON
+            @ApiResponse(responseCode = "200", description = "Search completed successfully",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = EpisodeSearchResponse.class))),
             @ApiResponse(responseCode = "400", description = "Invalid request parameters"),
             @ApiResponse(responseCode = "429", description = "Rate limit exceeded")
     })
-    public EpisodeSearchResponse searchEpisodes(
+    public ResponseEntity<?> searchEpisodes(
             @Valid @RequestBody EpisodeSearchRequest request
     ) {
-        return searchService.searchEpisodes(request);
+        // Top queries are served as stored JSON, skipping ES and serialization
+        byte[] materialized = searchService.materializedEpisodes(request);
+        if (materialized != null) {
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(materialized);
+        }
+        return ResponseEntity.ok(searchService.searchEpisodes(request));
+    }
+
+    /**
+     * Charged against {@code searchApi} like that many single searches: one
+     * permit per item, taken all at once or not at all.
+     */
+    @PostMapping("/episodes/_batch")
+    @Operation(summary = "Batch search episodes", description = "Up to search.batch.max-items episode searches in one call, results in request order; invalid or failed items are reported per item")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Batch completed (check each result's status)"),
+            @ApiResponse(responseCode = "400", description = "Empty or oversized batch"),
+            @ApiResponse(responseCode = "429", description = "Rate limit exceeded")
+    })
+    public EpisodeBatchSearchResponse searchEpisodesBatch(
+            @Valid @RequestBody EpisodeBatchSearchRequest request
+    ) {
+        int items = request.getRequests().size();
+        if (items > batchMaxItems) {
+            throw new InvalidSearchParamException("batch must not exceed " + batchMaxItems + " requests");
+        }
+        if (!searchRateLimiter.acquirePermission(items)) {
+            throw RequestNotPermitted.createRequestNotPermitted(searchRateLimiter);
+        }
+        return searchService.searchEpisodesBatch(request.getRequests());
+    }
+
+    @GetMapping("/suggest")
+    @Operation(summary = "Autocomplete", description = "Prefix completions from show titles, charted episode titles and popular queries, served from memory")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Suggestions returned (possibly empty)"),
+            @ApiResponse(responseCode = "400", description = "Invalid request parameters")
+    })
+    public SuggestResponse suggest(
+            @Parameter(description = "Prefix typed so far", example = "科技") @RequestParam @NotBlank(message = "q must not be blank") @Size(max = 100, message = "q must not exceed 100 characters") String q,
+
+            @Parameter(description = "Number of suggestions", example = "10") @RequestParam(defaultValue = "10") @Min(value = 1, message = "Size must be at least 1") @Max(value = 20, message = "Size must not exceed 20") Integer size
+    ) {
+        return SuggestResponse.ok(suggestService.suggest(q, size));
     }
-}
\ No newline at end of file
+}
@@ -15,19 +15,55 @@ import org.springframework.stereotype.Service;
 
 import static net.logstash.logback.argument.StructuredArguments.kv;
 
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
+/**
+ * Query embeddings through a local cache and the {@code embeddingApi}
+ * circuit breaker.
+ *
+ * Entries are keyed by the model the provider resolves for the profile plus
+ * the normalized query. Profiles that share a model (ZH and EN both default
+ * to the multilingual MiniLM) normalize with the union of their rules, so
+ * they produce the same text, and therefore share entries. Concurrent misses for
+ * the same key wait on one provider call instead of each making their own.
+ */
 @Service
 public class CachedEmbeddingService {
 
     private static final Logger log = LoggerFactory.getLogger(CachedEmbeddingService.class);
 
+    /** A cached vector and the profile that first requested it. */
+    private record Entry(float[] vector, EmbeddingProfile profile) {
+    }
+
+    /** The model a profile resolves to and every profile served by that model. */
+    private record Scope(String model, Set<EmbeddingProfile> profiles) {
+    }
+
+    /** A query's cache key and the normalized text sent to the provider. */
+    private record Keyed(String key, String normalized) {
+    }
+
     private final EmbeddingProvider provider;
     private final QueryNormalizer normalizer;
-    private final Cache<String, float[]> cache;
+    private final Cache<String, Entry> cache;
+    private final ConcurrentHashMap<String, CompletableFuture<float[]>> inFlight = new ConcurrentHashMap<>();
     private final CircuitBreaker circuitBreaker;
     private final Counter cacheHits;
     private final Counter cacheMisses;
+    private final Counter crossProfileHits;
+    private final Counter coalesced;
     private final Counter circuitBreakerOpen;
     private final Timer apiLatency;
 
@@ -48,6 +84,8 @@ public class CachedEmbeddingService {
         this.circuitBreaker = circuitBreakerRegistry.circuitBreaker("embeddingApi");
         this.cacheHits = meterRegistry.counter("embedding.cache.hits");
         this.cacheMisses = meterRegistry.counter("embedding.cache.misses");
+        this.crossProfileHits = meterRegistry.counter("embedding.cache.cross_profile_hits");
+        this.coalesced = meterRegistry.counter("embedding.inflight.coalesced");
         this.circuitBreakerOpen = meterRegistry.counter("embedding.circuit_breaker.open");
         this.apiLatency = meterRegistry.timer("embedding.api.latency");
     }
@@ -56,21 +94,118 @@ public class CachedEmbeddingService {
         if (profile == null || profile == EmbeddingProfile.NONE) {
             throw new IllegalArgumentException("EmbeddingProfile.NONE or null is not valid for embedding");
         }
-        String normalized = normalizer.normalize(query, profile);
-        String key = "embedding:" + profile.name().toLowerCase() + ":" + normalized;
+        Keyed keyed = key(scope(profile), query);
+        String key = keyed.key();
+        String normalized = keyed.normalized();
 
-        float[] cached = cache.getIfPresent(key);
+        Entry cached = cache.getIfPresent(key);
         if (cached != null) {
             cacheHits.increment();
-            return cached;
+            if (cached.profile() != profile) {
+                crossProfileHits.increment();
+            }
+            return cached.vector();
         }
         cacheMisses.increment();
 
+        CompletableFuture<float[]> call = new CompletableFuture<>();
+        CompletableFuture<float[]> running = inFlight.putIfAbsent(key, call);
+        if (running != null) {
+            coalesced.increment();
+            try {
+                return running.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
         try {
-            float[] vector = apiLatency.recordCallable(
-                    () -> circuitBreaker.executeSupplier(() -> provider.embed(normalized, profile)));
-            cache.put(key, vector);
+            Entry raced = cache.getIfPresent(key);
+            float[] vector = raced != null ? raced.vector() : fetch(normalized, profile);
+            if (vector != null) {
+                cache.put(key, new Entry(vector, profile));
+            }
+            call.complete(vector);
             return vector;
+        } catch (RuntimeException e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    /**
+     * Vectors for {@code queries}, in order. Cached entries are served from
+     * the cache and the distinct misses go to the provider in one call (not
+     * coalesced with concurrent single-query misses).
+     */
+    public List<float[]> embedAll(List<String> queries, EmbeddingProfile profile) {
+        if (profile == null || profile == EmbeddingProfile.NONE) {
+            throw new IllegalArgumentException("EmbeddingProfile.NONE or null is not valid for embedding");
+        }
+        Scope scope = scope(profile);
+        List<String> keys = new ArrayList<>(queries.size());
+        Map<String, float[]> vectors = new HashMap<>();
+        Map<String, String> missing = new LinkedHashMap<>();
+        for (String query : queries) {
+            Keyed keyed = key(scope, query);
+            String key = keyed.key();
+            String normalized = keyed.normalized();
+            keys.add(key);
+            if (vectors.containsKey(key) || missing.containsKey(key)) {
+                continue;
+            }
+            Entry cached = cache.getIfPresent(key);
+            if (cached != null) {
+                cacheHits.increment();
+                if (cached.profile() != profile) {
+                    crossProfileHits.increment();
+                }
+                vectors.put(key, cached.vector());
+            } else {
+                missing.put(key, normalized);
+            }
+        }
+        if (!missing.isEmpty()) {
+            cacheMisses.increment(missing.size());
+            List<String> texts = List.copyOf(missing.values());
+            List<float[]> fetched = callProvider(() -> provider.embedAll(texts, profile), profile);
+            int i = 0;
+            for (String key : missing.keySet()) {
+                float[] vector = fetched.get(i++);
+                if (vector != null) {
+                    cache.put(key, new Entry(vector, profile));
+                }
+                vectors.put(key, vector);
+            }
+        }
+        return keys.stream().map(vectors::get).toList();
+    }
+
+    private Scope scope(EmbeddingProfile profile) {
+        String model = provider.modelFor(profile);
+        Set<EmbeddingProfile> profiles = EnumSet.of(profile);
+        for (EmbeddingProfile other : List.of(EmbeddingProfile.ZH, EmbeddingProfile.EN)) {
+            if (model.equals(provider.modelFor(other))) {
+                profiles.add(other);
+            }
+        }
+        return new Scope(model, profiles);
+    }
+
+    /** The one place cache keys are built; {@link #embed} and {@link #embedAll} must agree. */
+    private Keyed key(Scope scope, String query) {
+        String normalized = normalizer.normalize(query, scope.profiles());
+        return new Keyed("embedding:" + scope.model() + ":" + normalized, normalized);
+    }
+
+    private float[] fetch(String normalized, EmbeddingProfile profile) {
+        return callProvider(() -> provider.embed(normalized, profile), profile);
+    }
+
+    private <T> T callProvider(Supplier<T> call, EmbeddingProfile profile) {
+        try {
+            return apiLatency.recordCallable(() -> circuitBreaker.executeSupplier(call));
         } catch (CallNotPermittedException e) {
             circuitBreakerOpen.increment();
             log.warn("embedding_circuit_breaker_open", kv("profile", profile.name()));
@@ -82,6 +217,11 @@ public class CachedEmbeddingService {
         }
     }
 
+    /** Model that embeds {@code profile} queries; profiles on one model get the same vector. */
+    public String modelFor(EmbeddingProfile profile) {
+        return provider.modelFor(profile);
+    }
+
     public boolean isAvailable() {
         return provider.isAvailable() && circuitBreaker.getState() != CircuitBreaker.State.OPEN;
     }
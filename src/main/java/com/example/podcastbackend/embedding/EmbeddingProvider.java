@@ -1,9 +1,28 @@
 package com.example.podcastbackend.embedding;
 
+import java.util.List;
+
 public interface EmbeddingProvider {
     float[] embed(String text, EmbeddingProfile profile);
 
+    /**
+     * Vectors for {@code texts}, in order. Providers whose API accepts an
+     * input array override this to make one call.
+     */
+    default List<float[]> embedAll(List<String> texts, EmbeddingProfile profile) {
+        return texts.stream().map(text -> embed(text, profile)).toList();
+    }
+
     default boolean isAvailable() {
         return true;
     }
+
+    /**
+     * Model that embeds {@code profile} queries. Profiles mapped to the same
+     * model produce the same vector for the same text, so
+     * {@link CachedEmbeddingService} shares their cache entries.
+     */
+    default String modelFor(EmbeddingProfile profile) {
+        return profile.name().toLowerCase();
+    }
 }
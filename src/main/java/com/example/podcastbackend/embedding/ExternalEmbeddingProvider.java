@@ -53,18 +53,33 @@ public class ExternalEmbeddingProvider implements EmbeddingProvider {
         return apiUrl != null && !apiUrl.isBlank();
     }
 
+    @Override
+    public String modelFor(EmbeddingProfile profile) {
+        return profile == EmbeddingProfile.ZH ? modelZh : modelEn;
+    }
+
     @Override
     public float[] embed(String text, EmbeddingProfile profile) {
+        return call(text, 1, profile).get(0);
+    }
+
+    /** One request with an {@code input} array; vectors come back in input order. */
+    @Override
+    public List<float[]> embedAll(List<String> texts, EmbeddingProfile profile) {
+        return call(texts, texts.size(), profile);
+    }
+
+    private List<float[]> call(Object input, int inputs, EmbeddingProfile profile) {
         if (profile == EmbeddingProfile.NONE) {
             throw new IllegalArgumentException("embed() called with NONE profile");
         }
 
-        String model = profile == EmbeddingProfile.ZH ? modelZh : modelEn;
+        String model = modelFor(profile);
 
         long start = System.currentTimeMillis();
 
         try {
-            String requestJson = objectMapper.writeValueAsString(Map.of("model", model, "input", text));
+            String requestJson = objectMapper.writeValueAsString(Map.of("model", model, "input", input));
 
             HttpRequest request = HttpRequest.newBuilder()
                     .uri(URI.create(apiUrl))
@@ -95,20 +110,22 @@ public class ExternalEmbeddingProvider implements EmbeddingProvider {
             if (embedResponse.data == null || embedResponse.data.isEmpty()) {
                 throw new EmbeddingUnavailableException("Empty data in embedding API response");
             }
-
-            List<Double> embedding = embedResponse.data.stream()
-                    .min(Comparator.comparingInt(d -> d.index))
-                    .orElseThrow(() -> new EmbeddingUnavailableException("No embedding object in response")).embedding;
-
-            float[] result = new float[embedding.size()];
-            for (int i = 0; i < embedding.size(); i++) {
-                result[i] = embedding.get(i).floatValue();
+            if (inputs > 1 && embedResponse.data.size() != inputs) {
+                throw new EmbeddingUnavailableException(
+                        "Embedding API returned " + embedResponse.data.size() + " embeddings for " + inputs + " inputs");
             }
 
+            List<float[]> result = embedResponse.data.stream()
+                    .sorted(Comparator.comparingInt(d -> d.index))
+                    .limit(inputs)
+                    .map(d -> toFloats(d.embedding))
+                    .toList();
+
             log.debug("embedding_api_ok",
                     kv("model", model), kv("profile", profile.name()),
                     kv("latency_ms", System.currentTimeMillis() - start),
-                    kv("dimensions", result.length));
+                    kv("inputs", inputs),
+                    kv("dimensions", result.get(0).length));
             return result;
 
         } catch (java.net.http.HttpTimeoutException e) {
@@ -123,6 +140,14 @@ public class ExternalEmbeddingProvider implements EmbeddingProvider {
         }
     }
 
+    private static float[] toFloats(List<Double> embedding) {
+        float[] result = new float[embedding.size()];
+        for (int i = 0; i < embedding.size(); i++) {
+            result[i] = embedding.get(i).floatValue();
+        }
+        return result;
+    }
+
     @JsonIgnoreProperties(ignoreUnknown = true)
     private static class EmbedResponse {
         @JsonProperty("data")
@@ -1,15 +1,125 @@
 package com.example.podcastbackend.embedding;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.text.Normalizer;
+import java.util.Set;
+
+/**
+ * Canonical form of a query, used as the embedding cache key and as the text
+ * sent to the embedding provider, so that spellings of the same query share
+ * one cache entry.
+ *
+ * <ul>
+ *   <li>NFKC folding, which also folds full-width forms ({@code ＡＩ} →
+ *       {@code AI}, ideographic space → space) and half-width katakana;</li>
+ *   <li>punctuation (ASCII or CJK) is a word separator, except
+ *       {@code . ' - _ & /} between two letters or digits ({@code node.js},
+ *       {@code don't}, {@code 3.5}), a digit-grouping comma and a trailing
+ *       {@code #} after a letter ({@code c#});</li>
+ *   <li>whitespace runs collapse to one space, ends trimmed;</li>
+ *   <li>EN: lower case; ZH: Traditional → Simplified folding when
+ *       {@code embedding.normalizer.fold-traditional} is on;</li>
+ *   <li>a query that normalizes to nothing (only punctuation) is returned
+ *       trimmed but otherwise unchanged.</li>
+ * </ul>
+ * One pass over the code points into a single builder; the NFKC step is
+ * skipped when the input is already normalized, which covers most queries.
+ */
 @Component
 public class QueryNormalizer {
 
+    private final boolean foldTraditional;
+
+    public QueryNormalizer(@Value("${embedding.normalizer.fold-traditional:false}") boolean foldTraditional) {
+        this.foldTraditional = foldTraditional;
+    }
+
     public String normalize(String query, EmbeddingProfile profile) {
-        String q = query.trim().replaceAll("\\s+", " ");
-        if (profile == EmbeddingProfile.EN) {
-            q = q.toLowerCase();
+        return normalize(query, profile == EmbeddingProfile.EN, foldTraditional && profile == EmbeddingProfile.ZH);
+    }
+
+    /**
+     * The form shared by several profiles (profiles served by one model):
+     * every rule of each profile applies, so the result does not depend on
+     * which of them asked.
+     */
+    public String normalize(String query, Set<EmbeddingProfile> profiles) {
+        return normalize(query, profiles.contains(EmbeddingProfile.EN),
+                foldTraditional && profiles.contains(EmbeddingProfile.ZH));
+    }
+
+    private String normalize(String query, boolean lowerCase, boolean fold) {
+        String q = Normalizer.isNormalized(query, Normalizer.Form.NFKC)
+                ? query
+                : Normalizer.normalize(query, Normalizer.Form.NFKC);
+
+        StringBuilder sb = new StringBuilder(q.length());
+        boolean pendingSpace = false;
+        int prev = -1;
+        int length = q.length();
+        for (int i = 0; i < length; ) {
+            int cp = q.codePointAt(i);
+            i += Character.charCount(cp);
+
+            if (Character.isWhitespace(cp) || Character.isSpaceChar(cp)) {
+                pendingSpace = true;
+                prev = -1;
+                continue;
+            }
+            if (isPunctuation(cp)) {
+                int next = i < length ? q.codePointAt(i) : -1;
+                if (!joinsWord(cp, prev, next)) {
+                    pendingSpace = true;
+                    prev = -1;
+                    continue;
+                }
+            }
+            if (pendingSpace && !sb.isEmpty()) {
+                sb.append(' ');
+            }
+            pendingSpace = false;
+            prev = cp;
+            if (lowerCase) {
+                cp = Character.toLowerCase(cp);
+            }
+            if (fold) {
+                cp = TraditionalChineseFolding.fold(cp);
+            }
+            sb.appendCodePoint(cp);
+        }
+        // A query of nothing but punctuation keeps its own text rather than becoming ""
+        return sb.isEmpty() ? query.strip() : sb.toString();
+    }
+
+    /**
+     * Whether punctuation {@code cp} between {@code prev} and {@code next}
+     * (-1 at a boundary) is part of a word rather than a separator.
+     */
+    private static boolean joinsWord(int cp, int prev, int next) {
+        if (prev < 0 || !Character.isLetterOrDigit(prev)) {
+            return false;
         }
-        return q;
+        if (cp == '#') {
+            return Character.isLetter(prev) && (next < 0 || !Character.isLetterOrDigit(next));
+        }
+        if (next < 0 || !Character.isLetterOrDigit(next)) {
+            return false;
+        }
+        return switch (cp) {
+            case '.', '\'', '-', '_', '&', '/' -> true;
+            case ',' -> Character.isDigit(prev) && Character.isDigit(next);
+            default -> false;
+        };
+    }
+
+    private static boolean isPunctuation(int cp) {
+        return switch (Character.getType(cp)) {
+            case Character.CONNECTOR_PUNCTUATION, Character.DASH_PUNCTUATION, Character.START_PUNCTUATION,
+                 Character.END_PUNCTUATION, Character.INITIAL_QUOTE_PUNCTUATION,
+                 Character.FINAL_QUOTE_PUNCTUATION, Character.OTHER_PUNCTUATION -> true;
+            default -> false;
+        };
     }
 }
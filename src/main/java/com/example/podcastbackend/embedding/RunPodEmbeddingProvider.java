@@ -11,6 +11,7 @@ import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
@@ -53,19 +54,34 @@ public class RunPodEmbeddingProvider implements EmbeddingProvider {
         return apiUrl != null && !apiUrl.isBlank();
     }
 
+    @Override
+    public String modelFor(EmbeddingProfile profile) {
+        return profile == EmbeddingProfile.ZH ? modelZh : modelEn;
+    }
+
     @Override
     public float[] embed(String text, EmbeddingProfile profile) {
+        return call(text, 1, profile).get(0);
+    }
+
+    /** One job with an {@code input} array; vectors come back in input order. */
+    @Override
+    public List<float[]> embedAll(List<String> texts, EmbeddingProfile profile) {
+        return call(texts, texts.size(), profile);
+    }
+
+    private List<float[]> call(Object input, int inputs, EmbeddingProfile profile) {
         if (profile == EmbeddingProfile.NONE) {
             throw new IllegalArgumentException("embed() called with NONE profile");
         }
 
-        String model = profile == EmbeddingProfile.ZH ? modelZh : modelEn;
+        String model = modelFor(profile);
 
         long start = System.currentTimeMillis();
 
         try {
             // RunPod Serverless wraps the payload in an outer "input" envelope
-            Map<String, Object> innerPayload = Map.of("model", model, "input", text);
+            Map<String, Object> innerPayload = Map.of("model", model, "input", input);
             String requestJson = objectMapper.writeValueAsString(Map.of("input", innerPayload));
 
             HttpRequest request = HttpRequest.newBuilder()
@@ -100,25 +116,31 @@ public class RunPodEmbeddingProvider implements EmbeddingProvider {
                     || runPodResponse.output.data.isEmpty()) {
                 throw new EmbeddingUnavailableException("Empty output.data in RunPod embedding response");
             }
-
-            List<Double> embedding = runPodResponse.output.data.stream()
-                    .min(Comparator.comparingInt(d -> d.index))
-                    .orElseThrow(() -> new EmbeddingUnavailableException("No embedding object in RunPod response"))
-                    .embedding;
-
-            if (embedding == null || embedding.isEmpty()) {
-                throw new EmbeddingUnavailableException("Null or empty embedding vector in RunPod response");
+            if (inputs > 1 && runPodResponse.output.data.size() != inputs) {
+                throw new EmbeddingUnavailableException("RunPod embedding response has "
+                        + runPodResponse.output.data.size() + " embeddings for " + inputs + " inputs");
             }
 
-            float[] result = new float[embedding.size()];
-            for (int i = 0; i < embedding.size(); i++) {
-                result[i] = embedding.get(i).floatValue();
+            List<float[]> result = new ArrayList<>(inputs);
+            for (EmbeddingData data : runPodResponse.output.data.stream()
+                    .sorted(Comparator.comparingInt(d -> d.index))
+                    .limit(inputs)
+                    .toList()) {
+                if (data.embedding == null || data.embedding.isEmpty()) {
+                    throw new EmbeddingUnavailableException("Null or empty embedding vector in RunPod response");
+                }
+                float[] vector = new float[data.embedding.size()];
+                for (int i = 0; i < data.embedding.size(); i++) {
+                    vector[i] = data.embedding.get(i).floatValue();
+                }
+                result.add(vector);
             }
 
             log.debug("runpod_embedding_ok",
                     kv("model", model), kv("profile", profile.name()),
                     kv("latency_ms", System.currentTimeMillis() - start),
-                    kv("dimensions", result.length));
+                    kv("inputs", inputs),
+                    kv("dimensions", result.get(0).length));
             return result;
 
         } catch (java.net.http.HttpTimeoutException e) {
@@ -0,0 +1,73 @@
+package com.example.podcastbackend.embedding;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Traditional → Simplified character folding from the table in
+ * {@code normalizer/zh-t2s.txt}.
+ *
+ * The table is loaded once into a {@code char[]} indexed by code point over
+ * the CJK blocks it covers ({@code U+3400..U+9FFF}), so a lookup is one
+ * bounds check and one array read. Characters outside the table map to
+ * themselves.
+ */
+public final class TraditionalChineseFolding {
+
+    private static final String RESOURCE = "/normalizer/zh-t2s.txt";
+    private static final int BASE = 0x3400;
+    private static final int END = 0x9FFF;
+
+    private static final char[] TABLE = load();
+
+    private TraditionalChineseFolding() {
+    }
+
+    public static int fold(int codePoint) {
+        if (codePoint < BASE || codePoint > END) {
+            return codePoint;
+        }
+        char folded = TABLE[codePoint - BASE];
+        return folded != 0 ? folded : codePoint;
+    }
+
+    static int size() {
+        int size = 0;
+        for (char c : TABLE) {
+            if (c != 0) {
+                size++;
+            }
+        }
+        return size;
+    }
+
+    private static char[] load() {
+        char[] table = new char[END - BASE + 1];
+        try (InputStream in = TraditionalChineseFolding.class.getResourceAsStream(RESOURCE)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing folding table " + RESOURCE);
+            }
+            BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank() || line.startsWith("#")) {
+                    continue;
+                }
+                for (String pair : line.trim().split("\\s+")) {
+                    char traditional = pair.charAt(0);
+                    char simplified = pair.charAt(1);
+                    if (traditional >= BASE && traditional <= END) {
+                        table[traditional - BASE] = simplified;
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load folding table " + RESOURCE, e);
+        }
+        return table;
+    }
+}
@@ -1,24 +1,21 @@
 package com.example.podcastbackend.log;
 
-import co.elastic.clients.elasticsearch.ElasticsearchClient;
 import com.example.podcastbackend.request.ClickLogRequest;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
-import java.io.StringReader;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
 import static net.logstash.logback.argument.StructuredArguments.kv;
 
 /**
- * Writes click-log entries to the {@code click-logs} Elasticsearch index
- * asynchronously. Failures are silent-dropped (logged + metric).
+ * Publishes click-log entries for the {@code click-logs} Elasticsearch index
+ * through the {@link LogEventPipeline}; never blocks the request thread.
  */
 @Service
 public class ClickLogService {
@@ -27,22 +24,19 @@ public class ClickLogService {
     private static final String INDEX = "click-logs";
     private static final ObjectMapper MAPPER = new ObjectMapper();
 
-    private final ElasticsearchClient esClient;
+    private final LogEventPipeline pipeline;
     private final MeterRegistry meterRegistry;
 
-    public ClickLogService(ElasticsearchClient esClient, MeterRegistry meterRegistry) {
-        this.esClient = esClient;
+    public ClickLogService(LogEventPipeline pipeline, MeterRegistry meterRegistry) {
+        this.pipeline = pipeline;
         this.meterRegistry = meterRegistry;
     }
 
-    @Async("logTaskExecutor")
     public void logClick(ClickLogRequest request) {
         try {
-            String documentJson = toJson(request);
-            esClient.index(i -> i
-                    .index(INDEX)
-                    .withJson(new StringReader(documentJson))
-            );
+            if (!pipeline.publish(INDEX, request.getRequestId(), toJson(request))) {
+                meterRegistry.counter("click_log.write.failure").increment();
+            }
         } catch (Exception e) {
             log.warn("click_log_failed",
                     kv("request_id", request.getRequestId()),
@@ -0,0 +1,85 @@
+package com.example.podcastbackend.log;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch.core.BulkRequest;
+import co.elastic.clients.elasticsearch.core.BulkResponse;
+import co.elastic.clients.elasticsearch.core.bulk.BulkResponseItem;
+import co.elastic.clients.json.JsonData;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+import static net.logstash.logback.argument.StructuredArguments.kv;
+
+/**
+ * Writes a drained {@link LogEventBatch} to Elasticsearch with one
+ * {@code _bulk} request. Events that cannot be delivered (transport failure or
+ * a retryable per-item status) go to the {@link LogSpool}; events rejected for
+ * non-retryable reasons are dropped and counted.
+ */
+@Component
+public class LogBatchWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(LogBatchWriter.class);
+
+    private final ElasticsearchClient esClient;
+    private final LogSpool spool;
+    private final MeterRegistry meterRegistry;
+
+    public LogBatchWriter(ElasticsearchClient esClient, LogSpool spool, MeterRegistry meterRegistry) {
+        this.esClient = esClient;
+        this.spool = spool;
+        this.meterRegistry = meterRegistry;
+    }
+
+    void write(LogEventBatch batch) {
+        if (batch.size() == 0) {
+            return;
+        }
+        BulkRequest.Builder request = new BulkRequest.Builder();
+        for (int i = 0; i < batch.size(); i++) {
+            String index = batch.index(i);
+            JsonData document = JsonData.fromJson(batch.document(i));
+            request.operations(op -> op.index(idx -> idx.index(index).document(document)));
+        }
+
+        try {
+            BulkResponse response = esClient.bulk(request.build());
+            if (response.errors()) {
+                handleItemErrors(batch, response.items());
+            }
+        } catch (Exception e) {
+            log.warn("log_batch_write_failed", kv("events", batch.size()), kv("error", e.getMessage()));
+            for (int i = 0; i < batch.size(); i++) {
+                failed(batch, i, true);
+            }
+        }
+    }
+
+    private void handleItemErrors(LogEventBatch batch, List<BulkResponseItem> items) {
+        for (int i = 0; i < items.size() && i < batch.size(); i++) {
+            BulkResponseItem item = items.get(i);
+            if (item.error() == null) {
+                continue;
+            }
+            boolean retryable = item.status() == 429 || item.status() >= 500;
+            log.warn("log_write_item_failed",
+                    kv("index", batch.index(i)),
+                    kv("request_id", batch.requestId(i)),
+                    kv("status", item.status()),
+                    kv("error", item.error().reason()));
+            failed(batch, i, retryable);
+        }
+    }
+
+    private void failed(LogEventBatch batch, int i, boolean retryable) {
+        String index = batch.index(i);
+        meterRegistry.counter("log_pipeline.write.failure", "index", index).increment();
+        if (!retryable || !spool.append(index, batch.document(i))) {
+            meterRegistry.counter("log_pipeline.write.dropped", "index", index).increment();
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.podcastbackend.log;
+
+/**
+ * Reusable batch of log events drained from {@link LogEventRingBuffer}.
+ * Owned by the pipeline consumer thread; cleared and refilled for every batch.
+ */
+class LogEventBatch {
+
+    private final String[] indices;
+    private final String[] requestIds;
+    private final String[] documents;
+    private int size;
+
+    LogEventBatch(int capacity) {
+        this.indices = new String[capacity];
+        this.requestIds = new String[capacity];
+        this.documents = new String[capacity];
+    }
+
+    void add(String index, String requestId, String document) {
+        indices[size] = index;
+        requestIds[size] = requestId;
+        documents[size] = document;
+        size++;
+    }
+
+    boolean isFull() {
+        return size == indices.length;
+    }
+
+    int size() {
+        return size;
+    }
+
+    String index(int i) {
+        return indices[i];
+    }
+
+    String requestId(int i) {
+        return requestIds[i];
+    }
+
+    String document(int i) {
+        return documents[i];
+    }
+
+    void clear() {
+        for (int i = 0; i < size; i++) {
+            indices[i] = null;
+            requestIds[i] = null;
+            documents[i] = null;
+        }
+        size = 0;
+    }
+}
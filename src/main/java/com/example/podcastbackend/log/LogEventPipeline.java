@@ -0,0 +1,188 @@
+package com.example.podcastbackend.log;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static net.logstash.logback.argument.StructuredArguments.kv;
+
+/**
+ * Non-blocking hand-off for query/click log events.
+ *
+ * Request threads call {@link #publish}, which claims a preallocated slot in a
+ * lock-free ring buffer and returns immediately — it never blocks and never
+ * throws. When the buffer is full the configured overflow policy decides
+ * whether the new event ({@code drop-newest}) or the oldest queued event
+ * ({@code drop-oldest}) is discarded; both are counted.
+ *
+ * A single consumer thread drains the buffer in batches and hands them to
+ * {@link LogBatchWriter}. On shutdown the consumer drains whatever is left
+ * before the application context closes.
+ */
+@Component
+public class LogEventPipeline {
+
+    private static final Logger log = LoggerFactory.getLogger(LogEventPipeline.class);
+
+    private static final long MIN_IDLE_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(500);
+    private static final long MAX_IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+    private static final int DROP_OLDEST_ATTEMPTS = 3;
+
+    public enum OverflowPolicy {
+        DROP_NEWEST, DROP_OLDEST;
+
+        /** Parses {@code drop-newest} / {@code drop-oldest}; anything else fails startup. */
+        static OverflowPolicy fromString(String value) {
+            String normalized = value == null ? "" : value.trim();
+            for (OverflowPolicy policy : values()) {
+                if (policy.configValue().equalsIgnoreCase(normalized)) {
+                    return policy;
+                }
+            }
+            throw new IllegalArgumentException("log-pipeline.overflow-policy must be one of "
+                    + Arrays.stream(values()).map(OverflowPolicy::configValue).toList() + ", got '" + value + "'");
+        }
+
+        String configValue() {
+            return name().toLowerCase().replace('_', '-');
+        }
+    }
+
+    private final LogEventRingBuffer ringBuffer;
+    private final LogBatchWriter writer;
+    private final OverflowPolicy overflowPolicy;
+    private final int batchSize;
+    private final long drainTimeoutMs;
+    private final boolean virtualThreads;
+
+    private final Counter published;
+    private final Counter droppedNewest;
+    private final Counter droppedOldest;
+
+    private volatile boolean running;
+    private Thread consumer;
+
+    public LogEventPipeline(
+            LogBatchWriter writer,
+            MeterRegistry meterRegistry,
+            @Value("${log-pipeline.capacity:8192}") int capacity,
+            @Value("${log-pipeline.overflow-policy:drop-oldest}") String overflowPolicy,
+            @Value("${log-pipeline.batch-size:200}") int batchSize,
+            @Value("${log-pipeline.drain-timeout-ms:5000}") long drainTimeoutMs,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.ringBuffer = new LogEventRingBuffer(capacity);
+        this.writer = writer;
+        this.overflowPolicy = OverflowPolicy.fromString(overflowPolicy);
+        this.batchSize = Math.max(1, batchSize);
+        this.drainTimeoutMs = drainTimeoutMs;
+        this.virtualThreads = virtualThreads;
+        this.published = meterRegistry.counter("log_pipeline.published");
+        this.droppedNewest = meterRegistry.counter("log_pipeline.dropped", "policy", "drop_newest");
+        this.droppedOldest = meterRegistry.counter("log_pipeline.dropped", "policy", "drop_oldest");
+        Gauge.builder("log_pipeline.queue.size", ringBuffer, LogEventRingBuffer::size).register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        consumer = virtualThreads
+                ? Thread.ofVirtual().name("log-pipeline").start(this::consumeLoop)
+                : Thread.ofPlatform().name("log-pipeline").daemon(true).start(this::consumeLoop);
+        log.info("log_pipeline_started",
+                kv("capacity", ringBuffer.capacity()), kv("overflow_policy", overflowPolicy.name().toLowerCase()),
+                kv("virtual_threads", virtualThreads));
+    }
+
+    /**
+     * Enqueues one event. Returns false if the event was dropped; never blocks
+     * or throws.
+     */
+    public boolean publish(String index, String requestId, String documentJson) {
+        try {
+            if (ringBuffer.offer(index, requestId, documentJson)) {
+                published.increment();
+                return true;
+            }
+            if (overflowPolicy == OverflowPolicy.DROP_OLDEST) {
+                for (int attempt = 0; attempt < DROP_OLDEST_ATTEMPTS; attempt++) {
+                    if (ringBuffer.poll(null)) {
+                        droppedOldest.increment();
+                    }
+                    if (ringBuffer.offer(index, requestId, documentJson)) {
+                        published.increment();
+                        return true;
+                    }
+                }
+            }
+            droppedNewest.increment();
+            return false;
+        } catch (RuntimeException e) {
+            droppedNewest.increment();
+            return false;
+        }
+    }
+
+    /** Number of events waiting to be written. */
+    public int backlog() {
+        return ringBuffer.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        if (consumer == null) {
+            return;
+        }
+        LockSupport.unpark(consumer);
+        try {
+            consumer.join(drainTimeoutMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (consumer.isAlive()) {
+            log.warn("log_pipeline_drain_timeout", kv("remaining", ringBuffer.size()));
+        } else {
+            log.info("log_pipeline_drained");
+        }
+    }
+
+    private void consumeLoop() {
+        LogEventBatch batch = new LogEventBatch(batchSize);
+        long idlePark = MIN_IDLE_PARK_NANOS;
+        while (true) {
+            while (!batch.isFull() && ringBuffer.poll(batch)) {
+                // drain up to one batch
+            }
+            if (batch.size() > 0) {
+                flush(batch);
+                idlePark = MIN_IDLE_PARK_NANOS;
+                continue;
+            }
+            if (!running) {
+                return;
+            }
+            LockSupport.parkNanos(idlePark);
+            idlePark = Math.min(idlePark * 2, MAX_IDLE_PARK_NANOS);
+        }
+    }
+
+    private void flush(LogEventBatch batch) {
+        try {
+            writer.write(batch);
+        } catch (RuntimeException e) {
+            log.warn("log_pipeline_flush_failed", kv("events", batch.size()), kv("error", e.getMessage()));
+        } finally {
+            batch.clear();
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.podcastbackend.log;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded multi-producer ring buffer with preallocated slots (Vyukov-style
+ * sequence per slot). {@link #offer} and {@link #poll} never block and never
+ * take a lock: a full buffer makes {@code offer} return false and an empty one
+ * makes {@code poll} return false.
+ *
+ * Slots are reused, so an offered event costs no allocation beyond the
+ * strings the caller already holds.
+ */
+class LogEventRingBuffer {
+
+    private static final class Slot {
+        String index;
+        String requestId;
+        String document;
+    }
+
+    private final Slot[] slots;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+
+    LogEventRingBuffer(int requestedCapacity) {
+        int capacity = Integer.highestOneBit(Math.max(2, requestedCapacity) - 1) << 1;
+        this.slots = new Slot[capacity];
+        this.sequences = new AtomicLongArray(capacity);
+        this.mask = capacity - 1;
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new Slot();
+            sequences.set(i, i);
+        }
+    }
+
+    int capacity() {
+        return slots.length;
+    }
+
+    /** Approximate number of published events not yet polled. */
+    int size() {
+        long size = tail.get() - head.get();
+        return (int) Math.max(0, Math.min(size, slots.length));
+    }
+
+    boolean offer(String index, String requestId, String document) {
+        long pos = tail.get();
+        while (true) {
+            int i = (int) (pos & mask);
+            long diff = sequences.getAcquire(i) - pos;
+            if (diff == 0) {
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    Slot slot = slots[i];
+                    slot.index = index;
+                    slot.requestId = requestId;
+                    slot.document = document;
+                    sequences.setRelease(i, pos + 1);
+                    return true;
+                }
+                pos = tail.get();
+            } else if (diff < 0) {
+                return false;
+            } else {
+                pos = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Moves the oldest event into {@code batch}; pass null to discard it.
+     * Safe to call from several threads (producers use it to drop the oldest
+     * event on overflow).
+     */
+    boolean poll(LogEventBatch batch) {
+        long pos = head.get();
+        while (true) {
+            int i = (int) (pos & mask);
+            long diff = sequences.getAcquire(i) - (pos + 1);
+            if (diff == 0) {
+                if (head.compareAndSet(pos, pos + 1)) {
+                    Slot slot = slots[i];
+                    if (batch != null) {
+                        batch.add(slot.index, slot.requestId, slot.document);
+                    }
+                    slot.index = null;
+                    slot.requestId = null;
+                    slot.document = null;
+                    sequences.setRelease(i, pos + mask + 1);
+                    return true;
+                }
+                pos = head.get();
+            } else if (diff < 0) {
+                return false;
+            } else {
+                pos = head.get();
+            }
+        }
+    }
+}
@@ -0,0 +1,368 @@
+package com.example.podcastbackend.log;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+import static net.logstash.logback.argument.StructuredArguments.kv;
+
+/**
+ * Local append-only spool for log events that could not be delivered to
+ * Elasticsearch.
+ *
+ * Events are appended as NDJSON lines ({@code {"index":...,"doc":{...}}}) to
+ * the active segment file; once a segment reaches {@code segment-bytes} it is
+ * sealed and a new one is started. Sealed segments are drained oldest-first by
+ * {@link LogSpoolReplayer}. When the spool exceeds {@code max-bytes} the oldest
+ * sealed segments are evicted so an extended outage cannot fill the disk.
+ */
+@Component
+public class LogSpool {
+
+    private static final Logger log = LoggerFactory.getLogger(LogSpool.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final String SEGMENT_PREFIX = "spool-";
+    private static final String SEGMENT_SUFFIX = ".ndjson";
+
+    private final boolean enabled;
+    private final Path dir;
+    private final long segmentMaxBytes;
+    private final long maxTotalBytes;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Deque<Path> sealed = new ArrayDeque<>();
+    private final AtomicLong totalBytes = new AtomicLong();
+    private FileChannel active;
+    private Path activePath;
+    private long activeBytes;
+    private long nextSequence;
+
+    private final Counter appended;
+    private final Counter appendFailures;
+    private final Counter evictedSegments;
+
+    public LogSpool(
+            @Value("${log-spool.enabled:true}") boolean enabled,
+            @Value("${log-spool.dir:${java.io.tmpdir}/podcast-backend/log-spool}") String dir,
+            @Value("${log-spool.segment-bytes:8388608}") long segmentMaxBytes,
+            @Value("${log-spool.max-bytes:268435456}") long maxTotalBytes,
+            MeterRegistry meterRegistry) {
+        this.dir = Path.of(dir);
+        this.segmentMaxBytes = segmentMaxBytes;
+        this.maxTotalBytes = maxTotalBytes;
+        this.enabled = enabled && recover();
+        this.appended = meterRegistry.counter("log_spool.appended");
+        this.appendFailures = meterRegistry.counter("log_spool.append.failure");
+        this.evictedSegments = meterRegistry.counter("log_spool.evicted.segments");
+        Gauge.builder("log_spool.backlog.bytes", totalBytes, AtomicLong::get).register(meterRegistry);
+        Gauge.builder("log_spool.backlog.segments", this, LogSpool::backlogSegments).register(meterRegistry);
+    }
+
+    /** One spooled event: the target index and the original document. */
+    public record SpooledEvent(String index, JsonNode document) {}
+
+    /**
+     * Events read from a segment plus the number of lines consumed (including
+     * malformed ones) and the byte offset just past the last of them, where
+     * the next read resumes. {@code failed} marks a segment that could not be
+     * read; it is not exhausted and must be kept.
+     */
+    public record ReadBatch(List<SpooledEvent> events, int linesConsumed, long nextOffset, boolean failed) {
+
+        static ReadBatch readFailed(long offset) {
+            return new ReadBatch(List.of(), 0, offset, true);
+        }
+
+        public boolean isEmpty() {
+            return linesConsumed == 0 && !failed;
+        }
+    }
+
+    /**
+     * Scans the spool directory left by a previous run. Every existing segment
+     * is treated as sealed so it gets replayed. Returns false (spool disabled)
+     * when the directory is not usable.
+     */
+    private boolean recover() {
+        try {
+            Files.createDirectories(dir);
+            try (Stream<Path> files = Files.list(dir)) {
+                List<Path> segments = files
+                        .filter(p -> p.getFileName().toString().startsWith(SEGMENT_PREFIX)
+                                && p.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                        .sorted()
+                        .toList();
+                for (Path segment : segments) {
+                    sealed.addLast(segment);
+                    totalBytes.addAndGet(Files.size(segment));
+                    nextSequence = Math.max(nextSequence, sequenceOf(segment) + 1);
+                }
+            }
+            if (!sealed.isEmpty()) {
+                log.info("log_spool_recovered",
+                        kv("segments", sealed.size()), kv("bytes", totalBytes.get()), kv("dir", dir.toString()));
+            }
+            return true;
+        } catch (IOException e) {
+            log.warn("log_spool_unavailable", kv("dir", dir.toString()), kv("error", e.getMessage()));
+            return false;
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Appends one event to the active segment. Never throws; returns false if
+     * the event could not be spooled either.
+     */
+    public boolean append(String index, String documentJson) {
+        if (!enabled) {
+            return false;
+        }
+        byte[] line = ("{\"index\":\"" + index + "\",\"doc\":" + documentJson + "}\n")
+                .getBytes(StandardCharsets.UTF_8);
+        lock.lock();
+        try {
+            if (active == null) {
+                openSegment();
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(line);
+            while (buffer.hasRemaining()) {
+                active.write(buffer);
+            }
+            activeBytes += line.length;
+            totalBytes.addAndGet(line.length);
+            if (activeBytes >= segmentMaxBytes) {
+                sealActive();
+            }
+            enforceCap();
+            appended.increment();
+            return true;
+        } catch (IOException e) {
+            appendFailures.increment();
+            log.warn("log_spool_append_failed", kv("index", index), kv("error", e.getMessage()));
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the oldest segment that is ready for replay, or null when the
+     * spool is empty. A non-empty active segment is sealed first so events do
+     * not wait for rotation once Elasticsearch is back.
+     */
+    public Path oldestSegment() {
+        if (!enabled) {
+            return null;
+        }
+        lock.lock();
+        try {
+            if (sealed.isEmpty() && active != null && activeBytes > 0) {
+                sealActive();
+            }
+            return sealed.peekFirst();
+        } catch (IOException e) {
+            log.warn("log_spool_seal_failed", kv("error", e.getMessage()));
+            return sealed.peekFirst();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Reads up to {@code max} events from a sealed segment, starting at byte
+     * {@code offset} (a previous batch's {@link ReadBatch#nextOffset()}), so
+     * draining a segment reads it once rather than re-scanning from the top.
+     * Malformed lines (e.g. a torn write before a crash) are consumed but not
+     * returned. Returns an empty batch once the segment is exhausted or was
+     * evicted in the meantime, and a failed one when it cannot be read (the
+     * segment stays in place).
+     */
+    public ReadBatch read(Path segment, long offset, int max) {
+        List<SpooledEvent> events = new ArrayList<>(Math.min(max, 1024));
+        int consumed = 0;
+        long position = offset;
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ);
+             InputStream in = new BufferedInputStream(Channels.newInputStream(channel.position(offset)))) {
+            ByteArrayOutputStream line = new ByteArrayOutputStream(256);
+            while (consumed < max) {
+                int lineBytes = readLine(in, line);
+                if (lineBytes == 0) {
+                    break;
+                }
+                position += lineBytes;
+                consumed++;
+                SpooledEvent event = parse(line.toString(StandardCharsets.UTF_8));
+                if (event != null) {
+                    events.add(event);
+                } else {
+                    log.warn("log_spool_malformed_line", kv("segment", segment.getFileName().toString()),
+                            kv("offset", position - lineBytes));
+                }
+            }
+        } catch (NoSuchFileException e) {
+            return new ReadBatch(List.of(), 0, offset, false);
+        } catch (IOException e) {
+            log.warn("log_spool_read_failed", kv("segment", segment.toString()), kv("error", e.getMessage()));
+            return ReadBatch.readFailed(offset);
+        }
+        return new ReadBatch(events, consumed, position, false);
+    }
+
+    /**
+     * Reads one line into {@code line} (without its terminator) and returns
+     * the bytes consumed including the {@code \n}; 0 at the end of the segment.
+     * A last line without a terminator is still a line.
+     */
+    private static int readLine(InputStream in, ByteArrayOutputStream line) throws IOException {
+        line.reset();
+        int read = 0;
+        int b;
+        while ((b = in.read()) != -1) {
+            read++;
+            if (b == '\n') {
+                return read;
+            }
+            line.write(b);
+        }
+        return read;
+    }
+
+    /** Deletes a fully replayed segment. */
+    public void complete(Path segment) {
+        lock.lock();
+        try {
+            if (sealed.remove(segment)) {
+                deleteSegment(segment);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long backlogBytes() {
+        return totalBytes.get();
+    }
+
+    public int backlogSegments() {
+        lock.lock();
+        try {
+            return sealed.size() + (active != null && activeBytes > 0 ? 1 : 0);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        lock.lock();
+        try {
+            if (active != null) {
+                if (activeBytes > 0) {
+                    sealActive();
+                } else {
+                    active.close();
+                    Files.deleteIfExists(activePath);
+                    active = null;
+                }
+            }
+        } catch (IOException e) {
+            log.warn("log_spool_close_failed", kv("error", e.getMessage()));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private SpooledEvent parse(String line) {
+        try {
+            JsonNode node = MAPPER.readTree(line);
+            JsonNode index = node.get("index");
+            JsonNode doc = node.get("doc");
+            if (index == null || !index.isTextual() || doc == null || !doc.isObject()) {
+                return null;
+            }
+            return new SpooledEvent(index.asText(), doc);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private void openSegment() throws IOException {
+        activePath = dir.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, nextSequence++, SEGMENT_SUFFIX));
+        active = FileChannel.open(activePath,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        activeBytes = 0;
+    }
+
+    private void sealActive() throws IOException {
+        try {
+            active.force(false);
+            active.close();
+        } finally {
+            sealed.addLast(activePath);
+            active = null;
+            activePath = null;
+            activeBytes = 0;
+        }
+    }
+
+    private void enforceCap() {
+        while (totalBytes.get() > maxTotalBytes && !sealed.isEmpty()) {
+            Path oldest = sealed.pollFirst();
+            deleteSegment(oldest);
+            evictedSegments.increment();
+            log.warn("log_spool_segment_evicted", kv("segment", oldest.getFileName().toString()),
+                    kv("max_bytes", maxTotalBytes));
+        }
+    }
+
+    private void deleteSegment(Path segment) {
+        try {
+            long size = Files.size(segment);
+            Files.deleteIfExists(segment);
+            totalBytes.addAndGet(-size);
+        } catch (IOException e) {
+            log.warn("log_spool_delete_failed", kv("segment", segment.toString()), kv("error", e.getMessage()));
+        }
+    }
+
+    private static long sequenceOf(Path segment) {
+        String name = segment.getFileName().toString();
+        try {
+            return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
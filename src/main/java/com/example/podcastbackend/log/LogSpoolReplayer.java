@@ -0,0 +1,128 @@
+package com.example.podcastbackend.log;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch.core.BulkRequest;
+import co.elastic.clients.elasticsearch.core.BulkResponse;
+import co.elastic.clients.elasticsearch.core.bulk.BulkResponseItem;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+
+import static net.logstash.logback.argument.StructuredArguments.kv;
+
+/**
+ * Drains {@link LogSpool} back into Elasticsearch once it is reachable again.
+ *
+ * Each tick replays at most {@code max-events-per-second × interval} events
+ * using {@code _bulk} requests, so a large backlog is paced instead of hitting
+ * a freshly recovered cluster all at once. Delivery is at-least-once: a failed
+ * bulk or segment read leaves the cursor where it was and the batch is retried
+ * next tick; only a segment read to its end is deleted.
+ */
+@Component
+public class LogSpoolReplayer {
+
+    private static final Logger log = LoggerFactory.getLogger(LogSpoolReplayer.class);
+
+    private final LogSpool spool;
+    private final ElasticsearchClient esClient;
+    private final int eventsPerTick;
+    private final int bulkSize;
+    private final Counter replayed;
+    private final Counter dropped;
+    private final Counter replayFailures;
+
+    // Replay cursor (segment and byte offset) — only touched by the scheduler thread
+    private Path cursorSegment;
+    private long cursorOffset;
+
+    public LogSpoolReplayer(
+            LogSpool spool,
+            ElasticsearchClient esClient,
+            MeterRegistry meterRegistry,
+            @Value("${log-spool.replay.interval-ms:1000}") long intervalMs,
+            @Value("${log-spool.replay.max-events-per-second:200}") int maxEventsPerSecond,
+            @Value("${log-spool.replay.bulk-size:100}") int bulkSize) {
+        this.spool = spool;
+        this.esClient = esClient;
+        this.eventsPerTick = (int) Math.max(1, maxEventsPerSecond * intervalMs / 1000);
+        this.bulkSize = Math.max(1, bulkSize);
+        this.replayed = meterRegistry.counter("log_spool.replayed");
+        this.dropped = meterRegistry.counter("log_spool.replay.dropped");
+        this.replayFailures = meterRegistry.counter("log_spool.replay.failure");
+    }
+
+    @Scheduled(fixedDelayString = "${log-spool.replay.interval-ms:1000}",
+            initialDelayString = "${log-spool.replay.interval-ms:1000}")
+    public void replay() {
+        int budget = eventsPerTick;
+        while (budget > 0) {
+            Path segment = spool.oldestSegment();
+            if (segment == null) {
+                return;
+            }
+            if (!segment.equals(cursorSegment)) {
+                cursorSegment = segment;
+                cursorOffset = 0;
+            }
+
+            LogSpool.ReadBatch batch = spool.read(segment, cursorOffset, Math.min(budget, bulkSize));
+            if (batch.failed()) {
+                // Keep the segment and the cursor; the read is retried next tick
+                replayFailures.increment();
+                return;
+            }
+            if (batch.isEmpty()) {
+                spool.complete(segment);
+                log.info("log_spool_segment_replayed", kv("segment", segment.getFileName().toString()));
+                continue;
+            }
+            if (!batch.events().isEmpty() && !deliver(batch)) {
+                return;
+            }
+            cursorOffset = batch.nextOffset();
+            budget -= batch.linesConsumed();
+        }
+    }
+
+    /**
+     * Sends one bulk request. Returns false when the batch should be retried
+     * (transport error or a retryable per-item status); items rejected for
+     * non-retryable reasons (e.g. mapping errors) are dropped and counted.
+     */
+    private boolean deliver(LogSpool.ReadBatch batch) {
+        BulkRequest.Builder request = new BulkRequest.Builder();
+        for (LogSpool.SpooledEvent event : batch.events()) {
+            request.operations(op -> op.index(i -> i.index(event.index()).document(event.document())));
+        }
+        try {
+            BulkResponse response = esClient.bulk(request.build());
+            int rejected = 0;
+            if (response.errors()) {
+                for (BulkResponseItem item : response.items()) {
+                    if (item.error() == null) {
+                        continue;
+                    }
+                    if (item.status() == 429 || item.status() >= 500) {
+                        replayFailures.increment();
+                        return false;
+                    }
+                    rejected++;
+                }
+            }
+            dropped.increment(rejected);
+            replayed.increment(batch.events().size() - rejected);
+            return true;
+        } catch (Exception e) {
+            replayFailures.increment();
+            log.debug("log_spool_replay_deferred", kv("error", e.getMessage()), kv("backlog_bytes", spool.backlogBytes()));
+            return false;
+        }
+    }
+}
@@ -18,6 +18,7 @@ public record QueryLogEntry(
         String queryLang,
         String selectedLang,
         String mode,
+        String requestedMode,
         String targetIndex,
         boolean crossLang,
         int resultCount,
@@ -39,6 +40,7 @@ public record QueryLogEntry(
         doc.put("query_lang", queryLang);
         doc.put("selected_lang", selectedLang);
         doc.put("mode", mode);
+        doc.put("requested_mode", requestedMode);
         doc.put("target_index", targetIndex);
         doc.put("is_cross_lang", crossLang);
         doc.put("result_count", resultCount);
@@ -0,0 +1,20 @@
+package com.example.podcastbackend.request;
+
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+/**
+ * Body of {@code POST /api/search/episodes/_batch}. The items are validated
+ * one by one by the service, so an invalid item fails on its own instead of
+ * failing the batch.
+ */
+public class EpisodeBatchSearchRequest {
+
+    @NotEmpty(message = "Requests must not be empty")
+    private List<EpisodeSearchRequest> requests;
+
+    public List<EpisodeSearchRequest> getRequests() {
+        return requests;
+    }
+}
@@ -25,8 +25,18 @@ public class EpisodeSearchRequest {
     private String sort; // "relevance" | "date"
     @Null(message = "deprecated: use 'lang' instead of 'language'")
     private List<String> language;
-    private String lang; // v2: "zh-tw" | "zh-cn" | "en" | "zh-both"
-    private String mode; // "bm25" | "knn" | "hybrid" (default: "bm25")
+    private String lang; // v2: "zh-tw" | "zh-cn" | "en" | "zh-both" | "auto"
+    private String mode; // "bm25" | "knn" | "hybrid" | "hybrid_lite" | "exact" | "auto" (default: "bm25")
+
+    /** Page 1 of {@code q}, built in code rather than bound from a request body. */
+    public static EpisodeSearchRequest firstPage(String q, int size, String lang, String mode) {
+        EpisodeSearchRequest request = new EpisodeSearchRequest();
+        request.q = q;
+        request.size = size;
+        request.lang = lang;
+        request.mode = mode;
+        return request;
+    }
 
     public String getQ() {
         return q;
@@ -56,6 +66,26 @@ public class EpisodeSearchRequest {
         return lang;
     }
 
+    /** Copy of this request routed to {@code lang} (used to resolve {@code lang=auto}). */
+    public EpisodeSearchRequest withLang(String lang) {
+        EpisodeSearchRequest copy = new EpisodeSearchRequest();
+        copy.q = q;
+        copy.page = page;
+        copy.size = size;
+        copy.sort = sort;
+        copy.language = language;
+        copy.lang = lang;
+        copy.mode = mode;
+        return copy;
+    }
+
+    /** Copy of this request for another page (used to prefetch the next page). */
+    public EpisodeSearchRequest withPage(int page) {
+        EpisodeSearchRequest copy = withLang(lang);
+        copy.page = page;
+        return copy;
+    }
+
     public boolean sortByDate() {
         return "date".equalsIgnoreCase(sort);
     }
@@ -66,13 +96,15 @@ public class EpisodeSearchRequest {
         return switch (mode.toLowerCase()) {
             case "knn" -> SearchMode.KNN;
             case "hybrid" -> SearchMode.HYBRID;
+            case "hybrid_lite" -> SearchMode.HYBRID_LITE;
             case "exact" -> SearchMode.EXACT;
+            case "auto" -> SearchMode.AUTO;
             default -> SearchMode.BM25;
         };
     }
 
     public enum SearchMode {
-        BM25, KNN, HYBRID, EXACT
+        BM25, KNN, HYBRID, HYBRID_LITE, EXACT, AUTO
     }
 
     public int from() {
@@ -23,7 +23,16 @@ public class ShowSearchRequest {
 
     private List<String> language;
 
-    private String mode; // "bm25" | "knn" | "hybrid" (default: "bm25" for backward compatibility)
+    private String mode; // "bm25" | "knn" | "hybrid" | "auto" (default: "bm25" for backward compatibility)
+
+    /** Page 1 of {@code q}, built in code rather than bound from a request body. */
+    public static ShowSearchRequest firstPage(String q, int size, String mode) {
+        ShowSearchRequest request = new ShowSearchRequest();
+        request.q = q;
+        request.size = size;
+        request.mode = mode;
+        return request;
+    }
 
     public String getQ() {
         return q;
@@ -50,12 +59,13 @@ public class ShowSearchRequest {
         return switch (mode.toLowerCase()) {
             case "knn" -> SearchMode.KNN;
             case "hybrid" -> SearchMode.HYBRID;
+            case "auto" -> SearchMode.AUTO;
             default -> SearchMode.BM25;
         };
     }
 
     public enum SearchMode {
-        BM25, KNN, HYBRID
+        BM25, KNN, HYBRID, AUTO
     }
 
     public int from() {
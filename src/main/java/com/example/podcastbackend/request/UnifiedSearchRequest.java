@@ -0,0 +1,55 @@
+package com.example.podcastbackend.request;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+/** Body of {@code POST /api/search}: one query, first page of shows and of episodes. */
+public class UnifiedSearchRequest {
+
+    @NotBlank(message = "Search query cannot be empty")
+    private String q;
+
+    @NotNull(message = "Shows size must not be null")
+    @Min(value = 1, message = "Shows size must be at least 1")
+    @Max(value = 100, message = "Shows size must not exceed 100")
+    private Integer showsSize = 5;
+
+    @NotNull(message = "Episodes size must not be null")
+    @Min(value = 1, message = "Episodes size must be at least 1")
+    @Max(value = 50, message = "Episodes size must not exceed 50")
+    private Integer episodesSize = 10;
+
+    private String lang; // episode routing: "zh-tw" | "zh-cn" | "en" | "zh-both" | "auto"
+    private String mode; // "bm25" | "knn" | "hybrid" | "hybrid_lite" | "exact" | "auto" (default: "bm25")
+
+    public String getQ() {
+        return q;
+    }
+
+    public Integer getShowsSize() {
+        return showsSize;
+    }
+
+    public Integer getEpisodesSize() {
+        return episodesSize;
+    }
+
+    public String getLang() {
+        return lang;
+    }
+
+    public String getMode() {
+        return mode;
+    }
+
+    /** The show section; {@code lang} only routes episodes. */
+    public ShowSearchRequest toShowRequest() {
+        return ShowSearchRequest.firstPage(q, showsSize, mode);
+    }
+
+    public EpisodeSearchRequest toEpisodeRequest() {
+        return EpisodeSearchRequest.firstPage(q, episodesSize, lang, mode);
+    }
+}
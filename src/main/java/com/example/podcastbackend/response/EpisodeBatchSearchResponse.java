@@ -0,0 +1,20 @@
+package com.example.podcastbackend.response;
+
+import java.util.List;
+
+/**
+ * One result per request of the batch, in request order; each is an
+ * ordinary episode search response, or an {@code error} one when that item
+ * was invalid or its search failed.
+ */
+public record EpisodeBatchSearchResponse(
+        String status,
+        List<EpisodeSearchResponse> results,
+        String searchRequestId
+) {
+    /** {@code partial_success} unless every item is {@code ok}. */
+    public static EpisodeBatchSearchResponse of(List<EpisodeSearchResponse> results, String searchRequestId) {
+        boolean ok = results.stream().allMatch(r -> "ok".equals(r.status()));
+        return new EpisodeBatchSearchResponse(ok ? "ok" : "partial_success", results, searchRequestId);
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.podcastbackend.response;
+
+/**
+ * Where a chart entry stood before the current refresh.
+ *
+ * {@code change} compares with the previous distinct chart and
+ * {@code windowChange} with the chart {@code rankings.history.delta-window}
+ * refreshes ago (or the oldest one kept, while history is shorter). Positive
+ * values mean the entry moved up; both are null when it was not on that chart.
+ */
+public record RankMovement(
+        Integer previousRank,
+        Integer change,
+        Integer windowChange,
+        String trend
+) {
+    public static final String UP = "up";
+    public static final String DOWN = "down";
+    public static final String SAME = "same";
+    public static final String NEW = "new";
+}
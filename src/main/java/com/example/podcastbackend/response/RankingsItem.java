@@ -11,5 +11,16 @@ public record RankingsItem(
         String imageUrl,
         String language,
         Integer episodeCount,
-        Map<String, String> externalUrls
-) {}
+        Map<String, String> externalUrls,
+        RankMovement movement
+) {
+    public RankingsItem(int rank, String showId, String parentShowId, String title, String publisher,
+                        String imageUrl, String language, Integer episodeCount, Map<String, String> externalUrls) {
+        this(rank, showId, parentShowId, title, publisher, imageUrl, language, episodeCount, externalUrls, null);
+    }
+
+    public RankingsItem withMovement(RankMovement movement) {
+        return new RankingsItem(rank, showId, parentShowId, title, publisher, imageUrl, language, episodeCount,
+                externalUrls, movement);
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.podcastbackend.response;
+
+/**
+ * One autocomplete suggestion. {@code type} is {@code show}, {@code episode}
+ * or {@code query}; {@code id} is the show/episode id, null for queries.
+ */
+public record SuggestItem(
+        String text,
+        String type,
+        String id
+) {}
@@ -0,0 +1,12 @@
+package com.example.podcastbackend.response;
+
+import java.util.List;
+
+public record SuggestResponse(
+        String status,
+        List<SuggestItem> data
+) {
+    public static SuggestResponse ok(List<SuggestItem> data) {
+        return new SuggestResponse("ok", data);
+    }
+}
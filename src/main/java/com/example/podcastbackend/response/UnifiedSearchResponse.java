@@ -0,0 +1,29 @@
+package com.example.podcastbackend.response;
+
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public record UnifiedSearchResponse(
+        String status,
+        ShowSearchResponseData shows,
+        EpisodeSearchResponseData episodes,
+        String warning,
+        String searchRequestId
+) {
+    /** {@code partial_success} when either section degraded, with the distinct section warnings. */
+    public static UnifiedSearchResponse of(ShowSearchResponse shows, EpisodeSearchResponse episodes,
+                                           String searchRequestId) {
+        String warning = Stream.of(shows.warning(), episodes.warning())
+                .filter(Objects::nonNull)
+                .distinct()
+                .collect(Collectors.joining("; "));
+        boolean ok = "ok".equals(shows.status()) && "ok".equals(episodes.status());
+        return new UnifiedSearchResponse(
+                ok ? "ok" : "partial_success",
+                shows.data(),
+                episodes.data(),
+                warning.isEmpty() ? null : warning,
+                searchRequestId);
+    }
+}
@@ -12,17 +12,38 @@ public class IndexRouter {
     private final String zhCnIndex;
     private final String enIndex;
     private final String defaultLang;
+    private final String autoZhFallback;
 
     public IndexRouter(
             @Value("${elasticsearch.indices.episodes.zh-tw:episodes-zh-tw}") String zhTwIndex,
             @Value("${elasticsearch.indices.episodes.zh-cn:episodes-zh-cn}") String zhCnIndex,
             @Value("${elasticsearch.indices.episodes.en:episodes-en}") String enIndex,
-            @Value("${search.default-lang:en}") String defaultLang
+            @Value("${search.default-lang:en}") String defaultLang,
+            @Value("${search.auto-lang.zh-fallback:zh-tw}") String autoZhFallback
     ) {
         this.zhTwIndex = zhTwIndex;
         this.zhCnIndex = zhCnIndex;
         this.enIndex = enIndex;
         this.defaultLang = defaultLang;
+        this.autoZhFallback = autoZhFallback;
+    }
+
+    /**
+     * Concrete lang for {@code lang=auto}, detected from the query's script
+     * by {@link ScriptDetector}. Chinese text that could be either variant
+     * goes to zh-both when the caller can run a cross-index search, else to
+     * {@code search.auto-lang.zh-fallback}; undetectable text goes to the
+     * default lang.
+     */
+    public String resolveAutoLang(String query, boolean crossIndexAllowed) {
+        ScriptDetector.Detection detection = ScriptDetector.detect(query != null ? query : "");
+        if (detection == null) {
+            return defaultLang;
+        }
+        if (detection.confident()) {
+            return detection.lang().getValue();
+        }
+        return crossIndexAllowed ? LangParam.ZH_BOTH.getValue() : autoZhFallback;
     }
 
     /**
@@ -0,0 +1,96 @@
+package com.example.podcastbackend.search;
+
+import com.example.podcastbackend.embedding.TraditionalChineseFolding;
+
+import java.util.BitSet;
+
+/**
+ * Guesses the episode index for a query from its characters alone.
+ *
+ * Latin-only text is EN. Text with Han characters is Chinese; which variant
+ * is decided by the characters that exist in only one script — the keys of
+ * the Traditional → Simplified folding table are Traditional-only, its
+ * values Simplified-only, minus characters that are in everyday use in both
+ * (台, 里, 后, 游, ...). One variant wins when it has at least
+ * {@value #DOMINANCE} times as many such characters as the other. Han text
+ * with no script-specific characters ("科技", "人工智能") is ZH_BOTH with low
+ * confidence; kana, hangul and other scripts give no detection.
+ *
+ * The table holds about 670 common pairs, not a full conversion table
+ * (OpenCC has some 4,000), so a variant is only recognised through those
+ * characters: short queries built from rarer script-specific characters
+ * come out as low-confidence ZH_BOTH and follow
+ * {@code search.auto-lang.zh-fallback}.
+ */
+public final class ScriptDetector {
+
+    public record Detection(LangParam lang, boolean confident) {
+    }
+
+    static final int DOMINANCE = 2;
+
+    /** Folding targets that are also ordinary Traditional characters. */
+    private static final String SHARED_SIMPLIFIED = "台里于余系回表面谷胡板伙周范冲郁丑斗志刮采准后云叶筑游却扎仆杰娘党据万";
+
+    private static final int BASE = 0x3400;
+    private static final int END = 0x9FFF;
+    private static final BitSet TRADITIONAL_ONLY = new BitSet(END - BASE + 1);
+    private static final BitSet SIMPLIFIED_ONLY = new BitSet(END - BASE + 1);
+
+    static {
+        for (int cp = BASE; cp <= END; cp++) {
+            int folded = TraditionalChineseFolding.fold(cp);
+            if (folded != cp) {
+                TRADITIONAL_ONLY.set(cp - BASE);
+                SIMPLIFIED_ONLY.set(folded - BASE);
+            }
+        }
+        SHARED_SIMPLIFIED.codePoints().forEach(cp -> SIMPLIFIED_ONLY.clear(cp - BASE));
+    }
+
+    private ScriptDetector() {
+    }
+
+    /**
+     * Detection for {@code text}, or null when it has no Latin or Han
+     * letters or contains another script.
+     */
+    public static Detection detect(String text) {
+        int han = 0;
+        int latin = 0;
+        int traditional = 0;
+        int simplified = 0;
+        for (int i = 0; i < text.length(); ) {
+            int cp = text.codePointAt(i);
+            i += Character.charCount(cp);
+            if (!Character.isLetter(cp)) {
+                continue;
+            }
+            Character.UnicodeScript script = Character.UnicodeScript.of(cp);
+            if (script == Character.UnicodeScript.HAN) {
+                han++;
+                if (cp >= BASE && cp <= END) {
+                    if (TRADITIONAL_ONLY.get(cp - BASE)) {
+                        traditional++;
+                    } else if (SIMPLIFIED_ONLY.get(cp - BASE)) {
+                        simplified++;
+                    }
+                }
+            } else if (script == Character.UnicodeScript.LATIN) {
+                latin++;
+            } else {
+                return null;
+            }
+        }
+        if (han == 0) {
+            return latin > 0 ? new Detection(LangParam.EN, true) : null;
+        }
+        if (traditional > 0 && traditional >= DOMINANCE * simplified) {
+            return new Detection(LangParam.ZH_TW, true);
+        }
+        if (simplified > 0 && simplified >= DOMINANCE * traditional) {
+            return new Detection(LangParam.ZH_CN, true);
+        }
+        return new Detection(LangParam.ZH_BOTH, false);
+    }
+}
@@ -0,0 +1,223 @@
+package com.example.podcastbackend.search;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.aggregations.StringTermsBucket;
+import co.elastic.clients.elasticsearch.core.SearchRequest;
+import co.elastic.clients.elasticsearch.core.SearchResponse;
+import co.elastic.clients.json.JsonData;
+import com.example.podcastbackend.cache.RankingsCache;
+import com.example.podcastbackend.cache.ShowCatalog;
+import com.example.podcastbackend.cache.ShowCatalogLoader;
+import com.example.podcastbackend.embedding.EmbeddingProfile;
+import com.example.podcastbackend.embedding.QueryNormalizer;
+import com.example.podcastbackend.response.RankingsItem;
+import com.fasterxml.jackson.databind.JsonNode;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static net.logstash.logback.argument.StructuredArguments.kv;
+
+/**
+ * Picks a concrete search mode for {@code mode=auto} without any I/O.
+ *
+ * Rules, first match wins:
+ * <ol>
+ *   <li>quoted query ({@code "…"}, {@code “…”}, {@code 「…」}) → EXACT;</li>
+ *   <li>normalized query equals a show title in the {@link ShowCatalog} or a
+ *       charted episode title → BM25 (navigational);</li>
+ *   <li>past clicks for the query concentrate on one episode (share of the
+ *       top episode ≥ {@code navigational-click-share} over at least
+ *       {@code min-clicks} clicks) → BM25;</li>
+ *   <li>one word — a Latin token, or an unspaced run with at most
+ *       {@code max-short-cjk-chars} non-Latin letters (Han, kana, Hangul,
+ *       Thai, ...) → BM25;</li>
+ *   <li>otherwise HYBRID.</li>
+ * </ol>
+ * Only HYBRID needs an embedding call. Titles and click-navigational queries
+ * are rebuilt on the scheduler thread and swapped in with one volatile
+ * write; before the first build only the query-shape rules apply.
+ */
+@Component
+public class SearchModeClassifier {
+
+    private static final Logger log = LoggerFactory.getLogger(SearchModeClassifier.class);
+
+    private static final String CLICK_LOGS_INDEX = "click-logs";
+
+    public enum Mode {
+        BM25, EXACT, HYBRID
+    }
+
+    public record Decision(Mode mode, String reason) {
+    }
+
+    private record Snapshot(Set<String> titles, Set<String> navigational) {
+    }
+
+    private final ElasticsearchClient esClient;
+    private final ShowCatalogLoader catalogLoader;
+    private final RankingsCache rankingsCache;
+    private final QueryNormalizer normalizer;
+    private final MeterRegistry meterRegistry;
+    private final int maxShortCjkChars;
+    private final double navigationalClickShare;
+    private final int minClicks;
+    private final int clickQueries;
+    private final int clickWindowDays;
+
+    private volatile Snapshot snapshot = new Snapshot(Set.of(), Set.of());
+
+    public SearchModeClassifier(
+            ElasticsearchClient esClient,
+            ShowCatalogLoader catalogLoader,
+            RankingsCache rankingsCache,
+            QueryNormalizer normalizer,
+            MeterRegistry meterRegistry,
+            @Value("${search.auto-mode.max-short-cjk-chars:2}") int maxShortCjkChars,
+            @Value("${search.auto-mode.navigational-click-share:0.7}") double navigationalClickShare,
+            @Value("${search.auto-mode.min-clicks:5}") int minClicks,
+            @Value("${search.auto-mode.click-queries:5000}") int clickQueries,
+            @Value("${search.auto-mode.click-window-days:30}") int clickWindowDays) {
+        this.esClient = esClient;
+        this.catalogLoader = catalogLoader;
+        this.rankingsCache = rankingsCache;
+        this.normalizer = normalizer;
+        this.meterRegistry = meterRegistry;
+        this.maxShortCjkChars = maxShortCjkChars;
+        this.navigationalClickShare = navigationalClickShare;
+        this.minClicks = minClicks;
+        this.clickQueries = clickQueries;
+        this.clickWindowDays = clickWindowDays;
+    }
+
+    /**
+     * Mode for {@code query}; records the decision under
+     * {@code search.auto_mode.decisions} and, unless HYBRID, under
+     * {@code search.auto_mode.embedding_avoided}.
+     */
+    public Decision classify(String query, String entity) {
+        Decision decision = decide(query);
+        meterRegistry.counter("search.auto_mode.decisions", "entity", entity,
+                "mode", decision.mode().name().toLowerCase(), "reason", decision.reason()).increment();
+        if (decision.mode() != Mode.HYBRID) {
+            meterRegistry.counter("search.auto_mode.embedding_avoided", "entity", entity).increment();
+        }
+        log.info("search_mode_auto_selected", kv("entity", entity),
+                kv("mode", decision.mode().name().toLowerCase()), kv("reason", decision.reason()));
+        return decision;
+    }
+
+    Decision decide(String query) {
+        String trimmed = query == null ? "" : query.strip();
+        if (isQuoted(trimmed)) {
+            return new Decision(Mode.EXACT, "quoted");
+        }
+        String normalized = normalize(trimmed);
+        if (normalized.isEmpty()) {
+            return new Decision(Mode.BM25, "short_query");
+        }
+        Snapshot current = snapshot;
+        if (current.titles().contains(normalized)) {
+            return new Decision(Mode.BM25, "title_match");
+        }
+        if (current.navigational().contains(normalized)) {
+            return new Decision(Mode.BM25, "navigational_clicks");
+        }
+        if (isSingleWord(normalized)) {
+            return new Decision(Mode.BM25, "short_query");
+        }
+        return new Decision(Mode.HYBRID, "descriptive");
+    }
+
+    @Scheduled(fixedDelayString = "${search.auto-mode.refresh-interval-ms:600000}",
+            initialDelayString = "${search.auto-mode.initial-delay-ms:30000}")
+    public synchronized void refresh() {
+        Set<String> titles = new HashSet<>();
+        ShowCatalog catalog = catalogLoader.current();
+        if (catalog != null) {
+            catalog.forEach(show -> addNormalized(titles, show.title()));
+        }
+        rankingsCache.entries().forEach((key, entry) -> {
+            for (RankingsItem item : entry.items()) {
+                addNormalized(titles, item.title());
+            }
+        });
+        Set<String> navigational = navigationalQueries();
+        snapshot = new Snapshot(titles, navigational);
+        log.info("search_mode_classifier_refreshed", kv("titles", titles.size()),
+                kv("navigational_queries", navigational.size()));
+    }
+
+    private Set<String> navigationalQueries() {
+        Set<String> queries = new HashSet<>();
+        try {
+            SearchResponse<JsonNode> response = esClient.search(SearchRequest.of(s -> s
+                    .index(CLICK_LOGS_INDEX)
+                    .size(0)
+                    .query(q -> q.range(r -> r.field("timestamp").gte(JsonData.of("now-" + clickWindowDays + "d/d"))))
+                    .aggregations("queries", a -> a
+                            .terms(t -> t.field("query.raw").size(clickQueries).minDocCount(minClicks))
+                            .aggregations("top_episode", sub -> sub.terms(t -> t.field("clicked_episode_id").size(1))))),
+                    JsonNode.class);
+            for (StringTermsBucket bucket : response.aggregations().get("queries").sterms().buckets().array()) {
+                List<StringTermsBucket> top = bucket.aggregations().get("top_episode").sterms().buckets().array();
+                if (!top.isEmpty() && top.get(0).docCount() >= navigationalClickShare * bucket.docCount()) {
+                    addNormalized(queries, bucket.key().stringValue());
+                }
+            }
+        } catch (Exception e) {
+            log.warn("search_mode_click_stats_failed", kv("error", e.getMessage()));
+        }
+        return queries;
+    }
+
+    private void addNormalized(Set<String> set, String text) {
+        if (text == null) {
+            return;
+        }
+        String normalized = normalize(text);
+        if (!normalized.isEmpty()) {
+            set.add(normalized);
+        }
+    }
+
+    private String normalize(String text) {
+        return normalizer.normalize(text, EmbeddingProfile.EN);
+    }
+
+    private static boolean isQuoted(String q) {
+        if (q.length() < 3) {
+            return false;
+        }
+        char first = q.charAt(0);
+        char last = q.charAt(q.length() - 1);
+        return (first == '"' && last == '"')
+                || (first == '“' && last == '”')
+                || (first == '「' && last == '」')
+                || (first == '『' && last == '』');
+    }
+
+    private boolean isSingleWord(String normalized) {
+        if (normalized.indexOf(' ') >= 0) {
+            return false;
+        }
+        // Scripts written without spaces make one "word" of a whole sentence, so count their letters
+        int nonLatin = 0;
+        for (int i = 0; i < normalized.length(); ) {
+            int cp = normalized.codePointAt(i);
+            if (Character.isLetter(cp) && Character.UnicodeScript.of(cp) != Character.UnicodeScript.LATIN) {
+                nonLatin++;
+            }
+            i += Character.charCount(cp);
+        }
+        return nonLatin <= maxShortCjkChars;
+    }
+}
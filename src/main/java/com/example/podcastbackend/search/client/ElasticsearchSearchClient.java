@@ -1,31 +1,94 @@
 package com.example.podcastbackend.search.client;
 
 import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch.core.MsearchResponse;
 import co.elastic.clients.elasticsearch.core.SearchResponse;
+import co.elastic.clients.elasticsearch.core.msearch.MultiSearchItem;
+import co.elastic.clients.elasticsearch.core.msearch.MultiSearchResponseItem;
+import co.elastic.clients.elasticsearch.core.msearch.RequestItem;
 import com.example.podcastbackend.exception.SearchServiceException;
 import com.fasterxml.jackson.databind.JsonNode;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
 import org.springframework.stereotype.Component;
 
 import java.io.StringReader;
+import java.util.List;
 
 @Component
 public class ElasticsearchSearchClient {
 
+    /** One search of an {@link #msearch} call: its response, or why ES rejected it. */
+    public record MultiSearchOutcome(SearchResponse<JsonNode> response, String error) {
+
+        public boolean failed() {
+            return response == null;
+        }
+    }
+
     private final ElasticsearchClient client;
+    private final CircuitBreaker circuitBreaker;
 
-    public ElasticsearchSearchClient(ElasticsearchClient client) {
+    public ElasticsearchSearchClient(ElasticsearchClient client, CircuitBreakerRegistry circuitBreakerRegistry) {
         this.client = client;
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker("elasticsearch");
     }
 
     public SearchResponse<JsonNode> search(String index, String queryJson) {
         try {
-            return client.search(s -> s
+            return circuitBreaker.executeCallable(() -> client.search(s -> s
                             .index(index)
                             .withJson(new StringReader(queryJson)),
                     JsonNode.class
-            );
+            ));
+        } catch (CallNotPermittedException e) {
+            throw new SearchServiceException("Elasticsearch circuit breaker is OPEN", e);
         } catch (Exception e) {
             throw new SearchServiceException("Elasticsearch search failed", e);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Runs {@code queriesJson} against {@code index} in one {@code _msearch}
+     * round trip. Outcomes are in query order; a query ES rejects fails on its
+     * own, while a failure of the whole call (or an open circuit breaker)
+     * throws like {@link #search}.
+     */
+    public List<MultiSearchOutcome> msearch(String index, List<String> queriesJson) {
+        MsearchResponse<JsonNode> response;
+        try {
+            response = circuitBreaker.executeCallable(() -> client.msearch(m -> m
+                            .index(index)
+                            .searches(queriesJson.stream()
+                                    .map(json -> RequestItem.of(r -> r
+                                            .header(h -> h)
+                                            .body(b -> b.withJson(new StringReader(json)))))
+                                    .toList()),
+                    JsonNode.class
+            ));
+        } catch (CallNotPermittedException e) {
+            throw new SearchServiceException("Elasticsearch circuit breaker is OPEN", e);
+        } catch (Exception e) {
+            throw new SearchServiceException("Elasticsearch msearch failed", e);
+        }
+        if (response.responses().size() != queriesJson.size()) {
+            throw new SearchServiceException("Elasticsearch msearch returned " + response.responses().size()
+                    + " responses for " + queriesJson.size() + " searches", null);
+        }
+        return response.responses().stream().map(ElasticsearchSearchClient::toOutcome).toList();
+    }
+
+    private static MultiSearchOutcome toOutcome(MultiSearchResponseItem<JsonNode> item) {
+        if (item.isFailure()) {
+            return new MultiSearchOutcome(null, item.failure().error().reason());
+        }
+        MultiSearchItem<JsonNode> result = item.result();
+        return new MultiSearchOutcome(SearchResponse.of(r -> r
+                .took(result.took())
+                .timedOut(result.timedOut())
+                .shards(result.shards())
+                .hits(result.hits())
+                .aggregations(result.aggregations())), null);
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.podcastbackend.search.client;
+
+import java.util.function.Predicate;
+
+/**
+ * Circuit-breaker ignore predicate for calls that failed because their thread
+ * was interrupted — a fan-out leg cancelled by its request (e.g. the BM25
+ * half of a hybrid search whose embedding failed) rather than an ES failure.
+ */
+public class InterruptedCallPredicate implements Predicate<Throwable> {
+
+    @Override
+    public boolean test(Throwable throwable) {
+        for (Throwable t = throwable; t != null; t = t.getCause()) {
+            if (t instanceof InterruptedException) {
+                return true;
+            }
+            if (t.getCause() == t) {
+                break;
+            }
+        }
+        return false;
+    }
+}
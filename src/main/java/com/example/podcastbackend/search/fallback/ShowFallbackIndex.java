@@ -0,0 +1,203 @@
+package com.example.podcastbackend.search.fallback;
+
+import com.example.podcastbackend.cache.ShowCatalog;
+import com.example.podcastbackend.cache.ShowCatalogLoader;
+import com.example.podcastbackend.request.ShowSearchRequest;
+import com.example.podcastbackend.response.ShowSearchItem;
+import com.example.podcastbackend.response.ShowSearchResponseData;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static net.logstash.logback.argument.StructuredArguments.kv;
+
+/**
+ * Inverted index over show titles and publishers, used to answer show search
+ * while Elasticsearch is failing or its circuit breaker is open.
+ *
+ * Built from the {@link ShowCatalog} on the scheduler thread whenever the
+ * loader has swapped in a new catalog, and replaced in one volatile write.
+ * Postings are sorted {@code int[]} row lists per term and field; a query
+ * accumulates BM25-style IDF weights (title matches count double) into a
+ * score array, so a lookup is a few array scans with no ES round trip.
+ *
+ * {@link #search} returns null until the first build, so callers can
+ * surface the original error.
+ */
+@Component
+public class ShowFallbackIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(ShowFallbackIndex.class);
+
+    private static final float TITLE_WEIGHT = 2.0f;
+    private static final float PUBLISHER_WEIGHT = 1.0f;
+    private static final double MIN_IDF = 0.01;
+
+    private record Built(
+            ShowCatalog catalog,
+            String[] showIds,
+            String[] languages,
+            Map<String, int[]> titlePostings,
+            Map<String, int[]> publisherPostings
+    ) {
+    }
+
+    private final ShowCatalogLoader catalogLoader;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+
+    private volatile Built built;
+
+    public ShowFallbackIndex(
+            ShowCatalogLoader catalogLoader,
+            MeterRegistry meterRegistry,
+            @Value("${search.fallback.enabled:true}") boolean enabled) {
+        this.catalogLoader = catalogLoader;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        Gauge.builder("search.fallback.shows", this, i -> i.built != null ? i.built.showIds().length : 0)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Rebuilds the index if the catalog was replaced since the last build.
+     */
+    @Scheduled(fixedDelayString = "${search.fallback.rebuild-interval-ms:60000}")
+    public synchronized void rebuildIfCatalogChanged() {
+        if (!enabled) {
+            return;
+        }
+        ShowCatalog catalog = catalogLoader.current();
+        Built previous = built;
+        if (catalog == null || (previous != null && previous.catalog() == catalog)) {
+            return;
+        }
+        long start = System.nanoTime();
+        built = build(catalog);
+        log.info("show_fallback_index_built", kv("shows", built.showIds().length),
+                kv("terms", built.titlePostings().size() + built.publisherPostings().size()),
+                kv("duration_ms", (System.nanoTime() - start) / 1_000_000));
+    }
+
+    /**
+     * One page of shows matching the request's query (and language filter),
+     * or null if the index has not been built.
+     */
+    public ShowSearchResponseData search(ShowSearchRequest request) {
+        Built current = built;
+        if (!enabled || current == null) {
+            return null;
+        }
+        Timer.Sample sample = Timer.start(meterRegistry);
+        int page = request.getPage() != null ? request.getPage() : 1;
+        int size = request.getSize() != null ? request.getSize() : 10;
+
+        float[] scores = new float[current.showIds().length];
+        List<Integer> matched = new ArrayList<>();
+        int n = current.showIds().length;
+        for (String term : new LinkedHashSet<>(ShowTokenizer.tokenize(request.getQ()))) {
+            accumulate(current.titlePostings().get(term), current.publisherPostings().get(term),
+                    n, scores, matched);
+        }
+
+        Set<String> languages = request.getLanguage() != null && !request.getLanguage().isEmpty()
+                ? new HashSet<>(request.getLanguage()) : null;
+        List<Integer> hits = new ArrayList<>(matched.size());
+        for (int row : matched) {
+            if (languages == null || languages.contains(current.languages()[row])) {
+                hits.add(row);
+            }
+        }
+        hits.sort((a, b) -> Float.compare(scores[b], scores[a]));
+
+        List<ShowSearchItem> items = new ArrayList<>(size);
+        for (int i = request.from(); i < hits.size() && items.size() < size; i++) {
+            ShowCatalog.Show show = current.catalog().show(current.showIds()[hits.get(i)]);
+            if (show != null) {
+                items.add(toItem(show));
+            }
+        }
+        sample.stop(meterRegistry.timer("search.fallback.duration"));
+        return new ShowSearchResponseData(page, size, hits.size(), items);
+    }
+
+    private static void accumulate(int[] titleRows, int[] publisherRows, int n, float[] scores,
+                                   List<Integer> matched) {
+        int df = (titleRows != null ? titleRows.length : 0) + (publisherRows != null ? publisherRows.length : 0);
+        if (df == 0) {
+            return;
+        }
+        // Floored so that very common terms still rank their matches above non-matches
+        float idf = (float) Math.max(MIN_IDF, Math.log(1 + (n - df + 0.5) / (df + 0.5)));
+        add(titleRows, idf * TITLE_WEIGHT, scores, matched);
+        add(publisherRows, idf * PUBLISHER_WEIGHT, scores, matched);
+    }
+
+    private static void add(int[] rows, float weight, float[] scores, List<Integer> matched) {
+        if (rows == null) {
+            return;
+        }
+        for (int row : rows) {
+            if (scores[row] == 0f) {
+                matched.add(row);
+            }
+            scores[row] += weight;
+        }
+    }
+
+    private static Built build(ShowCatalog catalog) {
+        List<String> showIds = new ArrayList<>(catalog.size());
+        List<String> languages = new ArrayList<>(catalog.size());
+        Map<String, List<Integer>> title = new HashMap<>();
+        Map<String, List<Integer>> publisher = new HashMap<>();
+        catalog.forEach(show -> {
+            int row = showIds.size();
+            showIds.add(show.showId());
+            languages.add(show.language());
+            index(title, show.title(), row);
+            index(publisher, show.publisher(), row);
+        });
+        return new Built(catalog, showIds.toArray(new String[0]), languages.toArray(new String[0]),
+                freeze(title), freeze(publisher));
+    }
+
+    private static void index(Map<String, List<Integer>> postings, String text, int row) {
+        for (String term : new LinkedHashSet<>(ShowTokenizer.tokenize(text))) {
+            postings.computeIfAbsent(term, t -> new ArrayList<>()).add(row);
+        }
+    }
+
+    private static Map<String, int[]> freeze(Map<String, List<Integer>> postings) {
+        Map<String, int[]> frozen = new HashMap<>(Math.max(16, (int) (postings.size() / 0.75f) + 1));
+        postings.forEach((term, rows) -> frozen.put(term, rows.stream().mapToInt(Integer::intValue).toArray()));
+        return frozen;
+    }
+
+    private static ShowSearchItem toItem(ShowCatalog.Show show) {
+        return new ShowSearchItem(
+                show.showId(),
+                show.title(),
+                show.description(),
+                show.language(),
+                show.publisher(),
+                show.imageUrl(),
+                show.episodeCount(),
+                Map.of(),
+                show.externalIds() != null ? show.externalIds() : Map.of(),
+                show.externalUrls() != null ? show.externalUrls() : Map.of()
+        );
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.podcastbackend.search.fallback;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Tokenizer for the local show index, applied to both documents and queries.
+ *
+ * Text is NFKC-normalized (full-width letters and digits become ASCII) and
+ * lower-cased. Runs of CJK characters are split into overlapping bigrams, the
+ * way the {@code cjk_bigram} filter does for the zh analyzers; a lone CJK
+ * character is kept as a unigram. Any other run of letters or digits is one
+ * token. Everything else separates tokens.
+ */
+final class ShowTokenizer {
+
+    private ShowTokenizer() {
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        int length = normalized.length();
+        int i = 0;
+        while (i < length) {
+            int cp = normalized.codePointAt(i);
+            if (isCjk(cp)) {
+                int start = i;
+                List<Integer> run = new ArrayList<>();
+                while (i < length && isCjk(normalized.codePointAt(i))) {
+                    run.add(i);
+                    i += Character.charCount(normalized.codePointAt(i));
+                }
+                if (run.size() == 1) {
+                    tokens.add(normalized.substring(start, i));
+                } else {
+                    for (int j = 0; j + 1 < run.size(); j++) {
+                        int end = j + 2 < run.size() ? run.get(j + 2) : i;
+                        tokens.add(normalized.substring(run.get(j), end));
+                    }
+                }
+            } else if (Character.isLetterOrDigit(cp)) {
+                int start = i;
+                while (i < length) {
+                    int c = normalized.codePointAt(i);
+                    if (!Character.isLetterOrDigit(c) || isCjk(c)) {
+                        break;
+                    }
+                    i += Character.charCount(c);
+                }
+                tokens.add(normalized.substring(start, i));
+            } else {
+                i += Character.charCount(cp);
+            }
+        }
+        return tokens;
+    }
+
+    private static boolean isCjk(int cp) {
+        Character.UnicodeScript script = Character.UnicodeScript.of(cp);
+        return script == Character.UnicodeScript.HAN
+                || script == Character.UnicodeScript.HIRAGANA
+                || script == Character.UnicodeScript.KATAKANA
+                || script == Character.UnicodeScript.HANGUL;
+    }
+}
@@ -41,12 +41,27 @@ public class RrfFusion {
             SearchResponse<JsonNode> bm25Response,
             SearchResponse<JsonNode> knnResponse,
             int size
+    ) {
+        return fuse(bm25Response.hits().hits(), knnResponse.hits().hits(), size);
+    }
+
+    /**
+     * Fuse two ranked hit lists using RRF.
+     *
+     * @param bm25Hits BM25 hits, best first
+     * @param knnHits Vector-ranked hits, best first
+     * @param size Number of results to return
+     * @return Fused results ordered by RRF score
+     */
+    public List<FusedResult> fuse(
+            List<Hit<JsonNode>> bm25Hits,
+            List<Hit<JsonNode>> knnHits,
+            int size
     ) {
         Map<String, FusedResult> resultMap = new HashMap<>();
         Map<String, Double> rrfScores = new HashMap<>();
 
         // Process BM25 results
-        List<Hit<JsonNode>> bm25Hits = bm25Response.hits().hits();
         for (int rank = 0; rank < bm25Hits.size(); rank++) {
             Hit<JsonNode> hit = bm25Hits.get(rank);
             String id = hit.id();
@@ -57,7 +72,6 @@ public class RrfFusion {
         }
 
         // Process kNN results
-        List<Hit<JsonNode>> knnHits = knnResponse.hits().hits();
         for (int rank = 0; rank < knnHits.size(); rank++) {
             Hit<JsonNode> hit = knnHits.get(rank);
             String id = hit.id();
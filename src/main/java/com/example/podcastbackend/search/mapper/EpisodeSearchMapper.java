@@ -2,6 +2,8 @@ package com.example.podcastbackend.search.mapper;
 
 import co.elastic.clients.elasticsearch.core.SearchResponse;
 import co.elastic.clients.elasticsearch.core.search.Hit;
+import com.example.podcastbackend.cache.ShowCatalog;
+import com.example.podcastbackend.cache.ShowCatalogLoader;
 import com.example.podcastbackend.exception.SearchParseException;
 import com.example.podcastbackend.request.EpisodeSearchRequest;
 import com.example.podcastbackend.response.EpisodeSearchItem;
@@ -21,6 +23,12 @@ public class EpisodeSearchMapper {
 
     private static final Logger log = LoggerFactory.getLogger(EpisodeSearchMapper.class);
 
+    private final ShowCatalogLoader catalogLoader;
+
+    public EpisodeSearchMapper(ShowCatalogLoader catalogLoader) {
+        this.catalogLoader = catalogLoader;
+    }
+
     public EpisodeSearchResponse toResponse(
             SearchResponse<JsonNode> esResponse,
             EpisodeSearchRequest request
@@ -127,8 +135,21 @@ public class EpisodeSearchMapper {
         );
     }
 
+    /**
+     * Show info from the catalog mirror when the show is in it, so only
+     * {@code show.show_id} (or {@code show_id}) is needed from the hit;
+     * otherwise from the denormalized {@code show} object in {@code _source}.
+     */
     private EpisodeSearchItem.ShowInfo podcastInfo(JsonNode src) {
         JsonNode show = src.path("show");
+        ShowCatalog catalog = catalogLoader.current();
+        if (catalog != null) {
+            String showId = show.isMissingNode() ? text(src, "show_id") : text(show, "show_id");
+            EpisodeSearchItem.ShowInfo mirrored = showId != null ? catalog.showInfo(showId) : null;
+            if (mirrored != null) {
+                return mirrored;
+            }
+        }
         if (show.isMissingNode()) {
             return null;
         }
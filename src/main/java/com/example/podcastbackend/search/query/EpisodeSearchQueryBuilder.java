@@ -2,7 +2,10 @@ package com.example.podcastbackend.search.query;
 
 import com.example.podcastbackend.request.EpisodeSearchRequest;
 import com.example.podcastbackend.search.LangParam;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.github.mustachejava.DefaultMustacheFactory;
 import com.github.mustachejava.Mustache;
 import com.github.mustachejava.TemplateFunction;
@@ -90,6 +93,67 @@ public class EpisodeSearchQueryBuilder {
         return render(selectTemplate(request.getLang()), ctx);
     }
 
+    /**
+     * BM25 window for hybrid_lite: the hybrid BM25 query with
+     * {@code vectorField} added to a {@code _source} filter the template
+     * may set, so each hit carries its stored embedding.
+     */
+    public String buildBm25QueryForHybridLite(EpisodeSearchRequest request, int windowSize, String vectorField) {
+        String json = buildBm25QueryForHybrid(request, windowSize);
+        try {
+            ObjectNode root = (ObjectNode) objectMapper.readTree(json);
+            return withVectorField(root, vectorField) ? objectMapper.writeValueAsString(root) : json;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to add vector field to BM25 query", e);
+        }
+    }
+
+    /**
+     * Adds {@code field} to the query's {@code _source} filter, in each form
+     * ES accepts: absent or {@code true} already returns every field;
+     * {@code false} asks for no source and is left alone (the window then has
+     * no vectors and keeps its BM25 order); a pattern or list of patterns
+     * gains the field; an object gains it in a non-empty {@code includes}
+     * (string or list) and loses it from {@code excludes}. Returns whether
+     * the query changed.
+     */
+    static boolean withVectorField(ObjectNode root, String field) {
+        JsonNode source = root.get("_source");
+        if (source == null || source.isBoolean()) {
+            return false;
+        }
+        if (source.isTextual()) {
+            root.putArray("_source").add(source.textValue()).add(field);
+        } else if (source.isArray()) {
+            ((ArrayNode) source).add(field);
+        } else if (source.isObject()) {
+            includeField((ObjectNode) source, field);
+        } else {
+            return false;
+        }
+        return true;
+    }
+
+    private static void includeField(ObjectNode source, String field) {
+        JsonNode excludes = source.get("excludes");
+        if (excludes != null && excludes.isTextual() && field.equals(excludes.textValue())) {
+            source.remove("excludes");
+        } else if (excludes != null && excludes.isArray()) {
+            ArrayNode kept = source.putArray("excludes");
+            excludes.forEach(e -> {
+                if (!field.equals(e.asText())) {
+                    kept.add(e);
+                }
+            });
+        }
+        JsonNode includes = source.get("includes");
+        if (includes != null && includes.isTextual()) {
+            source.putArray("includes").add(includes.textValue()).add(field);
+        } else if (includes != null && includes.isArray() && !includes.isEmpty()) {
+            ((ArrayNode) includes).add(field);
+        }
+    }
+
     /** KNN-only query with larger window size for RRF fusion. */
     public String buildKnnQueryForHybrid(String lang, float[] queryVector, int windowSize) {
         Map<String, Object> ctx = buildKnnContext(queryVector, windowSize);
@@ -0,0 +1,148 @@
+package com.example.podcastbackend.service;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch.core.MgetRequest;
+import co.elastic.clients.elasticsearch.core.MgetResponse;
+import co.elastic.clients.elasticsearch.core.get.GetResult;
+import co.elastic.clients.elasticsearch.core.mget.MultiGetResponseItem;
+import com.example.podcastbackend.response.RankingsItem;
+import com.fasterxml.jackson.databind.JsonNode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static net.logstash.logback.argument.StructuredArguments.kv;
+
+/**
+ * Fills the show metadata Apple's chart feed lacks ({@code language},
+ * {@code episodeCount}, {@code externalUrls}) from our shows index.
+ *
+ * Chart entries map to {@code show:apple:<id>} documents — the show itself for
+ * podcast charts, the parent show for episode charts — and the whole chart is
+ * resolved with one {@code _mget}. Episode items only take the show's
+ * language; the count and URLs describe the show, not the episode.
+ *
+ * Enrichment is best effort: shows we have not indexed, or an ES failure,
+ * leave the affected items as they were.
+ */
+@Component
+public class RankingsEnricher {
+
+    private static final Logger log = LoggerFactory.getLogger(RankingsEnricher.class);
+
+    private static final List<String> SOURCE_FIELDS = List.of("show_id", "language", "episode_count", "external_urls");
+
+    private final ElasticsearchClient esClient;
+    private final String showsIndex;
+    private final Counter failures;
+
+    public RankingsEnricher(
+            ElasticsearchClient esClient,
+            MeterRegistry meterRegistry,
+            @Value("${elasticsearch.indices.shows:shows}") String showsIndex) {
+        this.esClient = esClient;
+        this.showsIndex = showsIndex;
+        this.failures = meterRegistry.counter("rankings.enrichment.failure");
+    }
+
+    public List<RankingsItem> enrich(List<RankingsItem> items, String type) {
+        boolean isEpisode = "episode".equals(type);
+        Set<String> showIds = new LinkedHashSet<>();
+        for (RankingsItem item : items) {
+            String showId = isEpisode ? item.parentShowId() : item.showId();
+            if (showId != null) {
+                showIds.add(showId);
+            }
+        }
+        if (showIds.isEmpty()) {
+            return items;
+        }
+
+        Map<String, JsonNode> shows;
+        try {
+            shows = fetchShows(List.copyOf(showIds));
+        } catch (Exception e) {
+            failures.increment();
+            log.warn("rankings_enrichment_failed", kv("type", type), kv("error", e.getMessage()));
+            return items;
+        }
+
+        List<RankingsItem> enriched = new ArrayList<>(items.size());
+        for (RankingsItem item : items) {
+            JsonNode show = shows.get(isEpisode ? item.parentShowId() : item.showId());
+            enriched.add(show == null ? item : merge(item, show, isEpisode));
+        }
+        log.info("rankings_enriched", kv("type", type), kv("items", items.size()), kv("matched_shows", shows.size()));
+        return enriched;
+    }
+
+    private Map<String, JsonNode> fetchShows(List<String> showIds) throws Exception {
+        MgetRequest request = MgetRequest.of(m -> m
+                .index(showsIndex)
+                .ids(showIds)
+                .sourceIncludes(SOURCE_FIELDS));
+        MgetResponse<JsonNode> response = esClient.mget(request, JsonNode.class);
+
+        Map<String, JsonNode> shows = new HashMap<>();
+        for (MultiGetResponseItem<JsonNode> doc : response.docs()) {
+            if (!doc.isResult()) {
+                continue;
+            }
+            GetResult<JsonNode> result = doc.result();
+            if (result.found() && result.source() != null) {
+                shows.put(result.id(), result.source());
+            }
+        }
+        return shows;
+    }
+
+    private RankingsItem merge(RankingsItem item, JsonNode show, boolean isEpisode) {
+        String language = text(show, "language");
+        return new RankingsItem(
+                item.rank(),
+                item.showId(),
+                item.parentShowId(),
+                item.title(),
+                item.publisher(),
+                item.imageUrl(),
+                language != null ? language : item.language(),
+                isEpisode ? item.episodeCount() : intValue(show, "episode_count"),
+                isEpisode ? item.externalUrls() : objectToMap(show, "external_urls"),
+                item.movement()
+        );
+    }
+
+    private String text(JsonNode node, String field) {
+        JsonNode v = node.get(field);
+        return v != null && !v.isNull() && v.isTextual() ? v.asText() : null;
+    }
+
+    private Integer intValue(JsonNode node, String field) {
+        JsonNode v = node.get(field);
+        return v != null && v.isNumber() ? v.asInt() : null;
+    }
+
+    private Map<String, String> objectToMap(JsonNode node, String field) {
+        JsonNode obj = node.get(field);
+        if (obj == null || !obj.isObject()) {
+            return null;
+        }
+        Map<String, String> result = new HashMap<>();
+        obj.properties().forEach(entry -> {
+            if (!entry.getValue().isNull()) {
+                result.put(entry.getKey(), entry.getValue().asText());
+            }
+        });
+        return result.isEmpty() ? null : result;
+    }
+}
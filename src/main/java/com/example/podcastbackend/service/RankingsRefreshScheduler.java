@@ -0,0 +1,347 @@
+package com.example.podcastbackend.service;
+
+import com.example.podcastbackend.cache.RankingsCache;
+import com.example.podcastbackend.cache.RankingsHistory;
+import com.example.podcastbackend.cache.RankingsPayloadCache;
+import com.example.podcastbackend.cache.RankingsSnapshotStore;
+import com.example.podcastbackend.cache.SharedRankingsStore;
+import com.example.podcastbackend.client.AppleChartClient;
+import com.example.podcastbackend.response.RankingsItem;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static net.logstash.logback.argument.StructuredArguments.kv;
+
+/**
+ * Keeps {@link RankingsCache} warm so request threads never call Apple.
+ *
+ * Every tick checks each tracked (region, type) pair and refreshes the ones
+ * that have reached {@code refresh-ahead-ratio × ttl} of their lifetime, minus
+ * a per-pair random jitter so the pairs do not all hit Apple in the same tick.
+ * Fetches run on a small dedicated pool ({@code parallelism}) and concurrent
+ * refreshes of the same pair share a single in-flight fetch.
+ *
+ * A failed refresh leaves the previous entry in the cache, so requests keep
+ * being served the last good chart until a later tick succeeds. A successful
+ * one merges show metadata via {@link RankingsEnricher} and rank movements
+ * from {@link RankingsHistory} before caching, so requests need no further
+ * lookups or computation, and rebuilds the serialized bodies in
+ * {@link RankingsPayloadCache}. Every cache write is also persisted through
+ * {@link RankingsSnapshotStore} so a restart begins with the last charts.
+ *
+ * With {@link SharedRankingsStore} enabled, a due pair is first looked up in
+ * the shared store; a chart another replica published that is no longer due
+ * is adopted as is. Otherwise only the replica holding the pair's lease calls
+ * Apple and publishes the result, and the others keep serving what they have.
+ */
+@Component
+public class RankingsRefreshScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(RankingsRefreshScheduler.class);
+
+    private static final List<String> TYPES = List.of("podcast", "episode");
+
+    private final AppleChartClient appleChartClient;
+    private final RankingsEnricher enricher;
+    private final RankingsCache rankingsCache;
+    private final RankingsHistory rankingsHistory;
+    private final RankingsPayloadCache payloadCache;
+    private final RankingsSnapshotStore snapshotStore;
+    private final SharedRankingsStore sharedStore;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final long refreshAfterSeconds;
+    private final long jitterSeconds;
+    private final long coldWaitMs;
+    private final ExecutorService fetchExecutor;
+
+    private final Set<String> tracked = ConcurrentHashMap.newKeySet();
+    private final Map<String, CompletableFuture<List<RankingsItem>>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, Long> jitter = new ConcurrentHashMap<>();
+
+    public RankingsRefreshScheduler(
+            AppleChartClient appleChartClient,
+            RankingsEnricher enricher,
+            RankingsCache rankingsCache,
+            RankingsHistory rankingsHistory,
+            RankingsPayloadCache payloadCache,
+            RankingsSnapshotStore snapshotStore,
+            SharedRankingsStore sharedStore,
+            MeterRegistry meterRegistry,
+            @Value("${rankings.refresh.enabled:true}") boolean enabled,
+            @Value("${rankings.refresh.regions:tw,us,cn}") List<String> regions,
+            @Value("${rankings.cache.ttl-seconds:3600}") long ttlSeconds,
+            @Value("${rankings.refresh.refresh-ahead-ratio:0.8}") double refreshAheadRatio,
+            @Value("${rankings.refresh.jitter-seconds:120}") long jitterSeconds,
+            @Value("${rankings.refresh.parallelism:2}") int parallelism,
+            @Value("${rankings.refresh.cold-wait-ms:5000}") long coldWaitMs) {
+        this.appleChartClient = appleChartClient;
+        this.enricher = enricher;
+        this.rankingsCache = rankingsCache;
+        this.rankingsHistory = rankingsHistory;
+        this.payloadCache = payloadCache;
+        this.snapshotStore = snapshotStore;
+        this.sharedStore = sharedStore;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.refreshAfterSeconds = (long) (ttlSeconds * refreshAheadRatio);
+        this.jitterSeconds = Math.max(0, Math.min(jitterSeconds, refreshAfterSeconds / 2));
+        this.coldWaitMs = coldWaitMs;
+        this.fetchExecutor = Executors.newFixedThreadPool(Math.max(1, parallelism),
+                Thread.ofPlatform().name("rankings-refresh-", 0).daemon(true).factory());
+        for (String region : regions) {
+            for (String type : TYPES) {
+                track(region.trim(), type);
+            }
+        }
+    }
+
+    /**
+     * Loads the snapshot left by the previous run before the application
+     * reports ready. Restored entries keep their original age, so the first
+     * tick still refreshes whatever is due.
+     */
+    @PostConstruct
+    public void restoreSnapshot() {
+        List<RankingsSnapshotStore.Entry> entries = snapshotStore.load();
+        for (RankingsSnapshotStore.Entry entry : entries) {
+            rankingsCache.restore(entry.region(), entry.type(), entry.items(), entry.cachedAt());
+            rankingsHistory.restore(entry.region(), entry.type(), entry.history());
+            track(entry.region(), entry.type());
+            preparePayloads(entry.region(), entry.type(), entry.items());
+        }
+        if (!entries.isEmpty()) {
+            log.info("rankings_snapshot_restored", kv("entries", entries.size()));
+        }
+    }
+
+    /**
+     * Refreshes every tracked pair that is due. Runs once at startup so the
+     * cache is populated before the first request arrives.
+     */
+    @Scheduled(fixedDelayString = "${rankings.refresh.check-interval-ms:30000}")
+    public void refreshDue() {
+        if (!enabled) {
+            return;
+        }
+        for (String key : tracked) {
+            String[] parts = key.split(":", 2);
+            if (isDue(parts[0], parts[1])) {
+                refresh(parts[0], parts[1]);
+            }
+        }
+    }
+
+    /**
+     * Starts a refresh of one pair, or returns the one already in flight.
+     * The returned future completes with the fetched items, or exceptionally
+     * if Apple could not be reached.
+     */
+    public CompletableFuture<List<RankingsItem>> refresh(String region, String type) {
+        String key = key(region, type);
+        track(region, type);
+        CompletableFuture<List<RankingsItem>> existing = inFlight.get(key);
+        if (existing != null) {
+            return existing;
+        }
+        CompletableFuture<List<RankingsItem>> created = new CompletableFuture<>();
+        existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            return existing;
+        }
+        try {
+            fetchExecutor.execute(() -> {
+                List<RankingsItem> items = null;
+                Throwable failure = null;
+                try {
+                    items = fetch(region, type);
+                } catch (Throwable t) {
+                    failure = t;
+                }
+                // Unregister before completing so a caller woken by this result
+                // starts a new refresh rather than rejoining the finished one
+                inFlight.remove(key, created);
+                if (failure == null) {
+                    created.complete(items);
+                } else {
+                    created.completeExceptionally(failure);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(key, created);
+            created.completeExceptionally(e);
+        }
+        return created;
+    }
+
+    /**
+     * Used on a cold miss (nothing cached yet): joins the shared refresh for at
+     * most {@code cold-wait-ms} and returns an empty list if it does not succeed.
+     */
+    public List<RankingsItem> awaitRefresh(String region, String type) {
+        try {
+            return refresh(region, type).get(coldWaitMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (TimeoutException e) {
+            log.warn("rankings_cold_wait_timeout", kv("region", region), kv("type", type));
+        } catch (ExecutionException e) {
+            log.warn("rankings_cold_refresh_failed",
+                    kv("region", region), kv("type", type), kv("error", e.getCause().getMessage()));
+        }
+        return List.of();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        fetchExecutor.shutdownNow();
+    }
+
+    private boolean isDue(String region, String type) {
+        Instant cachedAt = rankingsCache.getCachedAt(region, type);
+        if (cachedAt == null) {
+            return true;
+        }
+        long refreshAfter = refreshAfterSeconds - jitter.getOrDefault(key(region, type), 0L);
+        return Duration.between(cachedAt, Instant.now()).toSeconds() >= refreshAfter;
+    }
+
+    private List<RankingsItem> fetch(String region, String type) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "failure";
+        try {
+            if (sharedStore.isEnabled()) {
+                List<RankingsItem> adopted = adoptShared(region, type);
+                if (adopted != null) {
+                    outcome = "shared";
+                    return adopted;
+                }
+                if (!sharedStore.tryAcquireLease(region, type)) {
+                    // Another replica is fetching; its result is adopted on a later tick
+                    outcome = "lease_held";
+                    List<RankingsItem> cached = rankingsCache.getStale(region, type);
+                    if (cached == null) {
+                        throw new IllegalStateException("Rankings for " + key(region, type) + " are being fetched by another instance");
+                    }
+                    return cached;
+                }
+            }
+            AppleChartClient.ChartFetch chart = "episode".equals(type)
+                    ? appleChartClient.fetchEpisodeChart(region)
+                    : appleChartClient.fetchPodcastChart(region);
+            if (chart == null) {
+                throw new IllegalStateException("Apple chart unavailable for " + key(region, type));
+            }
+            List<RankingsItem> items;
+            if (chart.notModified()) {
+                List<RankingsItem> cached = rankingsCache.getStale(region, type);
+                if (cached == null) {
+                    appleChartClient.forgetValidators(region, type);
+                    throw new IllegalStateException("Apple chart not modified but nothing cached for " + key(region, type));
+                }
+                // Show metadata may still have changed in our index
+                items = enricher.enrich(cached, type);
+                if (items.equals(cached)) {
+                    // Nothing changed: restart its TTL, keep payloads (and their ETags)
+                    rankingsCache.touch(region, type);
+                } else {
+                    rankingsCache.put(region, type, items);
+                    preparePayloads(region, type, items);
+                }
+                snapshotStore.save();
+                publishShared(region, type, items);
+                outcome = "not_modified";
+            } else {
+                items = rankingsHistory.record(region, type, enricher.enrich(chart.items(), type), Instant.now());
+                rankingsCache.put(region, type, items);
+                preparePayloads(region, type, items);
+                snapshotStore.save();
+                publishShared(region, type, items);
+                outcome = "success";
+            }
+            jitter.put(key(region, type), jitterSeconds > 0 ? ThreadLocalRandom.current().nextLong(jitterSeconds + 1) : 0L);
+            return items;
+        } finally {
+            sample.stop(Timer.builder("rankings.refresh.fetch.duration")
+                    .tags("region", region, "type", type, "outcome", outcome)
+                    .register(meterRegistry));
+            log.info("rankings_refreshed", kv("region", region), kv("type", type), kv("outcome", outcome));
+        }
+    }
+
+    /**
+     * Adopts the shared chart if it is newer than ours, and returns it if that
+     * leaves the pair no longer due; null means this instance should fetch.
+     */
+    private List<RankingsItem> adoptShared(String region, String type) {
+        SharedRankingsStore.SharedChart shared = sharedStore.read(region, type);
+        if (shared == null) {
+            return null;
+        }
+        Instant local = rankingsCache.getCachedAt(region, type);
+        if (local == null || shared.cachedAt().isAfter(local)) {
+            rankingsCache.restore(region, type, shared.items(), shared.cachedAt());
+            // Movements were computed by the publishing replica; keep our history in step
+            rankingsHistory.append(region, type, shared.items(), shared.cachedAt());
+            preparePayloads(region, type, shared.items());
+            snapshotStore.save();
+        }
+        return isDue(region, type) ? null : rankingsCache.getStale(region, type);
+    }
+
+    private void publishShared(String region, String type, List<RankingsItem> items) {
+        if (sharedStore.isEnabled()) {
+            sharedStore.publish(region, type, items, rankingsCache.getCachedAt(region, type));
+        }
+    }
+
+    private void preparePayloads(String region, String type, List<RankingsItem> items) {
+        try {
+            payloadCache.prepare(region, type, items, rankingsCache.getCachedAt(region, type));
+        } catch (RuntimeException e) {
+            // Requests fall back to serializing from RankingsCache
+            log.warn("rankings_payload_prepare_failed",
+                    kv("region", region), kv("type", type), kv("error", e.getMessage()));
+        }
+    }
+
+    private void track(String region, String type) {
+        if (tracked.add(key(region, type))) {
+            Gauge.builder("rankings.refresh.age.seconds", this, s -> s.ageSeconds(region, type))
+                    .tags("region", region, "type", type)
+                    .register(meterRegistry);
+        }
+    }
+
+    private double ageSeconds(String region, String type) {
+        Instant cachedAt = rankingsCache.getCachedAt(region, type);
+        return cachedAt != null ? Duration.between(cachedAt, Instant.now()).toMillis() / 1000.0 : Double.NaN;
+    }
+
+    private static String key(String region, String type) {
+        return region + ":" + type;
+    }
+}
@@ -1,55 +1,65 @@
 package com.example.podcastbackend.service;
 
 import com.example.podcastbackend.cache.RankingsCache;
-import com.example.podcastbackend.client.AppleChartClient;
+import com.example.podcastbackend.cache.RankingsPayloadCache;
 import com.example.podcastbackend.request.RankingsRequest;
 import com.example.podcastbackend.response.RankingsItem;
 import com.example.podcastbackend.response.RankingsResponse;
 import com.example.podcastbackend.response.RankingsResponseData;
-import com.fasterxml.jackson.databind.JsonNode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
-import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * Serves rankings from memory. {@link RankingsRefreshScheduler} keeps the
+ * cache fresh in the background; the request path only waits on Apple when
+ * nothing has ever been cached for the requested pair.
+ */
 @Service
 public class RankingsService {
 
     private static final Logger log = LoggerFactory.getLogger(RankingsService.class);
 
-    private final AppleChartClient appleChartClient;
     private final RankingsCache rankingsCache;
+    private final RankingsRefreshScheduler refreshScheduler;
+    private final RankingsPayloadCache payloadCache;
 
     public RankingsService(
-            AppleChartClient appleChartClient,
-            RankingsCache rankingsCache) {
-        this.appleChartClient = appleChartClient;
+            RankingsCache rankingsCache,
+            RankingsRefreshScheduler refreshScheduler,
+            RankingsPayloadCache payloadCache) {
         this.rankingsCache = rankingsCache;
+        this.refreshScheduler = refreshScheduler;
+        this.payloadCache = payloadCache;
+    }
+
+    /**
+     * Pre-serialized body for the request, or null when the chart has not
+     * been prepared yet (callers then use {@link #getRankings}).
+     */
+    public RankingsPayloadCache.Payload getRankingsPayload(RankingsRequest request) {
+        return payloadCache.get(request.getRegion(), request.getType(), request.getLimit());
     }
 
     public RankingsResponse getRankings(RankingsRequest request) {
-        String type = request.getType();
+        String type = "episode".equals(request.getType()) ? "episode" : "podcast";
         String region = request.getRegion();
 
         try {
-            List<RankingsItem> items;
-
-            if ("episode".equals(type)) {
-                items = getEpisodeRankings(region, request.getLimit());
-            } else {
-                items = getPodcastRankings(region, request.getLimit());
-            }
+            List<RankingsItem> items = getCachedRankings(region, type).stream()
+                    .limit(request.getLimit())
+                    .toList();
 
-            // Get the cached timestamp (will be set after fetching or from existing cache)
+            // Timestamp of the chart being served (set by the last successful refresh)
             Instant updatedAt = rankingsCache.getCachedAt(region, type);
             if (updatedAt == null) {
                 updatedAt = Instant.now();
             }
 
-            var data = new RankingsResponseData(region, type, items, updatedAt);
+            var data = new RankingsResponseData(region, request.getType(), items, updatedAt);
             return RankingsResponse.ok(data);
 
         } catch (Exception e) {
@@ -59,115 +69,14 @@ public class RankingsService {
     }
 
     /**
-     * Get podcast rankings from Apple API with caching
-     */
-    private List<RankingsItem> getPodcastRankings(String country, int limit) {
-        // Check cache first
-        List<RankingsItem> cached = rankingsCache.get(country, "podcast");
-        if (cached != null) {
-            return cached.stream().limit(limit).toList();
-        }
-
-        // Fetch from Apple API
-        JsonNode chartData = appleChartClient.fetchPodcastChart(country);
-
-        if (chartData == null) {
-            // API failed - try to return stale cache
-            List<RankingsItem> stale = rankingsCache.getStale(country, "podcast");
-            if (stale != null) {
-                log.warn("Using stale cache for podcast rankings: {}", country);
-                return stale.stream().limit(limit).toList();
-            }
-            return List.of();
-        }
-
-        // Parse Apple API response
-        List<RankingsItem> items = parseAppleChartResponse(chartData, "podcast");
-
-        // Cache the results
-        rankingsCache.put(country, "podcast", items);
-
-        return items.stream().limit(limit).toList();
-    }
-
-    /**
-     * Get episode rankings from Apple API with caching
-     */
-    private List<RankingsItem> getEpisodeRankings(String country, int limit) {
-        // Check cache first
-        List<RankingsItem> cached = rankingsCache.get(country, "episode");
-        if (cached != null) {
-            return cached.stream().limit(limit).toList();
-        }
-
-        // Fetch from Apple API
-        JsonNode chartData = appleChartClient.fetchEpisodeChart(country);
-
-        if (chartData == null) {
-            // API failed - try to return stale cache
-            List<RankingsItem> stale = rankingsCache.getStale(country, "episode");
-            if (stale != null) {
-                log.warn("Using stale cache for episode rankings: {}", country);
-                return stale.stream().limit(limit).toList();
-            }
-            return List.of();
-        }
-
-        // Parse Apple API response
-        List<RankingsItem> items = parseAppleChartResponse(chartData, "episode");
-
-        // Cache the results
-        rankingsCache.put(country, "episode", items);
-
-        return items.stream().limit(limit).toList();
-    }
-
-    /**
-     * Parse Apple Chart API response into RankingsItem list
+     * Latest chart for the pair, even if past its TTL — a failed background
+     * refresh must not turn into request latency or an empty chart.
      */
-    private List<RankingsItem> parseAppleChartResponse(JsonNode chartData, String type) {
-        List<RankingsItem> items = new ArrayList<>();
-
-        JsonNode feed = chartData.path("feed");
-        JsonNode results = feed.path("results");
-
-        if (!results.isArray()) {
-            log.warn("No results array in Apple chart response");
+    private List<RankingsItem> getCachedRankings(String region, String type) {
+        List<RankingsItem> items = rankingsCache.getStale(region, type);
+        if (items != null) {
             return items;
         }
-
-        int rank = 1;
-        for (JsonNode entry : results) {
-            String id = text(entry, "id");
-            String name = text(entry, "name");
-            String artistName = text(entry, "artistName");
-            String artworkUrl = text(entry, "artworkUrl100");
-
-            String collectionName = text(entry, "collectionName");
-            String collectionId = text(entry, "collectionId");
-
-            boolean isEpisode = "episode".equals(type);
-            String idPrefix = isEpisode ? "episode:apple:" : "show:apple:";
-            String parentShowId = (isEpisode && collectionId != null) ? "show:apple:" + collectionId : null;
-
-            items.add(new RankingsItem(
-                    rank++,
-                    id != null ? idPrefix + id : null,
-                    parentShowId,
-                    name,
-                    artistName != null ? artistName : collectionName,
-                    artworkUrl,
-                    null, // language not in chart response
-                    null, // episodeCount not applicable
-                    null  // externalUrls
-            ));
-        }
-
-        return items;
-    }
-
-    private String text(JsonNode node, String field) {
-        JsonNode v = node.get(field);
-        return v != null && !v.isNull() ? v.asText() : null;
+        return refreshScheduler.awaitRefresh(region, type);
     }
 }
@@ -1,43 +1,75 @@
 package com.example.podcastbackend.service;
 
 import co.elastic.clients.elasticsearch.core.SearchResponse;
+import co.elastic.clients.elasticsearch.core.search.Hit;
+import com.example.podcastbackend.cache.EpisodePagePrefetcher;
+import com.example.podcastbackend.cache.MaterializedEpisodeResults;
+import com.example.podcastbackend.cache.SemanticKnnCache;
+import com.example.podcastbackend.cache.ShowVectorIndex;
 import com.example.podcastbackend.exception.CrossIndexPageLimitException;
+import com.example.podcastbackend.exception.InvalidLangParamException;
 import com.example.podcastbackend.exception.InvalidSearchParamException;
+import com.example.podcastbackend.exception.SearchServiceException;
 import com.example.podcastbackend.log.QueryLogEntry;
 import com.example.podcastbackend.log.QueryLogService;
 import com.example.podcastbackend.request.EpisodeSearchRequest;
 import com.example.podcastbackend.request.ShowSearchRequest;
+import com.example.podcastbackend.request.UnifiedSearchRequest;
+import com.example.podcastbackend.response.EpisodeBatchSearchResponse;
 import com.example.podcastbackend.response.EpisodeSearchItem;
 import com.example.podcastbackend.response.EpisodeSearchResponse;
 import com.example.podcastbackend.response.EpisodeSearchResponseData;
 import com.example.podcastbackend.response.ShowSearchItem;
 import com.example.podcastbackend.response.ShowSearchResponse;
 import com.example.podcastbackend.response.ShowSearchResponseData;
+import com.example.podcastbackend.response.UnifiedSearchResponse;
 import com.example.podcastbackend.embedding.CachedEmbeddingService;
 import com.example.podcastbackend.embedding.EmbeddingProfile;
 import com.example.podcastbackend.embedding.EmbeddingUnavailableException;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 
 import com.example.podcastbackend.search.IndexRouter;
 import com.example.podcastbackend.search.LangParam;
+import com.example.podcastbackend.search.SearchModeClassifier;
 import com.example.podcastbackend.search.client.ElasticsearchSearchClient;
+import com.example.podcastbackend.search.fallback.ShowFallbackIndex;
 import com.example.podcastbackend.search.fusion.RrfFusion;
+import com.example.podcastbackend.search.fusion.StoredVectorRanker;
 import com.example.podcastbackend.search.mapper.EpisodeSearchMapper;
 import com.example.podcastbackend.search.mapper.ShowSearchMapper;
 import com.example.podcastbackend.search.query.EpisodeSearchQueryBuilder;
 import com.example.podcastbackend.search.query.ShowSearchQueryBuilder;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import static net.logstash.logback.argument.StructuredArguments.kv;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 @Service
 public class SearchService {
@@ -49,6 +81,8 @@ public class SearchService {
     private static final int RRF_RANK_CONSTANT = 60;
 
     private static final String EMBEDDING_UNAVAILABLE_PREFIX = "embedding_unavailable:";
+    private static final String SEARCH_UNAVAILABLE_PREFIX = "search_unavailable:";
+    private static final String LANG_AUTO = "auto";
 
     private final ShowSearchQueryBuilder showQueryBuilder;
     private final EpisodeSearchQueryBuilder episodeQueryBuilder;
@@ -56,11 +90,22 @@ public class SearchService {
     private final ShowSearchMapper showMapper;
     private final EpisodeSearchMapper episodeMapper;
     private final CachedEmbeddingService cachedEmbeddingService;
+    private final ShowVectorIndex showVectorIndex;
+    private final ShowFallbackIndex showFallbackIndex;
+    private final SemanticKnnCache knnCache;
     private final RrfFusion rrfFusion;
+    private final StoredVectorRanker storedVectorRanker;
+    private final EpisodePagePrefetcher pagePrefetcher;
+    private final MaterializedEpisodeResults materializedResults;
     private final IndexRouter indexRouter;
+    private final SearchModeClassifier modeClassifier;
     private final QueryLogService queryLogService;
+    private final Validator validator;
+    private final Executor fanOutExecutor;
     private final String showsIndex;
     private final Counter degradedToBm25Counter;
+    private final Counter degradedToLocalCounter;
+    private final MeterRegistry meterRegistry;
 
     public SearchService(
             ShowSearchQueryBuilder showQueryBuilder,
@@ -69,9 +114,18 @@ public class SearchService {
             ShowSearchMapper showMapper,
             EpisodeSearchMapper episodeMapper,
             CachedEmbeddingService cachedEmbeddingService,
+            ShowVectorIndex showVectorIndex,
+            ShowFallbackIndex showFallbackIndex,
+            SemanticKnnCache knnCache,
+            StoredVectorRanker storedVectorRanker,
+            EpisodePagePrefetcher pagePrefetcher,
+            MaterializedEpisodeResults materializedResults,
             IndexRouter indexRouter,
+            SearchModeClassifier modeClassifier,
             QueryLogService queryLogService,
+            Validator validator,
             MeterRegistry meterRegistry,
+            @Qualifier("searchFanOutExecutor") Executor fanOutExecutor,
             @Value("${elasticsearch.indices.shows:shows}") String showsIndex) {
         this.showQueryBuilder = showQueryBuilder;
         this.episodeQueryBuilder = episodeQueryBuilder;
@@ -79,11 +133,22 @@ public class SearchService {
         this.showMapper = showMapper;
         this.episodeMapper = episodeMapper;
         this.cachedEmbeddingService = cachedEmbeddingService;
+        this.showVectorIndex = showVectorIndex;
+        this.showFallbackIndex = showFallbackIndex;
+        this.knnCache = knnCache;
         this.rrfFusion = new RrfFusion(RRF_RANK_CONSTANT);
+        this.storedVectorRanker = storedVectorRanker;
+        this.pagePrefetcher = pagePrefetcher;
+        this.materializedResults = materializedResults;
         this.indexRouter = indexRouter;
+        this.modeClassifier = modeClassifier;
         this.queryLogService = queryLogService;
+        this.validator = validator;
+        this.fanOutExecutor = fanOutExecutor;
         this.showsIndex = showsIndex;
         this.degradedToBm25Counter = meterRegistry.counter("search.degraded_to_bm25");
+        this.degradedToLocalCounter = meterRegistry.counter("search.degraded_to_local");
+        this.meterRegistry = meterRegistry;
     }
 
     // =====================================================
@@ -97,11 +162,24 @@ public class SearchService {
                 kv("query", request.getQ()), kv("mode", mode),
                 kv("page", request.getPage()), kv("size", request.getSize()));
 
-        return switch (mode) {
-            case BM25 -> searchShowsBm25(request);
-            case KNN -> searchShowsKnn(request);
-            case HYBRID -> searchShowsHybrid(request);
-        };
+        if (mode == ShowSearchRequest.SearchMode.AUTO) {
+            mode = toShowMode(modeClassifier.classify(request.getQ(), "shows").mode());
+        }
+        return runShows(request, mode, cachedEmbeddingService::embed);
+    }
+
+    private ShowSearchResponse runShows(ShowSearchRequest request, ShowSearchRequest.SearchMode mode,
+                                        QueryVectors vectors) {
+        try {
+            return switch (mode) {
+                case BM25 -> searchShowsBm25(request);
+                case KNN -> searchShowsKnn(request, vectors);
+                case HYBRID -> searchShowsHybrid(request, vectors);
+                case AUTO -> throw new IllegalStateException("mode=auto must be resolved before dispatch");
+            };
+        } catch (SearchServiceException e) {
+            return degradedShowsToLocal(request, e);
+        }
     }
 
     private ShowSearchResponse searchShowsBm25(ShowSearchRequest request) {
@@ -113,7 +191,7 @@ public class SearchService {
         return response;
     }
 
-    private ShowSearchResponse searchShowsKnn(ShowSearchRequest request) {
+    private ShowSearchResponse searchShowsKnn(ShowSearchRequest request, QueryVectors vectors) {
         if (!cachedEmbeddingService.isAvailable()) {
             log.warn("embedding_unavailable", kv("fallback", "bm25"), kv("mode", "knn"), kv("entity", "shows"));
             return degradedShowsToBm25(request, "embedding service unavailable");
@@ -122,43 +200,54 @@ public class SearchService {
         float[] queryVector;
         EmbeddingProfile showProfile = resolveShowEmbeddingProfile(request);
         try {
-            queryVector = cachedEmbeddingService.embed(request.getQ(), showProfile);
+            queryVector = vectors.embed(request.getQ(), showProfile);
         } catch (EmbeddingUnavailableException e) {
             log.warn("embedding_encode_failed", kv("fallback", "bm25"), kv("mode", "knn"), kv("entity", "shows"),
                     kv("error", e.getMessage()));
             return degradedShowsToBm25(request, e.getMessage());
         }
 
-        String queryJson = showQueryBuilder.buildKnnQuery(request, queryVector);
-        var esResult = esClient.search(showsIndex, queryJson);
+        int size = request.getSize() != null ? request.getSize() : 10;
+        var esResult = searchShowVectors(request, queryVector, size,
+                () -> showQueryBuilder.buildKnnQuery(request, queryVector));
         var response = showMapper.toResponse(esResult, request);
 
         log.debug("search_shows_knn_completed", kv("count", esResult.hits().total().value()));
         return response;
     }
 
-    private ShowSearchResponse searchShowsHybrid(ShowSearchRequest request) {
+    private ShowSearchResponse searchShowsHybrid(ShowSearchRequest request, QueryVectors vectors) {
         if (!cachedEmbeddingService.isAvailable()) {
             log.warn("embedding_unavailable", kv("fallback", "bm25"), kv("mode", "hybrid"), kv("entity", "shows"));
             return degradedShowsToBm25(request, "embedding service unavailable");
         }
 
-        // 1. Execute BM25 query
+        // 1. Execute BM25 query (overlaps with the embedding call)
         String bm25QueryJson = showQueryBuilder.buildBm25QueryForHybrid(request, RRF_WINDOW_SIZE);
-        SearchResponse<JsonNode> bm25Result = esClient.search(showsIndex, bm25QueryJson);
+        CompletableFuture<SearchResponse<JsonNode>> bm25Future =
+                fanOut(() -> esClient.search(showsIndex, bm25QueryJson));
 
         // 2. Execute kNN query
         float[] queryVector;
         EmbeddingProfile showProfile = resolveShowEmbeddingProfile(request);
         try {
-            queryVector = cachedEmbeddingService.embed(request.getQ(), showProfile);
+            queryVector = vectors.embed(request.getQ(), showProfile);
         } catch (EmbeddingUnavailableException e) {
             log.warn("embedding_encode_failed", kv("fallback", "bm25"), kv("mode", "hybrid"), kv("entity", "shows"),
                     kv("error", e.getMessage()));
+            bm25Future.cancel(true);
             return degradedShowsToBm25(request, e.getMessage());
         }
-        String knnQueryJson = showQueryBuilder.buildKnnQueryForHybrid(request, queryVector, RRF_WINDOW_SIZE);
-        SearchResponse<JsonNode> knnResult = esClient.search(showsIndex, knnQueryJson);
+        SearchResponse<JsonNode> knnResult;
+        try {
+            knnResult = searchShowVectors(request, queryVector, RRF_WINDOW_SIZE,
+                    () -> showQueryBuilder.buildKnnQueryForHybrid(request, queryVector, RRF_WINDOW_SIZE));
+        } catch (RuntimeException e) {
+            // The BM25 leg has no owner once this search fails
+            bm25Future.cancel(true);
+            throw e;
+        }
+        SearchResponse<JsonNode> bm25Result = join(bm25Future);
 
         // 3. Apply RRF fusion (fetch enough to cover the requested page)
         int showOffset = request.from();
@@ -192,6 +281,23 @@ public class SearchService {
         return ShowSearchResponse.ok(data);
     }
 
+    /**
+     * kNN leg for shows: the in-process vector index when it is ready,
+     * otherwise the ES kNN query (through the semantic kNN cache).
+     */
+    private SearchResponse<JsonNode> searchShowVectors(ShowSearchRequest request, float[] queryVector, int k,
+                                                       Supplier<String> esQuery) {
+        SearchResponse<JsonNode> local = showVectorIndex.search(queryVector, request.getLanguage(), k);
+        if (local != null) {
+            return local;
+        }
+        List<String> languages = request.getLanguage() != null
+                ? request.getLanguage().stream().sorted().toList()
+                : List.of();
+        String partition = showsIndex + "|" + String.join(",", languages) + "|" + k;
+        return knnCache.search(partition, queryVector, () -> esClient.search(showsIndex, esQuery.get()));
+    }
+
     // =====================================================
     // Episode Search — public entry point
     // =====================================================
@@ -203,6 +309,39 @@ public class SearchService {
                 kv("query", request.getQ()), kv("mode", mode),
                 kv("page", request.getPage()), kv("size", request.getSize()));
 
+        EpisodePlan plan = planEpisodes(request);
+        request = plan.request();
+        mode = plan.mode();
+        boolean isCrossLang = plan.crossLang();
+
+        String requestId = UUID.randomUUID().toString();
+        EpisodeLeg leg = prefetchedPage(request, mode, isCrossLang, requestId);
+        if (leg == null) {
+            leg = runEpisodes(request, mode, isCrossLang, requestId, cachedEmbeddingService::embed);
+        }
+        logEpisodeQuery(requestId, plan, leg);
+        prefetchNextPage(request, mode, leg);
+
+        EpisodeSearchResponse response = leg.response();
+        return new EpisodeSearchResponse(
+                response.status(), response.data(), response.warning(), response.error(), requestId);
+    }
+
+    /**
+     * An episode request after the checks and the lang=auto / mode=auto
+     * resolution: {@code request} carries the resolved lang,
+     * {@code requestedLang} the one the caller sent.
+     */
+    record EpisodePlan(EpisodeSearchRequest request, String requestedLang, EpisodeSearchRequest.SearchMode mode,
+                       boolean crossLang) {
+    }
+
+    /**
+     * Checks {@code request} and resolves its lang and mode, the same way for
+     * {@link #searchEpisodes} and for each item of {@link #searchEpisodesBatch};
+     * a rejected request throws the exception the single search reports.
+     */
+    EpisodePlan planEpisodes(EpisodeSearchRequest request) {
         // Page / size upper-bound validation
         if (request.getPage() > 100) {
             throw new InvalidSearchParamException("page must be <= 100");
@@ -211,6 +350,10 @@ public class SearchService {
             throw new InvalidSearchParamException("size must be <= 50");
         }
 
+        var mode = request.getSearchMode();
+        String requestedLang = request.getLang();
+        request = resolveAutoLang(request, mode);
+
         // Cache cross-index flag to avoid redundant calls
         boolean isCrossLang = indexRouter.isCrossIndex(request.getLang());
 
@@ -219,8 +362,54 @@ public class SearchService {
             throw new CrossIndexPageLimitException("zh-both search only supports up to 5 pages");
         }
 
+        if (mode == EpisodeSearchRequest.SearchMode.AUTO) {
+            // zh-both only supports BM25, so there is nothing to choose
+            mode = isCrossLang
+                    ? EpisodeSearchRequest.SearchMode.BM25
+                    : toEpisodeMode(modeClassifier.classify(request.getQ(), "episodes").mode());
+        }
+        if (isCrossLang && mode != EpisodeSearchRequest.SearchMode.BM25) {
+            throw new InvalidSearchParamException("zh-both only supports mode=bm25 currently");
+        }
+        return new EpisodePlan(request, requestedLang, mode, isCrossLang);
+    }
+
+    /**
+     * The pre-serialized response body for {@code request} when it is one of
+     * the materialized top queries, else null. A hit is query-logged like a
+     * live search so the query keeps its place among the top queries.
+     */
+    public byte[] materializedEpisodes(EpisodeSearchRequest request) {
+        long startTime = System.currentTimeMillis();
+        MaterializedEpisodeResults.Entry entry = materializedResults.get(request);
+        if (entry == null) {
+            return null;
+        }
+        EpisodePlan plan = planEpisodes(request);
         String requestId = UUID.randomUUID().toString();
+        byte[] body = entry.body(requestId);
+        logEpisodeQuery(requestId, plan, new EpisodeLeg(entry.response(), entry.alias(),
+                plan.mode().name().toLowerCase(), System.currentTimeMillis() - startTime, null));
+        log.info("search_episodes_materialized", kv("request_id", requestId), kv("query", request.getQ()),
+                kv("page", request.getPage()));
+        return body;
+    }
+
+    /**
+     * Episode search result plus what the query log needs to know about how
+     * it ran, and how to compute other pages of the same ranking (null when
+     * it cannot be prefetched).
+     */
+    private record EpisodeLeg(EpisodeSearchResponse response, String targetIndex, String executedMode,
+                              long latencyMs, EpisodePagePrefetcher.Pages pages) {
+    }
+
+    /** A page and how to compute the other pages of its ranking (null when not prefetchable). */
+    private record RankedPage(EpisodeSearchResponse response, EpisodePagePrefetcher.Pages pages) {
+    }
 
+    private EpisodeLeg runEpisodes(EpisodeSearchRequest request, EpisodeSearchRequest.SearchMode mode,
+                                   boolean isCrossLang, String requestId, QueryVectors vectors) {
         log.info("search_episodes_routed",
                 kv("lang", request.getLang()),
                 kv("cross_index", isCrossLang),
@@ -230,6 +419,7 @@ public class SearchService {
         String targetIndex;
         EpisodeSearchResponse response;
         String executedMode;
+        EpisodePagePrefetcher.Pages pages = null;
 
         if (isCrossLang) {
             if (mode != EpisodeSearchRequest.SearchMode.BM25) {
@@ -240,19 +430,80 @@ public class SearchService {
             response = searchEpisodesCrossLang(request);
             executedMode = "cross_lang_bm25_rrf";
         } else {
-            targetIndex = indexRouter.resolveIndex(request.getLang());
-            response = switch (mode) {
-                case BM25 -> searchEpisodesBm25(request, targetIndex);
-                case KNN -> searchEpisodesKnn(request, targetIndex);
-                case HYBRID -> searchEpisodesHybrid(request, targetIndex);
-                case EXACT -> searchEpisodesExact(request, targetIndex);
+            String index = indexRouter.resolveIndex(request.getLang());
+            targetIndex = index;
+            RankedPage ranked = switch (mode) {
+                case BM25 -> new RankedPage(searchEpisodesBm25(request, index),
+                        page -> searchEpisodesBm25(request.withPage(page), index));
+                case KNN -> new RankedPage(searchEpisodesKnn(request, index, vectors), null);
+                case HYBRID -> searchEpisodesHybrid(request, index, vectors);
+                case HYBRID_LITE -> searchEpisodesHybridLite(request, index, vectors);
+                case EXACT -> new RankedPage(searchEpisodesExact(request, index),
+                        page -> searchEpisodesExact(request.withPage(page), index));
+                case AUTO -> throw new IllegalStateException("mode=auto must be resolved before dispatch");
             };
+            response = ranked.response();
+            pages = ranked.pages();
             executedMode = mode.name().toLowerCase();
         }
 
-        long latencyMs = System.currentTimeMillis() - startTime;
+        return new EpisodeLeg(response, targetIndex, executedMode, System.currentTimeMillis() - startTime, pages);
+    }
+
+    // =====================================================
+    // Next-page prefetch
+    // =====================================================
 
-        // Async query log (Batch 7) — silent drop on failure, never blocks the response
+    /** This page from the prefetch cache, if the previous page scheduled it. */
+    private EpisodeLeg prefetchedPage(EpisodeSearchRequest request, EpisodeSearchRequest.SearchMode mode,
+                                      boolean isCrossLang, String requestId) {
+        if (!pagePrefetcher.isEnabled() || isCrossLang || request.getPage() == 1) {
+            return null;
+        }
+        long startTime = System.currentTimeMillis();
+        String targetIndex = indexRouter.resolveIndex(request.getLang());
+        EpisodePagePrefetcher.Prefetched prefetched =
+                pagePrefetcher.get(rankingKey(request, targetIndex, mode), request.getPage());
+        if (prefetched == null) {
+            return null;
+        }
+        log.info("search_episodes_prefetch_hit", kv("page", request.getPage()), kv("request_id", requestId));
+        return new EpisodeLeg(prefetched.response(), targetIndex, mode.name().toLowerCase(),
+                System.currentTimeMillis() - startTime, prefetched.pages());
+    }
+
+    /** Sequential paging is the common case: compute the next page in the background. */
+    private void prefetchNextPage(EpisodeSearchRequest request, EpisodeSearchRequest.SearchMode mode,
+                                  EpisodeLeg leg) {
+        EpisodeSearchResponse response = leg.response();
+        // page 100 is the last page searchEpisodes accepts
+        if (leg.pages() == null || !"ok".equals(response.status()) || request.getPage() >= 100) {
+            return;
+        }
+        pagePrefetcher.prefetch(rankingKey(request, leg.targetIndex(), mode), request.getPage() + 1,
+                request.getSize(), response.data().total(), leg.pages());
+    }
+
+    /** Everything but the page that decides a ranking's pages. */
+    private static String rankingKey(EpisodeSearchRequest request, String targetIndex,
+                                     EpisodeSearchRequest.SearchMode mode) {
+        return targetIndex + "|" + mode + "|" + request.getLang() + "|" + request.sortByDate()
+                + "|" + request.getSize() + "|" + request.getQ();
+    }
+
+    /** The query log entry of a single episode search, live or materialized. */
+    private void logEpisodeQuery(String requestId, EpisodePlan plan, EpisodeLeg leg) {
+        logEpisodeQuery(requestId, plan.request(), plan.requestedLang(), plan.crossLang(), leg, false);
+    }
+
+    /**
+     * Query log via the non-blocking log pipeline — never blocks or fails the
+     * response. {@code showsDegraded} marks a unified search whose show
+     * section lost its embedding while the episode section did not need one.
+     */
+    private void logEpisodeQuery(String requestId, EpisodeSearchRequest request, String requestedLang,
+                                 boolean isCrossLang, EpisodeLeg leg, boolean showsDegraded) {
+        EpisodeSearchResponse response = leg.response();
         EpisodeSearchResponseData responseData = response.data();
         List<EpisodeSearchItem> items;
         if (responseData != null && responseData.items() != null) {
@@ -260,27 +511,306 @@ public class SearchService {
         } else {
             items = List.of();
         }
-        boolean wasDegraded = response.warning() != null
+        boolean episodesDegraded = response.warning() != null
                 && response.warning().startsWith(EMBEDDING_UNAVAILABLE_PREFIX);
+        boolean wasDegraded = episodesDegraded || showsDegraded;
         queryLogService.logQuery(new QueryLogEntry(
                 requestId,
                 Instant.now().toString(),
                 request.getQ(),
-                request.getLang(),
+                requestedLang,
                 indexRouter.resolveLangParam(request.getLang()).getValue(),
-                wasDegraded ? "bm25" : executedMode,
-                targetIndex,
+                episodesDegraded ? "bm25" : leg.executedMode(),
+                request.getSearchMode().name().toLowerCase(),
+                leg.targetIndex(),
                 isCrossLang,
                 items.size(),
                 items.stream().map(EpisodeSearchItem::episodeId).toList(),
                 items.stream().map(e -> e.language() != null ? e.language() : "unknown").toList(),
                 request.getPage(),
-                latencyMs,
+                leg.latencyMs(),
                 wasDegraded,
                 wasDegraded ? "embedding_unavailable" : null));
+    }
 
-        return new EpisodeSearchResponse(
-                response.status(), response.data(), response.warning(), response.error(), requestId);
+    private EpisodeSearchRequest resolveAutoLang(EpisodeSearchRequest request, EpisodeSearchRequest.SearchMode mode) {
+        if (!LANG_AUTO.equals(request.getLang())) {
+            return request;
+        }
+        // Cross-index search only runs BM25 up to page 5; otherwise stay on one index
+        boolean crossIndexAllowed = (mode == EpisodeSearchRequest.SearchMode.BM25
+                || mode == EpisodeSearchRequest.SearchMode.AUTO) && request.getPage() <= 5;
+        String detected = indexRouter.resolveAutoLang(request.getQ(), crossIndexAllowed);
+        meterRegistry.counter("search.auto_lang", "lang", detected).increment();
+        log.info("search_lang_auto_detected", kv("lang", detected));
+        return request.withLang(detected);
+    }
+
+    // =====================================================
+    // Unified search (shows + episodes)
+    // =====================================================
+
+    /**
+     * Shows and episodes for one query in one call. The query is embedded at
+     * most once per model: when the show and episode profiles map to the
+     * same model the vector is shared by both sections, otherwise each
+     * section embeds with its own. The show section runs on the fan-out
+     * executor while the episode section runs on the caller. An embedding
+     * failure degrades every section on that model to BM25 together, and the
+     * call is written to the query log once, under one request id.
+     */
+    public UnifiedSearchResponse searchAll(UnifiedSearchRequest request) {
+        EpisodeSearchRequest episodeRequest = request.toEpisodeRequest();
+        var mode = episodeRequest.getSearchMode();
+
+        log.info("search_all_start",
+                kv("query", request.getQ()), kv("mode", mode),
+                kv("shows_size", request.getShowsSize()), kv("episodes_size", request.getEpisodesSize()));
+
+        String requestedLang = episodeRequest.getLang();
+        episodeRequest = resolveAutoLang(episodeRequest, mode);
+        boolean isCrossLang = indexRouter.isCrossIndex(episodeRequest.getLang());
+
+        EpisodeSearchRequest.SearchMode episodeMode;
+        ShowSearchRequest.SearchMode showMode;
+        if (mode == EpisodeSearchRequest.SearchMode.AUTO) {
+            SearchModeClassifier.Mode decided = modeClassifier.classify(request.getQ(), "all").mode();
+            episodeMode = isCrossLang ? EpisodeSearchRequest.SearchMode.BM25 : toEpisodeMode(decided);
+            showMode = toShowMode(decided);
+        } else {
+            episodeMode = mode;
+            showMode = switch (mode) {
+                case KNN -> ShowSearchRequest.SearchMode.KNN;
+                case HYBRID, HYBRID_LITE -> ShowSearchRequest.SearchMode.HYBRID;
+                case BM25, EXACT, AUTO -> ShowSearchRequest.SearchMode.BM25;
+            };
+        }
+
+        QueryVectors vectors = sharedQueryVectors();
+
+        String requestId = UUID.randomUUID().toString();
+        ShowSearchRequest showRequest = request.toShowRequest();
+        CompletableFuture<ShowSearchResponse> showsFuture = fanOut(() -> runShows(showRequest, showMode, vectors));
+        EpisodeLeg episodes;
+        try {
+            episodes = runEpisodes(episodeRequest, episodeMode, isCrossLang, requestId, vectors);
+        } catch (RuntimeException e) {
+            showsFuture.cancel(true);
+            throw e;
+        }
+        ShowSearchResponse shows = join(showsFuture);
+
+        boolean showsDegraded = shows.warning() != null && shows.warning().startsWith(EMBEDDING_UNAVAILABLE_PREFIX);
+        logEpisodeQuery(requestId, episodeRequest, requestedLang, isCrossLang, episodes, showsDegraded);
+
+        log.info("search_all_completed",
+                kv("show_mode", showMode.name().toLowerCase()),
+                kv("episode_mode", episodes.executedMode()),
+                kv("request_id", requestId));
+        return UnifiedSearchResponse.of(shows, episodes.response(), requestId);
+    }
+
+    // =====================================================
+    // Batch episode search
+    // =====================================================
+
+    /**
+     * Many episode searches in as few round trips as possible: the texts
+     * that need a vector are embedded in one call per profile, and every ES
+     * search of the batch is sent in one {@code _msearch} per target index.
+     * Results keep request order. An item that is invalid, or whose search
+     * ES rejects, comes back as an {@code error} result without failing the
+     * rest; an embedding failure degrades the affected items to BM25.
+     *
+     * Batch traffic is offline (pre-computation, evaluation), so it bypasses
+     * the semantic kNN cache and is not written to the query log.
+     */
+    public EpisodeBatchSearchResponse searchEpisodesBatch(List<EpisodeSearchRequest> requests) {
+        String requestId = UUID.randomUUID().toString();
+        log.info("search_episodes_batch_start", kv("items", requests.size()), kv("request_id", requestId));
+
+        List<BatchItem> items = requests.stream().map(this::planBatchItem).toList();
+        embedBatch(items);
+
+        // One msearch per target index; each item remembers where its searches landed
+        Map<String, List<String>> queriesByIndex = new LinkedHashMap<>();
+        for (BatchItem item : items) {
+            if (item.result == null) {
+                for (BatchSearch search : batchSearches(item)) {
+                    List<String> queries = queriesByIndex.computeIfAbsent(search.index(), k -> new ArrayList<>());
+                    item.slots.add(new BatchSlot(search.index(), queries.size()));
+                    queries.add(search.queryJson());
+                }
+            }
+        }
+        Map<String, CompletableFuture<List<ElasticsearchSearchClient.MultiSearchOutcome>>> outcomes =
+                new LinkedHashMap<>();
+        queriesByIndex.forEach((index, queries) -> outcomes.put(index, fanOut(() -> msearchOrFail(index, queries))));
+
+        List<EpisodeSearchResponse> results = new ArrayList<>(items.size());
+        for (BatchItem item : items) {
+            results.add(item.result != null ? item.result : assembleBatchItem(item, outcomes));
+        }
+
+        meterRegistry.summary("search.batch.items").record(items.size());
+        log.info("search_episodes_batch_completed",
+                kv("items", items.size()),
+                kv("failed", results.stream().filter(r -> "error".equals(r.status())).count()),
+                kv("msearch_calls", queriesByIndex.size()),
+                kv("request_id", requestId));
+        return EpisodeBatchSearchResponse.of(results, requestId);
+    }
+
+    private record BatchSearch(String index, String queryJson) {
+    }
+
+    /** Where one search of a batch item went: its index's msearch and its position in it. */
+    private record BatchSlot(String index, int position) {
+    }
+
+    private static final class BatchItem {
+        private EpisodeSearchRequest request;
+        private EpisodeSearchRequest.SearchMode mode;
+        private List<String> indices;
+        private float[] vector;
+        private String warning;
+        private EpisodeSearchResponse result;
+        private final List<BatchSlot> slots = new ArrayList<>();
+
+        private static BatchItem failed(String code, String message) {
+            BatchItem item = new BatchItem();
+            item.result = EpisodeSearchResponse.error(code, message);
+            return item;
+        }
+    }
+
+    /** {@link #planEpisodes} for one batch item, with rejections reported per item instead of thrown. */
+    private BatchItem planBatchItem(EpisodeSearchRequest request) {
+        if (request == null) {
+            return BatchItem.failed("INVALID_PARAMETER", "Request must not be null");
+        }
+        Set<ConstraintViolation<EpisodeSearchRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            return BatchItem.failed("INVALID_PARAMETER", violations.stream()
+                    .map(ConstraintViolation::getMessage).sorted().collect(Collectors.joining("; ")));
+        }
+        try {
+            EpisodePlan plan = planEpisodes(request);
+            BatchItem item = new BatchItem();
+            item.request = plan.request();
+            item.mode = plan.mode();
+            item.indices = plan.crossLang()
+                    ? indexRouter.resolveIndices(plan.request().getLang())
+                    : List.of(indexRouter.resolveIndex(plan.request().getLang()));
+            return item;
+        } catch (InvalidSearchParamException e) {
+            return BatchItem.failed("INVALID_SEARCH_PARAM", e.getMessage());
+        } catch (InvalidLangParamException e) {
+            return BatchItem.failed("INVALID_LANG_PARAM", e.getMessage());
+        } catch (CrossIndexPageLimitException e) {
+            return BatchItem.failed("CROSS_INDEX_PAGE_LIMIT", e.getMessage());
+        }
+    }
+
+    /** One embedding call per profile for the items that need a vector; on failure they run as BM25. */
+    private void embedBatch(List<BatchItem> items) {
+        Map<EmbeddingProfile, List<BatchItem>> byProfile = new EnumMap<>(EmbeddingProfile.class);
+        for (BatchItem item : items) {
+            if (item.result == null && needsVector(item.mode)) {
+                EmbeddingProfile profile = resolveEmbeddingProfile(
+                        indexRouter.resolveLangParam(item.request.getLang()), item.mode);
+                byProfile.computeIfAbsent(profile, k -> new ArrayList<>()).add(item);
+            }
+        }
+        byProfile.forEach((profile, group) -> {
+            String reason;
+            if (!cachedEmbeddingService.isAvailable()) {
+                reason = "embedding service unavailable";
+            } else {
+                try {
+                    List<float[]> vectors = cachedEmbeddingService.embedAll(
+                            group.stream().map(item -> item.request.getQ()).toList(), profile);
+                    for (int i = 0; i < group.size(); i++) {
+                        group.get(i).vector = vectors.get(i);
+                    }
+                    return;
+                } catch (EmbeddingUnavailableException e) {
+                    reason = e.getMessage();
+                }
+            }
+            log.warn("embedding_encode_failed", kv("fallback", "bm25"), kv("entity", "episodes_batch"),
+                    kv("items", group.size()), kv("error", reason));
+            for (BatchItem item : group) {
+                degradedToBm25Counter.increment();
+                item.mode = EpisodeSearchRequest.SearchMode.BM25;
+                item.warning = EMBEDDING_UNAVAILABLE_PREFIX + " search degraded to bm25 (" + reason + ")";
+            }
+        });
+    }
+
+    private static boolean needsVector(EpisodeSearchRequest.SearchMode mode) {
+        return mode == EpisodeSearchRequest.SearchMode.KNN
+                || mode == EpisodeSearchRequest.SearchMode.HYBRID
+                || mode == EpisodeSearchRequest.SearchMode.HYBRID_LITE;
+    }
+
+    /** The searches an item needs, in the order {@link #assembleBatchItem} reads them. */
+    private List<BatchSearch> batchSearches(BatchItem item) {
+        EpisodeSearchRequest request = item.request;
+        String index = item.indices.get(0);
+        if (item.indices.size() > 1) {
+            String bm25QueryJson = episodeQueryBuilder.buildBm25QueryForHybrid(request, RRF_WINDOW_SIZE);
+            return item.indices.stream().map(i -> new BatchSearch(i, bm25QueryJson)).toList();
+        }
+        return switch (item.mode) {
+            case BM25 -> List.of(new BatchSearch(index, episodeQueryBuilder.buildBm25Query(request)));
+            case EXACT -> List.of(new BatchSearch(index, episodeQueryBuilder.buildExactQuery(request)));
+            case KNN -> List.of(new BatchSearch(index, episodeQueryBuilder.buildKnnQuery(request, item.vector)));
+            case HYBRID -> List.of(
+                    new BatchSearch(index, episodeQueryBuilder.buildBm25QueryForHybrid(request, RRF_WINDOW_SIZE)),
+                    new BatchSearch(index, episodeQueryBuilder.buildKnnQueryForHybrid(
+                            request.getLang(), item.vector, RRF_WINDOW_SIZE)));
+            case HYBRID_LITE -> List.of(new BatchSearch(index, episodeQueryBuilder.buildBm25QueryForHybridLite(
+                    request, RRF_WINDOW_SIZE, storedVectorRanker.vectorField())));
+            case AUTO -> throw new IllegalStateException("mode=auto must be resolved before dispatch");
+        };
+    }
+
+    /** A failed msearch fails every search in it rather than the batch. */
+    private List<ElasticsearchSearchClient.MultiSearchOutcome> msearchOrFail(String index, List<String> queries) {
+        try {
+            return esClient.msearch(index, queries);
+        } catch (SearchServiceException e) {
+            log.warn("search_episodes_batch_msearch_failed", kv("index", index), kv("searches", queries.size()),
+                    kv("error", e.getMessage()));
+            var failed = new ElasticsearchSearchClient.MultiSearchOutcome(null, e.getMessage());
+            return Collections.nCopies(queries.size(), failed);
+        }
+    }
+
+    private EpisodeSearchResponse assembleBatchItem(
+            BatchItem item, Map<String, CompletableFuture<List<ElasticsearchSearchClient.MultiSearchOutcome>>> outcomes) {
+        List<SearchResponse<JsonNode>> results = new ArrayList<>(item.slots.size());
+        for (BatchSlot slot : item.slots) {
+            var outcome = join(outcomes.get(slot.index())).get(slot.position());
+            if (outcome.failed()) {
+                return EpisodeSearchResponse.error("SEARCH_SERVICE_ERROR", outcome.error());
+            }
+            results.add(outcome.response());
+        }
+        EpisodeSearchRequest request = item.request;
+        EpisodeSearchResponse response;
+        if (item.indices.size() > 1) {
+            response = fuseCrossLang(request, results.get(0), results.get(1));
+        } else {
+            response = switch (item.mode) {
+                case BM25, EXACT, KNN -> episodeMapper.toResponse(results.get(0), request);
+                case HYBRID -> fusedPage(request, fuseHybrid(results.get(0), results.get(1)));
+                case HYBRID_LITE -> fusedPage(request, fuseHybridLite(results.get(0), item.vector));
+                case AUTO -> throw new IllegalStateException("mode=auto must be resolved before dispatch");
+            };
+        }
+        return item.warning != null ? EpisodeSearchResponse.partial(response.data(), item.warning) : response;
     }
 
     // =====================================================
@@ -291,9 +821,15 @@ public class SearchService {
         List<String> indices = indexRouter.resolveIndices(request.getLang());
         String bm25QueryJson = episodeQueryBuilder.buildBm25QueryForHybrid(request, RRF_WINDOW_SIZE);
 
-        SearchResponse<JsonNode> zhTwResult = esClient.search(indices.get(0), bm25QueryJson);
+        CompletableFuture<SearchResponse<JsonNode>> zhTwFuture =
+                fanOut(() -> esClient.search(indices.get(0), bm25QueryJson));
         SearchResponse<JsonNode> zhCnResult = esClient.search(indices.get(1), bm25QueryJson);
+        SearchResponse<JsonNode> zhTwResult = join(zhTwFuture);
+        return fuseCrossLang(request, zhTwResult, zhCnResult);
+    }
 
+    private EpisodeSearchResponse fuseCrossLang(EpisodeSearchRequest request, SearchResponse<JsonNode> zhTwResult,
+                                                SearchResponse<JsonNode> zhCnResult) {
         List<RrfFusion.FusedResult> fusedResults = rrfFusion.fuse(zhTwResult, zhCnResult, request.getSize());
 
         List<EpisodeSearchItem> items = fusedResults.stream()
@@ -327,88 +863,178 @@ public class SearchService {
         return response;
     }
 
-    private EpisodeSearchResponse searchEpisodesKnn(EpisodeSearchRequest request, String targetIndex) {
+    private EpisodeSearchResponse searchEpisodesKnn(EpisodeSearchRequest request, String targetIndex,
+                                                    QueryVectors vectors) {
         if (!cachedEmbeddingService.isAvailable()) {
             log.warn("embedding_unavailable", kv("fallback", "bm25"), kv("mode", "knn"), kv("entity", "episodes"));
             return degradedEpisodesToBm25(request, targetIndex, "embedding service unavailable");
         }
 
         EmbeddingProfile profile = resolveEmbeddingProfile(
-                indexRouter.resolveLangParam(request.getLang()), request.getSearchMode());
+                indexRouter.resolveLangParam(request.getLang()), EpisodeSearchRequest.SearchMode.KNN);
 
         float[] queryVector;
         try {
-            queryVector = cachedEmbeddingService.embed(request.getQ(), profile);
+            queryVector = vectors.embed(request.getQ(), profile);
         } catch (EmbeddingUnavailableException e) {
             log.warn("embedding_encode_failed", kv("fallback", "bm25"), kv("mode", "knn"), kv("entity", "episodes"),
                     kv("error", e.getMessage()));
             return degradedEpisodesToBm25(request, targetIndex, e.getMessage());
         }
-        String queryJson = episodeQueryBuilder.buildKnnQuery(request, queryVector);
-        var esResult = esClient.search(targetIndex, queryJson);
+        String partition = targetIndex + "|" + request.getLang() + "|" + request.from() + "|" + request.getSize();
+        var esResult = knnCache.search(partition, queryVector,
+                () -> esClient.search(targetIndex, episodeQueryBuilder.buildKnnQuery(request, queryVector)));
         var response = episodeMapper.toResponse(esResult, request);
 
         log.debug("search_episodes_knn_completed", kv("count", esResult.hits().total().value()));
         return response;
     }
 
-    private EpisodeSearchResponse searchEpisodesHybrid(EpisodeSearchRequest request, String targetIndex) {
+    /**
+     * The ES windows do not depend on the page, so later pages are slices of
+     * the same fused ranking and need no ES call.
+     */
+    private RankedPage searchEpisodesHybrid(EpisodeSearchRequest request, String targetIndex,
+                                            QueryVectors vectors) {
         if (!cachedEmbeddingService.isAvailable()) {
             log.warn("embedding_unavailable", kv("fallback", "bm25"), kv("mode", "hybrid"), kv("entity", "episodes"));
-            return degradedEpisodesToBm25(request, targetIndex, "embedding service unavailable");
+            return new RankedPage(degradedEpisodesToBm25(request, targetIndex, "embedding service unavailable"), null);
         }
 
         EmbeddingProfile profile = resolveEmbeddingProfile(
-                indexRouter.resolveLangParam(request.getLang()), request.getSearchMode());
+                indexRouter.resolveLangParam(request.getLang()), EpisodeSearchRequest.SearchMode.HYBRID);
 
-        // 1. Execute BM25 query
+        // 1. Execute BM25 query (overlaps with the embedding call)
         String bm25QueryJson = episodeQueryBuilder.buildBm25QueryForHybrid(request, RRF_WINDOW_SIZE);
-        SearchResponse<JsonNode> bm25Result = esClient.search(targetIndex, bm25QueryJson);
+        CompletableFuture<SearchResponse<JsonNode>> bm25Future =
+                fanOut(() -> esClient.search(targetIndex, bm25QueryJson));
 
         // 2. Execute kNN query
         float[] queryVector;
         try {
-            queryVector = cachedEmbeddingService.embed(request.getQ(), profile);
+            queryVector = vectors.embed(request.getQ(), profile);
         } catch (EmbeddingUnavailableException e) {
             log.warn("embedding_encode_failed", kv("fallback", "bm25"), kv("mode", "hybrid"), kv("entity", "episodes"),
                     kv("error", e.getMessage()));
-            return degradedEpisodesToBm25(request, targetIndex, e.getMessage());
+            bm25Future.cancel(true);
+            return new RankedPage(degradedEpisodesToBm25(request, targetIndex, e.getMessage()), null);
         }
-        String knnQueryJson = episodeQueryBuilder.buildKnnQueryForHybrid(request.getLang(), queryVector,
-                RRF_WINDOW_SIZE);
-        SearchResponse<JsonNode> knnResult = esClient.search(targetIndex, knnQueryJson);
-
-        // 3. Apply RRF fusion (fetch enough to cover the requested page)
-        int offset = request.from();
-        List<RrfFusion.FusedResult> allFused = rrfFusion.fuse(
-                bm25Result,
-                knnResult,
-                offset + request.getSize());
+        String partition = targetIndex + "|" + request.getLang() + "|0|" + RRF_WINDOW_SIZE;
+        SearchResponse<JsonNode> knnResult;
+        try {
+            knnResult = knnCache.search(partition, queryVector,
+                    () -> esClient.search(targetIndex, episodeQueryBuilder.buildKnnQueryForHybrid(
+                            request.getLang(), queryVector, RRF_WINDOW_SIZE)));
+        } catch (RuntimeException e) {
+            // The BM25 leg has no owner once this search fails
+            bm25Future.cancel(true);
+            throw e;
+        }
+        SearchResponse<JsonNode> bm25Result = join(bm25Future);
+        FusedRanking ranking = fuseHybrid(bm25Result, knnResult);
+        return new RankedPage(fusedPage(request, ranking), page -> fusedPage(request.withPage(page), ranking));
+    }
 
-        // 4. Convert to response (apply page offset)
-        List<EpisodeSearchItem> items = allFused.stream()
-                .skip(offset)
-                .map(r -> episodeMapper.hitToItem(r.hit()))
-                .toList();
+    private FusedRanking fuseHybrid(SearchResponse<JsonNode> bm25Result, SearchResponse<JsonNode> knnResult) {
+        // 3. Apply RRF fusion over both whole windows; pages are slices of it
+        List<RrfFusion.FusedResult> fused = rrfFusion.fuse(bm25Result, knnResult, RRF_WINDOW_SIZE * 2);
 
         int total = Math.min(
                 (int) bm25Result.hits().total().value() + (int) knnResult.hits().total().value(),
                 RRF_WINDOW_SIZE * 2);
 
+        log.info("search_episodes_hybrid_completed",
+                kv("bm25_count", bm25Result.hits().hits().size()),
+                kv("knn_count", knnResult.hits().hits().size()),
+                kv("fused_count", fused.size()));
+
+        return new FusedRanking(fused, total);
+    }
+
+    /**
+     * An RRF ranking kept for paging: the fused hits in order and the total
+     * to report. Later pages slice it, so the prefetch cache holds this
+     * rather than the ES windows it came from.
+     */
+    private record FusedRanking(List<RrfFusion.FusedResult> fused, int total) {
+    }
+
+    private EpisodeSearchResponse fusedPage(EpisodeSearchRequest request, FusedRanking ranking) {
+        // 4. Convert to response (apply page offset)
+        List<EpisodeSearchItem> items = ranking.fused().stream()
+                .skip(request.from())
+                .limit(request.getSize())
+                .map(r -> episodeMapper.hitToItem(r.hit()))
+                .toList();
+
         var data = new EpisodeSearchResponseData(
                 request.getPage(),
                 request.getSize(),
-                total,
+                ranking.total(),
                 items);
 
-        log.info("search_episodes_hybrid_completed",
-                kv("bm25_count", bm25Result.hits().hits().size()),
-                kv("knn_count", knnResult.hits().hits().size()),
-                kv("fused_count", items.size()));
-
         return EpisodeSearchResponse.ok(data);
     }
 
+    /**
+     * One ES query instead of two: the BM25 window comes back with stored
+     * embeddings, is ranked by cosine similarity in-process and fused with
+     * its own BM25 order. Documents outside the BM25 window cannot be found
+     * by the vector leg, unlike full hybrid.
+     */
+    private RankedPage searchEpisodesHybridLite(EpisodeSearchRequest request, String targetIndex,
+                                                QueryVectors vectors) {
+        if (!cachedEmbeddingService.isAvailable()) {
+            log.warn("embedding_unavailable", kv("fallback", "bm25"), kv("mode", "hybrid_lite"), kv("entity", "episodes"));
+            return new RankedPage(degradedEpisodesToBm25(request, targetIndex, "embedding service unavailable"), null);
+        }
+
+        EmbeddingProfile profile = resolveEmbeddingProfile(
+                indexRouter.resolveLangParam(request.getLang()), EpisodeSearchRequest.SearchMode.HYBRID_LITE);
+
+        // 1. BM25 window with stored vectors (overlaps with the embedding call)
+        String bm25QueryJson = episodeQueryBuilder.buildBm25QueryForHybridLite(
+                request, RRF_WINDOW_SIZE, storedVectorRanker.vectorField());
+        CompletableFuture<SearchResponse<JsonNode>> bm25Future =
+                fanOut(() -> esClient.search(targetIndex, bm25QueryJson));
+
+        float[] queryVector;
+        try {
+            queryVector = vectors.embed(request.getQ(), profile);
+        } catch (EmbeddingUnavailableException e) {
+            log.warn("embedding_encode_failed", kv("fallback", "bm25"), kv("mode", "hybrid_lite"),
+                    kv("entity", "episodes"), kv("error", e.getMessage()));
+            bm25Future.cancel(true);
+            return new RankedPage(degradedEpisodesToBm25(request, targetIndex, e.getMessage()), null);
+        }
+        SearchResponse<JsonNode> bm25Result = join(bm25Future);
+        FusedRanking ranking = fuseHybridLite(bm25Result, queryVector);
+        return new RankedPage(fusedPage(request, ranking), page -> fusedPage(request.withPage(page), ranking));
+    }
+
+    private FusedRanking fuseHybridLite(SearchResponse<JsonNode> bm25Result, float[] queryVector) {
+        // 2. Rank the window by stored vector and fuse with the BM25 order
+        List<Hit<JsonNode>> bm25Hits = bm25Result.hits().hits();
+        List<Hit<JsonNode>> vectorHits = storedVectorRanker.rank(bm25Hits, queryVector);
+        List<RrfFusion.FusedResult> fused = rrfFusion.fuse(bm25Hits, vectorHits, RRF_WINDOW_SIZE);
+
+        // The stored vectors are spent; drop them before the ranking is kept for later pages
+        for (Hit<JsonNode> hit : bm25Hits) {
+            if (hit.source() instanceof ObjectNode source) {
+                source.remove(storedVectorRanker.vectorField());
+            }
+        }
+
+        int total = Math.min((int) bm25Result.hits().total().value(), RRF_WINDOW_SIZE);
+
+        log.info("search_episodes_hybrid_lite_completed",
+                kv("bm25_count", bm25Hits.size()),
+                kv("vector_count", vectorHits.size()),
+                kv("fused_count", fused.size()));
+
+        return new FusedRanking(fused, total);
+    }
+
     private EpisodeSearchResponse searchEpisodesExact(EpisodeSearchRequest request, String targetIndex) {
         String queryJson = episodeQueryBuilder.buildExactQuery(request);
         var esResult = esClient.search(targetIndex, queryJson);
@@ -418,6 +1044,26 @@ public class SearchService {
         return response;
     }
 
+    // =====================================================
+    // mode=auto
+    // =====================================================
+
+    /** Shows have no exact mode; a quoted query runs as BM25. */
+    private static ShowSearchRequest.SearchMode toShowMode(SearchModeClassifier.Mode mode) {
+        return switch (mode) {
+            case BM25, EXACT -> ShowSearchRequest.SearchMode.BM25;
+            case HYBRID -> ShowSearchRequest.SearchMode.HYBRID;
+        };
+    }
+
+    private static EpisodeSearchRequest.SearchMode toEpisodeMode(SearchModeClassifier.Mode mode) {
+        return switch (mode) {
+            case BM25 -> EpisodeSearchRequest.SearchMode.BM25;
+            case EXACT -> EpisodeSearchRequest.SearchMode.EXACT;
+            case HYBRID -> EpisodeSearchRequest.SearchMode.HYBRID;
+        };
+    }
+
     // =====================================================
     // Embedding profile resolution
     // =====================================================
@@ -441,6 +1087,86 @@ public class SearchService {
         };
     }
 
+    // =====================================================
+    // Fan-out helpers
+    // =====================================================
+
+    /** Where a search leg gets its query vector: the embedding service, or a vector shared across legs. */
+    @FunctionalInterface
+    private interface QueryVectors {
+        float[] embed(String query, EmbeddingProfile profile);
+    }
+
+    /**
+     * Embeds once per model ({@link CachedEmbeddingService#modelFor}) on
+     * first use, with the profile of the leg that asked first; legs whose
+     * profiles map to that model wait for the call and see its vector or its
+     * EmbeddingUnavailableException. A leg on another model embeds for itself.
+     */
+    private QueryVectors sharedQueryVectors() {
+        ConcurrentHashMap<String, CompletableFuture<float[]>> shared = new ConcurrentHashMap<>();
+        return (query, profile) -> {
+            CompletableFuture<float[]> mine = new CompletableFuture<>();
+            CompletableFuture<float[]> existing = shared.putIfAbsent(cachedEmbeddingService.modelFor(profile), mine);
+            if (existing != null) {
+                return join(existing);
+            }
+            try {
+                float[] vector = cachedEmbeddingService.embed(query, profile);
+                mine.complete(vector);
+                return vector;
+            } catch (RuntimeException e) {
+                mine.completeExceptionally(e);
+                throw e;
+            }
+        };
+    }
+
+    private <T> CompletableFuture<T> fanOut(Supplier<T> call) {
+        return interruptibleAsync(call, fanOutExecutor);
+    }
+
+    /**
+     * Like {@link CompletableFuture#supplyAsync}, except that
+     * {@code cancel(true)} interrupts the running call, so a leg the request
+     * no longer needs (a BM25 search whose embedding failed) gives its thread
+     * back instead of waiting for ES.
+     */
+    static <T> CompletableFuture<T> interruptibleAsync(Supplier<T> call, Executor executor) {
+        FutureTask<T> task = new FutureTask<>(call::get);
+        CompletableFuture<T> future = new CompletableFuture<>() {
+            @Override
+            public boolean cancel(boolean mayInterruptIfRunning) {
+                task.cancel(mayInterruptIfRunning);
+                return super.cancel(mayInterruptIfRunning);
+            }
+        };
+        executor.execute(() -> {
+            task.run();
+            try {
+                future.complete(task.get());
+            } catch (ExecutionException e) {
+                future.completeExceptionally(e.getCause());
+            } catch (CancellationException | InterruptedException e) {
+                // Cancelled: the future is already completed; don't hand the interrupt to the pool's next task
+                Thread.interrupted();
+            }
+        });
+        return future;
+    }
+
+    /** Waits for a fan-out leg, rethrowing its original exception (e.g. SearchServiceException). */
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
     // =====================================================
     // Degradation helpers
     // =====================================================
@@ -453,6 +1179,22 @@ public class SearchService {
                 EMBEDDING_UNAVAILABLE_PREFIX + " search degraded to bm25 (" + reason + ")");
     }
 
+    /**
+     * ES failed or its circuit breaker is open: answer from the local show
+     * index, or rethrow if it has not been built yet.
+     */
+    private ShowSearchResponse degradedShowsToLocal(ShowSearchRequest request, SearchServiceException cause) {
+        ShowSearchResponseData data = showFallbackIndex.search(request);
+        if (data == null) {
+            throw cause;
+        }
+        degradedToLocalCounter.increment();
+        log.warn("search_unavailable", kv("fallback", "local_index"), kv("entity", "shows"),
+                kv("error", cause.getMessage()));
+        return ShowSearchResponse.partial(data,
+                SEARCH_UNAVAILABLE_PREFIX + " search degraded to local show index (" + cause.getMessage() + ")");
+    }
+
     private ShowSearchResponse degradedShowsToBm25(ShowSearchRequest request, String reason) {
         degradedToBm25Counter.increment();
         ShowSearchResponse bm25Response = searchShowsBm25(request);
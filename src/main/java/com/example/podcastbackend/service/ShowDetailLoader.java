@@ -0,0 +1,268 @@
+package com.example.podcastbackend.service;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.FieldValue;
+import co.elastic.clients.elasticsearch.core.SearchRequest;
+import co.elastic.clients.elasticsearch.core.SearchResponse;
+import co.elastic.clients.elasticsearch.core.search.Hit;
+import com.example.podcastbackend.response.ShowDetail;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loads {@link ShowDetail}s by id, merging concurrent calls into one ES
+ * query (DataLoader-style).
+ *
+ * The first caller to find no open batch opens one, becomes its leader and
+ * schedules the batch to close {@code window-ms} later; other callers add
+ * their ids until then. A batch that reaches {@code max-ids} closes at once
+ * instead of waiting out the window, and one it would overflow is not joined.
+ * Once closed, the leader runs a single query for the union on its
+ * own request thread, so slow fetches never queue behind each other, and
+ * hands every follower its share of the result.
+ *
+ * A show's id is its {@code show_id}, or the document {@code _id} when the
+ * source has none — the same id {@link com.example.podcastbackend.cache.ShowCatalog}
+ * keys rows by — so a lookup answers the same whether or not the catalog has
+ * the show. Ids the index does not have are remembered for
+ * {@code miss-ttl-seconds} and answered as missing without going to ES.
+ */
+@Component
+public class ShowDetailLoader {
+
+    private static final List<String> SOURCE_FIELDS =
+            List.of("show_id", "description", "categories", "language", "episode_count");
+    private static final int MAX_CACHED_MISSES = 10_000;
+
+    private static final class Batch {
+        private final Set<String> ids = new LinkedHashSet<>();
+        private final CompletableFuture<Void> closed = new CompletableFuture<>();
+        private final CompletableFuture<Map<String, ShowDetail>> result = new CompletableFuture<>();
+        private int callers;
+    }
+
+    private final ElasticsearchClient esClient;
+    private final String showsIndex;
+    private final long windowMs;
+    private final int maxIds;
+    private final Cache<String, Boolean> misses;
+    private final ScheduledExecutorService flusher;
+
+    private final Counter fetches;
+    private final Counter cachedMisses;
+    private final DistributionSummary callersPerFetch;
+    private final DistributionSummary idsPerFetch;
+
+    private final Object lock = new Object();
+    private Batch open;
+
+    public ShowDetailLoader(
+            ElasticsearchClient esClient,
+            MeterRegistry meterRegistry,
+            @Value("${elasticsearch.indices.shows:shows}") String showsIndex,
+            @Value("${shows.batch.window-ms:2}") long windowMs,
+            @Value("${shows.batch.max-ids:500}") int maxIds,
+            @Value("${shows.batch.miss-ttl-seconds:30}") long missTtlSeconds) {
+        this.esClient = esClient;
+        this.showsIndex = showsIndex;
+        this.windowMs = windowMs;
+        this.maxIds = Math.max(1, maxIds);
+        this.misses = Caffeine.newBuilder()
+                .expireAfterWrite(Math.max(0, missTtlSeconds), TimeUnit.SECONDS)
+                .maximumSize(missTtlSeconds > 0 ? MAX_CACHED_MISSES : 0)
+                .build();
+        this.flusher = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("shows-batch-flush").daemon(true).factory());
+        this.fetches = meterRegistry.counter("shows.batch.fetches");
+        this.cachedMisses = meterRegistry.counter("shows.batch.cached_misses");
+        this.callersPerFetch = DistributionSummary.builder("shows.batch.coalesced_calls")
+                .description("Calls served by one ES query")
+                .register(meterRegistry);
+        this.idsPerFetch = DistributionSummary.builder("shows.batch.ids")
+                .description("Show ids requested by one ES query")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Details of the requested shows that exist in the index; missing ids,
+     * including recently missed ones that are not looked up again, are absent
+     * from the map.
+     *
+     * @throws Exception if the ES query this call joined failed
+     */
+    public Map<String, ShowDetail> load(Collection<String> showIds) throws Exception {
+        List<String> wanted = new ArrayList<>();
+        for (String id : new LinkedHashSet<>(showIds)) {
+            if (misses.getIfPresent(id) == null) {
+                wanted.add(id);
+            } else {
+                cachedMisses.increment();
+            }
+        }
+        if (wanted.isEmpty()) {
+            return Map.of();
+        }
+
+        Batch batch;
+        boolean leader = false;
+        synchronized (lock) {
+            if (open == null || open.ids.size() + wanted.size() > maxIds) {
+                open = new Batch();
+                leader = true;
+                Batch opened = open;
+                if (windowMs > 0) {
+                    flusher.schedule(() -> close(opened), windowMs, TimeUnit.MILLISECONDS);
+                }
+            }
+            batch = open;
+            batch.ids.addAll(wanted);
+            batch.callers++;
+            if (windowMs <= 0 || batch.ids.size() >= maxIds) {
+                close(batch);
+            }
+        }
+
+        if (leader) {
+            batch.closed.join();
+            dispatch(batch);
+        }
+
+        Map<String, ShowDetail> all;
+        try {
+            all = batch.result.get();
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof Exception cause ? cause : e;
+        }
+        Map<String, ShowDetail> mine = new HashMap<>();
+        for (String id : wanted) {
+            ShowDetail detail = all.get(id);
+            if (detail != null) {
+                mine.put(id, detail);
+            }
+        }
+        return mine;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flusher.shutdownNow();
+    }
+
+    /** Stops {@code batch} taking ids and releases its leader; a no-op once closed. */
+    private void close(Batch batch) {
+        synchronized (lock) {
+            if (open == batch) {
+                open = null;
+            }
+        }
+        batch.closed.complete(null);
+    }
+
+    private void dispatch(Batch batch) {
+        List<String> ids;
+        int callers;
+        synchronized (lock) {
+            ids = new ArrayList<>(batch.ids);
+            callers = batch.callers;
+        }
+        try {
+            Map<String, ShowDetail> result = fetch(ids);
+            for (String id : ids) {
+                if (!result.containsKey(id)) {
+                    misses.put(id, Boolean.TRUE);
+                }
+            }
+            fetches.increment();
+            callersPerFetch.record(callers);
+            idsPerFetch.record(ids.size());
+            batch.result.complete(result);
+        } catch (Throwable t) {
+            // Followers block on the result, so even an Error must complete it
+            batch.result.completeExceptionally(t);
+        }
+    }
+
+    private Map<String, ShowDetail> fetch(List<String> ids) throws Exception {
+        List<FieldValue> values = ids.stream().map(FieldValue::of).toList();
+        // A document can match on _id yet carry another show_id, so allow for both per id
+        SearchRequest request = SearchRequest.of(s -> s
+                .index(showsIndex)
+                .size(ids.size() * 2)
+                .source(src -> src.filter(f -> f.includes(SOURCE_FIELDS)))
+                .query(q -> q.bool(b -> b
+                        .should(sh -> sh.terms(t -> t.field("show_id").terms(v -> v.value(values))))
+                        .should(sh -> sh.ids(i -> i.values(ids))))));
+        SearchResponse<JsonNode> response = esClient.search(request, JsonNode.class);
+
+        Set<String> requested = new HashSet<>(ids);
+        Map<String, ShowDetail> results = new HashMap<>();
+        for (Hit<JsonNode> hit : response.hits().hits()) {
+            JsonNode source = hit.source();
+            if (source == null) {
+                continue;
+            }
+            String showId = text(source, "show_id");
+            if (showId == null) {
+                showId = hit.id();
+            }
+            if (!requested.contains(showId)) {
+                // Matched on _id, but the show is known by another show_id
+                continue;
+            }
+            results.putIfAbsent(showId, new ShowDetail(
+                    showId,
+                    text(source, "description"),
+                    parseCategories(source.get("categories")),
+                    text(source, "language"),
+                    intValue(source, "episode_count")
+            ));
+        }
+        return results;
+    }
+
+    private String text(JsonNode node, String field) {
+        JsonNode v = node.get(field);
+        return v != null && !v.isNull() && v.isTextual() ? v.asText() : null;
+    }
+
+    private Integer intValue(JsonNode node, String field) {
+        JsonNode v = node.get(field);
+        return v != null && v.isNumber() ? v.asInt() : null;
+    }
+
+    private List<String> parseCategories(JsonNode categoriesNode) {
+        if (categoriesNode == null || !categoriesNode.isArray()) {
+            return null;
+        }
+
+        List<String> categories = new ArrayList<>();
+        for (JsonNode cat : categoriesNode) {
+            if (cat.isTextual()) {
+                categories.add(cat.asText());
+            }
+        }
+
+        return categories.isEmpty() ? null : categories;
+    }
+}
@@ -1,79 +1,98 @@
 package com.example.podcastbackend.service;
 
-import co.elastic.clients.elasticsearch.ElasticsearchClient;
-import co.elastic.clients.elasticsearch.core.SearchResponse;
-import co.elastic.clients.elasticsearch.core.search.Hit;
+import com.example.podcastbackend.cache.ShowCatalog;
+import com.example.podcastbackend.cache.ShowCatalogLoader;
 import com.example.podcastbackend.response.ShowBatchResponse;
 import com.example.podcastbackend.response.ShowDetail;
-import com.fasterxml.jackson.databind.JsonNode;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import static net.logstash.logback.argument.StructuredArguments.kv;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Show details by id. Shows are served from the in-memory catalog mirror
+ * ({@link ShowCatalogLoader}) when it is loaded, then from a cache of
+ * recent lookups; only what neither has goes to ES, through
+ * {@link ShowDetailLoader} so that concurrent batches share one ES query.
+ */
 @Service
 public class ShowsService {
 
     private static final Logger log = LoggerFactory.getLogger(ShowsService.class);
 
-    private final ElasticsearchClient esClient;
-
-    public ShowsService(ElasticsearchClient esClient) {
-        this.esClient = esClient;
+    private final ShowDetailLoader loader;
+    private final ShowCatalogLoader catalogLoader;
+    private final Cache<String, ShowDetail> cache;
+    private final Counter cacheHits;
+    private final Counter cacheMisses;
+
+    public ShowsService(
+            ShowDetailLoader loader,
+            ShowCatalogLoader catalogLoader,
+            MeterRegistry meterRegistry,
+            @Value("${shows.cache.ttl-minutes:60}") int ttlMinutes,
+            @Value("${shows.cache.max-size:10000}") int maxSize) {
+        this.loader = loader;
+        this.catalogLoader = catalogLoader;
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(ttlMinutes, TimeUnit.MINUTES)
+                .maximumSize(maxSize)
+                .build();
+        this.cacheHits = meterRegistry.counter("shows.cache.hits");
+        this.cacheMisses = meterRegistry.counter("shows.cache.misses");
     }
 
     /**
-     * Batch fetch show details from Elasticsearch
+     * Batch fetch show details, from the cache where possible
      */
     public ShowBatchResponse batchGetShows(List<String> showIds) {
         if (showIds == null || showIds.isEmpty()) {
             return ShowBatchResponse.ok(Map.of());
         }
 
-        try {
-            // Query ES for these show IDs using ids query
-            SearchResponse<JsonNode> response = esClient.search(s -> s
-                    .index("shows")
-                    .query(q -> q
-                            .ids(ids -> ids.values(showIds))
-                    )
-                    .size(showIds.size())
-                    .source(src -> src
-                            .filter(f -> f
-                                    .includes("show_id", "description", "categories", "language", "episode_count")
-                            )
-                    ),
-                    JsonNode.class
-            );
-
-            Map<String, ShowDetail> results = new HashMap<>();
-
-            if (response.hits().hits() != null) {
-                for (Hit<JsonNode> hit : response.hits().hits()) {
-                    JsonNode source = hit.source();
-                    if (source == null) continue;
-
-                    String showId = text(source, "show_id");
-                    if (showId == null) continue;
+        ShowCatalog catalog = catalogLoader.current();
+        Map<String, ShowDetail> results = new HashMap<>();
+        List<String> misses = new ArrayList<>();
+        for (String showId : new LinkedHashSet<>(showIds)) {
+            ShowDetail cached = catalog != null ? catalog.detail(showId) : null;
+            if (cached == null) {
+                // Not mirrored yet (catalog loading, or show added since the last refresh)
+                cached = cache.getIfPresent(showId);
+            }
+            if (cached != null) {
+                results.put(showId, cached);
+            } else {
+                misses.add(showId);
+            }
+        }
+        int hits = results.size();
+        cacheHits.increment(hits);
+        cacheMisses.increment(misses.size());
 
-                    ShowDetail detail = new ShowDetail(
-                            showId,
-                            text(source, "description"),
-                            parseCategories(source.get("categories")),
-                            text(source, "language"),
-                            intValue(source, "episode_count")
-                    );
+        if (misses.isEmpty()) {
+            return ShowBatchResponse.ok(results);
+        }
 
-                    results.put(showId, detail);
-                }
-            }
+        try {
+            Map<String, ShowDetail> fetched = loader.load(misses);
+            cache.putAll(fetched);
+            results.putAll(fetched);
 
-            log.info("shows_batch_fetched", kv("count", results.size()));
+            log.info("shows_batch_fetched", kv("count", results.size()),
+                    kv("cache_hits", hits), kv("fetched", fetched.size()));
             return ShowBatchResponse.ok(results);
 
         } catch (Exception e) {
@@ -81,29 +100,4 @@ public class ShowsService {
             return ShowBatchResponse.error("ES_ERROR", e.getMessage());
         }
     }
-
-    private String text(JsonNode node, String field) {
-        JsonNode v = node.get(field);
-        return v != null && !v.isNull() && v.isTextual() ? v.asText() : null;
-    }
-
-    private Integer intValue(JsonNode node, String field) {
-        JsonNode v = node.get(field);
-        return v != null && v.isNumber() ? v.asInt() : null;
-    }
-
-    private List<String> parseCategories(JsonNode categoriesNode) {
-        if (categoriesNode == null || !categoriesNode.isArray()) {
-            return null;
-        }
-
-        List<String> categories = new java.util.ArrayList<>();
-        for (JsonNode cat : categoriesNode) {
-            if (cat.isTextual()) {
-                categories.add(cat.asText());
-            }
-        }
-
-        return categories.isEmpty() ? null : categories;
-    }
 }
@@ -0,0 +1,242 @@
+package com.example.podcastbackend.service;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.aggregations.StringTermsBucket;
+import co.elastic.clients.elasticsearch.core.SearchRequest;
+import co.elastic.clients.elasticsearch.core.SearchResponse;
+import co.elastic.clients.elasticsearch.indices.GetAliasRequest;
+import co.elastic.clients.json.JsonData;
+import com.example.podcastbackend.cache.MaterializedEpisodeResults;
+import com.example.podcastbackend.request.EpisodeSearchRequest;
+import com.example.podcastbackend.response.EpisodeSearchResponse;
+import com.example.podcastbackend.search.IndexRouter;
+import com.fasterxml.jackson.databind.JsonNode;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static net.logstash.logback.argument.StructuredArguments.kv;
+
+/**
+ * Keeps {@link MaterializedEpisodeResults} filled with the first
+ * {@code pages} pages of the most frequent (query, lang, mode) tuples.
+ *
+ * Every {@code refresh-interval-ms} the top {@code top-queries} tuples of
+ * the last {@code window-days} are read from {@code query-logs} (searches
+ * that were not degraded, at least {@code min-count} times, by the mode the
+ * caller requested), their pages are computed through
+ * {@link SearchService#searchEpisodesBatch} — one {@code _msearch} per
+ * index, not written back to the query log — and the {@code ok} responses
+ * are serialized with the MVC converter's {@link JsonMapper} and swapped in
+ * together. A run that cannot read the query logs keeps the previous
+ * entries until they age out.
+ *
+ * Each entry records the index its episode alias pointed at. The aliases
+ * are re-read every {@code alias-check-interval-ms}, and entries of an alias
+ * that moved (a reindex swapped it) are dropped at once rather than served
+ * until they expire. zh-both queries span two aliases and are not
+ * materialized.
+ */
+@Component
+public class TopQueryMaterializer {
+
+    private static final Logger log = LoggerFactory.getLogger(TopQueryMaterializer.class);
+
+    private static final String QUERY_LOGS_INDEX = "query-logs";
+    private static final int BATCH_SIZE = 50;
+    private static final Set<String> MODES = Set.of("auto", "bm25", "exact", "knn", "hybrid", "hybrid_lite");
+
+    /** A frequent search; {@code lang} is null when the request had none. */
+    record TopQuery(String query, String lang, String mode, long count) {
+    }
+
+    private final ElasticsearchClient esClient;
+    private final SearchService searchService;
+    private final IndexRouter indexRouter;
+    private final MaterializedEpisodeResults results;
+    private final JsonMapper jsonMapper;
+    private final MeterRegistry meterRegistry;
+    private final int topQueries;
+    private final int minCount;
+    private final int windowDays;
+
+    public TopQueryMaterializer(
+            ElasticsearchClient esClient,
+            SearchService searchService,
+            IndexRouter indexRouter,
+            MaterializedEpisodeResults results,
+            JsonMapper jsonMapper,
+            MeterRegistry meterRegistry,
+            @Value("${search.materialized.top-queries:200}") int topQueries,
+            @Value("${search.materialized.min-count:5}") int minCount,
+            @Value("${search.materialized.window-days:7}") int windowDays) {
+        this.esClient = esClient;
+        this.searchService = searchService;
+        this.indexRouter = indexRouter;
+        this.results = results;
+        this.jsonMapper = jsonMapper;
+        this.meterRegistry = meterRegistry;
+        this.topQueries = topQueries;
+        this.minCount = minCount;
+        this.windowDays = windowDays;
+    }
+
+    @Scheduled(fixedDelayString = "${search.materialized.refresh-interval-ms:600000}",
+            initialDelayString = "${search.materialized.initial-delay-ms:60000}")
+    public synchronized void refresh() {
+        if (!results.isEnabled()) {
+            return;
+        }
+        List<TopQuery> top = topQueries();
+        if (top == null) {
+            return;
+        }
+        Timer.Sample sample = Timer.start(meterRegistry);
+
+        List<EpisodeSearchRequest> requests = new ArrayList<>();
+        List<String> aliases = new ArrayList<>();
+        for (TopQuery query : top) {
+            String alias = alias(query.lang());
+            if (alias == null) {
+                continue;
+            }
+            for (int page = 1; page <= results.pages(); page++) {
+                requests.add(EpisodeSearchRequest.firstPage(query.query(), results.pageSize(), query.lang(), query.mode())
+                        .withPage(page));
+                aliases.add(alias);
+            }
+        }
+        Map<String, String> before = generations(aliases);
+
+        Instant computedAt = Instant.now();
+        Map<String, MaterializedEpisodeResults.Entry> entries = new HashMap<>();
+        for (int from = 0; from < requests.size(); from += BATCH_SIZE) {
+            List<EpisodeSearchRequest> chunk = requests.subList(from, Math.min(from + BATCH_SIZE, requests.size()));
+            List<EpisodeSearchResponse> responses = searchService.searchEpisodesBatch(chunk).results();
+            for (int i = 0; i < chunk.size(); i++) {
+                EpisodeSearchRequest request = chunk.get(i);
+                EpisodeSearchResponse response = responses.get(i);
+                if (!"ok".equals(response.status())) {
+                    continue;
+                }
+                String alias = aliases.get(from + i);
+                entries.put(MaterializedEpisodeResults.key(request.getQ(), request.getLang(),
+                                request.getSearchMode(), request.getPage()),
+                        MaterializedEpisodeResults.Entry.of(jsonMapper, response, alias, before.get(alias), computedAt));
+            }
+        }
+
+        // An alias that moved while the pages were computed may have mixed old and new results
+        Map<String, String> after = generations(aliases);
+        entries.values().removeIf(e -> !Objects.equals(e.generation(), after.get(e.alias())));
+
+        results.replace(entries);
+        sample.stop(meterRegistry.timer("search.materialized.refresh.duration"));
+        log.info("search_materialized_refreshed", kv("queries", top.size()), kv("pages", requests.size()),
+                kv("entries", entries.size()));
+    }
+
+    @Scheduled(fixedDelayString = "${search.materialized.alias-check-interval-ms:30000}",
+            initialDelayString = "${search.materialized.alias-check-interval-ms:30000}")
+    public void checkAliases() {
+        if (!results.isEnabled() || results.size() == 0) {
+            return;
+        }
+        results.generations().forEach((alias, generation) -> {
+            String current = generation(alias);
+            if (current != null && !current.equals(generation)) {
+                int dropped = results.invalidate(alias, current);
+                log.info("search_materialized_invalidated", kv("alias", alias), kv("from", generation),
+                        kv("to", current), kv("entries", dropped));
+            }
+        });
+    }
+
+    /** The most frequent tuples, or null when the query logs cannot be read. */
+    List<TopQuery> topQueries() {
+        try {
+            SearchResponse<JsonNode> response = esClient.search(SearchRequest.of(s -> s
+                    .index(QUERY_LOGS_INDEX)
+                    .size(0)
+                    .query(q -> q.bool(b -> b
+                            .filter(f -> f.range(r -> r.field("timestamp").gte(JsonData.of("now-" + windowDays + "d/d"))))
+                            .filter(f -> f.term(t -> t.field("was_degraded").value(false)))))
+                    .aggregations("queries", a -> a
+                            .terms(t -> t.field("query.raw").size(topQueries).minDocCount(minCount))
+                            .aggregations("langs", langs -> langs
+                                    .terms(t -> t.field("query_lang").missing("").size(4))
+                                    .aggregations("modes", modes -> modes.terms(t -> t.field("requested_mode").size(4)))))),
+                    JsonNode.class);
+            List<TopQuery> tuples = new ArrayList<>();
+            for (StringTermsBucket query : response.aggregations().get("queries").sterms().buckets().array()) {
+                for (StringTermsBucket lang : query.aggregations().get("langs").sterms().buckets().array()) {
+                    for (StringTermsBucket mode : lang.aggregations().get("modes").sterms().buckets().array()) {
+                        TopQuery tuple = tuple(query.key().stringValue(), lang.key().stringValue(),
+                                mode.key().stringValue(), mode.docCount());
+                        if (tuple != null) {
+                            tuples.add(tuple);
+                        }
+                    }
+                }
+            }
+            return tuples.stream()
+                    .sorted(Comparator.comparingLong(TopQuery::count).reversed())
+                    .limit(topQueries)
+                    .toList();
+        } catch (Exception e) {
+            log.warn("search_materialized_top_queries_failed", kv("error", e.getMessage()));
+            return null;
+        }
+    }
+
+    /** The request a logged tuple came from, or null when it cannot be replayed as an explicit request. */
+    private static TopQuery tuple(String query, String lang, String mode, long count) {
+        if (count < 1 || "auto".equals(lang) || !MODES.contains(mode)) {
+            return null;
+        }
+        return new TopQuery(query, lang.isEmpty() ? null : lang, mode, count);
+    }
+
+    /** The single episode alias {@code lang} routes to, or null for cross-index and invalid values. */
+    private String alias(String lang) {
+        try {
+            return indexRouter.isCrossIndex(lang) ? null : indexRouter.resolveIndex(lang);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private Map<String, String> generations(List<String> aliases) {
+        Map<String, String> generations = new HashMap<>();
+        for (String alias : Set.copyOf(aliases)) {
+            generations.put(alias, generation(alias));
+        }
+        return generations;
+    }
+
+    /** The indices {@code alias} points at, or null when it is not an alias or ES cannot be reached. */
+    private String generation(String alias) {
+        try {
+            return esClient.indices().getAlias(GetAliasRequest.of(g -> g.name(alias))).result().keySet().stream()
+                    .sorted()
+                    .collect(Collectors.joining(","));
+        } catch (Exception e) {
+            return null;
+        }
+    }
+}
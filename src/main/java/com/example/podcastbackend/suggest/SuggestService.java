@@ -0,0 +1,185 @@
+package com.example.podcastbackend.suggest;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.aggregations.StringTermsBucket;
+import co.elastic.clients.elasticsearch.core.SearchRequest;
+import co.elastic.clients.elasticsearch.core.SearchResponse;
+import co.elastic.clients.json.JsonData;
+import com.example.podcastbackend.cache.RankingsCache;
+import com.example.podcastbackend.cache.ShowCatalog;
+import com.example.podcastbackend.cache.ShowCatalogLoader;
+import com.example.podcastbackend.response.RankingsItem;
+import com.example.podcastbackend.response.SuggestItem;
+import com.fasterxml.jackson.databind.JsonNode;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static net.logstash.logback.argument.StructuredArguments.kv;
+
+/**
+ * Prefix completions for the search box, served from an in-memory
+ * {@link SuggestTrie} so that typing never reaches ES.
+ *
+ * The trie is rebuilt on the scheduler thread from three sources and
+ * swapped in with one volatile write:
+ * <ul>
+ *   <li>show titles from the {@link ShowCatalog} (base weight, plus a chart
+ *       bonus for shows in a cached podcast chart),</li>
+ *   <li>episode titles from the cached episode charts (chart bonus),</li>
+ *   <li>the most frequent queries in {@code query-logs} over the last
+ *       {@code query-window-days} (weight = search count).</li>
+ * </ul>
+ * A source that is unavailable (ES down, catalog not loaded) is skipped for
+ * that build; the others still go in.
+ */
+@Service
+public class SuggestService {
+
+    private static final Logger log = LoggerFactory.getLogger(SuggestService.class);
+
+    private static final String QUERY_LOGS_INDEX = "query-logs";
+
+    static final String TYPE_SHOW = "show";
+    static final String TYPE_EPISODE = "episode";
+    static final String TYPE_QUERY = "query";
+
+    private final ElasticsearchClient esClient;
+    private final ShowCatalogLoader catalogLoader;
+    private final RankingsCache rankingsCache;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final int topK;
+    private final int topQueries;
+    private final int minQueryCount;
+    private final int queryWindowDays;
+    private final double showWeight;
+    private final double chartWeight;
+
+    private volatile SuggestTrie trie = SuggestTrie.EMPTY;
+
+    public SuggestService(
+            ElasticsearchClient esClient,
+            ShowCatalogLoader catalogLoader,
+            RankingsCache rankingsCache,
+            MeterRegistry meterRegistry,
+            @Value("${suggest.enabled:true}") boolean enabled,
+            @Value("${suggest.top-k:10}") int topK,
+            @Value("${suggest.top-queries:5000}") int topQueries,
+            @Value("${suggest.min-query-count:2}") int minQueryCount,
+            @Value("${suggest.query-window-days:30}") int queryWindowDays,
+            @Value("${suggest.show-weight:1.0}") double showWeight,
+            @Value("${suggest.chart-weight:50.0}") double chartWeight) {
+        this.esClient = esClient;
+        this.catalogLoader = catalogLoader;
+        this.rankingsCache = rankingsCache;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.topK = topK;
+        this.topQueries = topQueries;
+        this.minQueryCount = minQueryCount;
+        this.queryWindowDays = queryWindowDays;
+        this.showWeight = showWeight;
+        this.chartWeight = chartWeight;
+        Gauge.builder("suggest.entries", this, s -> s.trie.size()).register(meterRegistry);
+    }
+
+    /**
+     * Up to {@code size} completions for {@code prefix}, heaviest first.
+     */
+    public List<SuggestItem> suggest(String prefix, int size) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        List<SuggestItem> items = new ArrayList<>();
+        for (SuggestTrie.Entry entry : trie.lookup(prefix, Math.min(size, topK))) {
+            items.add(new SuggestItem(entry.text(), entry.type(), entry.id()));
+        }
+        sample.stop(meterRegistry.timer("suggest.lookup.duration"));
+        return items;
+    }
+
+    @Scheduled(fixedDelayString = "${suggest.rebuild-interval-ms:600000}",
+            initialDelayString = "${suggest.initial-delay-ms:30000}")
+    public synchronized void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        Timer.Sample sample = Timer.start(meterRegistry);
+        List<SuggestTrie.Entry> entries = new ArrayList<>();
+        Map<String, Double> chartBonus = chartEntries(entries);
+        int shows = showEntries(entries, chartBonus);
+        int queries = queryEntries(entries);
+        SuggestTrie built = SuggestTrie.build(entries, topK);
+        trie = built;
+        sample.stop(meterRegistry.timer("suggest.rebuild.duration"));
+        log.info("suggest_index_rebuilt", kv("entries", built.size()), kv("shows", shows),
+                kv("queries", queries), kv("charted", chartBonus.size()));
+    }
+
+    /**
+     * Adds episode-chart titles and returns the chart bonus of each charted
+     * show id, so show titles can be boosted.
+     */
+    private Map<String, Double> chartEntries(List<SuggestTrie.Entry> entries) {
+        Map<String, Double> showBonus = new HashMap<>();
+        rankingsCache.entries().forEach((key, entry) -> {
+            List<RankingsItem> items = entry.items();
+            boolean episodes = key.endsWith(":episode");
+            for (RankingsItem item : items) {
+                double bonus = chartWeight * (1 - (item.rank() - 1) / (double) Math.max(1, items.size()));
+                if (episodes) {
+                    entries.add(entry(item.title(), TYPE_EPISODE, item.showId(), bonus));
+                } else if (item.showId() != null) {
+                    showBonus.merge(item.showId(), bonus, Math::max);
+                }
+            }
+        });
+        return showBonus;
+    }
+
+    private int showEntries(List<SuggestTrie.Entry> entries, Map<String, Double> chartBonus) {
+        ShowCatalog catalog = catalogLoader.current();
+        if (catalog == null) {
+            return 0;
+        }
+        catalog.forEach(show -> entries.add(entry(show.title(), TYPE_SHOW, show.showId(),
+                showWeight + chartBonus.getOrDefault(show.showId(), 0.0))));
+        return catalog.size();
+    }
+
+    private int queryEntries(List<SuggestTrie.Entry> entries) {
+        try {
+            SearchResponse<JsonNode> response = esClient.search(SearchRequest.of(s -> s
+                    .index(QUERY_LOGS_INDEX)
+                    .size(0)
+                    .query(q -> q.range(r -> r.field("timestamp").gte(JsonData.of("now-" + queryWindowDays + "d/d"))))
+                    .aggregations("top_queries", a -> a.terms(t -> t
+                            .field("query.raw")
+                            .size(topQueries)
+                            .minDocCount(minQueryCount)))), JsonNode.class);
+            List<StringTermsBucket> buckets = response.aggregations().get("top_queries").sterms().buckets().array();
+            for (StringTermsBucket bucket : buckets) {
+                String query = bucket.key().stringValue();
+                entries.add(entry(query, TYPE_QUERY, null, bucket.docCount()));
+            }
+            return buckets.size();
+        } catch (Exception e) {
+            log.warn("suggest_query_logs_failed", kv("error", e.getMessage()));
+            return 0;
+        }
+    }
+
+    private static SuggestTrie.Entry entry(String text, String type, String id, double weight) {
+        String display = text != null ? text.trim() : null;
+        return new SuggestTrie.Entry(SuggestTrie.normalize(display), display, type, id, weight);
+    }
+}
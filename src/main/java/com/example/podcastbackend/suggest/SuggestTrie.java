@@ -0,0 +1,247 @@
+package com.example.podcastbackend.suggest;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Immutable radix trie from normalized keys to weighted suggestions.
+ *
+ * Built once from all entries sorted by key. Each node covers the
+ * contiguous range of keys sharing its prefix, and edge labels are not
+ * copied: a node's label is the span {@code [parent depth, depth)} of its
+ * first key. Every node stores the indices of its top {@code k} entries by
+ * weight, so a lookup walks at most {@code prefix.length()} characters and
+ * returns a precomputed list — no scan of the matching range.
+ */
+final class SuggestTrie {
+
+    /**
+     * One completion. {@code id} is the show or episode id, or null for a
+     * past query.
+     */
+    record Entry(String key, String text, String type, String id, double weight) {
+    }
+
+    private static final Comparator<Entry> HEAVIEST_FIRST =
+            Comparator.comparingDouble(Entry::weight).reversed().thenComparing(Entry::key);
+
+    static final SuggestTrie EMPTY = build(List.of(), 1);
+
+    private final Entry[] entries;
+    // Per node
+    private final int[] depth;
+    private final int[] firstKey;
+    private final int[] edgeStart;
+    private final int[] edgeEnd;
+    private final int[][] top;
+    // Per edge, grouped by parent and sorted by first character
+    private final char[] edgeChar;
+    private final int[] edgeChild;
+
+    private SuggestTrie(Entry[] entries, int[] depth, int[] firstKey, int[] edgeStart, int[] edgeEnd,
+                        int[][] top, char[] edgeChar, int[] edgeChild) {
+        this.entries = entries;
+        this.depth = depth;
+        this.firstKey = firstKey;
+        this.edgeStart = edgeStart;
+        this.edgeEnd = edgeEnd;
+        this.top = top;
+        this.edgeChar = edgeChar;
+        this.edgeChild = edgeChild;
+    }
+
+    /**
+     * Lower-cased NFKC form with collapsed whitespace, used for keys and
+     * prefixes alike.
+     */
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return Normalizer.normalize(text, Normalizer.Form.NFKC)
+                .toLowerCase(Locale.ROOT)
+                .trim()
+                .replaceAll("\\s+", " ");
+    }
+
+    /**
+     * Builds the trie; entries with the same key are merged (weights added,
+     * text/type/id of the heaviest kept). Keys must already be normalized.
+     */
+    static SuggestTrie build(List<Entry> input, int k) {
+        Map<String, Entry> merged = new HashMap<>();
+        for (Entry entry : input) {
+            if (entry.key() == null || entry.key().isEmpty()) {
+                continue;
+            }
+            merged.merge(entry.key(), entry, (a, b) -> {
+                Entry heavier = a.weight() >= b.weight() ? a : b;
+                return new Entry(a.key(), heavier.text(), heavier.type(), heavier.id(), a.weight() + b.weight());
+            });
+        }
+        Entry[] sorted = merged.values().toArray(new Entry[0]);
+        Arrays.sort(sorted, Comparator.comparing(Entry::key));
+        return new Builder(sorted, Math.max(1, k)).build();
+    }
+
+    int size() {
+        return entries.length;
+    }
+
+    /**
+     * Up to {@code limit} heaviest entries whose key starts with the
+     * normalized {@code prefix}. A trailing space in the prefix is kept.
+     */
+    List<Entry> lookup(String prefix, int limit) {
+        String p = normalize(prefix);
+        if (p.isEmpty() || entries.length == 0) {
+            return List.of();
+        }
+        if (Character.isWhitespace(prefix.charAt(prefix.length() - 1))) {
+            // "tech " has finished a word: complete "tech news", not "technology"
+            p = p + " ";
+        }
+        int node = 0;
+        int matched = 0;
+        while (matched < p.length()) {
+            int child = child(node, p.charAt(matched));
+            if (child < 0) {
+                return List.of();
+            }
+            String key = entries[firstKey[child]].key();
+            int end = Math.min(depth[child], p.length());
+            if (!key.regionMatches(matched, p, matched, end - matched)) {
+                return List.of();
+            }
+            node = child;
+            matched = depth[child];
+        }
+        int[] best = top[node];
+        List<Entry> results = new ArrayList<>(Math.min(limit, best.length));
+        for (int i = 0; i < best.length && results.size() < limit; i++) {
+            results.add(entries[best[i]]);
+        }
+        return results;
+    }
+
+    private int child(int node, char c) {
+        int lo = edgeStart[node];
+        int hi = edgeEnd[node] - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            char mc = edgeChar[mid];
+            if (mc < c) {
+                lo = mid + 1;
+            } else if (mc > c) {
+                hi = mid - 1;
+            } else {
+                return edgeChild[mid];
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Recursive construction over the sorted key array; nodes are numbered
+     * in creation order with the root as node 0.
+     */
+    private static final class Builder {
+
+        private final Entry[] entries;
+        private final int k;
+        private final List<int[]> nodes = new ArrayList<>();
+        private final List<int[]> tops = new ArrayList<>();
+        private final List<List<int[]>> children = new ArrayList<>();
+
+        Builder(Entry[] entries, int k) {
+            this.entries = entries;
+            this.k = k;
+        }
+
+        SuggestTrie build() {
+            node(0, entries.length, 0);
+            int n = nodes.size();
+            int[] depth = new int[n];
+            int[] firstKey = new int[n];
+            int[] edgeStart = new int[n];
+            int[] edgeEnd = new int[n];
+            int[][] top = new int[n][];
+            int edges = 0;
+            for (List<int[]> c : children) {
+                edges += c.size();
+            }
+            char[] edgeChar = new char[edges];
+            int[] edgeChild = new int[edges];
+            int e = 0;
+            for (int i = 0; i < n; i++) {
+                depth[i] = nodes.get(i)[0];
+                firstKey[i] = nodes.get(i)[1];
+                top[i] = tops.get(i);
+                edgeStart[i] = e;
+                for (int[] edge : children.get(i)) {
+                    edgeChar[e] = (char) edge[0];
+                    edgeChild[e] = edge[1];
+                    e++;
+                }
+                edgeEnd[i] = e;
+            }
+            return new SuggestTrie(entries, depth, firstKey, edgeStart, edgeEnd, top, edgeChar, edgeChild);
+        }
+
+        /**
+         * Node for keys {@code [lo, hi)}, which share their first
+         * {@code depth} characters.
+         */
+        private int node(int lo, int hi, int depth) {
+            int id = nodes.size();
+            nodes.add(new int[]{depth, Math.min(lo, Math.max(0, entries.length - 1))});
+            tops.add(null);
+            List<int[]> edges = new ArrayList<>();
+            children.add(edges);
+
+            List<Integer> candidates = new ArrayList<>();
+            int i = lo;
+            if (i < hi && entries[i].key().length() == depth) {
+                candidates.add(i);
+                i++;
+            }
+            while (i < hi) {
+                char c = entries[i].key().charAt(depth);
+                int j = i + 1;
+                while (j < hi && entries[j].key().charAt(depth) == c) {
+                    j++;
+                }
+                int childDepth = commonPrefix(entries[i].key(), entries[j - 1].key());
+                int child = node(i, j, childDepth);
+                edges.add(new int[]{c, child});
+                for (int index : tops.get(child)) {
+                    candidates.add(index);
+                }
+                i = j;
+            }
+
+            candidates.sort((a, b) -> HEAVIEST_FIRST.compare(entries[a], entries[b]));
+            int[] best = new int[Math.min(k, candidates.size())];
+            for (int t = 0; t < best.length; t++) {
+                best[t] = candidates.get(t);
+            }
+            tops.set(id, best);
+            return id;
+        }
+
+        private static int commonPrefix(String a, String b) {
+            int max = Math.min(a.length(), b.length());
+            int i = 0;
+            while (i < max && a.charAt(i) == b.charAt(i)) {
+                i++;
+            }
+            return i;
+        }
+    }
+}
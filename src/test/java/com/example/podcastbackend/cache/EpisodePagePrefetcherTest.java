@@ -0,0 +1,112 @@
+package com.example.podcastbackend.cache;
+
+import com.example.podcastbackend.response.EpisodeSearchResponse;
+import com.example.podcastbackend.response.EpisodeSearchResponseData;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EpisodePagePrefetcherTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private RateLimiterRegistry rateLimiters;
+    private CircuitBreakerRegistry circuitBreakers;
+    private List<Integer> computed;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        rateLimiters = RateLimiterRegistry.of(RateLimiterConfig.custom()
+                .limitForPeriod(10)
+                .limitRefreshPeriod(Duration.ofHours(1))
+                .timeoutDuration(Duration.ZERO)
+                .build());
+        circuitBreakers = CircuitBreakerRegistry.ofDefaults();
+        computed = new ArrayList<>();
+    }
+
+    @Test
+    void prefetch_thenGet_servesPageAndCountsHit() {
+        EpisodePagePrefetcher prefetcher = prefetcher(true);
+
+        prefetcher.prefetch("q", 2, 10, 35, this::page);
+        EpisodePagePrefetcher.Prefetched hit = prefetcher.get("q", 2);
+
+        assertNotNull(hit);
+        assertEquals(2, hit.response().data().page());
+        assertNull(prefetcher.get("q", 3));
+        assertEquals(List.of(2), computed);
+        assertEquals(1.0, meterRegistry.counter("search.prefetch.scheduled").count());
+        assertEquals(1.0, meterRegistry.counter("search.prefetch.lookups", "result", "hit").count());
+        assertEquals(1.0, meterRegistry.counter("search.prefetch.lookups", "result", "miss").count());
+    }
+
+    @Test
+    void prefetch_pastLastPageOrAlreadyCached_computesNothing() {
+        EpisodePagePrefetcher prefetcher = prefetcher(true);
+
+        prefetcher.prefetch("q", 5, 10, 40, this::page);
+        prefetcher.prefetch("q", 4, 10, 40, this::page);
+        prefetcher.prefetch("q", 4, 10, 40, this::page);
+
+        assertEquals(List.of(4), computed);
+    }
+
+    @Test
+    void prefetch_underLoadOrEsUnhealthy_isSkipped() {
+        EpisodePagePrefetcher prefetcher = prefetcher(true);
+        rateLimiters.rateLimiter("searchApi").acquirePermission(6);
+
+        prefetcher.prefetch("q", 2, 10, 35, this::page);
+        rateLimiters.rateLimiter("searchApi").changeLimitForPeriod(100);
+        circuitBreakers.circuitBreaker("elasticsearch").transitionToOpenState();
+        prefetcher.prefetch("q", 2, 10, 35, this::page);
+
+        assertTrue(computed.isEmpty());
+        assertEquals(1.0, meterRegistry.counter("search.prefetch.skipped", "reason", "load").count());
+        assertEquals(1.0, meterRegistry.counter("search.prefetch.skipped", "reason", "es_unhealthy").count());
+    }
+
+    @Test
+    void prefetch_executorFull_isSkipped() {
+        EpisodePagePrefetcher prefetcher = new EpisodePagePrefetcher(meterRegistry, rateLimiters, circuitBreakers,
+                task -> {
+                    throw new RejectedExecutionException("full");
+                }, true, 120, 100, 0.5);
+
+        prefetcher.prefetch("q", 2, 10, 35, this::page);
+
+        assertEquals(1.0, meterRegistry.counter("search.prefetch.skipped", "reason", "queue_full").count());
+        assertEquals(0.0, meterRegistry.counter("search.prefetch.scheduled").count());
+    }
+
+    @Test
+    void disabled_neverComputesOrServes() {
+        EpisodePagePrefetcher prefetcher = prefetcher(false);
+
+        prefetcher.prefetch("q", 2, 10, 35, this::page);
+
+        assertNull(prefetcher.get("q", 2));
+        assertTrue(computed.isEmpty());
+    }
+
+    private EpisodePagePrefetcher prefetcher(boolean enabled) {
+        return new EpisodePagePrefetcher(meterRegistry, rateLimiters, circuitBreakers, Runnable::run,
+                enabled, 120, 100, 0.5);
+    }
+
+    private EpisodeSearchResponse page(int page) {
+        computed.add(page);
+        return EpisodeSearchResponse.ok(new EpisodeSearchResponseData(page, 10, 35, List.of()));
+    }
+}
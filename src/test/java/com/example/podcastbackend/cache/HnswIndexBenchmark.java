@@ -0,0 +1,226 @@
+package com.example.podcastbackend.cache;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch.core.BulkRequest;
+import co.elastic.clients.elasticsearch.core.SearchRequest;
+import co.elastic.clients.elasticsearch.core.search.Hit;
+import co.elastic.clients.json.jackson.JacksonJsonpMapper;
+import co.elastic.clients.transport.rest_client.RestClientTransport;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.apache.http.HttpHost;
+import org.elasticsearch.client.RestClient;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Recall@10 and query latency of the in-process HNSW graph against an exact
+ * scan and, when an ES cluster is given, against ES kNN on the same data.
+ *
+ * The fixture is synthetic: 5,000 384-dimensional vectors drawn around 50
+ * random centroids (roughly the shape of clustered show embeddings), with a
+ * fixed seed. The ES comparison creates a throwaway index, so point it at a
+ * development cluster only.
+ *
+ * Run with {@code ./mvnw test -Pbenchmark -Dtest=HnswIndexBenchmark}; add
+ * {@code -Dbenchmark.es.url=http://localhost:9200} for the ES leg.
+ */
+@Tag("benchmark")
+class HnswIndexBenchmark {
+
+    private static final int SHOWS = 5_000;
+    private static final int DIMENSION = 384;
+    private static final int CLUSTERS = 50;
+    private static final int QUERIES = 200;
+    private static final int K = 10;
+    private static final int EF_SEARCH = 100;
+    private static final String ES_INDEX = "hnsw_benchmark_shows";
+
+    @Test
+    @DisplayName("HNSW vs exact scan: recall@10 and latency")
+    void compareWithExactScan() {
+        Fixture fixture = fixture();
+        long start = System.nanoTime();
+        HnswIndex index = HnswIndex.build(copy(fixture.vectors()), 16, 100, 42);
+        long buildMs = (System.nanoTime() - start) / 1_000_000;
+
+        List<Set<Integer>> truth = new ArrayList<>();
+        long[] exactNanos = new long[QUERIES];
+        for (int q = 0; q < QUERIES; q++) {
+            long t0 = System.nanoTime();
+            List<HnswIndex.Result> exact = index.exact(fixture.queries()[q], K, null);
+            exactNanos[q] = System.nanoTime() - t0;
+            truth.add(nodes(exact));
+        }
+
+        long[] hnswNanos = new long[QUERIES];
+        int hits = 0;
+        for (int q = 0; q < QUERIES; q++) {
+            long t0 = System.nanoTime();
+            List<HnswIndex.Result> approx = index.search(fixture.queries()[q], K, EF_SEARCH, null);
+            hnswNanos[q] = System.nanoTime() - t0;
+            for (HnswIndex.Result r : approx) {
+                if (truth.get(q).contains(r.node())) {
+                    hits++;
+                }
+            }
+        }
+        double recall = hits / (double) (QUERIES * K);
+
+        System.out.printf("build: %d vectors x %d dims in %d ms%n", SHOWS, DIMENSION, buildMs);
+        System.out.println(latency("exact", exactNanos));
+        System.out.println(latency("hnsw", hnswNanos) + String.format(" recall@%d=%.3f", K, recall));
+        assertTrue(recall >= 0.9, "recall@10 was " + recall);
+    }
+
+    @Test
+    @DisplayName("HNSW vs ES kNN: recall@10 against exact ground truth")
+    void compareWithElasticsearchKnn() throws Exception {
+        String url = System.getProperty("benchmark.es.url");
+        assumeTrue(url != null && !url.isBlank(), "set -Dbenchmark.es.url to compare with ES kNN");
+
+        Fixture fixture = fixture();
+        HnswIndex index = HnswIndex.build(copy(fixture.vectors()), 16, 100, 42);
+
+        try (RestClient restClient = RestClient.builder(HttpHost.create(url)).build()) {
+            ElasticsearchClient es = new ElasticsearchClient(
+                    new RestClientTransport(restClient, new JacksonJsonpMapper()));
+            load(es, fixture.vectors());
+            try {
+                long[] esNanos = new long[QUERIES];
+                int esHits = 0;
+                int localHits = 0;
+                for (int q = 0; q < QUERIES; q++) {
+                    float[] query = fixture.queries()[q];
+                    Set<Integer> truth = nodes(index.exact(query, K, null));
+                    localHits += count(truth, nodes(index.search(query, K, EF_SEARCH, null)));
+
+                    List<Float> vector = toList(query);
+                    long t0 = System.nanoTime();
+                    List<Hit<JsonNode>> esResult = es.search(SearchRequest.of(s -> s
+                            .index(ES_INDEX)
+                            .size(K)
+                            .source(src -> src.fetch(false))
+                            .knn(kn -> kn.field("embedding").queryVector(vector).k(K).numCandidates(100))),
+                            JsonNode.class).hits().hits();
+                    esNanos[q] = System.nanoTime() - t0;
+                    Set<Integer> esNodes = new HashSet<>();
+                    esResult.forEach(h -> esNodes.add(Integer.parseInt(h.id())));
+                    esHits += count(truth, esNodes);
+                }
+                System.out.println(latency("es_knn", esNanos)
+                        + String.format(" recall@%d=%.3f", K, esHits / (double) (QUERIES * K)));
+                System.out.printf("hnsw recall@%d=%.3f%n", K, localHits / (double) (QUERIES * K));
+            } finally {
+                es.indices().delete(d -> d.index(ES_INDEX));
+            }
+        }
+    }
+
+    private static void load(ElasticsearchClient es, float[][] vectors) throws Exception {
+        if (es.indices().exists(e -> e.index(ES_INDEX)).value()) {
+            es.indices().delete(d -> d.index(ES_INDEX));
+        }
+        es.indices().create(c -> c.index(ES_INDEX).withJson(new StringReader("""
+                {"mappings": {"properties": {"embedding": {
+                  "type": "dense_vector", "dims": %d, "index": true, "similarity": "cosine"}}}}
+                """.formatted(DIMENSION))));
+        for (int from = 0; from < vectors.length; from += 500) {
+            BulkRequest.Builder bulk = new BulkRequest.Builder();
+            for (int i = from; i < Math.min(from + 500, vectors.length); i++) {
+                String id = Integer.toString(i);
+                Map<String, Object> doc = Map.of("embedding", toList(vectors[i]));
+                bulk.operations(op -> op.index(idx -> idx.index(ES_INDEX).id(id).document(doc)));
+            }
+            es.bulk(bulk.build());
+        }
+        es.indices().refresh(r -> r.index(ES_INDEX));
+    }
+
+    private record Fixture(float[][] vectors, float[][] queries) {
+    }
+
+    private static Fixture fixture() {
+        Random random = new Random(20240601L);
+        float[][] centroids = new float[CLUSTERS][];
+        for (int c = 0; c < CLUSTERS; c++) {
+            centroids[c] = gaussian(random, 1.0);
+        }
+        float[][] vectors = new float[SHOWS][];
+        for (int i = 0; i < SHOWS; i++) {
+            vectors[i] = around(centroids[random.nextInt(CLUSTERS)], random);
+        }
+        float[][] queries = new float[QUERIES][];
+        for (int q = 0; q < QUERIES; q++) {
+            queries[q] = around(centroids[random.nextInt(CLUSTERS)], random);
+        }
+        return new Fixture(vectors, queries);
+    }
+
+    private static float[] around(float[] centroid, Random random) {
+        float[] noise = gaussian(random, 0.6);
+        for (int i = 0; i < noise.length; i++) {
+            noise[i] += centroid[i];
+        }
+        return noise;
+    }
+
+    private static float[] gaussian(Random random, double scale) {
+        float[] v = new float[DIMENSION];
+        for (int i = 0; i < DIMENSION; i++) {
+            v[i] = (float) (random.nextGaussian() * scale);
+        }
+        return v;
+    }
+
+    private static float[][] copy(float[][] vectors) {
+        float[][] copy = new float[vectors.length][];
+        for (int i = 0; i < vectors.length; i++) {
+            copy[i] = vectors[i].clone();
+        }
+        return copy;
+    }
+
+    private static List<Float> toList(float[] vector) {
+        List<Float> list = new ArrayList<>(vector.length);
+        for (float f : vector) {
+            list.add(f);
+        }
+        return list;
+    }
+
+    private static Set<Integer> nodes(List<HnswIndex.Result> results) {
+        Set<Integer> nodes = new HashSet<>();
+        results.forEach(r -> nodes.add(r.node()));
+        return nodes;
+    }
+
+    private static int count(Set<Integer> truth, Set<Integer> found) {
+        int n = 0;
+        for (Integer node : found) {
+            if (truth.contains(node)) {
+                n++;
+            }
+        }
+        return n;
+    }
+
+    private static String latency(String name, long[] nanos) {
+        long[] sorted = nanos.clone();
+        Arrays.sort(sorted);
+        return String.format("%s: p50=%.3f ms p99=%.3f ms", name,
+                sorted[sorted.length / 2] / 1e6, sorted[(int) (sorted.length * 0.99)] / 1e6);
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.podcastbackend.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HnswIndexTest {
+
+    private static final int DIMENSION = 32;
+
+    @Test
+    void search_recallAgainstExactScanIsHigh() {
+        HnswIndex index = HnswIndex.build(randomVectors(2000, 1), 16, 100, 7);
+        Random random = new Random(2);
+
+        int hits = 0;
+        int total = 0;
+        for (int q = 0; q < 50; q++) {
+            float[] query = randomVector(random);
+            Set<Integer> expected = nodes(index.exact(query, 10, null));
+            for (HnswIndex.Result result : index.search(query, 10, 64, null)) {
+                if (expected.contains(result.node())) {
+                    hits++;
+                }
+            }
+            total += expected.size();
+        }
+
+        assertTrue(hits / (double) total >= 0.9, "recall@10 was " + hits / (double) total);
+    }
+
+    @Test
+    void search_returnsNearestFirstAndFindsExactMatch() {
+        float[][] vectors = randomVectors(500, 3);
+        float[] query = vectors[123].clone();
+        HnswIndex index = HnswIndex.build(vectors, 8, 50, 7);
+
+        List<HnswIndex.Result> results = index.search(query, 5, 50, null);
+
+        assertEquals(5, results.size());
+        assertEquals(123, results.get(0).node());
+        assertEquals(1.0f, results.get(0).similarity(), 1e-5);
+        for (int i = 1; i < results.size(); i++) {
+            assertTrue(results.get(i - 1).similarity() >= results.get(i).similarity());
+        }
+    }
+
+    @Test
+    void search_onlyReturnsNodesAcceptedByFilter() {
+        HnswIndex index = HnswIndex.build(randomVectors(1000, 4), 16, 100, 7);
+        float[] query = randomVector(new Random(5));
+
+        List<HnswIndex.Result> results = index.search(query, 10, 100, node -> node % 10 == 0);
+
+        assertEquals(10, results.size());
+        assertTrue(results.stream().allMatch(r -> r.node() % 10 == 0));
+        Set<Integer> expected = nodes(index.exact(query, 10, node -> node % 10 == 0));
+        long overlap = results.stream().filter(r -> expected.contains(r.node())).count();
+        assertTrue(overlap >= 8, "filtered overlap was " + overlap);
+    }
+
+    @Test
+    void search_emptyIndexReturnsNothing() {
+        HnswIndex index = HnswIndex.build(new float[0][], 16, 100, 7);
+
+        assertTrue(index.search(new float[DIMENSION], 10, 50, null).isEmpty());
+        assertEquals(0, index.dimension());
+    }
+
+    private static Set<Integer> nodes(List<HnswIndex.Result> results) {
+        Set<Integer> nodes = new HashSet<>();
+        results.forEach(r -> nodes.add(r.node()));
+        return nodes;
+    }
+
+    private static float[][] randomVectors(int n, long seed) {
+        Random random = new Random(seed);
+        float[][] vectors = new float[n][];
+        for (int i = 0; i < n; i++) {
+            vectors[i] = randomVector(random);
+        }
+        return vectors;
+    }
+
+    private static float[] randomVector(Random random) {
+        float[] v = new float[DIMENSION];
+        for (int i = 0; i < DIMENSION; i++) {
+            v[i] = (float) random.nextGaussian();
+        }
+        return v;
+    }
+}
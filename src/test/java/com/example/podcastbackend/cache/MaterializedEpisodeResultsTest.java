@@ -0,0 +1,127 @@
+package com.example.podcastbackend.cache;
+
+import com.example.podcastbackend.request.EpisodeSearchRequest;
+import com.example.podcastbackend.response.EpisodeSearchResponse;
+import com.example.podcastbackend.response.EpisodeSearchResponseData;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MaterializedEpisodeResultsTest {
+
+    private static final Instant NOW = Instant.parse("2026-10-01T12:00:00Z");
+
+    private SimpleMeterRegistry meterRegistry;
+    private MaterializedEpisodeResults results;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        results = new MaterializedEpisodeResults(meterRegistry, true, 20, 2, 1800,
+                Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test
+    void get_matchingRequest_servesBodyWithFreshRequestId() {
+        results.replace(Map.of(key("ai", "zh-tw", 1), entry("episodes-zh-tw", "episodes-zh-tw-v1", NOW)));
+
+        MaterializedEpisodeResults.Entry entry = results.get(request("ai", "zh-tw", "bm25", 1));
+
+        assertNotNull(entry);
+        assertEquals("{\"status\":\"ok\",\"searchRequestId\":\"req-1\"}",
+                new String(entry.body("req-1"), StandardCharsets.UTF_8));
+        assertEquals(1.0, meterRegistry.counter("search.materialized.lookups", "result", "hit").count());
+    }
+
+    @Test
+    void get_ineligibleRequests_areNotLookedUp() {
+        results.replace(Map.of(key("ai", "zh-tw", 1), entry("episodes-zh-tw", "episodes-zh-tw-v1", NOW)));
+
+        assertNull(results.get(EpisodeSearchRequest.firstPage("ai", 10, "zh-tw", "bm25")));
+        assertNull(results.get(request("ai", "zh-tw", "bm25", 3)));
+        assertNull(results.get(request("ai", "auto", "bm25", 1)));
+
+        assertEquals(0.0, meterRegistry.counter("search.materialized.lookups", "result", "miss").count());
+    }
+
+    @Test
+    void get_autoModeRequest_isLookedUpUnderAuto() {
+        results.replace(Map.of(MaterializedEpisodeResults.key("ai", "zh-tw", EpisodeSearchRequest.SearchMode.AUTO, 1),
+                entry("episodes-zh-tw", "episodes-zh-tw-v1", NOW)));
+
+        assertNotNull(results.get(request("ai", "zh-tw", "auto", 1)));
+        assertNull(results.get(request("ai", "zh-tw", "bm25", 1)));
+    }
+
+    @Test
+    void entryOf_splitsAroundTheRequestId() {
+        EpisodeSearchResponse response = EpisodeSearchResponse.ok(new EpisodeSearchResponseData(1, 20, 0, List.of()));
+
+        MaterializedEpisodeResults.Entry entry = MaterializedEpisodeResults.Entry.of(
+                JsonMapper.builder().build(), response, "episodes-zh-tw", "episodes-zh-tw-v1", NOW);
+
+        assertTrue(new String(entry.body("req-1"), StandardCharsets.UTF_8).endsWith("\"searchRequestId\":\"req-1\"}"));
+    }
+
+    @Test
+    void get_entryOlderThanMaxAge_isStale() {
+        results.replace(Map.of(key("ai", "zh-tw", 1),
+                entry("episodes-zh-tw", "episodes-zh-tw-v1", NOW.minus(Duration.ofMinutes(31)))));
+
+        assertNull(results.get(request("ai", "zh-tw", "bm25", 1)));
+        assertNull(results.get(request("ml", "zh-tw", "bm25", 1)));
+
+        assertEquals(1.0, meterRegistry.counter("search.materialized.lookups", "result", "stale").count());
+        assertEquals(1.0, meterRegistry.counter("search.materialized.lookups", "result", "miss").count());
+    }
+
+    @Test
+    void invalidate_dropsOnlyEntriesOfTheMovedAlias() {
+        results.replace(Map.of(
+                key("ai", "zh-tw", 1), entry("episodes-zh-tw", "episodes-zh-tw-v1", NOW),
+                key("ai", "en", 1), entry("episodes-en", "episodes-en-v1", NOW)));
+
+        assertEquals(0, results.invalidate("episodes-zh-tw", "episodes-zh-tw-v1"));
+        assertEquals(1, results.invalidate("episodes-zh-tw", "episodes-zh-tw-v2"));
+
+        assertNull(results.get(request("ai", "zh-tw", "bm25", 1)));
+        assertNotNull(results.get(request("ai", "en", "bm25", 1)));
+        assertEquals(Map.of("episodes-en", "episodes-en-v1"), results.generations());
+        assertEquals(1.0, meterRegistry.counter("search.materialized.invalidated", "alias", "episodes-zh-tw").count());
+    }
+
+    @Test
+    void get_disabled_returnsNull() {
+        MaterializedEpisodeResults disabled = new MaterializedEpisodeResults(meterRegistry, false, 20, 2, 1800);
+        disabled.replace(Map.of(key("ai", "zh-tw", 1), entry("episodes-zh-tw", "episodes-zh-tw-v1", Instant.now())));
+
+        assertNull(disabled.get(request("ai", "zh-tw", "bm25", 1)));
+    }
+
+    private static EpisodeSearchRequest request(String q, String lang, String mode, int page) {
+        return EpisodeSearchRequest.firstPage(q, 20, lang, mode).withPage(page);
+    }
+
+    private static String key(String q, String lang, int page) {
+        return MaterializedEpisodeResults.key(q, lang, EpisodeSearchRequest.SearchMode.BM25, page);
+    }
+
+    private static MaterializedEpisodeResults.Entry entry(String alias, String generation, Instant computedAt) {
+        EpisodeSearchResponse response = EpisodeSearchResponse.ok(new EpisodeSearchResponseData(1, 20, 0, List.of()));
+        return new MaterializedEpisodeResults.Entry(
+                "{\"status\":\"ok\",\"searchRequestId\":\"".getBytes(StandardCharsets.UTF_8),
+                "\"}".getBytes(StandardCharsets.UTF_8),
+                response, alias, generation, computedAt);
+    }
+}
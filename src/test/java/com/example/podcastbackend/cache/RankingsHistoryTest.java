@@ -0,0 +1,76 @@
+package com.example.podcastbackend.cache;
+
+import com.example.podcastbackend.response.RankMovement;
+import com.example.podcastbackend.response.RankingsItem;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RankingsHistoryTest {
+
+    private final RankingsHistory history = new RankingsHistory(4, 2);
+
+    @Test
+    void record_firstChart_hasNoMovement() {
+        List<RankingsItem> items = chart("a", "b");
+
+        assertSame(items, history.record("tw", "podcast", items, Instant.now()));
+    }
+
+    @Test
+    void record_computesChangeAgainstPreviousAndWindow() {
+        history.record("tw", "podcast", chart("a", "b", "c"), Instant.now());
+        history.record("tw", "podcast", chart("b", "a", "c"), Instant.now());
+
+        List<RankingsItem> items = history.record("tw", "podcast", chart("c", "b", "d"), Instant.now());
+
+        assertEquals(new RankMovement(3, 2, 2, RankMovement.UP), items.get(0).movement());
+        assertEquals(new RankMovement(1, -1, 0, RankMovement.DOWN), items.get(1).movement());
+        assertEquals(new RankMovement(null, null, null, RankMovement.NEW), items.get(2).movement());
+    }
+
+    @Test
+    void record_identicalChart_replacesLatestInsteadOfAdding() {
+        history.record("tw", "podcast", chart("a", "b"), Instant.now());
+        history.record("tw", "podcast", chart("b", "a"), Instant.now());
+
+        List<RankingsItem> items = history.record("tw", "podcast", chart("b", "a"), Instant.now());
+
+        assertEquals(2, history.size("tw", "podcast"));
+        assertEquals(RankMovement.UP, items.get(0).movement().trend());
+    }
+
+    @Test
+    void record_isBoundedAndCompactsDictionary() {
+        for (int i = 0; i < 10; i++) {
+            history.record("tw", "podcast", chart("x" + i, "y" + i), Instant.now());
+        }
+
+        RankingsHistory.Series series = history.export("tw", "podcast");
+        assertEquals(4, series.points().size());
+        assertEquals(8, series.ids().size());
+        assertEquals("show:apple:x6", series.ids().get(series.points().get(0).codes()[0]));
+    }
+
+    @Test
+    void restore_ignoresPointsWithUnknownCodes() {
+        RankingsHistory.Series series = new RankingsHistory.Series(List.of("show:apple:a"), List.of(
+                new RankingsHistory.Point(Instant.now(), new int[]{0}),
+                new RankingsHistory.Point(Instant.now(), new int[]{0, 5})));
+
+        history.restore("tw", "podcast", series);
+
+        assertEquals(1, history.size("tw", "podcast"));
+    }
+
+    private static List<RankingsItem> chart(String... ids) {
+        RankingsItem[] items = new RankingsItem[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            items[i] = new RankingsItem(i + 1, "show:apple:" + ids[i], null, ids[i], "p", "url", null, null, null);
+        }
+        return List.of(items);
+    }
+}
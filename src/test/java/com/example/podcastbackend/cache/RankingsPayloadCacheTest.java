@@ -0,0 +1,82 @@
+package com.example.podcastbackend.cache;
+
+import com.example.podcastbackend.config.JacksonConfig;
+import com.example.podcastbackend.response.RankingsItem;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayInputStream;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RankingsPayloadCacheTest {
+
+    private final ObjectMapper objectMapper = new JacksonConfig().objectMapper();
+    private final RankingsPayloadCache payloadCache = new RankingsPayloadCache(JsonMapper.builder().build(), List.of(10, 20));
+
+    @Test
+    @DisplayName("returns null until a chart is prepared")
+    void get_unprepared_returnsNull() {
+        assertNull(payloadCache.get("tw", "podcast", 10));
+    }
+
+    @Test
+    @DisplayName("payload is the serialized ok response sliced to the limit")
+    void get_serializesSlicedResponse() throws Exception {
+        payloadCache.prepare("tw", "podcast", items(30), Instant.parse("2026-01-01T00:00:00Z"));
+
+        RankingsPayloadCache.Payload payload = payloadCache.get("tw", "podcast", 5);
+
+        JsonNode body = objectMapper.readTree(payload.json());
+        assertEquals("ok", body.path("status").asText());
+        assertEquals("tw", body.path("data").path("country").asText());
+        assertEquals(5, body.path("data").path("items").size());
+        assertEquals("2026-01-01T00:00:00Z", body.path("data").path("updatedAt").asText());
+    }
+
+    @Test
+    @DisplayName("gzip body decompresses to the JSON body")
+    void gzip_matchesJson() throws Exception {
+        payloadCache.prepare("tw", "podcast", items(30), Instant.now());
+
+        RankingsPayloadCache.Payload payload = payloadCache.get("tw", "podcast", 20);
+
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(payload.gzip()))) {
+            assertArrayEquals(payload.json(), in.readAllBytes());
+        }
+    }
+
+    @Test
+    @DisplayName("limits beyond the chart length share one payload and ETag")
+    void get_limitBeyondChart_sharesPayload() {
+        payloadCache.prepare("tw", "episode", items(3), Instant.now());
+
+        assertSame(payloadCache.get("tw", "episode", 50), payloadCache.get("tw", "episode", 100));
+        assertNotEquals(payloadCache.get("tw", "episode", 2).etag(), payloadCache.get("tw", "episode", 3).etag());
+    }
+
+    @Test
+    @DisplayName("prepare replaces payloads and changes the ETag when the chart changes")
+    void prepare_newChart_changesEtag() {
+        payloadCache.prepare("tw", "podcast", items(10), Instant.parse("2026-01-01T00:00:00Z"));
+        String before = payloadCache.get("tw", "podcast", 10).etag();
+
+        payloadCache.prepare("tw", "podcast", items(10).reversed(), Instant.parse("2026-01-01T01:00:00Z"));
+
+        assertNotEquals(before, payloadCache.get("tw", "podcast", 10).etag());
+        assertTrue(before.startsWith("\"") && before.endsWith("\""));
+    }
+
+    private List<RankingsItem> items(int count) {
+        return IntStream.rangeClosed(1, count)
+                .mapToObj(i -> new RankingsItem(i, "show:apple:" + i, null, "Podcast " + i, "Artist", "url", null, null, null))
+                .toList();
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.podcastbackend.cache;
+
+import com.example.podcastbackend.config.JacksonConfig;
+import com.example.podcastbackend.response.RankingsItem;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RankingsSnapshotStoreTest {
+
+    @TempDir
+    Path dir;
+
+    private final RankingsCache rankingsCache = new RankingsCache(3600);
+    private final RankingsHistory rankingsHistory = new RankingsHistory(24, 6);
+
+    @Test
+    @DisplayName("save and load round-trip items and the original cachedAt")
+    void saveAndLoad_roundTrip() {
+        Instant cachedAt = Instant.now().minus(2, ChronoUnit.HOURS).truncatedTo(ChronoUnit.MILLIS);
+        List<RankingsItem> items = List.of(
+                new RankingsItem(1, "show:apple:1", null, "台灣播客", "發行者", "url", "zh-tw", 12,
+                        Map.of("apple_podcasts", "https://podcasts.apple.com/1")));
+        rankingsCache.restore("tw", "podcast", items, cachedAt);
+
+        store(true, 48).save();
+        List<RankingsSnapshotStore.Entry> loaded = store(true, 48).load();
+
+        assertEquals(1, loaded.size());
+        assertEquals("tw", loaded.get(0).region());
+        assertEquals("podcast", loaded.get(0).type());
+        assertEquals(cachedAt, loaded.get(0).cachedAt());
+        assertEquals(items, loaded.get(0).items());
+    }
+
+    @Test
+    @DisplayName("rank history and computed movements survive a save and load")
+    void saveAndLoad_roundTripsHistory() {
+        Instant earlier = Instant.now().minus(2, ChronoUnit.HOURS).truncatedTo(ChronoUnit.MILLIS);
+        rankingsHistory.record("tw", "podcast", List.of(item(1, "a"), item(2, "b")), earlier);
+        List<RankingsItem> items = rankingsHistory.record("tw", "podcast", List.of(item(1, "b"), item(2, "a")), Instant.now());
+        rankingsCache.put("tw", "podcast", items);
+
+        store(true, 48).save();
+        RankingsSnapshotStore.Entry loaded = store(true, 48).load().get(0);
+
+        assertEquals(items, loaded.items());
+        assertEquals("up", loaded.items().get(0).movement().trend());
+        RankingsHistory restored = new RankingsHistory(24, 6);
+        restored.restore("tw", "podcast", loaded.history());
+        assertEquals(2, restored.size("tw", "podcast"));
+        List<RankingsItem> next = restored.record("tw", "podcast", List.of(item(1, "c"), item(2, "b")), Instant.now());
+        assertEquals(-1, next.get(1).movement().change());
+        assertEquals(0, next.get(1).movement().windowChange());
+    }
+
+    @Test
+    @DisplayName("save replaces the file atomically and leaves no temp files")
+    void save_leavesOnlySnapshotFile() throws Exception {
+        rankingsCache.put("tw", "podcast", List.of());
+        RankingsSnapshotStore store = store(true, 48);
+        store.save();
+        rankingsCache.put("us", "episode", List.of());
+        store.save();
+
+        try (Stream<Path> files = Files.list(dir)) {
+            assertEquals(List.of("snapshot.json.gz"), files.map(p -> p.getFileName().toString()).toList());
+        }
+        assertEquals(2, store.load().size());
+    }
+
+    @Test
+    @DisplayName("entries older than max age are not loaded")
+    void load_skipsExpiredEntries() {
+        rankingsCache.restore("tw", "podcast", List.of(), Instant.now().minus(3, ChronoUnit.HOURS));
+        rankingsCache.restore("us", "podcast", List.of(), Instant.now().minus(30, ChronoUnit.MINUTES));
+        store(true, 1).save();
+
+        List<RankingsSnapshotStore.Entry> loaded = store(true, 1).load();
+
+        assertEquals(1, loaded.size());
+        assertEquals("us", loaded.get(0).region());
+    }
+
+    @Test
+    @DisplayName("missing or corrupt snapshot loads as empty")
+    void load_missingOrCorrupt_returnsEmpty() throws Exception {
+        assertTrue(store(true, 48).load().isEmpty());
+
+        Files.writeString(dir.resolve("snapshot.json.gz"), "not gzip");
+        assertTrue(store(true, 48).load().isEmpty());
+    }
+
+    @Test
+    @DisplayName("disabled store neither writes nor reads")
+    void disabled_isNoOp() throws Exception {
+        rankingsCache.put("tw", "podcast", List.of());
+        store(false, 48).save();
+
+        try (Stream<Path> files = Files.list(dir)) {
+            assertEquals(0, files.count());
+        }
+        assertTrue(store(false, 48).load().isEmpty());
+    }
+
+    @Test
+    @DisplayName("restore never replaces a newer cache entry")
+    void restore_keepsNewerEntry() {
+        List<RankingsItem> fresh = List.of(new RankingsItem(1, "show:apple:new", null, "New", "A", "url", null, null, null));
+        rankingsCache.put("tw", "podcast", fresh);
+
+        rankingsCache.restore("tw", "podcast", List.of(), Instant.now().minus(1, ChronoUnit.HOURS));
+
+        assertEquals(fresh, rankingsCache.getStale("tw", "podcast"));
+    }
+
+    private static RankingsItem item(int rank, String id) {
+        return new RankingsItem(rank, "show:apple:" + id, null, id, "p", "url", null, null, null);
+    }
+
+    private RankingsSnapshotStore store(boolean enabled, long maxAgeHours) {
+        return new RankingsSnapshotStore(rankingsCache, rankingsHistory, new JacksonConfig().objectMapper(), new SimpleMeterRegistry(),
+                enabled, dir.resolve("snapshot.json.gz").toString(), maxAgeHours);
+    }
+}
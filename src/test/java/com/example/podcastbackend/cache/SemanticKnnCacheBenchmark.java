@@ -0,0 +1,76 @@
+package com.example.podcastbackend.cache;
+
+import co.elastic.clients.elasticsearch.core.SearchResponse;
+import co.elastic.clients.elasticsearch.core.search.TotalHitsRelation;
+import com.fasterxml.jackson.databind.JsonNode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Lookup latency of a full {@link SemanticKnnCache} partition: 256
+ * 384-dimensional vectors (the default {@code max-entries-per-partition}
+ * and the embedding dimension), scanned by queries that never reach the
+ * similarity threshold, so every lookup compares against every entry.
+ *
+ * Run with {@code ./mvnw test -Pbenchmark -Dtest=SemanticKnnCacheBenchmark}.
+ */
+@Tag("benchmark")
+class SemanticKnnCacheBenchmark {
+
+    private static final int ENTRIES = 256;
+    private static final int DIMENSION = 384;
+    private static final int WARMUP = 20_000;
+    private static final int QUERIES = 2_000;
+
+    @Test
+    @DisplayName("full partition scan: lookup latency")
+    void fullPartitionScan() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        SemanticKnnCache cache = new SemanticKnnCache(meterRegistry, true, 1.01, ENTRIES, 1, 600, 0.0,
+                System::nanoTime, () -> 1.0);
+        SearchResponse<JsonNode> response = SearchResponse.of(r -> r
+                .took(1).timedOut(false)
+                .shards(s -> s.total(1).successful(1).failed(0))
+                .hits(h -> h.hits(List.of()).total(t -> t.value(0).relation(TotalHitsRelation.Eq))));
+        Random random = new Random(42);
+        for (int i = 0; i < ENTRIES; i++) {
+            cache.search("p", gaussian(random), () -> response);
+        }
+        float[][] queries = new float[64][];
+        for (int i = 0; i < queries.length; i++) {
+            queries[i] = gaussian(random);
+        }
+
+        // Misses overwrite the oldest entry, so the partition stays full
+        for (int i = 0; i < WARMUP; i++) {
+            cache.search("p", queries[i % queries.length], () -> response);
+        }
+        long[] nanos = new long[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            long t0 = System.nanoTime();
+            cache.search("p", queries[i % queries.length], () -> response);
+            nanos[i] = System.nanoTime() - t0;
+        }
+
+        Arrays.sort(nanos);
+        System.out.printf("full partition (%d x %d) lookup: p50=%.3f ms p99=%.3f ms%n", ENTRIES, DIMENSION,
+                nanos[QUERIES / 2] / 1e6, nanos[(int) (QUERIES * 0.99)] / 1e6);
+        assertEquals(ENTRIES, cache.size());
+    }
+
+    private static float[] gaussian(Random random) {
+        float[] v = new float[DIMENSION];
+        for (int i = 0; i < DIMENSION; i++) {
+            v[i] = (float) random.nextGaussian();
+        }
+        return v;
+    }
+}
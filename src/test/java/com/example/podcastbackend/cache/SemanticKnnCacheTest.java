@@ -0,0 +1,155 @@
+package com.example.podcastbackend.cache;
+
+import co.elastic.clients.elasticsearch.core.SearchResponse;
+import co.elastic.clients.elasticsearch.core.search.Hit;
+import co.elastic.clients.elasticsearch.core.search.TotalHitsRelation;
+import com.fasterxml.jackson.databind.JsonNode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SemanticKnnCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private AtomicLong clock;
+    private AtomicInteger fetches;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        clock = new AtomicLong();
+        fetches = new AtomicInteger();
+    }
+
+    @Test
+    void search_nearDuplicateVector_returnsCachedResult() {
+        SemanticKnnCache cache = cache(0.97, 0.0);
+        SearchResponse<JsonNode> first = response("a", "b");
+
+        assertSame(first, cache.search("episodes-en|en", new float[]{1, 0, 0}, fetch(first)));
+        assertSame(first, cache.search("episodes-en|en", new float[]{2, 0.1f, 0}, fetch(response("c"))));
+
+        assertEquals(1, fetches.get());
+        assertEquals(1.0, meterRegistry.counter("search.knn_cache.lookups", "result", "hit").count());
+        assertEquals(1.0, meterRegistry.counter("search.knn_cache.lookups", "result", "miss").count());
+        assertTrue(meterRegistry.summary("search.knn_cache.hit_similarity").mean() > 0.99);
+    }
+
+    @Test
+    void search_belowThresholdOrOtherPartition_fetches() {
+        SemanticKnnCache cache = cache(0.97, 0.0);
+        cache.search("episodes-en|en", new float[]{1, 0, 0}, fetch(response("a")));
+
+        SearchResponse<JsonNode> distant = response("b");
+        SearchResponse<JsonNode> otherLang = response("c");
+        assertSame(distant, cache.search("episodes-en|en", new float[]{0.8f, 0.6f, 0}, fetch(distant)));
+        assertSame(otherLang, cache.search("episodes-zh-tw|zh-tw", new float[]{1, 0, 0}, fetch(otherLang)));
+
+        assertEquals(3, fetches.get());
+        assertEquals(3, cache.size());
+    }
+
+    @Test
+    void search_expiredEntry_isIgnored() {
+        SemanticKnnCache cache = cache(0.97, 0.0);
+        cache.search("p", new float[]{1, 0}, fetch(response("a")));
+        clock.addAndGet(61_000_000_000L);
+
+        SearchResponse<JsonNode> fresh = response("b");
+        assertSame(fresh, cache.search("p", new float[]{1, 0}, fetch(fresh)));
+        assertEquals(2, fetches.get());
+    }
+
+    @Test
+    void search_fullPartition_evictsOldest() {
+        SemanticKnnCache cache = cache(0.99, 0.0);
+        cache.search("p", new float[]{1, 0, 0}, fetch(response("x")));
+        cache.search("p", new float[]{0, 1, 0}, fetch(response("y")));
+        cache.search("p", new float[]{0, 0, 1}, fetch(response("z")));
+
+        cache.search("p", new float[]{1, 0, 0}, fetch(response("x")));
+
+        assertEquals(2, cache.size());
+        assertEquals(4, fetches.get());
+    }
+
+    @Test
+    void search_morePartitionsThanMax_keepsAtMostMax() {
+        SemanticKnnCache cache = new SemanticKnnCache(meterRegistry, true, 0.97, 2, 2, 60, 0.0,
+                clock::get, () -> 1.0);
+        cache.search("a", new float[]{1, 0}, fetch(response("a")));
+        cache.search("b", new float[]{1, 0}, fetch(response("b")));
+        cache.search("c", new float[]{1, 0}, fetch(response("c")));
+
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    void search_idlePartition_isDroppedAndNewOnesAreCached() {
+        SemanticKnnCache cache = new SemanticKnnCache(meterRegistry, true, 0.97, 2, 1, 60, 0.0,
+                clock::get, () -> 1.0);
+        cache.search("a", new float[]{1, 0}, fetch(response("a")));
+        clock.addAndGet(61_000_000_000L);
+
+        SearchResponse<JsonNode> b = response("b");
+        cache.search("b", new float[]{1, 0}, fetch(b));
+        assertSame(b, cache.search("b", new float[]{1, 0}, fetch(response("c"))));
+
+        assertEquals(2, fetches.get());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void search_auditedHit_recordsOverlapAndReturnsFreshResult() {
+        SemanticKnnCache cache = cache(0.97, 1.0);
+        cache.search("p", new float[]{1, 0}, fetch(response("a", "b", "c", "d")));
+
+        SearchResponse<JsonNode> fresh = response("a", "b", "e", "f");
+        assertSame(fresh, cache.search("p", new float[]{1, 0.01f}, fetch(fresh)));
+
+        assertEquals(2, fetches.get());
+        assertEquals(0.5, meterRegistry.summary("search.knn_cache.overlap").mean(), 1e-9);
+    }
+
+    @Test
+    void search_disabled_alwaysFetches() {
+        SemanticKnnCache cache = new SemanticKnnCache(meterRegistry, false, 0.97, 2, 8, 60, 0.0,
+                clock::get, () -> 1.0);
+        cache.search("p", new float[]{1, 0}, fetch(response("a")));
+        cache.search("p", new float[]{1, 0}, fetch(response("a")));
+
+        assertEquals(2, fetches.get());
+        assertEquals(0, cache.size());
+    }
+
+    private SemanticKnnCache cache(double threshold, double auditRate) {
+        return new SemanticKnnCache(meterRegistry, true, threshold, 2, 8, 60, auditRate,
+                clock::get, () -> 0.5 * auditRate);
+    }
+
+    private Supplier<SearchResponse<JsonNode>> fetch(SearchResponse<JsonNode> response) {
+        return () -> {
+            fetches.incrementAndGet();
+            return response;
+        };
+    }
+
+    private static SearchResponse<JsonNode> response(String... ids) {
+        List<Hit<JsonNode>> hits = new ArrayList<>();
+        for (String id : ids) {
+            hits.add(Hit.of(h -> h.index("episodes-en").id(id).score(1.0)));
+        }
+        return SearchResponse.of(r -> r
+                .took(1).timedOut(false)
+                .shards(s -> s.total(1).successful(1).failed(0))
+                .hits(h -> h.hits(hits).total(t -> t.value(hits.size()).relation(TotalHitsRelation.Eq))));
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.podcastbackend.cache;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.ElasticsearchException;
+import co.elastic.clients.elasticsearch._types.ErrorResponse;
+import co.elastic.clients.elasticsearch.core.CreateRequest;
+import co.elastic.clients.elasticsearch.core.GetRequest;
+import co.elastic.clients.elasticsearch.core.GetResponse;
+import co.elastic.clients.elasticsearch.core.IndexRequest;
+import com.example.podcastbackend.response.RankingsItem;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class SharedRankingsStoreTest {
+
+    private static final List<RankingsItem> ITEMS = List.of(
+            new RankingsItem(1, "show:apple:123", null, "Tech Podcast", "Tech Corp", "https://img.url/1", "en", 10, null)
+    );
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private ElasticsearchClient esClient;
+    private SimpleMeterRegistry meterRegistry;
+    private SharedRankingsStore store;
+
+    @BeforeEach
+    void setUp() {
+        esClient = mock(ElasticsearchClient.class);
+        meterRegistry = new SimpleMeterRegistry();
+        store = new SharedRankingsStore(esClient, objectMapper, meterRegistry, true, "rankings-store", 120, "pod-a");
+    }
+
+    @Test
+    void tryAcquireLease_noLease_createsIt() throws Exception {
+        when(esClient.get(any(GetRequest.class), eq(JsonNode.class))).thenReturn(notFound("lease:tw:podcast"));
+
+        assertTrue(store.tryAcquireLease("tw", "podcast"));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<CreateRequest<JsonNode>> captor = ArgumentCaptor.forClass(CreateRequest.class);
+        verify(esClient).create(captor.capture());
+        assertEquals("lease:tw:podcast", captor.getValue().id());
+        assertEquals("pod-a", captor.getValue().document().get("holder").asText());
+        assertEquals(1.0, meterRegistry.get("rankings.shared_store.lease").tag("result", "acquired").counter().count());
+    }
+
+    @Test
+    void tryAcquireLease_expiredLease_compareAndSets() throws Exception {
+        long expired = Instant.now().minusSeconds(10).toEpochMilli();
+        when(esClient.get(any(GetRequest.class), eq(JsonNode.class)))
+                .thenReturn(lease("pod-b", expired, 7L, 2L));
+
+        assertTrue(store.tryAcquireLease("tw", "podcast"));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<IndexRequest<JsonNode>> captor = ArgumentCaptor.forClass(IndexRequest.class);
+        verify(esClient).index(captor.capture());
+        assertEquals(7L, captor.getValue().ifSeqNo());
+        assertEquals(2L, captor.getValue().ifPrimaryTerm());
+        assertEquals("pod-a", captor.getValue().document().get("holder").asText());
+    }
+
+    @Test
+    void tryAcquireLease_liveLeaseOfAnotherInstance_returnsFalse() throws Exception {
+        long live = Instant.now().plusSeconds(60).toEpochMilli();
+        when(esClient.get(any(GetRequest.class), eq(JsonNode.class))).thenReturn(lease("pod-b", live, 7L, 2L));
+
+        assertFalse(store.tryAcquireLease("tw", "podcast"));
+
+        verify(esClient, never()).index(any(IndexRequest.class));
+        assertEquals(1.0, meterRegistry.get("rankings.shared_store.lease").tag("result", "held").counter().count());
+    }
+
+    @Test
+    void tryAcquireLease_ownLiveLease_renewsIt() throws Exception {
+        long live = Instant.now().plusSeconds(60).toEpochMilli();
+        when(esClient.get(any(GetRequest.class), eq(JsonNode.class))).thenReturn(lease("pod-a", live, 7L, 2L));
+
+        assertTrue(store.tryAcquireLease("tw", "podcast"));
+        verify(esClient).index(any(IndexRequest.class));
+    }
+
+    @Test
+    void tryAcquireLease_versionConflict_returnsFalse() throws Exception {
+        when(esClient.get(any(GetRequest.class), eq(JsonNode.class))).thenReturn(notFound("lease:tw:podcast"));
+        when(esClient.create(any(CreateRequest.class))).thenThrow(conflict());
+
+        assertFalse(store.tryAcquireLease("tw", "podcast"));
+    }
+
+    @Test
+    void tryAcquireLease_esUnavailable_fetchesLocally() throws Exception {
+        when(esClient.get(any(GetRequest.class), eq(JsonNode.class))).thenThrow(new IOException("connection refused"));
+
+        assertTrue(store.tryAcquireLease("tw", "podcast"));
+        assertEquals(1.0, meterRegistry.get("rankings.shared_store.unavailable").counter().count());
+    }
+
+    @Test
+    void publishThenRead_roundTripsItemsAndCachedAt() throws Exception {
+        Instant cachedAt = Instant.ofEpochMilli(1_700_000_000_000L);
+        store.publish("tw", "podcast", ITEMS, cachedAt);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<IndexRequest<JsonNode>> captor = ArgumentCaptor.forClass(IndexRequest.class);
+        verify(esClient).index(captor.capture());
+        IndexRequest<JsonNode> published = captor.getValue();
+        assertEquals("chart:tw:podcast", published.id());
+
+        GetResponse<JsonNode> stored = GetResponse.of(g -> g
+                .index("rankings-store").id("chart:tw:podcast").found(true).source(published.document()));
+        when(esClient.get(any(GetRequest.class), eq(JsonNode.class))).thenReturn(stored);
+
+        SharedRankingsStore.SharedChart chart = store.read("tw", "podcast");
+
+        assertNotNull(chart);
+        assertEquals(ITEMS, chart.items());
+        assertEquals(cachedAt, chart.cachedAt());
+    }
+
+    @Test
+    void read_missingOrFailing_returnsNull() throws Exception {
+        when(esClient.get(any(GetRequest.class), eq(JsonNode.class)))
+                .thenReturn(notFound("chart:tw:podcast"))
+                .thenThrow(new IOException("timeout"));
+
+        assertNull(store.read("tw", "podcast"));
+        assertNull(store.read("tw", "podcast"));
+    }
+
+    @Test
+    void publish_esFailure_doesNotThrow() throws Exception {
+        when(esClient.index(any(IndexRequest.class))).thenThrow(new IOException("timeout"));
+
+        assertDoesNotThrow(() -> store.publish("tw", "podcast", ITEMS, Instant.now()));
+    }
+
+    private static GetResponse<JsonNode> notFound(String id) {
+        return GetResponse.of(g -> g.index("rankings-store").id(id).found(false));
+    }
+
+    private GetResponse<JsonNode> lease(String holder, long expiresAt, long seqNo, long primaryTerm) {
+        JsonNode source = objectMapper.createObjectNode().put("holder", holder).put("expires_at", expiresAt);
+        return GetResponse.of(g -> g.index("rankings-store").id("lease:tw:podcast")
+                .found(true).source(source).seqNo(seqNo).primaryTerm(primaryTerm));
+    }
+
+    private static ElasticsearchException conflict() {
+        return new ElasticsearchException("create", ErrorResponse.of(e -> e
+                .status(409)
+                .error(c -> c.type("version_conflict_engine_exception").reason("document already exists"))));
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.podcastbackend.cache;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.query_dsl.Query;
+import co.elastic.clients.elasticsearch.core.ClearScrollRequest;
+import co.elastic.clients.elasticsearch.core.ScrollRequest;
+import co.elastic.clients.elasticsearch.core.ScrollResponse;
+import co.elastic.clients.elasticsearch.core.SearchRequest;
+import co.elastic.clients.elasticsearch.core.SearchResponse;
+import co.elastic.clients.elasticsearch.core.search.Hit;
+import co.elastic.clients.elasticsearch.core.search.TotalHitsRelation;
+import com.example.podcastbackend.response.EpisodeSearchItem;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ShowCatalogLoaderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private ElasticsearchClient esClient;
+    private SimpleMeterRegistry meterRegistry;
+    private ShowCatalogLoader loader;
+
+    @BeforeEach
+    void setUp() {
+        esClient = mock(ElasticsearchClient.class);
+        meterRegistry = new SimpleMeterRegistry();
+        loader = new ShowCatalogLoader(esClient, meterRegistry, true, "shows", 2, 360);
+    }
+
+    @Test
+    void refresh_first_scrollsWholeIndexIntoCatalog() throws Exception {
+        when(esClient.search(any(SearchRequest.class), eq(JsonNode.class)))
+                .thenReturn(searchPage("scroll-1", show("a", "zh-tw", 1000), show("b", "zh-tw", 2000)));
+        when(esClient.scroll(any(ScrollRequest.class), eq(JsonNode.class)))
+                .thenReturn(scrollPage("scroll-1", show("c", "en", 1500)));
+
+        loader.refresh();
+
+        ShowCatalog catalog = loader.current();
+        assertEquals(3, catalog.size());
+        assertEquals(2000, catalog.highWaterMark());
+        assertEquals(12, catalog.detail("show:apple:a").episodeCount());
+        assertSame(catalog.detail("show:apple:a").language(), catalog.detail("show:apple:b").language());
+        EpisodeSearchItem.ShowInfo info = catalog.showInfo("show:apple:c");
+        assertEquals("Show c", info.title());
+        assertEquals("https://podcasts.apple.com/c", info.externalUrl().applePodcastUrl());
+        verify(esClient).clearScroll(any(ClearScrollRequest.class));
+        assertEquals(3.0, meterRegistry.get("shows.catalog.size").gauge().value());
+    }
+
+    @Test
+    void refresh_afterFullLoad_mergesDocumentsSinceHighWaterMark() throws Exception {
+        when(esClient.search(any(SearchRequest.class), eq(JsonNode.class)))
+                .thenReturn(searchPage("s1", show("a", "en", 1000)))
+                .thenReturn(searchPage("s2", show("a", "ja", 3000)));
+        loader.refresh();
+        ShowCatalog first = loader.current();
+
+        loader.refresh();
+
+        ArgumentCaptor<SearchRequest> captor = ArgumentCaptor.forClass(SearchRequest.class);
+        verify(esClient, times(2)).search(captor.capture(), eq(JsonNode.class));
+        Query incremental = captor.getAllValues().get(1).query();
+        assertTrue(incremental.isRange());
+        assertEquals("updated_at", incremental.range().field());
+        assertEquals(1000L, incremental.range().gte().to(Long.class));
+
+        assertNotSame(first, loader.current());
+        assertEquals("en", first.detail("show:apple:a").language());
+        assertEquals("ja", loader.current().detail("show:apple:a").language());
+        assertEquals(3000, loader.current().highWaterMark());
+    }
+
+    @Test
+    void show_categories_cannotChangeTheCatalog() {
+        ShowCatalog catalog = new ShowCatalog.Builder(new HashMap<>())
+                .put(new ShowCatalog.Show("show:apple:1", "One", null, null, null, "en", List.of("News"), 5, null, null, 1L))
+                .build();
+
+        assertThrows(UnsupportedOperationException.class, () -> catalog.show("show:apple:1").categories().set(0, "Comedy"));
+        assertEquals(List.of("News"), catalog.detail("show:apple:1").categories());
+    }
+
+    @Test
+    void refresh_failure_keepsPreviousCatalog() throws Exception {
+        when(esClient.search(any(SearchRequest.class), eq(JsonNode.class)))
+                .thenReturn(searchPage("s1", show("a", "en", 1000)))
+                .thenThrow(new IOException("connection refused"));
+        loader.refresh();
+        ShowCatalog first = loader.current();
+
+        loader.refresh();
+
+        assertSame(first, loader.current());
+    }
+
+    @Test
+    void refresh_disabled_neverLoads() {
+        ShowCatalogLoader disabled = new ShowCatalogLoader(esClient, meterRegistry, false, "shows", 2, 360);
+
+        disabled.refresh();
+
+        assertNull(disabled.current());
+        verifyNoInteractions(esClient);
+    }
+
+    private Hit<JsonNode> show(String id, String language, long updatedAt) throws IOException {
+        JsonNode source = objectMapper.readTree("""
+                {"show_id": "show:apple:%s", "title": "Show %s", "publisher": "Pub", "language": "%s",
+                 "episode_count": 12, "categories": ["News"], "updated_at": %d,
+                 "external_urls": {"apple_podcasts": "https://podcasts.apple.com/%s"}}
+                """.formatted(id, id, language, updatedAt, id));
+        return Hit.of(h -> h.index("shows").id("show:apple:" + id).source(source));
+    }
+
+    @SafeVarargs
+    private static SearchResponse<JsonNode> searchPage(String scrollId, Hit<JsonNode>... hits) {
+        return SearchResponse.of(r -> r
+                .took(1).timedOut(false)
+                .shards(s -> s.total(1).successful(1).failed(0))
+                .hits(h -> h.hits(List.of(hits)).total(t -> t.value(hits.length).relation(TotalHitsRelation.Eq)))
+                .scrollId(scrollId));
+    }
+
+    @SafeVarargs
+    private static ScrollResponse<JsonNode> scrollPage(String scrollId, Hit<JsonNode>... hits) {
+        return ScrollResponse.of(r -> r
+                .took(1).timedOut(false)
+                .shards(s -> s.total(1).successful(1).failed(0))
+                .hits(h -> h.hits(List.of(hits)).total(t -> t.value(hits.length).relation(TotalHitsRelation.Eq)))
+                .scrollId(scrollId));
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.podcastbackend.cache;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch.core.SearchRequest;
+import co.elastic.clients.elasticsearch.core.SearchResponse;
+import co.elastic.clients.elasticsearch.core.search.Hit;
+import co.elastic.clients.elasticsearch.core.search.TotalHitsRelation;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ShowVectorIndexTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private ElasticsearchClient esClient;
+    private ShowCatalogLoader catalogLoader;
+    private ShowVectorIndex index;
+
+    @BeforeEach
+    void setUp() {
+        esClient = mock(ElasticsearchClient.class);
+        catalogLoader = mock(ShowCatalogLoader.class);
+        index = new ShowVectorIndex(esClient, catalogLoader, new SimpleMeterRegistry(),
+                true, "shows", "embedding", 100, 16, 100, 100, 2000);
+    }
+
+    @Test
+    void search_beforeBuild_returnsNull() {
+        when(catalogLoader.current()).thenReturn(catalog("a", "b"));
+
+        assertNull(index.search(new float[]{1, 0, 0}, null, 10));
+        assertFalse(index.isReady());
+    }
+
+    @Test
+    void search_ranksShowsByCosineWithCatalogSource() throws Exception {
+        ShowCatalog catalog = catalog("a", "b", "c");
+        when(catalogLoader.current()).thenReturn(catalog);
+        when(esClient.search(any(SearchRequest.class), eq(JsonNode.class))).thenReturn(page(
+                hit("a", "en", "[1, 0, 0]"),
+                hit("b", "zh-tw", "[0.8, 0.6, 0]"),
+                hit("c", "en", "[0, 0, 1]")));
+        index.rebuildIfCatalogChanged();
+
+        SearchResponse<JsonNode> all = index.search(new float[]{1, 0, 0}, null, 2);
+        SearchResponse<JsonNode> english = index.search(new float[]{1, 0, 0}, List.of("en"), 5);
+
+        assertTrue(index.isReady());
+        assertEquals(List.of("a", "b"), all.hits().hits().stream().map(Hit::id).toList());
+        assertEquals(1.0, all.hits().hits().get(0).score(), 1e-6);
+        assertEquals(0.9, all.hits().hits().get(1).score(), 1e-6);
+        assertEquals("Show a", all.hits().hits().get(0).source().get("title").asText());
+        assertEquals("https://podcasts.apple.com/a",
+                all.hits().hits().get(0).source().get("external_urls").get("apple_podcasts").asText());
+        assertEquals(List.of("a", "c"), english.hits().hits().stream().map(Hit::id).toList());
+        assertNull(index.search(new float[]{1, 0}, null, 2), "dimension mismatch falls back to ES");
+    }
+
+    @Test
+    void rebuild_skipsWhenCatalogUnchanged() throws Exception {
+        when(catalogLoader.current()).thenReturn(catalog("a"));
+        when(esClient.search(any(SearchRequest.class), eq(JsonNode.class)))
+                .thenReturn(page(hit("a", "en", "[1, 0]")));
+
+        index.rebuildIfCatalogChanged();
+        index.rebuildIfCatalogChanged();
+
+        verify(esClient, times(1)).search(any(SearchRequest.class), eq(JsonNode.class));
+    }
+
+    @Test
+    void disabled_neverBuilds() {
+        ShowVectorIndex disabled = new ShowVectorIndex(esClient, catalogLoader, new SimpleMeterRegistry(),
+                false, "shows", "embedding", 100, 16, 100, 100, 2000);
+
+        disabled.rebuildIfCatalogChanged();
+
+        assertNull(disabled.search(new float[]{1, 0}, null, 10));
+        verifyNoInteractions(esClient);
+    }
+
+    private static ShowCatalog catalog(String... ids) {
+        ShowCatalog.Builder builder = new ShowCatalog.Builder(new HashMap<>());
+        for (String id : ids) {
+            builder.put(new ShowCatalog.Show(id, "Show " + id, "Pub", null, null, "en", null, 3, null,
+                    Map.of("apple_podcasts", "https://podcasts.apple.com/" + id), 1000L));
+        }
+        return builder.build();
+    }
+
+    private Hit<JsonNode> hit(String id, String language, String embedding) throws IOException {
+        JsonNode source = objectMapper.readTree("""
+                {"show_id": "%s", "language": "%s", "embedding": %s}
+                """.formatted(id, language, embedding));
+        return Hit.of(h -> h.index("shows").id(id).source(source));
+    }
+
+    @SafeVarargs
+    private static SearchResponse<JsonNode> page(Hit<JsonNode>... hits) {
+        return SearchResponse.of(r -> r
+                .took(1).timedOut(false)
+                .shards(s -> s.total(1).successful(1).failed(0))
+                .hits(h -> h.hits(List.of(hits)).total(t -> t.value(hits.length).relation(TotalHitsRelation.Eq))));
+    }
+}
@@ -0,0 +1,165 @@
+package com.example.podcastbackend.client;
+
+import com.example.podcastbackend.response.RankingsItem;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okio.Buffer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AppleChartClientTest {
+
+    private static final String PODCAST_CHART = """
+            {
+                "feed": {
+                    "title": "Top Shows",
+                    "links": [{"self": "https://rss.applemarketingtools.com/"}],
+                    "results": [
+                        {"id": "123", "name": "Tech Podcast", "artistName": "Tech Corp", "artworkUrl100": "https://img.url/1",
+                         "genres": [{"genreId": "1318", "name": "Technology"}], "url": "https://podcasts.apple.com/1"},
+                        {"id": "456", "name": "News Daily", "artistName": null, "artworkUrl100": "https://img.url/2"}
+                    ],
+                    "updated": "2026-01-01T00:00:00Z"
+                }
+            }
+            """;
+
+    private static final String EPISODE_CHART = """
+            {
+                "feed": {
+                    "results": [
+                        {"id": "ep1", "name": "Breaking News", "collectionName": "Daily News", "collectionId": "99", "artworkUrl100": "https://img.url/1"},
+                        {"id": "ep2", "name": "Tech Review", "artistName": "Tech Show", "artworkUrl100": "https://img.url/2"}
+                    ]
+                }
+            }
+            """;
+
+    private MockWebServer mockServer;
+    private AppleChartClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        mockServer = new MockWebServer();
+        mockServer.start();
+        client = new AppleChartClient(new ObjectMapper(), mockServer.url("/api/v2/").toString());
+    }
+
+    @AfterEach
+    void tearDown() {
+        try {
+            mockServer.shutdown();
+        } catch (IOException ignored) {
+        }
+    }
+
+    @Test
+    void fetchPodcastChart_gzipBody_parsesResults() throws Exception {
+        mockServer.enqueue(new MockResponse()
+                .setHeader("Content-Type", "application/json")
+                .setHeader("Content-Encoding", "gzip")
+                .setBody(gzip(PODCAST_CHART)));
+
+        AppleChartClient.ChartFetch fetch = client.fetchPodcastChart("tw");
+
+        RecordedRequest req = mockServer.takeRequest(1, TimeUnit.SECONDS);
+        assertEquals("/api/v2/tw/podcasts/top/100/podcasts.json", req.getPath());
+        assertEquals("gzip", req.getHeader("Accept-Encoding"));
+        assertNull(req.getHeader("If-None-Match"));
+
+        assertFalse(fetch.notModified());
+        List<RankingsItem> items = fetch.items();
+        assertEquals(2, items.size());
+        assertEquals(1, items.get(0).rank());
+        assertEquals("show:apple:123", items.get(0).showId());
+        assertEquals("Tech Podcast", items.get(0).title());
+        assertEquals("Tech Corp", items.get(0).publisher());
+        assertEquals("https://img.url/1", items.get(0).imageUrl());
+        assertEquals(2, items.get(1).rank());
+        assertNull(items.get(1).publisher());
+    }
+
+    @Test
+    void fetchEpisodeChart_parsesParentShowAndCollectionPublisher() {
+        mockServer.enqueue(new MockResponse().setBody(EPISODE_CHART));
+
+        List<RankingsItem> items = client.fetchEpisodeChart("us").items();
+
+        assertEquals("episode:apple:ep1", items.get(0).showId());
+        assertEquals("show:apple:99", items.get(0).parentShowId());
+        assertEquals("Daily News", items.get(0).publisher());
+        assertNull(items.get(1).parentShowId());
+        assertEquals("Tech Show", items.get(1).publisher());
+    }
+
+    @Test
+    void fetchPodcastChart_sendsRememberedValidators_andHandles304() throws Exception {
+        mockServer.enqueue(new MockResponse()
+                .setHeader("ETag", "\"v1\"")
+                .setHeader("Last-Modified", "Wed, 01 Jan 2026 00:00:00 GMT")
+                .setBody(PODCAST_CHART));
+        mockServer.enqueue(new MockResponse().setResponseCode(304));
+
+        client.fetchPodcastChart("tw");
+        AppleChartClient.ChartFetch second = client.fetchPodcastChart("tw");
+
+        mockServer.takeRequest(1, TimeUnit.SECONDS);
+        RecordedRequest conditional = mockServer.takeRequest(1, TimeUnit.SECONDS);
+        assertEquals("\"v1\"", conditional.getHeader("If-None-Match"));
+        assertEquals("Wed, 01 Jan 2026 00:00:00 GMT", conditional.getHeader("If-Modified-Since"));
+        assertTrue(second.notModified());
+        assertNull(second.items());
+    }
+
+    @Test
+    void forgetValidators_nextFetchIsUnconditional() throws Exception {
+        mockServer.enqueue(new MockResponse().setHeader("ETag", "\"v1\"").setBody(PODCAST_CHART));
+        mockServer.enqueue(new MockResponse().setBody(PODCAST_CHART));
+
+        client.fetchPodcastChart("tw");
+        client.forgetValidators("tw", "podcast");
+        client.fetchPodcastChart("tw");
+
+        mockServer.takeRequest(1, TimeUnit.SECONDS);
+        assertNull(mockServer.takeRequest(1, TimeUnit.SECONDS).getHeader("If-None-Match"));
+    }
+
+    @Test
+    void validatorsAreTrackedPerFeed() throws Exception {
+        mockServer.enqueue(new MockResponse().setHeader("ETag", "\"tw\"").setBody(PODCAST_CHART));
+        mockServer.enqueue(new MockResponse().setBody(PODCAST_CHART));
+
+        client.fetchPodcastChart("tw");
+        client.fetchPodcastChart("us");
+
+        mockServer.takeRequest(1, TimeUnit.SECONDS);
+        assertNull(mockServer.takeRequest(1, TimeUnit.SECONDS).getHeader("If-None-Match"));
+    }
+
+    @Test
+    void fetchPodcastChart_serverError_throws() {
+        mockServer.enqueue(new MockResponse().setResponseCode(503).setBody("unavailable"));
+
+        assertThrows(RuntimeException.class, () -> client.fetchPodcastChart("tw"));
+    }
+
+    private static Buffer gzip(String body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gz = new GZIPOutputStream(out)) {
+            gz.write(body.getBytes(StandardCharsets.UTF_8));
+        }
+        return new Buffer().write(out.toByteArray());
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.podcastbackend.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Platform vs virtual threads for the hybrid search request shape: an
+ * embedding call overlapped with a BM25 ES call on the fan-out executor,
+ * followed by the kNN ES call. Latencies are simulated with sleeps, so the
+ * result isolates the execution model from ES/embedding capacity. Each mode
+ * gets one warm-up round so JIT and carrier-thread start-up are not measured.
+ *
+ * Run with {@code ./mvnw test -Pbenchmark -Dtest=VirtualThreadLoadBenchmark}.
+ */
+@Tag("benchmark")
+class VirtualThreadLoadBenchmark {
+
+    private static final int CONCURRENT_REQUESTS = 5_000;
+    private static final int TOMCAT_DEFAULT_MAX_THREADS = 200;
+    private static final long EMBEDDING_MS = 15;
+    private static final long ES_CALL_MS = 10;
+
+    @Test
+    @DisplayName("hybrid request shape: platform pool vs virtual threads")
+    void compareExecutionModels() throws Exception {
+        AsyncConfig config = new AsyncConfig();
+
+        Result platform;
+        Executor platformFanOut = config.searchFanOutExecutor(false, 64);
+        try (ExecutorService requests = Executors.newFixedThreadPool(TOMCAT_DEFAULT_MAX_THREADS)) {
+            run("platform", requests, platformFanOut); // warm-up
+            platform = run("platform", requests, platformFanOut);
+        }
+
+        Result virtual;
+        Executor virtualFanOut = config.searchFanOutExecutor(true, 64);
+        try (ExecutorService requests = Executors.newVirtualThreadPerTaskExecutor()) {
+            run("virtual", requests, virtualFanOut); // warm-up
+            virtual = run("virtual", requests, virtualFanOut);
+        }
+
+        System.out.println(platform);
+        System.out.println(virtual);
+        assertTrue(virtual.throughput() > 0 && platform.throughput() > 0);
+    }
+
+    private Result run(String name, ExecutorService requests, Executor fanOut) throws Exception {
+        long[] latencies = new long[CONCURRENT_REQUESTS];
+        CountDownLatch done = new CountDownLatch(CONCURRENT_REQUESTS);
+        long start = System.nanoTime();
+        for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+            int n = i;
+            long t0 = System.nanoTime(); // includes time queued for a request thread
+            requests.submit(() -> {
+                CompletableFuture<Void> bm25 = CompletableFuture.runAsync(() -> sleep(ES_CALL_MS), fanOut);
+                sleep(EMBEDDING_MS);
+                sleep(ES_CALL_MS);
+                bm25.join();
+                latencies[n] = System.nanoTime() - t0;
+                done.countDown();
+            });
+        }
+        assertTrue(done.await(5, TimeUnit.MINUTES));
+        long elapsedNanos = System.nanoTime() - start;
+        Arrays.sort(latencies);
+        return new Result(name,
+                CONCURRENT_REQUESTS / (elapsedNanos / 1e9),
+                latencies[latencies.length / 2] / 1e6,
+                latencies[(int) (latencies.length * 0.99)] / 1e6);
+    }
+
+    private record Result(String model, double throughput, double p50Ms, double p99Ms) {
+        @Override
+        public String toString() {
+            return String.format("%-8s requests=%d throughput=%.0f req/s p50=%.1f ms p99=%.1f ms",
+                    model, CONCURRENT_REQUESTS, throughput, p50Ms, p99Ms);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
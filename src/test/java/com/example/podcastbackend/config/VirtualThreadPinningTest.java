@@ -0,0 +1,95 @@
+package com.example.podcastbackend.config;
+
+import com.example.podcastbackend.cache.RankingsCache;
+import com.example.podcastbackend.embedding.CachedEmbeddingService;
+import com.example.podcastbackend.embedding.EmbeddingProfile;
+import com.example.podcastbackend.embedding.EmbeddingProvider;
+import com.example.podcastbackend.embedding.QueryNormalizer;
+import com.example.podcastbackend.log.LogSpool;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs our shared-state code paths on virtual threads while recording
+ * {@code jdk.VirtualThreadPinned} JFR events. A pinned carrier (blocking while
+ * holding a monitor) would cap request concurrency in virtual-thread mode.
+ */
+class VirtualThreadPinningTest {
+
+    private static final Object MONITOR = new Object();
+
+    @TempDir
+    Path spoolDir;
+
+    @Test
+    @DisplayName("caches, embedding service and log spool do not pin carrier threads")
+    void sharedStatePaths_doNotPinCarrierThreads() throws Exception {
+        EmbeddingProvider slowProvider = (text, profile) -> {
+            sleep(5);
+            return new float[]{0.1f, 0.2f};
+        };
+        CachedEmbeddingService embeddingService = new CachedEmbeddingService(
+                slowProvider, new QueryNormalizer(false), CircuitBreakerRegistry.ofDefaults(),
+                new SimpleMeterRegistry(), 30, 1000);
+        RankingsCache rankingsCache = new RankingsCache(3600);
+        LogSpool spool = new LogSpool(true, spoolDir.toString(), 4096, 1 << 20, new SimpleMeterRegistry());
+
+        // Control: a monitor held across a blocking call must be detected
+        List<RecordedEvent> control = recordPinnedEvents(() -> {
+            synchronized (MONITOR) {
+                sleep(30);
+            }
+        }, 1);
+        assertFalse(control.isEmpty(), "JFR did not report a deliberately pinned section");
+
+        List<RecordedEvent> pinned = recordPinnedEvents(() -> {
+            embeddingService.embed("query " + Thread.currentThread().threadId() % 20, EmbeddingProfile.ZH);
+            rankingsCache.put("tw", "podcast", List.of());
+            rankingsCache.getStale("tw", "podcast");
+            spool.append("query-logs", "{\"q\":\"x\"}");
+        }, 200);
+
+        assertTrue(pinned.isEmpty(), () -> "pinned virtual threads: " + pinned);
+    }
+
+    private List<RecordedEvent> recordPinnedEvents(Runnable task, int tasks) throws Exception {
+        List<RecordedEvent> events = new CopyOnWriteArrayList<>();
+        try (RecordingStream stream = new RecordingStream()) {
+            stream.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ofMillis(1)).withStackTrace();
+            stream.onEvent("jdk.VirtualThreadPinned", events::add);
+            stream.startAsync();
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int i = 0; i < tasks; i++) {
+                    executor.submit(task);
+                }
+                executor.shutdown();
+                assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+            }
+            stream.stop();
+        }
+        return events;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
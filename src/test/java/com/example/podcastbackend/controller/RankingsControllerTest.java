@@ -1,5 +1,7 @@
 package com.example.podcastbackend.controller;
 
+import com.example.podcastbackend.cache.RankingsPayloadCache;
+import com.example.podcastbackend.response.RankingsItem;
 import com.example.podcastbackend.response.RankingsResponse;
 import com.example.podcastbackend.response.RankingsResponseData;
 import com.example.podcastbackend.service.RankingsService;
@@ -9,15 +11,22 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import tools.jackson.databind.json.JsonMapper;
 
 import java.time.Instant;
 import java.util.List;
 
+import static org.hamcrest.Matchers.hasItem;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.mockito.Mockito.never;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -28,6 +37,9 @@ class RankingsControllerTest {
     @Autowired
     private MockMvc mockMvc;
 
+    @Autowired
+    private JsonMapper jsonMapper;
+
     @MockitoBean
     private RankingsService rankingsService;
 
@@ -63,6 +75,86 @@ class RankingsControllerTest {
                 && request.getLimit() == 10));
     }
 
+    @Test
+    void getRankings_preparedPayload_servedWithEtagAndCacheControl() throws Exception {
+        RankingsPayloadCache.Payload payload = preparedPayload();
+        when(rankingsService.getRankingsPayload(any())).thenReturn(payload);
+
+        mockMvc.perform(get("/api/rankings").param("region", "tw").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", payload.etag()))
+                .andExpect(header().stringValues("Vary", hasItem("Accept-Encoding")))
+                .andExpect(header().string("Cache-Control", "max-age=300, public"))
+                .andExpect(content().bytes(payload.json()));
+
+        verify(rankingsService, never()).getRankings(any());
+    }
+
+    @Test
+    void getRankings_acceptsGzip_servesCompressedPayload() throws Exception {
+        RankingsPayloadCache.Payload payload = preparedPayload();
+        when(rankingsService.getRankingsPayload(any())).thenReturn(payload);
+
+        mockMvc.perform(get("/api/rankings").header("Accept-Encoding", "br, gzip"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andExpect(header().string("ETag", payload.gzipEtag()))
+                .andExpect(header().stringValues("Vary", hasItem("Accept-Encoding")))
+                .andExpect(content().bytes(payload.gzip()));
+    }
+
+    @Test
+    void getRankings_etagOfOtherEncoding_isNotAMatch() throws Exception {
+        RankingsPayloadCache.Payload payload = preparedPayload();
+        when(rankingsService.getRankingsPayload(any())).thenReturn(payload);
+        assertNotEquals(payload.etag(), payload.gzipEtag());
+
+        mockMvc.perform(get("/api/rankings").header("Accept-Encoding", "gzip")
+                        .header("If-None-Match", payload.etag()))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", payload.gzipEtag()));
+        mockMvc.perform(get("/api/rankings").header("Accept-Encoding", "gzip")
+                        .header("If-None-Match", payload.gzipEtag()))
+                .andExpect(status().isNotModified())
+                .andExpect(header().stringValues("Vary", hasItem("Accept-Encoding")));
+    }
+
+    @Test
+    void getRankings_preparedPayload_isByteIdenticalToLiveResponse() throws Exception {
+        RankingsPayloadCache.Payload payload = preparedPayload();
+        when(rankingsService.getRankings(any())).thenReturn(RankingsResponse.ok(
+                new RankingsResponseData("tw", "podcast", items(), payload.updatedAt())));
+
+        byte[] live = mockMvc.perform(get("/api/rankings").param("region", "tw").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertArrayEquals(live, payload.json());
+    }
+
+    @Test
+    void getRankings_matchingIfNoneMatch_returns304() throws Exception {
+        RankingsPayloadCache.Payload payload = preparedPayload();
+        when(rankingsService.getRankingsPayload(any())).thenReturn(payload);
+
+        mockMvc.perform(get("/api/rankings").header("If-None-Match", "\"stale\", " + payload.etag()))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", payload.etag()))
+                .andExpect(content().bytes(new byte[0]));
+    }
+
+    private RankingsPayloadCache.Payload preparedPayload() {
+        RankingsPayloadCache payloadCache = new RankingsPayloadCache(jsonMapper, List.of(2));
+        payloadCache.prepare("tw", "podcast", items(), Instant.now());
+        return payloadCache.get("tw", "podcast", 2);
+    }
+
+    private static List<RankingsItem> items() {
+        return List.of(
+                new RankingsItem(1, "show:apple:1", null, "Podcast 1", "Artist", "url", null, null, null),
+                new RankingsItem(2, "show:apple:2", null, "Podcast 2", "Artist", "url", null, null, null));
+    }
+
     private RankingsResponse okResponse(String region, String type) {
         return RankingsResponse.ok(new RankingsResponseData(region, type, List.of(), Instant.now()));
     }
@@ -1,11 +1,15 @@
 package com.example.podcastbackend.controller;
 
+import com.example.podcastbackend.cache.MaterializedEpisodeResults;
 import com.example.podcastbackend.exception.SearchParseException;
 import com.example.podcastbackend.exception.SearchServiceException;
+import com.example.podcastbackend.response.EpisodeBatchSearchResponse;
+import com.example.podcastbackend.response.EpisodeSearchItem;
 import com.example.podcastbackend.response.EpisodeSearchResponse;
 import com.example.podcastbackend.response.EpisodeSearchResponseData;
 import com.example.podcastbackend.response.ShowSearchResponse;
 import com.example.podcastbackend.response.ShowSearchResponseData;
+import com.example.podcastbackend.response.UnifiedSearchResponse;
 import com.example.podcastbackend.service.SearchService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -16,10 +20,14 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import tools.jackson.databind.json.JsonMapper;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.Map;
 
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -43,6 +51,35 @@ class SearchControllerIntegrationTest {
     @DisplayName("Request Parameter Validation")
     class ValidationTests {
 
+        @Test
+        @DisplayName("Empty batch should return 400 + INVALID_PARAMETER")
+        void episodeBatch_empty_returns400() throws Exception {
+            mockMvc.perform(post("/api/search/episodes/_batch")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("""
+                                {"requests": []}
+                                """))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.error.code").value("INVALID_PARAMETER"));
+        }
+
+        @Test
+        @DisplayName("Invalid batch item should reach the service instead of failing the batch")
+        void episodeBatch_invalidItem_notRejectedUpFront() throws Exception {
+            when(searchService.searchEpisodesBatch(any())).thenReturn(EpisodeBatchSearchResponse.of(List.of(
+                    EpisodeSearchResponse.ok(new EpisodeSearchResponseData(1, 20, 0, List.of())),
+                    EpisodeSearchResponse.error("INVALID_PARAMETER", "Size must not exceed 50")), "batch-1"));
+
+            mockMvc.perform(post("/api/search/episodes/_batch")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("""
+                                {"requests": [{"q": "test"}, {"q": "test", "size": 51}]}
+                                """))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.status").value("partial_success"))
+                    .andExpect(jsonPath("$.results[1].error.code").value("INVALID_PARAMETER"));
+        }
+
         @Test
         @DisplayName("size exceeds limit 50 should return 400 + INVALID_PARAMETER")
         void episodeSearch_sizeExceedsLimit_returns400() throws Exception {
@@ -181,6 +218,41 @@ class SearchControllerIntegrationTest {
                     .andExpect(status().isBadRequest())
                     .andExpect(jsonPath("$.error.code").value("INVALID_PARAMETER"));
         }
+
+        // Unified Search Validation
+
+        @Test
+        @DisplayName("Unified search: episodesSize exceeds limit should return 400")
+        void unifiedSearch_episodesSizeExceedsLimit_returns400() throws Exception {
+            mockMvc.perform(post("/api/search")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("""
+                                {"q": "test", "showsSize": 5, "episodesSize": 51}
+                                """))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.error.code").value("INVALID_PARAMETER"))
+                    .andExpect(jsonPath("$.error.message", containsString("Episodes size must not exceed 50")));
+        }
+
+        @Test
+        @DisplayName("Unified search: valid parameters return both sections")
+        void unifiedSearch_validParams_returnsBothSections() throws Exception {
+            when(searchService.searchAll(any())).thenReturn(UnifiedSearchResponse.of(
+                    ShowSearchResponse.ok(new ShowSearchResponseData(1, 3, 0, List.of())),
+                    EpisodeSearchResponse.ok(new EpisodeSearchResponseData(1, 10, 0, List.of())),
+                    "req-1"));
+
+            mockMvc.perform(post("/api/search")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("""
+                                {"q": "podcast", "showsSize": 3, "episodesSize": 10, "mode": "hybrid"}
+                                """))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.status").value("ok"))
+                    .andExpect(jsonPath("$.shows.size").value(3))
+                    .andExpect(jsonPath("$.episodes.size").value(10))
+                    .andExpect(jsonPath("$.searchRequestId").value("req-1"));
+        }
     }
 
     // =====================================================
@@ -338,4 +410,43 @@ class SearchControllerIntegrationTest {
                     .andExpect(jsonPath("$.status").value("ok"));
         }
     }
+
+    @Nested
+    @DisplayName("Materialized Responses")
+    class MaterializedTests {
+
+        @Autowired
+        private JsonMapper jsonMapper;
+
+        @Test
+        @DisplayName("A materialized body is byte-identical to the live response it replaces")
+        void episodeSearch_materializedBody_matchesLiveResponse() throws Exception {
+            var item = new EpisodeSearchItem("ep-1", "科技島讀 #1", null, Map.of("title", List.of("<em>科技</em>")),
+                    "2026-09-30T08:00:00Z", 1800, "zh-tw", new EpisodeSearchItem.Audio("https://a/1.mp3", "audio/mpeg", null),
+                    new EpisodeSearchItem.ShowInfo("show-1", "科技島讀", null, null, null));
+            var response = EpisodeSearchResponse.ok(new EpisodeSearchResponseData(1, 20, 1, List.of(item)));
+            String request = """
+                    {"q": "科技", "lang": "zh-tw", "mode": "auto"}
+                    """;
+
+            when(searchService.searchEpisodes(any())).thenReturn(new EpisodeSearchResponse(
+                    response.status(), response.data(), response.warning(), response.error(), "req-1"));
+            byte[] live = mockMvc.perform(post("/api/search/episodes")
+                            .contentType(MediaType.APPLICATION_JSON).content(request))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsByteArray();
+
+            byte[] materialized = MaterializedEpisodeResults.Entry.of(jsonMapper, response, "episodes-zh-tw",
+                    "episodes-zh-tw-v1", Instant.now()).body("req-1");
+            when(searchService.materializedEpisodes(any())).thenReturn(materialized);
+            byte[] served = mockMvc.perform(post("/api/search/episodes")
+                            .contentType(MediaType.APPLICATION_JSON).content(request))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                    .andReturn().getResponse().getContentAsByteArray();
+
+            assertArrayEquals(live, materialized);
+            assertArrayEquals(materialized, served);
+        }
+    }
 }
@@ -1,22 +1,35 @@
 package com.example.podcastbackend.controller;
 
+import com.example.podcastbackend.exception.InvalidSearchParamException;
 import com.example.podcastbackend.exception.SearchServiceException;
+import com.example.podcastbackend.request.EpisodeBatchSearchRequest;
 import com.example.podcastbackend.request.ShowSearchRequest;
 import com.example.podcastbackend.request.EpisodeSearchRequest;
 import com.example.podcastbackend.response.*;
 import com.example.podcastbackend.service.SearchService;
+import com.example.podcastbackend.suggest.SuggestService;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import io.github.resilience4j.ratelimiter.RequestNotPermitted;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 
+import java.time.Duration;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -25,11 +38,19 @@ class SearchControllerTest {
     @Mock
     private SearchService searchService;
 
+    @Mock
+    private SuggestService suggestService;
+
     private SearchController controller;
 
     @BeforeEach
     void setUp() {
-        controller = new SearchController(searchService);
+        RateLimiterRegistry rateLimiters = RateLimiterRegistry.of(RateLimiterConfig.custom()
+                .limitForPeriod(5)
+                .limitRefreshPeriod(Duration.ofHours(1))
+                .timeoutDuration(Duration.ZERO)
+                .build());
+        controller = new SearchController(searchService, suggestService, rateLimiters, 4);
     }
 
     // =====================
@@ -110,7 +131,7 @@ class SearchControllerTest {
 
         EpisodeSearchRequest request = mock(EpisodeSearchRequest.class);
 
-        EpisodeSearchResponse response = controller.searchEpisodes(request);
+        EpisodeSearchResponse response = (EpisodeSearchResponse) controller.searchEpisodes(request).getBody();
 
         assertEquals("ok", response.status());
         assertNotNull(response.data());
@@ -120,6 +141,18 @@ class SearchControllerTest {
         assertEquals("show_456", resultItem.podcast().showId());
     }
 
+    @Test
+    void searchEpisodes_materializedHit_returnsStoredJsonWithoutSearching() {
+        byte[] body = "{\"status\":\"ok\"}".getBytes();
+        when(searchService.materializedEpisodes(any())).thenReturn(body);
+
+        ResponseEntity<?> response = controller.searchEpisodes(mock(EpisodeSearchRequest.class));
+
+        assertSame(body, response.getBody());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        verify(searchService, never()).searchEpisodes(any());
+    }
+
     @Test
     void searchEpisodes_returnsPartialSuccessWithWarning() {
         EpisodeSearchResponseData data = new EpisodeSearchResponseData(1, 10, 0, List.of());
@@ -128,13 +161,28 @@ class SearchControllerTest {
 
         EpisodeSearchRequest request = mock(EpisodeSearchRequest.class);
 
-        EpisodeSearchResponse response = controller.searchEpisodes(request);
+        EpisodeSearchResponse response = (EpisodeSearchResponse) controller.searchEpisodes(request).getBody();
 
         assertEquals("partial_success", response.status());
         assertEquals("Highlight service unavailable", response.warning());
         assertNull(response.error());
     }
 
+    // =====================
+    // Suggest API Tests
+    // =====================
+
+    @Test
+    void suggest_wrapsSuggestionsInOkResponse() {
+        List<SuggestItem> items = List.of(new SuggestItem("科技新聞", "show", "show:apple:1"));
+        when(suggestService.suggest("科技", 5)).thenReturn(items);
+
+        SuggestResponse response = controller.suggest("科技", 5);
+
+        assertEquals("ok", response.status());
+        assertEquals(items, response.data());
+    }
+
     // =====================
     // Error Handling Tests
     // =====================
@@ -158,4 +206,32 @@ class SearchControllerTest {
 
         assertThrows(SearchServiceException.class, () -> controller.searchEpisodes(request));
     }
+
+    // =====================
+    // Batch API Tests
+    // =====================
+
+    @Test
+    void searchEpisodesBatch_chargesOnePermitPerItem() {
+        EpisodeBatchSearchRequest three = batchOf(3);
+        when(searchService.searchEpisodesBatch(any()))
+                .thenReturn(EpisodeBatchSearchResponse.of(List.of(), "batch-1"));
+
+        assertEquals("batch-1", controller.searchEpisodesBatch(three).searchRequestId());
+        // 2 of 5 permits left for this period
+        assertThrows(RequestNotPermitted.class, () -> controller.searchEpisodesBatch(three));
+        assertEquals("batch-1", controller.searchEpisodesBatch(batchOf(2)).searchRequestId());
+    }
+
+    @Test
+    void searchEpisodesBatch_oversizedBatch_rejectedWithoutPermits() {
+        assertThrows(InvalidSearchParamException.class, () -> controller.searchEpisodesBatch(batchOf(5)));
+        verifyNoInteractions(searchService);
+    }
+
+    private static EpisodeBatchSearchRequest batchOf(int items) {
+        EpisodeBatchSearchRequest request = mock(EpisodeBatchSearchRequest.class);
+        when(request.getRequests()).thenReturn(Collections.nCopies(items, new EpisodeSearchRequest()));
+        return request;
+    }
 }
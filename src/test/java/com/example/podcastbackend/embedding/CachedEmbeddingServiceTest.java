@@ -8,6 +8,12 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -19,11 +25,13 @@ class CachedEmbeddingServiceTest {
     private EmbeddingProvider provider;
     private CachedEmbeddingService service;
     private CircuitBreaker circuitBreaker;
+    private SimpleMeterRegistry meterRegistry;
 
     @BeforeEach
     void setUp() {
         provider = mock(EmbeddingProvider.class);
-        QueryNormalizer normalizer = new QueryNormalizer();
+        when(provider.modelFor(any())).thenReturn("multilingual-minilm");
+        QueryNormalizer normalizer = new QueryNormalizer(false);
 
         CircuitBreakerConfig config = CircuitBreakerConfig.custom()
                 .slidingWindowSize(4)
@@ -33,7 +41,8 @@ class CachedEmbeddingServiceTest {
         CircuitBreakerRegistry registry = CircuitBreakerRegistry.of(config);
         circuitBreaker = registry.circuitBreaker("embeddingApi");
 
-        service = new CachedEmbeddingService(provider, normalizer, registry, new SimpleMeterRegistry(), 30, 1000);
+        meterRegistry = new SimpleMeterRegistry();
+        service = new CachedEmbeddingService(provider, normalizer, registry, meterRegistry, 30, 1000);
     }
 
     @Test
@@ -59,7 +68,48 @@ class CachedEmbeddingServiceTest {
     }
 
     @Test
-    void embed_differentProfiles_cachedSeparately() {
+    void embed_providerReturnsNull_isNotCached() {
+        service.embed("AI", EmbeddingProfile.ZH);
+        service.embed("AI", EmbeddingProfile.ZH);
+
+        verify(provider, times(2)).embed("ai", EmbeddingProfile.ZH);
+    }
+
+    @Test
+    void embedAll_servesHitsFromCacheAndFetchesDistinctMissesInOneCall() {
+        float[] cached = new float[]{0.1f};
+        float[] history = new float[]{0.2f};
+        float[] science = new float[]{0.3f};
+        when(provider.embed("ai", EmbeddingProfile.EN)).thenReturn(cached);
+        when(provider.embedAll(List.of("history", "science"), EmbeddingProfile.EN)).thenReturn(List.of(history, science));
+        service.embed("AI", EmbeddingProfile.EN);
+
+        List<float[]> result = service.embedAll(List.of("History", "ai", "history?", "science"), EmbeddingProfile.EN);
+
+        assertSame(history, result.get(0));
+        assertSame(cached, result.get(1));
+        assertSame(history, result.get(2));
+        assertSame(science, result.get(3));
+        verify(provider, times(1)).embedAll(any(), any());
+        assertSame(science, service.embed("science", EmbeddingProfile.EN));
+        verify(provider, times(1)).embed(any(), any());
+    }
+
+    @Test
+    void embed_fullWidthAndPunctuationVariants_shareOneCacheEntry() {
+        when(provider.embed("ai podcast", EmbeddingProfile.EN)).thenReturn(new float[]{0.1f});
+
+        service.embed("AI podcast", EmbeddingProfile.EN);
+        service.embed("ＡＩ　Ｐｏｄｃａｓｔ", EmbeddingProfile.EN);
+        service.embed(" ai podcast?! ", EmbeddingProfile.EN);
+
+        verify(provider, times(1)).embed(any(), any());
+    }
+
+    @Test
+    void embed_profilesWithDifferentModels_cachedSeparately() {
+        when(provider.modelFor(EmbeddingProfile.ZH)).thenReturn("model-zh");
+        when(provider.modelFor(EmbeddingProfile.EN)).thenReturn("model-en");
         float[] zhVector = new float[]{0.1f};
         float[] enVector = new float[]{0.9f};
         when(provider.embed("test", EmbeddingProfile.ZH)).thenReturn(zhVector);
@@ -74,6 +124,72 @@ class CachedEmbeddingServiceTest {
         verify(provider, times(1)).embed("test", EmbeddingProfile.EN);
     }
 
+    @Test
+    void embed_profilesSharingModel_reuseOneEntry() {
+        float[] vector = new float[]{0.5f};
+        when(provider.embed("podcast 科技", EmbeddingProfile.ZH)).thenReturn(vector);
+
+        float[] zh = service.embed("podcast 科技", EmbeddingProfile.ZH);
+        float[] en = service.embed("Podcast 科技", EmbeddingProfile.EN);
+
+        assertSame(zh, en);
+        verify(provider, times(1)).embed(any(), any());
+        assertEquals(1.0, meterRegistry.counter("embedding.cache.cross_profile_hits").count());
+    }
+
+    @Test
+    void embed_profilesSharingModel_mixedScriptQueryNormalizesTheSameForBoth() {
+        CachedEmbeddingService folding = new CachedEmbeddingService(provider, new QueryNormalizer(true),
+                CircuitBreakerRegistry.ofDefaults(), meterRegistry, 30, 1000);
+        float[] vector = new float[]{0.5f};
+        when(provider.embed("podcast 财经", EmbeddingProfile.EN)).thenReturn(vector);
+
+        float[] en = folding.embed("Podcast 財經", EmbeddingProfile.EN);
+        float[] zh = folding.embed("Podcast 財經", EmbeddingProfile.ZH);
+
+        assertNotNull(en);
+        assertSame(en, zh);
+        verify(provider, times(1)).embed("podcast 财经", EmbeddingProfile.EN);
+        verify(provider, times(1)).embed(any(), any());
+    }
+
+    @Test
+    void embedAllAndEmbed_buildTheSameKeys() {
+        float[] vector = new float[]{0.7f};
+        when(provider.embedAll(List.of("ai 人工智慧"), EmbeddingProfile.ZH)).thenReturn(List.of(vector));
+
+        service.embedAll(List.of("AI 人工智慧"), EmbeddingProfile.ZH);
+
+        assertSame(vector, service.embed("ＡＩ　人工智慧", EmbeddingProfile.ZH));
+        assertSame(vector, service.embed("ai 人工智慧?", EmbeddingProfile.EN));
+        verify(provider, never()).embed(any(), any());
+    }
+
+    @Test
+    void embed_concurrentMisses_shareOneProviderCall() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(provider.embed(any(), any())).thenAnswer(invocation -> {
+            release.await();
+            return new float[]{0.3f};
+        });
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(4)) {
+            List<Future<float[]>> futures = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                futures.add(executor.submit(() -> service.embed("ai", EmbeddingProfile.EN)));
+            }
+            while (meterRegistry.counter("embedding.inflight.coalesced").count() < 3) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+            for (Future<float[]> future : futures) {
+                assertArrayEquals(new float[]{0.3f}, future.get());
+            }
+        }
+
+        verify(provider, times(1)).embed(any(), any());
+    }
+
     @Test
     void embed_circuitBreakerOpen_throwsEmbeddingUnavailableException() {
         when(provider.embed(any(), any())).thenThrow(new EmbeddingUnavailableException("down"));
@@ -9,6 +9,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -85,6 +86,22 @@ class ExternalEmbeddingProviderTest {
         assertTrue(body.contains("\"" + MODEL_EN + "\""), "Request must include en model name");
     }
 
+    @Test
+    void embedAll_sendsInputArrayAndOrdersVectorsByIndex() throws Exception {
+        mockServer.enqueue(new MockResponse()
+                .setBody("{\"object\":\"list\",\"data\":["
+                        + "{\"object\":\"embedding\",\"index\":1,\"embedding\":[2.0]},"
+                        + "{\"object\":\"embedding\",\"index\":0,\"embedding\":[1.0]}],\"model\":\"" + MODEL_EN + "\"}")
+                .setHeader("Content-Type", "application/json"));
+
+        List<float[]> result = provider.embedAll(List.of("history", "science"), EmbeddingProfile.EN);
+
+        String body = mockServer.takeRequest(1, TimeUnit.SECONDS).getBody().readUtf8();
+        assertTrue(body.contains("\"input\":[\"history\",\"science\"]"), "Batch must send an input array");
+        assertEquals(1.0f, result.get(0)[0], 0.001f);
+        assertEquals(2.0f, result.get(1)[0], 0.001f);
+    }
+
     @Test
     void embed_sendsAuthorizationHeader() throws Exception {
         mockServer.enqueue(new MockResponse()
@@ -177,4 +194,10 @@ class ExternalEmbeddingProviderTest {
                 null, "key", MODEL_ZH, MODEL_EN, 2000, objectMapper);
         assertFalse(disabled.isAvailable());
     }
+
+    @Test
+    void modelFor_resolvesConfiguredModelPerProfile() {
+        assertEquals(MODEL_ZH, provider.modelFor(EmbeddingProfile.ZH));
+        assertEquals(MODEL_EN, provider.modelFor(EmbeddingProfile.EN));
+    }
 }
@@ -0,0 +1,174 @@
+package com.example.podcastbackend.embedding;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Embedding cache hit rate on a replayed query log, with the previous
+ * normalizer (trim, collapse whitespace, lower-case EN) against the current
+ * one with and without Traditional → Simplified folding, plus the cost of
+ * one normalize call.
+ *
+ * The replay goes through an LRU of the default cache size (1,000 keys). By
+ * default the log is synthetic: 200,000 queries drawn Zipf-like from 5,000
+ * base queries, each occurrence rewritten with the variants seen in
+ * production logs (full-width forms, trailing punctuation, extra spaces,
+ * Traditional vs Simplified). Pass a real log — one query per line, e.g.
+ * the {@code query} field exported from {@code query-logs} — with
+ * {@code -Dbenchmark.query.log=/path/to/queries.txt}.
+ *
+ * Run with {@code ./mvnw test -Pbenchmark -Dtest=QueryNormalizerBenchmark}.
+ */
+@Tag("benchmark")
+class QueryNormalizerBenchmark {
+
+    private static final int BASE_QUERIES = 5_000;
+    private static final int REPLAYED = 200_000;
+    private static final int CACHE_SIZE = 1_000;
+    private static final String[] EN_WORDS = {"ai", "podcast", "history", "news", "tech", "crime", "money",
+            "health", "science", "daily", "startup", "movies"};
+    private static final String[] ZH_WORDS = {"人工智慧", "財經", "歷史", "新聞", "電影", "學習", "英語", "音樂",
+            "故事", "投資", "職場", "親子"};
+
+    @Test
+    @DisplayName("query normalizer: embedding cache hit rate on replayed queries")
+    void cacheHitRate() throws Exception {
+        List<String> log = replayLog();
+        QueryNormalizer current = new QueryNormalizer(false);
+        QueryNormalizer folding = new QueryNormalizer(true);
+
+        double before = hitRate(log, q -> legacy(q, profile(q)));
+        double after = hitRate(log, q -> current.normalize(q, profile(q)));
+        double afterFolding = hitRate(log, q -> folding.normalize(q, profile(q)));
+        double nanos = nanosPerCall(log, folding);
+
+        System.out.printf("queries=%d cache=%d hit_rate before=%.1f%% after=%.1f%% after_t2s=%.1f%%%n",
+                log.size(), CACHE_SIZE, 100 * before, 100 * after, 100 * afterFolding);
+        System.out.printf("normalize: %.0f ns/call%n", nanos);
+        assertTrue(after >= before);
+    }
+
+    /** The normalizer this class replaced. */
+    private static String legacy(String query, EmbeddingProfile profile) {
+        String q = query.trim().replaceAll("\\s+", " ");
+        if (profile == EmbeddingProfile.EN) {
+            q = q.toLowerCase();
+        }
+        return q;
+    }
+
+    private static EmbeddingProfile profile(String query) {
+        return query.codePoints().anyMatch(cp -> Character.UnicodeScript.of(cp) == Character.UnicodeScript.HAN)
+                ? EmbeddingProfile.ZH
+                : EmbeddingProfile.EN;
+    }
+
+    private static double hitRate(List<String> log, Function<String, String> key) {
+        Map<String, Boolean> lru = new LinkedHashMap<>(CACHE_SIZE * 2, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > CACHE_SIZE;
+            }
+        };
+        long hits = 0;
+        for (String query : log) {
+            if (lru.put(key.apply(query), Boolean.TRUE) != null) {
+                hits++;
+            }
+        }
+        return (double) hits / log.size();
+    }
+
+    private static double nanosPerCall(List<String> log, QueryNormalizer normalizer) {
+        long sink = 0;
+        for (int round = 0; round < 3; round++) {
+            for (String query : log) {
+                sink += normalizer.normalize(query, EmbeddingProfile.ZH).length();
+            }
+        }
+        long start = System.nanoTime();
+        for (String query : log) {
+            sink += normalizer.normalize(query, EmbeddingProfile.ZH).length();
+        }
+        double nanos = (double) (System.nanoTime() - start) / log.size();
+        assertTrue(sink > 0);
+        return nanos;
+    }
+
+    private static List<String> replayLog() throws Exception {
+        String path = System.getProperty("benchmark.query.log");
+        if (path != null) {
+            return Files.readAllLines(Path.of(path), StandardCharsets.UTF_8).stream()
+                    .filter(line -> !line.isBlank())
+                    .toList();
+        }
+        Random random = new Random(3);
+        List<String> base = new ArrayList<>(BASE_QUERIES);
+        for (int i = 0; i < BASE_QUERIES; i++) {
+            String[] words = random.nextBoolean() ? EN_WORDS : ZH_WORDS;
+            String sep = words == EN_WORDS ? " " : "";
+            base.add(words[random.nextInt(words.length)] + sep + words[random.nextInt(words.length)]
+                    + sep + i);
+        }
+        List<String> log = new ArrayList<>(REPLAYED);
+        for (int i = 0; i < REPLAYED; i++) {
+            log.add(variant(base.get(zipf(random, BASE_QUERIES)), random));
+        }
+        return log;
+    }
+
+    private static String variant(String query, Random random) {
+        String q = query;
+        if (random.nextInt(10) == 0) {
+            q = toFullWidth(q);
+        }
+        if (random.nextInt(8) == 0) {
+            q = q + (random.nextBoolean() ? "?" : "！");
+        }
+        if (random.nextInt(8) == 0) {
+            q = "  " + q.replace(" ", "  ");
+        }
+        if (random.nextInt(4) == 0) {
+            q = toSimplified(q);
+        }
+        if (random.nextInt(6) == 0) {
+            q = q.toUpperCase();
+        }
+        return q;
+    }
+
+    private static String toFullWidth(String s) {
+        StringBuilder sb = new StringBuilder(s.length());
+        for (char c : s.toCharArray()) {
+            sb.append(c > ' ' && c < 0x7F ? (char) (c - 0x21 + 0xFF01) : c == ' ' ? '　' : c);
+        }
+        return sb.toString();
+    }
+
+    private static String toSimplified(String s) {
+        StringBuilder sb = new StringBuilder(s.length());
+        s.codePoints().forEach(cp -> sb.appendCodePoint(TraditionalChineseFolding.fold(cp)));
+        return sb.toString();
+    }
+
+    /**
+     * Index in {@code [0, n)} with probability roughly proportional to
+     * {@code 1 / (index + 1)}.
+     */
+    private static int zipf(Random random, int n) {
+        return (int) Math.min(n - 1, Math.floor(Math.exp(random.nextDouble() * Math.log(n + 1)) - 1));
+    }
+}
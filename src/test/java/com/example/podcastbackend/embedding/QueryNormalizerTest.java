@@ -0,0 +1,66 @@
+package com.example.podcastbackend.embedding;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryNormalizerTest {
+
+    private final QueryNormalizer normalizer = new QueryNormalizer(false);
+    private final QueryNormalizer folding = new QueryNormalizer(true);
+
+    @Test
+    void normalize_collapsesWhitespaceAndLowercasesEnglish() {
+        assertEquals("ai podcast", normalizer.normalize("  AI \t Podcast\n", EmbeddingProfile.EN));
+        assertEquals("AI 人工智慧", normalizer.normalize(" AI   人工智慧 ", EmbeddingProfile.ZH));
+    }
+
+    @Test
+    void normalize_foldsFullWidthAndNfkcVariants() {
+        assertEquals("ai podcast", normalizer.normalize("ＡＩ　Ｐｏｄｃａｓｔ", EmbeddingProfile.EN));
+        assertEquals("AI 人工智慧", normalizer.normalize("ＡＩ　人工智慧", EmbeddingProfile.ZH));
+        assertEquals("file", normalizer.normalize("ﬁle", EmbeddingProfile.EN));
+    }
+
+    @Test
+    void normalize_stripsPunctuationButKeepsInWordJoiners() {
+        assertEquals("what is ai", normalizer.normalize("What is AI?!", EmbeddingProfile.EN));
+        assertEquals("hello world", normalizer.normalize("\"hello,world\"", EmbeddingProfile.EN));
+        assertEquals("node.js don't c# covid-19 1,000",
+                normalizer.normalize("Node.js, don't; C#... covid-19 (1,000)", EmbeddingProfile.EN));
+        assertEquals("人工智慧 未來", normalizer.normalize("「人工智慧，未來。」", EmbeddingProfile.ZH));
+    }
+
+    @Test
+    void normalize_punctuationOnlyQuery_fallsBackToTrimmedOriginal() {
+        assertEquals("?!", normalizer.normalize(" ?! ", EmbeddingProfile.EN));
+        assertEquals("「…」", normalizer.normalize("「…」", EmbeddingProfile.ZH));
+        assertEquals("", normalizer.normalize("  ", EmbeddingProfile.EN));
+    }
+
+    @Test
+    void normalize_foldsTraditionalToSimplifiedOnlyWhenEnabledForZh() {
+        assertEquals("人工智慧 財經", normalizer.normalize("人工智慧 財經", EmbeddingProfile.ZH));
+        assertEquals("人工智慧 财经", folding.normalize("人工智慧 財經", EmbeddingProfile.ZH));
+        assertEquals(folding.normalize("台灣歷史故事", EmbeddingProfile.ZH),
+                folding.normalize("台湾历史故事", EmbeddingProfile.ZH));
+        assertEquals("財經", folding.normalize("財經", EmbeddingProfile.EN));
+    }
+
+    @Test
+    void normalize_sharedProfiles_lowercaseAndFold() {
+        assertEquals("podcast 财经",
+                folding.normalize("Podcast 財經", EnumSet.of(EmbeddingProfile.EN, EmbeddingProfile.ZH)));
+        assertEquals("podcast 財經",
+                normalizer.normalize("Podcast 財經", EnumSet.of(EmbeddingProfile.EN, EmbeddingProfile.ZH)));
+    }
+
+    @Test
+    void foldingTable_isLoaded() {
+        assertTrue(TraditionalChineseFolding.size() > 500);
+        assertEquals('们', TraditionalChineseFolding.fold('們'));
+        assertEquals('A', TraditionalChineseFolding.fold('A'));
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.podcastbackend.log;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class LogEventPipelineTest {
+
+    /** Records every written document instead of talking to Elasticsearch. */
+    private static class RecordingWriter extends LogBatchWriter {
+        final List<String> documents = Collections.synchronizedList(new ArrayList<>());
+
+        RecordingWriter() {
+            super(null, mock(LogSpool.class), new SimpleMeterRegistry());
+        }
+
+        @Override
+        void write(LogEventBatch batch) {
+            for (int i = 0; i < batch.size(); i++) {
+                documents.add(batch.document(i));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("ring buffer rounds capacity up to a power of two")
+    void ringBuffer_roundsCapacity() {
+        assertEquals(8, new LogEventRingBuffer(5).capacity());
+        assertEquals(8192, new LogEventRingBuffer(8192).capacity());
+    }
+
+    @Test
+    @DisplayName("ring buffer is FIFO and rejects offers when full")
+    void ringBuffer_fullAndFifo() {
+        LogEventRingBuffer buffer = new LogEventRingBuffer(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(buffer.offer("query-logs", "r" + i, "{\"n\":" + i + "}"));
+        }
+        assertFalse(buffer.offer("query-logs", "r4", "{}"));
+
+        LogEventBatch batch = new LogEventBatch(10);
+        while (buffer.poll(batch)) {
+            // drain
+        }
+        assertEquals(4, batch.size());
+        assertEquals("r0", batch.requestId(0));
+        assertEquals("r3", batch.requestId(3));
+        assertFalse(buffer.poll(batch));
+    }
+
+    @Test
+    @DisplayName("concurrent producers lose no events when capacity suffices")
+    void ringBuffer_concurrentProducers_noLoss() throws Exception {
+        LogEventRingBuffer buffer = new LogEventRingBuffer(1 << 14);
+        int producers = 8;
+        int perProducer = 1000;
+        ExecutorService pool = Executors.newFixedThreadPool(producers);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int p = 0; p < producers; p++) {
+            int id = p;
+            pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < perProducer; i++) {
+                    buffer.offer("query-logs", id + ":" + i, "{}");
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+
+        LogEventBatch batch = new LogEventBatch(producers * perProducer);
+        while (buffer.poll(batch)) {
+            // drain
+        }
+        Set<String> ids = new HashSet<>();
+        for (int i = 0; i < batch.size(); i++) {
+            ids.add(batch.requestId(i));
+        }
+        assertEquals(producers * perProducer, ids.size());
+    }
+
+    @Test
+    @DisplayName("drop-oldest keeps the newest events when the buffer overflows")
+    void publish_dropOldest_keepsNewest() {
+        RecordingWriter writer = new RecordingWriter();
+        LogEventPipeline pipeline = new LogEventPipeline(writer, new SimpleMeterRegistry(), 4, "drop-oldest", 10, 1000, false);
+
+        for (int i = 0; i < 6; i++) {
+            assertTrue(pipeline.publish("query-logs", "r" + i, "{\"n\":" + i + "}"));
+        }
+        pipeline.start();
+        pipeline.shutdown();
+
+        assertEquals(List.of("{\"n\":2}", "{\"n\":3}", "{\"n\":4}", "{\"n\":5}"), writer.documents);
+    }
+
+    @Test
+    @DisplayName("drop-newest rejects new events when the buffer is full")
+    void publish_dropNewest_rejectsNew() {
+        RecordingWriter writer = new RecordingWriter();
+        LogEventPipeline pipeline = new LogEventPipeline(writer, new SimpleMeterRegistry(), 2, "drop-newest", 10, 1000, false);
+
+        assertTrue(pipeline.publish("query-logs", "r0", "{\"n\":0}"));
+        assertTrue(pipeline.publish("query-logs", "r1", "{\"n\":1}"));
+        assertFalse(pipeline.publish("query-logs", "r2", "{\"n\":2}"));
+        pipeline.start();
+        pipeline.shutdown();
+
+        assertEquals(List.of("{\"n\":0}", "{\"n\":1}"), writer.documents);
+    }
+
+    @Test
+    @DisplayName("an unknown overflow policy fails construction with the allowed values")
+    void constructor_unknownOverflowPolicy_fails() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> new LogEventPipeline(
+                new RecordingWriter(), new SimpleMeterRegistry(), 4, "drop_oldest", 10, 1000, false));
+
+        assertTrue(e.getMessage().contains("[drop-newest, drop-oldest]"), e.getMessage());
+    }
+
+    @Test
+    @DisplayName("shutdown drains every queued event")
+    void shutdown_drainsQueuedEvents() {
+        RecordingWriter writer = new RecordingWriter();
+        LogEventPipeline pipeline = new LogEventPipeline(writer, new SimpleMeterRegistry(), 1024, "drop-oldest", 16, 5000, false);
+        pipeline.start();
+
+        for (int i = 0; i < 500; i++) {
+            pipeline.publish("click-logs", "r" + i, "{}");
+        }
+        pipeline.shutdown();
+
+        assertEquals(500, writer.documents.size());
+        assertEquals(0, pipeline.backlog());
+    }
+}
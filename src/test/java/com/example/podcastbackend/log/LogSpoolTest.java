@@ -0,0 +1,141 @@
+package com.example.podcastbackend.log;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class LogSpoolTest {
+
+    @TempDir
+    Path dir;
+
+    private LogSpool newSpool(long segmentBytes, long maxBytes) {
+        return new LogSpool(true, dir.toString(), segmentBytes, maxBytes, new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("appended events are read back in order with their target index")
+    void append_thenRead_returnsEventsInOrder() {
+        LogSpool spool = newSpool(1024 * 1024, 10 * 1024 * 1024);
+
+        assertTrue(spool.append("query-logs", "{\"request_id\":\"r1\"}"));
+        assertTrue(spool.append("click-logs", "{\"request_id\":\"r2\"}"));
+
+        Path segment = spool.oldestSegment();
+        assertNotNull(segment);
+        LogSpool.ReadBatch batch = spool.read(segment, 0, 10);
+
+        assertEquals(2, batch.linesConsumed());
+        assertEquals("query-logs", batch.events().get(0).index());
+        assertEquals("r1", batch.events().get(0).document().get("request_id").asText());
+        assertEquals("click-logs", batch.events().get(1).index());
+    }
+
+    @Test
+    @DisplayName("read resumes at the previous batch's offset and completed segments are deleted")
+    void read_withCursor_thenComplete_deletesSegment() throws Exception {
+        LogSpool spool = newSpool(1024 * 1024, 10 * 1024 * 1024);
+        for (int i = 0; i < 5; i++) {
+            spool.append("query-logs", "{\"n\":" + i + "}");
+        }
+
+        Path segment = spool.oldestSegment();
+        LogSpool.ReadBatch first = spool.read(segment, 0, 3);
+        LogSpool.ReadBatch rest = spool.read(segment, first.nextOffset(), 10);
+        LogSpool.ReadBatch none = spool.read(segment, rest.nextOffset(), 10);
+
+        assertEquals(3, first.linesConsumed());
+        assertEquals(3, rest.events().get(0).document().get("n").asInt());
+        assertEquals(Files.size(segment), rest.nextOffset());
+        assertTrue(none.isEmpty());
+
+        spool.complete(segment);
+        assertFalse(Files.exists(segment));
+        assertEquals(0, spool.backlogBytes());
+        assertNull(spool.oldestSegment());
+    }
+
+    @Test
+    @DisplayName("segments rotate at segment-bytes and the oldest are evicted beyond max-bytes")
+    void append_beyondCap_evictsOldestSegments() throws Exception {
+        LogSpool spool = newSpool(200, 1000);
+        String doc = "{\"payload\":\"" + "x".repeat(150) + "\"}";
+
+        for (int i = 0; i < 20; i++) {
+            spool.append("query-logs", doc);
+        }
+
+        assertTrue(spool.backlogBytes() <= 1000);
+        try (Stream<Path> files = Files.list(dir)) {
+            assertTrue(files.count() < 20);
+        }
+    }
+
+    @Test
+    @DisplayName("segments left by a previous process are recovered for replay")
+    void newSpool_recoversExistingSegments() {
+        LogSpool first = newSpool(1024 * 1024, 10 * 1024 * 1024);
+        first.append("click-logs", "{\"request_id\":\"old\"}");
+        first.close();
+
+        LogSpool second = newSpool(1024 * 1024, 10 * 1024 * 1024);
+        Path segment = second.oldestSegment();
+
+        assertNotNull(segment);
+        assertEquals("old", second.read(segment, 0, 10).events().get(0).document().get("request_id").asText());
+        assertTrue(second.append("click-logs", "{\"request_id\":\"new\"}"));
+    }
+
+    @Test
+    @DisplayName("malformed lines are consumed but not returned")
+    void read_malformedLine_isSkipped() throws Exception {
+        LogSpool spool = newSpool(1024 * 1024, 10 * 1024 * 1024);
+        spool.append("query-logs", "{\"n\":1}");
+        Path segment = spool.oldestSegment();
+        Files.writeString(segment, "{\"index\":\"query-logs\",\"doc\":{\"n\"", java.nio.file.StandardOpenOption.APPEND);
+
+        LogSpool.ReadBatch batch = spool.read(segment, 0, 10);
+
+        assertEquals(2, batch.linesConsumed());
+        assertEquals(1, batch.events().size());
+    }
+
+    @Test
+    @DisplayName("an unreadable segment is reported as failed and kept by the replayer")
+    void replay_unreadableSegment_isNotDeleted() {
+        // A directory with a segment name: listed and sized like a segment, but reading it fails
+        Path unreadable = dir.resolve("spool-00000000000000000000.ndjson");
+        assertDoesNotThrow(() -> Files.createDirectory(unreadable));
+        LogSpool spool = newSpool(1024 * 1024, 10 * 1024 * 1024);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        LogSpoolReplayer replayer = new LogSpoolReplayer(spool, mock(ElasticsearchClient.class), meterRegistry,
+                1000, 200, 100);
+
+        LogSpool.ReadBatch batch = spool.read(unreadable, 0, 10);
+        replayer.replay();
+
+        assertTrue(batch.failed());
+        assertFalse(batch.isEmpty());
+        assertTrue(Files.exists(unreadable));
+        assertEquals(unreadable, spool.oldestSegment());
+        assertEquals(1.0, meterRegistry.counter("log_spool.replay.failure").count());
+    }
+
+    @Test
+    @DisplayName("disabled spool refuses events")
+    void disabledSpool_appendReturnsFalse() {
+        LogSpool spool = new LogSpool(false, dir.toString(), 1024, 4096, new SimpleMeterRegistry());
+
+        assertFalse(spool.append("query-logs", "{}"));
+        assertNull(spool.oldestSegment());
+    }
+}
@@ -17,6 +17,7 @@ class IndexRouterTest {
                 "episodes-zh-tw",
                 "episodes-zh-cn",
                 "episodes-en",
+                "zh-tw",
                 "zh-tw"
         );
     }
@@ -120,4 +121,25 @@ class IndexRouterTest {
     void resolveLangParam_zhBoth_returnsZhBoth() {
         assertEquals(LangParam.ZH_BOTH, router.resolveLangParam("zh-both"));
     }
+
+    // --- resolveAutoLang ---
+
+    @Test
+    void resolveAutoLang_routesConfidentDetectionsToOneIndex() {
+        assertEquals("en", router.resolveAutoLang("machine learning", true));
+        assertEquals("zh-tw", router.resolveAutoLang("台灣歷史故事", true));
+        assertEquals("zh-cn", router.resolveAutoLang("台湾历史故事", true));
+    }
+
+    @Test
+    void resolveAutoLang_ambiguousChinese_usesCrossIndexOnlyWhenAllowed() {
+        assertEquals("zh-both", router.resolveAutoLang("科技", true));
+        assertEquals("zh-tw", router.resolveAutoLang("科技", false));
+    }
+
+    @Test
+    void resolveAutoLang_undetectable_usesDefaultLang() {
+        assertEquals("zh-tw", router.resolveAutoLang("ポッドキャスト", true));
+        assertEquals("zh-tw", router.resolveAutoLang("2024", true));
+    }
 }
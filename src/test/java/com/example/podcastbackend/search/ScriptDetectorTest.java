@@ -0,0 +1,35 @@
+package com.example.podcastbackend.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScriptDetectorTest {
+
+    @Test
+    void detect_latinOnly_isConfidentEnglish() {
+        assertEquals(new ScriptDetector.Detection(LangParam.EN, true), ScriptDetector.detect("Lex Fridman AI 2024"));
+    }
+
+    @Test
+    void detect_scriptSpecificCharacters_pickVariant() {
+        assertEquals(new ScriptDetector.Detection(LangParam.ZH_TW, true), ScriptDetector.detect("人工智慧的發展"));
+        assertEquals(new ScriptDetector.Detection(LangParam.ZH_CN, true), ScriptDetector.detect("人工智能的发展"));
+        assertEquals(new ScriptDetector.Detection(LangParam.ZH_TW, true), ScriptDetector.detect("台灣 podcast 推薦"));
+    }
+
+    @Test
+    void detect_sharedCharactersOnly_isAmbiguous() {
+        assertEquals(new ScriptDetector.Detection(LangParam.ZH_BOTH, false), ScriptDetector.detect("科技"));
+        // 台 and 后 are everyday Traditional characters too
+        assertEquals(new ScriptDetector.Detection(LangParam.ZH_BOTH, false), ScriptDetector.detect("台北皇后"));
+    }
+
+    @Test
+    void detect_otherScriptsOrNoLetters_isNull() {
+        assertNull(ScriptDetector.detect("ポッドキャスト"));
+        assertNull(ScriptDetector.detect("팟캐스트"));
+        assertNull(ScriptDetector.detect("2024 !!"));
+        assertNull(ScriptDetector.detect(""));
+    }
+}
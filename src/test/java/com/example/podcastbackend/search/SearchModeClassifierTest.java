@@ -0,0 +1,127 @@
+package com.example.podcastbackend.search;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.aggregations.Aggregate;
+import co.elastic.clients.elasticsearch._types.aggregations.StringTermsBucket;
+import co.elastic.clients.elasticsearch.core.SearchRequest;
+import co.elastic.clients.elasticsearch.core.SearchResponse;
+import co.elastic.clients.elasticsearch.core.search.TotalHitsRelation;
+import com.example.podcastbackend.cache.RankingsCache;
+import com.example.podcastbackend.cache.ShowCatalog;
+import com.example.podcastbackend.cache.ShowCatalogLoader;
+import com.example.podcastbackend.embedding.QueryNormalizer;
+import com.example.podcastbackend.response.RankingsItem;
+import com.fasterxml.jackson.databind.JsonNode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class SearchModeClassifierTest {
+
+    private ElasticsearchClient esClient;
+    private ShowCatalogLoader catalogLoader;
+    private RankingsCache rankingsCache;
+    private SimpleMeterRegistry meterRegistry;
+    private SearchModeClassifier classifier;
+
+    @BeforeEach
+    void setUp() {
+        esClient = mock(ElasticsearchClient.class);
+        catalogLoader = mock(ShowCatalogLoader.class);
+        rankingsCache = new RankingsCache(3600);
+        meterRegistry = new SimpleMeterRegistry();
+        classifier = new SearchModeClassifier(esClient, catalogLoader, rankingsCache, new QueryNormalizer(false),
+                meterRegistry, 2, 0.7, 5, 5000, 30);
+    }
+
+    @Test
+    void decide_usesQueryShapeBeforeAnyRefresh() {
+        assertEquals(mode("EXACT", "quoted"), classifier.decide("\"machine learning\""));
+        assertEquals(mode("EXACT", "quoted"), classifier.decide("「人工智慧」"));
+        assertEquals(mode("BM25", "short_query"), classifier.decide("  Podcast! "));
+        assertEquals(mode("BM25", "short_query"), classifier.decide("科技"));
+        assertEquals(mode("HYBRID", "descriptive"), classifier.decide("人工智慧的未來"));
+        assertEquals(mode("HYBRID", "descriptive"), classifier.decide("podcasts about ai ethics"));
+    }
+
+    @Test
+    void decide_unspacedNonHanScripts_countLettersTowardShortQueryLimit() {
+        assertEquals(mode("HYBRID", "descriptive"), classifier.decide("おすすめのポッドキャスト"));
+        assertEquals(mode("HYBRID", "descriptive"), classifier.decide("พอดแคสต์ประวัติศาสตร์"));
+        assertEquals(mode("HYBRID", "descriptive"), classifier.decide("역사팟캐스트"));
+        assertEquals(mode("BM25", "short_query"), classifier.decide("アニ"));
+        assertEquals(mode("BM25", "short_query"), classifier.decide("covid-19"));
+    }
+
+    @Test
+    void decide_titlesAndClickNavigationalQueries_useBm25() throws Exception {
+        ShowCatalog.Builder catalog = new ShowCatalog.Builder(new HashMap<>());
+        catalog.put(new ShowCatalog.Show("show:1", "The Daily", "NYT", null, null, "en", null, null, null, null, 1L));
+        when(catalogLoader.current()).thenReturn(catalog.build());
+        rankingsCache.put("tw", "episode", List.of(
+                new RankingsItem(1, "ep:1", null, "台灣通勤第一品牌", "Pub", null, "zh-tw", null, null)));
+        when(esClient.search(any(SearchRequest.class), eq(JsonNode.class))).thenReturn(clicks(
+                query("lex fridman elon musk", 10, 9),
+                query("best history podcasts", 10, 3)));
+
+        classifier.refresh();
+
+        assertEquals(mode("BM25", "title_match"), classifier.decide("the daily"));
+        assertEquals(mode("BM25", "title_match"), classifier.decide("台灣通勤第一品牌"));
+        assertEquals(mode("BM25", "navigational_clicks"), classifier.decide("Lex Fridman Elon Musk"));
+        assertEquals(mode("HYBRID", "descriptive"), classifier.decide("best history podcasts"));
+    }
+
+    @Test
+    void refresh_clickLogsUnavailable_keepsTitles() throws Exception {
+        ShowCatalog.Builder catalog = new ShowCatalog.Builder(new HashMap<>());
+        catalog.put(new ShowCatalog.Show("show:1", "The Daily", "NYT", null, null, "en", null, null, null, null, 1L));
+        when(catalogLoader.current()).thenReturn(catalog.build());
+        when(esClient.search(any(SearchRequest.class), eq(JsonNode.class))).thenThrow(new IOException("down"));
+
+        classifier.refresh();
+
+        assertEquals(mode("BM25", "title_match"), classifier.decide("The Daily"));
+    }
+
+    @Test
+    void classify_countsAvoidedEmbeddingCalls() {
+        classifier.classify("ai", "episodes");
+        classifier.classify("\"ai\" news", "episodes");
+        classifier.classify("podcasts about ai ethics", "episodes");
+
+        assertEquals(1.0, meterRegistry.counter("search.auto_mode.embedding_avoided", "entity", "episodes").count());
+        assertEquals(1.0, meterRegistry.counter("search.auto_mode.decisions", "entity", "episodes",
+                "mode", "bm25", "reason", "short_query").count());
+    }
+
+    private static SearchModeClassifier.Decision mode(String mode, String reason) {
+        return new SearchModeClassifier.Decision(SearchModeClassifier.Mode.valueOf(mode), reason);
+    }
+
+    private static StringTermsBucket query(String query, long clicks, long topEpisodeClicks) {
+        Aggregate top = Aggregate.of(a -> a.sterms(t -> t
+                .buckets(b -> b.array(List.of(StringTermsBucket.of(e -> e.key("ep:1").docCount(topEpisodeClicks)))))
+                .sumOtherDocCount(clicks - topEpisodeClicks)));
+        return StringTermsBucket.of(b -> b.key(query).docCount(clicks).aggregations("top_episode", top));
+    }
+
+    private static SearchResponse<JsonNode> clicks(StringTermsBucket... buckets) {
+        Aggregate terms = Aggregate.of(a -> a.sterms(t -> t
+                .buckets(b -> b.array(List.of(buckets)))
+                .sumOtherDocCount(0L)));
+        return SearchResponse.of(r -> r
+                .took(1).timedOut(false)
+                .shards(s -> s.total(1).successful(1).failed(0))
+                .hits(h -> h.hits(List.of()).total(t -> t.value(0).relation(TotalHitsRelation.Eq)))
+                .aggregations("queries", terms));
+    }
+}
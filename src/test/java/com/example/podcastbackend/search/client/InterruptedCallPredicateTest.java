@@ -0,0 +1,37 @@
+package com.example.podcastbackend.search.client;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InterruptedCallPredicateTest {
+
+    private final InterruptedCallPredicate predicate = new InterruptedCallPredicate();
+
+    @Test
+    void test_matchesInterruptionAnywhereInTheCauseChain() {
+        assertTrue(predicate.test(new RuntimeException("thread waiting for the response was interrupted",
+                new InterruptedException())));
+        assertFalse(predicate.test(new IOException("connection refused")));
+        assertFalse(predicate.test(null));
+    }
+
+    @Test
+    void circuitBreaker_ignoresInterruptedCalls() {
+        CircuitBreaker breaker = CircuitBreaker.of("elasticsearch",
+                CircuitBreakerConfig.custom().ignoreException(predicate).build());
+
+        assertThrows(RuntimeException.class, () -> breaker.executeCallable(() -> {
+            throw new RuntimeException(new InterruptedException());
+        }));
+        assertThrows(IOException.class, () -> breaker.executeCallable(() -> {
+            throw new IOException("timeout");
+        }));
+
+        assertEquals(1, breaker.getMetrics().getNumberOfFailedCalls());
+    }
+}
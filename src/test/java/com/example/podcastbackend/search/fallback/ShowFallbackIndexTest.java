@@ -0,0 +1,113 @@
+package com.example.podcastbackend.search.fallback;
+
+import com.example.podcastbackend.cache.ShowCatalog;
+import com.example.podcastbackend.cache.ShowCatalogLoader;
+import com.example.podcastbackend.request.ShowSearchRequest;
+import com.example.podcastbackend.response.ShowSearchItem;
+import com.example.podcastbackend.response.ShowSearchResponseData;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ShowFallbackIndexTest {
+
+    private ShowCatalogLoader catalogLoader;
+    private ShowFallbackIndex index;
+
+    @BeforeEach
+    void setUp() {
+        catalogLoader = mock(ShowCatalogLoader.class);
+        index = new ShowFallbackIndex(catalogLoader, new SimpleMeterRegistry(), true);
+    }
+
+    @Test
+    void tokenize_bigramsCjkRunsAndKeepsLatinWords() {
+        assertEquals(List.of("科技", "技新", "新聞", "tech", "2024"),
+                ShowTokenizer.tokenize("科技新聞 Tech-２０２４"));
+        assertEquals(List.of("讀", "books"), ShowTokenizer.tokenize("讀 Books!"));
+        assertTrue(ShowTokenizer.tokenize(null).isEmpty());
+    }
+
+    @Test
+    void search_beforeBuild_returnsNull() {
+        assertNull(index.search(request("tech", null, 1, 10)));
+    }
+
+    @Test
+    void search_ranksTitleMatchesAboveOtherMatches() {
+        when(catalogLoader.current()).thenReturn(catalog(
+                show("a", "Daily News", "Tech Media", "en"),
+                show("b", "Tech Talk", "Someone", "en"),
+                show("c", "科技新聞台", "台灣廣播", "zh-tw"),
+                show("d", "Cooking Hour", "Kitchen", "en")));
+        index.rebuildIfCatalogChanged();
+
+        ShowSearchResponseData tech = index.search(request("tech", null, 1, 10));
+        ShowSearchResponseData zh = index.search(request("科技", null, 1, 10));
+
+        assertEquals(List.of("b", "a"), ids(tech));
+        assertEquals(2, tech.total());
+        assertEquals(List.of("c"), ids(zh));
+        assertEquals("Tech Talk", tech.items().get(0).title());
+    }
+
+    @Test
+    void search_appliesLanguageFilterAndPaging() {
+        when(catalogLoader.current()).thenReturn(catalog(
+                show("a", "News One", "Pub", "en"),
+                show("b", "News Two", "Pub", "en"),
+                show("c", "News Three", "Pub", "zh-tw")));
+        index.rebuildIfCatalogChanged();
+
+        ShowSearchResponseData page2 = index.search(request("news", List.of("en"), 2, 1));
+
+        assertEquals(2, page2.total());
+        assertEquals(List.of("b"), ids(page2));
+    }
+
+    @Test
+    void rebuild_onlyWhenCatalogReplaced() {
+        ShowCatalog first = catalog(show("a", "Old", "Pub", "en"));
+        when(catalogLoader.current()).thenReturn(first);
+        index.rebuildIfCatalogChanged();
+        assertEquals(1, index.search(request("old", null, 1, 10)).total());
+
+        when(catalogLoader.current()).thenReturn(catalog(show("a", "New", "Pub", "en")));
+        index.rebuildIfCatalogChanged();
+
+        assertEquals(0, index.search(request("old", null, 1, 10)).total());
+        assertEquals(1, index.search(request("new", null, 1, 10)).total());
+    }
+
+    private static ShowSearchRequest request(String q, List<String> languages, int page, int size) {
+        ShowSearchRequest request = mock(ShowSearchRequest.class);
+        when(request.getQ()).thenReturn(q);
+        when(request.getLanguage()).thenReturn(languages);
+        when(request.getPage()).thenReturn(page);
+        when(request.getSize()).thenReturn(size);
+        when(request.from()).thenReturn((page - 1) * size);
+        return request;
+    }
+
+    private static List<String> ids(ShowSearchResponseData data) {
+        return data.items().stream().map(ShowSearchItem::showId).toList();
+    }
+
+    private static ShowCatalog.Show show(String id, String title, String publisher, String language) {
+        return new ShowCatalog.Show(id, title, publisher, null, null, language, null, null, null, null, 1L);
+    }
+
+    private static ShowCatalog catalog(ShowCatalog.Show... shows) {
+        ShowCatalog.Builder builder = new ShowCatalog.Builder(new HashMap<>());
+        for (ShowCatalog.Show show : shows) {
+            builder.put(show);
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,300 @@
+package com.example.podcastbackend.search.fusion;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch.core.BulkRequest;
+import co.elastic.clients.elasticsearch.core.SearchRequest;
+import co.elastic.clients.elasticsearch.core.search.Hit;
+import co.elastic.clients.json.jackson.JacksonJsonpMapper;
+import co.elastic.clients.transport.rest_client.RestClientTransport;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.http.HttpHost;
+import org.elasticsearch.client.RestClient;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * {@code hybrid_lite} against full hybrid: top-10 overlap of the fused
+ * results and latency of the two paths.
+ *
+ * The fixture is synthetic: 20,000 384-dimensional episode vectors drawn
+ * around 100 topic centroids, each with a short text of words from its
+ * topic's vocabulary plus a few from other topics, and 200 queries of two
+ * topic words with a vector near the topic centroid. Without a cluster the
+ * BM25 window is simulated as the top 100 by a noisy cosine score and only
+ * the in-process re-rank is timed; with {@code -Dbenchmark.es.url} both
+ * paths run against a throwaway index (a development cluster only), full
+ * hybrid as a BM25 and a kNN query, hybrid_lite as one BM25 query that
+ * returns the stored vectors.
+ *
+ * Run with {@code ./mvnw test -Pbenchmark -Dtest=HybridLiteBenchmark}; add
+ * {@code -Dbenchmark.es.url=http://localhost:9200} for the ES leg.
+ */
+@Tag("benchmark")
+class HybridLiteBenchmark {
+
+    private static final int EPISODES = 20_000;
+    private static final int DIMENSION = 384;
+    private static final int TOPICS = 100;
+    private static final int WORDS_PER_TOPIC = 20;
+    private static final int QUERIES = 200;
+    private static final int WINDOW = 100;
+    private static final int K = 10;
+    private static final String ES_INDEX = "hybrid_lite_benchmark_episodes";
+
+    private final ObjectMapper json = new ObjectMapper();
+    private final RrfFusion rrf = new RrfFusion(60);
+    private final StoredVectorRanker ranker = new StoredVectorRanker("embedding", new SimpleMeterRegistry());
+
+    @Test
+    @DisplayName("hybrid_lite vs hybrid: top-10 overlap and re-rank cost (simulated BM25)")
+    void compareWithSimulatedBm25() {
+        Fixture fixture = fixture();
+        Random noise = new Random(7);
+        List<Hit<JsonNode>> corpus = hits(fixture);
+
+        long[] rerankNanos = new long[QUERIES];
+        double overlap = 0;
+        for (int q = 0; q < QUERIES; q++) {
+            float[] query = fixture.queryVectors()[q];
+            double[] cosine = new double[EPISODES];
+            double[] lexical = new double[EPISODES];
+            for (int i = 0; i < EPISODES; i++) {
+                cosine[i] = cosine(query, fixture.vectors()[i]);
+                lexical[i] = cosine[i] + noise.nextGaussian() * 0.15;
+            }
+            List<Hit<JsonNode>> bm25 = top(corpus, lexical);
+            List<Hit<JsonNode>> knn = top(corpus, cosine);
+
+            List<String> hybrid = ids(rrf.fuse(bm25, knn, K));
+            long t0 = System.nanoTime();
+            List<String> lite = ids(rrf.fuse(bm25, ranker.rank(bm25, query), K));
+            rerankNanos[q] = System.nanoTime() - t0;
+            overlap += overlap(hybrid, lite);
+        }
+
+        System.out.println(latency("hybrid_lite re-rank (" + WINDOW + " hits)", rerankNanos));
+        System.out.printf("top-%d overlap with hybrid=%.3f%n", K, overlap / QUERIES);
+        assertTrue(overlap / QUERIES > 0.5);
+    }
+
+    @Test
+    @DisplayName("hybrid_lite re-rank: share of the time spent in the dot-product kernel")
+    void kernelShareOfRerank() {
+        Fixture fixture = fixture();
+        List<Hit<JsonNode>> window = hits(fixture).subList(0, WINDOW);
+        float[][] parsed = Arrays.copyOf(fixture.vectors(), WINDOW);
+
+        long[] rankNanos = new long[QUERIES * 10];
+        long[] kernelNanos = new long[QUERIES * 10];
+        float sink = 0f;
+        for (int round = 0; round < 2; round++) {
+            for (int q = 0; q < rankNanos.length; q++) {
+                float[] query = fixture.queryVectors()[q % QUERIES];
+                long t0 = System.nanoTime();
+                sink += ranker.rank(window, query).size();
+                rankNanos[q] = System.nanoTime() - t0;
+
+                // The same three dot products per hit as rank(), on vectors already parsed
+                t0 = System.nanoTime();
+                sink += StoredVectorRanker.dot(query, query);
+                for (float[] vector : parsed) {
+                    sink += StoredVectorRanker.dot(vector, vector) + StoredVectorRanker.dot(query, vector);
+                }
+                kernelNanos[q] = System.nanoTime() - t0;
+            }
+        }
+
+        System.out.println(latency("rank (" + WINDOW + " hits)", rankNanos));
+        System.out.println(latency("dot kernel only (" + WINDOW + " hits)", kernelNanos));
+        assertTrue(sink != 0f);
+    }
+
+    @Test
+    @DisplayName("hybrid_lite vs hybrid against ES: latency and top-10 overlap")
+    void compareWithElasticsearch() throws Exception {
+        String url = System.getProperty("benchmark.es.url");
+        assumeTrue(url != null && !url.isBlank(), "set -Dbenchmark.es.url to compare against ES");
+
+        Fixture fixture = fixture();
+        try (RestClient restClient = RestClient.builder(HttpHost.create(url)).build()) {
+            ElasticsearchClient es = new ElasticsearchClient(
+                    new RestClientTransport(restClient, new JacksonJsonpMapper()));
+            load(es, fixture);
+            try {
+                long[] hybridNanos = new long[QUERIES];
+                long[] liteNanos = new long[QUERIES];
+                double overlap = 0;
+                for (int q = 0; q < QUERIES; q++) {
+                    String text = fixture.queryTexts()[q];
+                    float[] query = fixture.queryVectors()[q];
+                    List<Float> vector = toList(query);
+
+                    long t0 = System.nanoTime();
+                    List<Hit<JsonNode>> bm25 = es.search(SearchRequest.of(s -> s
+                            .index(ES_INDEX).size(WINDOW)
+                            .source(src -> src.filter(f -> f.excludes("embedding")))
+                            .query(qq -> qq.match(m -> m.field("title").query(text)))), JsonNode.class).hits().hits();
+                    List<Hit<JsonNode>> knn = es.search(SearchRequest.of(s -> s
+                            .index(ES_INDEX).size(WINDOW)
+                            .source(src -> src.filter(f -> f.excludes("embedding")))
+                            .knn(kn -> kn.field("embedding").queryVector(vector).k(WINDOW).numCandidates(200))),
+                            JsonNode.class).hits().hits();
+                    List<String> hybrid = ids(rrf.fuse(bm25, knn, K));
+                    hybridNanos[q] = System.nanoTime() - t0;
+
+                    t0 = System.nanoTime();
+                    List<Hit<JsonNode>> window = es.search(SearchRequest.of(s -> s
+                            .index(ES_INDEX).size(WINDOW)
+                            .query(qq -> qq.match(m -> m.field("title").query(text)))), JsonNode.class).hits().hits();
+                    List<String> lite = ids(rrf.fuse(window, ranker.rank(window, query), K));
+                    liteNanos[q] = System.nanoTime() - t0;
+
+                    overlap += overlap(hybrid, lite);
+                }
+                System.out.println(latency("hybrid (bm25 + knn)", hybridNanos));
+                System.out.println(latency("hybrid_lite (bm25 + vectors)", liteNanos));
+                System.out.printf("top-%d overlap with hybrid=%.3f%n", K, overlap / QUERIES);
+            } finally {
+                es.indices().delete(d -> d.index(ES_INDEX));
+            }
+        }
+    }
+
+    private void load(ElasticsearchClient es, Fixture fixture) throws Exception {
+        if (es.indices().exists(e -> e.index(ES_INDEX)).value()) {
+            es.indices().delete(d -> d.index(ES_INDEX));
+        }
+        es.indices().create(c -> c.index(ES_INDEX).withJson(new StringReader("""
+                {"mappings": {"properties": {"title": {"type": "text"}, "embedding": {
+                  "type": "dense_vector", "dims": %d, "index": true, "similarity": "cosine"}}}}
+                """.formatted(DIMENSION))));
+        for (int from = 0; from < EPISODES; from += 500) {
+            BulkRequest.Builder bulk = new BulkRequest.Builder();
+            for (int i = from; i < Math.min(from + 500, EPISODES); i++) {
+                String id = Integer.toString(i);
+                Map<String, Object> doc = Map.of("title", fixture.texts()[i], "embedding", toList(fixture.vectors()[i]));
+                bulk.operations(op -> op.index(idx -> idx.index(ES_INDEX).id(id).document(doc)));
+            }
+            es.bulk(bulk.build());
+        }
+        es.indices().refresh(r -> r.index(ES_INDEX));
+    }
+
+    private record Fixture(float[][] vectors, String[] texts, float[][] queryVectors, String[] queryTexts) {
+    }
+
+    private static Fixture fixture() {
+        Random random = new Random(20240901L);
+        float[][] centroids = new float[TOPICS][];
+        for (int t = 0; t < TOPICS; t++) {
+            centroids[t] = gaussian(random, 1.0);
+        }
+        float[][] vectors = new float[EPISODES][];
+        String[] texts = new String[EPISODES];
+        for (int i = 0; i < EPISODES; i++) {
+            int topic = random.nextInt(TOPICS);
+            vectors[i] = around(centroids[topic], random, 0.8);
+            StringBuilder text = new StringBuilder();
+            for (int w = 0; w < 8; w++) {
+                text.append(word(topic, random)).append(' ');
+            }
+            for (int w = 0; w < 4; w++) {
+                text.append(word(random.nextInt(TOPICS), random)).append(' ');
+            }
+            texts[i] = text.toString().strip();
+        }
+        float[][] queryVectors = new float[QUERIES][];
+        String[] queryTexts = new String[QUERIES];
+        for (int q = 0; q < QUERIES; q++) {
+            int topic = random.nextInt(TOPICS);
+            queryVectors[q] = around(centroids[topic], random, 0.4);
+            queryTexts[q] = word(topic, random) + " " + word(topic, random);
+        }
+        return new Fixture(vectors, texts, queryVectors, queryTexts);
+    }
+
+    private static String word(int topic, Random random) {
+        return "t" + topic + "w" + random.nextInt(WORDS_PER_TOPIC);
+    }
+
+    private List<Hit<JsonNode>> hits(Fixture fixture) {
+        List<Hit<JsonNode>> hits = new ArrayList<>(EPISODES);
+        for (int i = 0; i < EPISODES; i++) {
+            JsonNode source = json.createObjectNode().set("embedding", json.valueToTree(fixture.vectors()[i]));
+            String id = Integer.toString(i);
+            hits.add(Hit.of(h -> h.index(ES_INDEX).id(id).source(source)));
+        }
+        return hits;
+    }
+
+    private static List<Hit<JsonNode>> top(List<Hit<JsonNode>> corpus, double[] score) {
+        return IntStream.range(0, corpus.size()).boxed()
+                .sorted(Comparator.comparingDouble((Integer i) -> score[i]).reversed())
+                .limit(WINDOW)
+                .map(corpus::get)
+                .toList();
+    }
+
+    private static List<String> ids(List<RrfFusion.FusedResult> fused) {
+        return fused.stream().map(RrfFusion.FusedResult::id).toList();
+    }
+
+    private static double overlap(List<String> a, List<String> b) {
+        Set<String> common = new HashSet<>(a);
+        common.retainAll(b);
+        return common.size() / (double) K;
+    }
+
+    private static double cosine(float[] a, float[] b) {
+        return StoredVectorRanker.dot(a, b)
+                / Math.sqrt(StoredVectorRanker.dot(a, a) * StoredVectorRanker.dot(b, b));
+    }
+
+    private static float[] around(float[] centroid, Random random, double scale) {
+        float[] noise = gaussian(random, scale);
+        for (int i = 0; i < noise.length; i++) {
+            noise[i] += centroid[i];
+        }
+        return noise;
+    }
+
+    private static float[] gaussian(Random random, double scale) {
+        float[] v = new float[DIMENSION];
+        for (int i = 0; i < DIMENSION; i++) {
+            v[i] = (float) (random.nextGaussian() * scale);
+        }
+        return v;
+    }
+
+    private static List<Float> toList(float[] vector) {
+        List<Float> list = new ArrayList<>(vector.length);
+        for (float f : vector) {
+            list.add(f);
+        }
+        return list;
+    }
+
+    private static String latency(String name, long[] nanos) {
+        long[] sorted = nanos.clone();
+        Arrays.sort(sorted);
+        return String.format("%s: p50=%.3f ms p99=%.3f ms", name,
+                sorted[sorted.length / 2] / 1e6, sorted[(int) (sorted.length * 0.99)] / 1e6);
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.podcastbackend.search.fusion;
+
+import co.elastic.clients.elasticsearch.core.search.Hit;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StoredVectorRankerTest {
+
+    private final ObjectMapper json = new ObjectMapper();
+    private SimpleMeterRegistry meterRegistry;
+    private StoredVectorRanker ranker;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        ranker = new StoredVectorRanker("embedding", meterRegistry);
+    }
+
+    @Test
+    void rank_ordersByCosineIgnoringMagnitude() {
+        List<Hit<JsonNode>> hits = List.of(
+                hit("far", new float[]{0f, 0f, 1f}),
+                hit("near", new float[]{10f, 1f, 0f}),
+                hit("mid", new float[]{1f, 1f, 0f}));
+
+        List<Hit<JsonNode>> ranked = ranker.rank(hits, new float[]{1f, 0f, 0f});
+
+        assertEquals(List.of("near", "mid", "far"), ranked.stream().map(Hit::id).toList());
+    }
+
+    @Test
+    void rank_skipsHitsWithoutVectorOfQueryDimension() {
+        List<Hit<JsonNode>> hits = List.of(
+                hit("ok", new float[]{1f, 0f}),
+                hit("short", new float[]{1f}),
+                Hit.of(h -> h.index("episodes-en").id("none").source(json.createObjectNode())));
+
+        List<Hit<JsonNode>> ranked = ranker.rank(hits, new float[]{1f, 0f});
+
+        assertEquals(List.of("ok"), ranked.stream().map(Hit::id).toList());
+        assertEquals(2.0, meterRegistry.counter("search.hybrid_lite.missing_vectors").count());
+    }
+
+    @Test
+    void dot_matchesScalarSumForOddLengths() {
+        float[] a = new float[387];
+        float[] b = new float[387];
+        double expected = 0;
+        for (int i = 0; i < a.length; i++) {
+            a[i] = (float) Math.sin(i);
+            b[i] = (float) Math.cos(i);
+            expected += a[i] * b[i];
+        }
+        assertEquals(expected, StoredVectorRanker.dot(a, b), 1e-4);
+    }
+
+    private Hit<JsonNode> hit(String id, float[] vector) {
+        JsonNode source = json.createObjectNode().set("embedding", json.valueToTree(vector));
+        return Hit.of(h -> h.index("episodes-en").id(id).source(source));
+    }
+}
@@ -1,6 +1,8 @@
 package com.example.podcastbackend.search.query;
 
 import com.example.podcastbackend.request.EpisodeSearchRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -216,4 +218,28 @@ class EpisodeSearchQueryBuilderTest {
             throw new RuntimeException("Failed to set field " + fieldName, e);
         }
     }
+
+    // =====================
+    // hybrid_lite _source handling
+    // =====================
+
+    @Test
+    void withVectorField_handlesEverySourceForm() throws Exception {
+        assertEquals("{\"_source\":false}", withVectorField("{\"_source\":false}"));
+        assertEquals("{\"_source\":true}", withVectorField("{\"_source\":true}"));
+        assertEquals("{\"_source\":[\"title\",\"embedding\"]}", withVectorField("{\"_source\":\"title\"}"));
+        assertEquals("{\"_source\":[\"title\",\"embedding\"]}", withVectorField("{\"_source\":[\"title\"]}"));
+        assertEquals("{\"_source\":{\"includes\":[\"title\",\"embedding\"]}}",
+                withVectorField("{\"_source\":{\"includes\":\"title\"}}"));
+        assertEquals("{\"_source\":{}}", withVectorField("{\"_source\":{\"excludes\":\"embedding\"}}"));
+        assertEquals("{\"_source\":{\"excludes\":[\"audio\"]}}",
+                withVectorField("{\"_source\":{\"excludes\":[\"audio\",\"embedding\"]}}"));
+    }
+
+    private static String withVectorField(String query) throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        ObjectNode root = (ObjectNode) mapper.readTree(query);
+        EpisodeSearchQueryBuilder.withVectorField(root, "embedding");
+        return mapper.writeValueAsString(root);
+    }
 }
@@ -0,0 +1,113 @@
+package com.example.podcastbackend.service;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch.core.MgetRequest;
+import co.elastic.clients.elasticsearch.core.MgetResponse;
+import co.elastic.clients.elasticsearch.core.mget.MultiGetResponseItem;
+import com.example.podcastbackend.response.RankingsItem;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class RankingsEnricherTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private ElasticsearchClient esClient;
+    private SimpleMeterRegistry meterRegistry;
+    private RankingsEnricher enricher;
+
+    @BeforeEach
+    void setUp() {
+        esClient = mock(ElasticsearchClient.class);
+        meterRegistry = new SimpleMeterRegistry();
+        enricher = new RankingsEnricher(esClient, meterRegistry, "shows");
+    }
+
+    @Test
+    void enrich_podcasts_singleMgetMergesShowMetadata() throws Exception {
+        MgetResponse<JsonNode> response = mgetResponse(
+                found("show:apple:1", """
+                        {"show_id": "show:apple:1", "language": "zh-tw", "episode_count": 120,
+                         "external_urls": {"apple_podcasts": "https://podcasts.apple.com/1"}}
+                        """),
+                missing("show:apple:2"));
+        when(esClient.mget(any(MgetRequest.class), eq(JsonNode.class))).thenReturn(response);
+
+        List<RankingsItem> items = enricher.enrich(List.of(podcast(1), podcast(2)), "podcast");
+
+        ArgumentCaptor<MgetRequest> captor = ArgumentCaptor.forClass(MgetRequest.class);
+        verify(esClient, times(1)).mget(captor.capture(), eq(JsonNode.class));
+        MgetRequest request = captor.getValue();
+        assertEquals("shows", request.index());
+        assertEquals(List.of("show:apple:1", "show:apple:2"), request.ids());
+
+        assertEquals("zh-tw", items.get(0).language());
+        assertEquals(120, items.get(0).episodeCount());
+        assertEquals(Map.of("apple_podcasts", "https://podcasts.apple.com/1"), items.get(0).externalUrls());
+        assertEquals("Podcast 1", items.get(0).title());
+        assertEquals(podcast(2), items.get(1));
+    }
+
+    @Test
+    void enrich_episodes_takeLanguageFromParentShowOnly() throws Exception {
+        MgetResponse<JsonNode> response = mgetResponse(found("show:apple:99", """
+                {"show_id": "show:apple:99", "language": "en", "episode_count": 7,
+                 "external_urls": {"apple_podcasts": "https://podcasts.apple.com/99"}}
+                """));
+        when(esClient.mget(any(MgetRequest.class), eq(JsonNode.class))).thenReturn(response);
+
+        RankingsItem episode = new RankingsItem(1, "episode:apple:ep1", "show:apple:99", "Ep", "Show", "url", null, null, null);
+        RankingsItem enriched = enricher.enrich(List.of(episode), "episode").get(0);
+
+        assertEquals("en", enriched.language());
+        assertNull(enriched.episodeCount());
+        assertNull(enriched.externalUrls());
+    }
+
+    @Test
+    void enrich_noShowIds_skipsLookup() throws Exception {
+        RankingsItem orphan = new RankingsItem(1, "episode:apple:ep1", null, "Ep", "Show", "url", null, null, null);
+
+        assertEquals(List.of(orphan), enricher.enrich(List.of(orphan), "episode"));
+        verifyNoInteractions(esClient);
+    }
+
+    @Test
+    void enrich_esFailure_returnsItemsUnchanged() throws Exception {
+        when(esClient.mget(any(MgetRequest.class), eq(JsonNode.class))).thenThrow(new IOException("connection refused"));
+
+        List<RankingsItem> items = List.of(podcast(1));
+
+        assertSame(items, enricher.enrich(items, "podcast"));
+        assertEquals(1.0, meterRegistry.counter("rankings.enrichment.failure").count());
+    }
+
+    private RankingsItem podcast(int id) {
+        return new RankingsItem(id, "show:apple:" + id, null, "Podcast " + id, "Artist", "url", null, null, null);
+    }
+
+    private MultiGetResponseItem<JsonNode> found(String id, String source) throws IOException {
+        JsonNode node = objectMapper.readTree(source);
+        return MultiGetResponseItem.of(i -> i.result(r -> r.index("shows").id(id).found(true).source(node)));
+    }
+
+    private MultiGetResponseItem<JsonNode> missing(String id) {
+        return MultiGetResponseItem.of(i -> i.result(r -> r.index("shows").id(id).found(false)));
+    }
+
+    @SafeVarargs
+    private MgetResponse<JsonNode> mgetResponse(MultiGetResponseItem<JsonNode>... docs) {
+        return MgetResponse.of(b -> b.docs(List.of(docs)));
+    }
+}
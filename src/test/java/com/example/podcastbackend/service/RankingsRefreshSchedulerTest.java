@@ -0,0 +1,292 @@
+package com.example.podcastbackend.service;
+
+import com.example.podcastbackend.cache.RankingsCache;
+import com.example.podcastbackend.cache.RankingsHistory;
+import com.example.podcastbackend.cache.RankingsPayloadCache;
+import com.example.podcastbackend.cache.RankingsSnapshotStore;
+import com.example.podcastbackend.cache.SharedRankingsStore;
+import com.example.podcastbackend.client.AppleChartClient;
+import com.example.podcastbackend.response.RankMovement;
+import com.example.podcastbackend.response.RankingsItem;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class RankingsRefreshSchedulerTest {
+
+    private static final List<RankingsItem> PODCAST_ITEMS = List.of(
+            new RankingsItem(1, "show:apple:123", null, "Tech Podcast", "Tech Corp", "https://img.url/1", null, null, null),
+            new RankingsItem(2, "show:apple:456", null, "News Daily", "News Inc", "https://img.url/2", null, null, null)
+    );
+
+    private static final List<RankingsItem> EPISODE_ITEMS = List.of(
+            new RankingsItem(1, "episode:apple:ep1", "show:apple:99", "Breaking News", "Daily News", "https://img.url/1", null, null, null)
+    );
+
+    private AppleChartClient appleChartClient;
+    private RankingsEnricher enricher;
+    private RankingsCache rankingsCache;
+    private RankingsPayloadCache payloadCache;
+    private RankingsSnapshotStore snapshotStore;
+    private SharedRankingsStore sharedStore;
+    private SimpleMeterRegistry meterRegistry;
+    private RankingsRefreshScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        appleChartClient = mock(AppleChartClient.class);
+        enricher = mock(RankingsEnricher.class);
+        when(enricher.enrich(anyList(), anyString())).thenAnswer(inv -> inv.getArgument(0));
+        rankingsCache = new RankingsCache(3600);
+        payloadCache = new RankingsPayloadCache(JsonMapper.builder().build(), List.of(10, 20));
+        snapshotStore = mock(RankingsSnapshotStore.class);
+        sharedStore = mock(SharedRankingsStore.class);
+        meterRegistry = new SimpleMeterRegistry();
+        scheduler = new RankingsRefreshScheduler(appleChartClient, enricher, rankingsCache, new RankingsHistory(24, 6), payloadCache, snapshotStore, sharedStore, meterRegistry,
+                true, List.of("tw"), 3600, 0.8, 0, 2, 2000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdown();
+    }
+
+    @Test
+    @DisplayName("refresh stores the fetched chart and its payloads")
+    void refresh_podcast_storesChart() throws Exception {
+        when(appleChartClient.fetchPodcastChart("tw")).thenReturn(AppleChartClient.ChartFetch.of(PODCAST_ITEMS));
+
+        List<RankingsItem> items = scheduler.refresh("tw", "podcast").get(2, TimeUnit.SECONDS);
+
+        assertEquals(PODCAST_ITEMS, items);
+        assertEquals(items, rankingsCache.getStale("tw", "podcast"));
+        verify(enricher).enrich(PODCAST_ITEMS, "podcast");
+        verify(snapshotStore).save();
+        assertNotNull(payloadCache.get("tw", "podcast", 20));
+    }
+
+    @Test
+    @DisplayName("a changed chart is cached with movements against the previous one")
+    void refresh_changedChart_annotatesMovements() throws Exception {
+        List<RankingsItem> reordered = List.of(
+                new RankingsItem(1, "show:apple:456", null, "News Daily", "News Inc", "https://img.url/2", null, null, null),
+                new RankingsItem(2, "show:apple:789", null, "New Show", "New Inc", "https://img.url/3", null, null, null));
+        when(appleChartClient.fetchPodcastChart("tw"))
+                .thenReturn(AppleChartClient.ChartFetch.of(PODCAST_ITEMS))
+                .thenReturn(AppleChartClient.ChartFetch.of(reordered));
+        scheduler.refresh("tw", "podcast").get(2, TimeUnit.SECONDS);
+
+        scheduler.refresh("tw", "podcast").get(2, TimeUnit.SECONDS);
+
+        List<RankingsItem> cached = rankingsCache.getStale("tw", "podcast");
+        assertEquals(new RankMovement(2, 1, 1, RankMovement.UP), cached.get(0).movement());
+        assertEquals(new RankMovement(null, null, null, RankMovement.NEW), cached.get(1).movement());
+        assertTrue(new String(payloadCache.get("tw", "podcast", 10).json()).contains("\"trend\":\"up\""));
+    }
+
+    @Test
+    @DisplayName("not-modified refresh restarts the TTL and keeps the cached chart and ETag")
+    void refresh_notModified_touchesEntry() throws Exception {
+        when(appleChartClient.fetchPodcastChart("tw"))
+                .thenReturn(AppleChartClient.ChartFetch.of(PODCAST_ITEMS))
+                .thenReturn(AppleChartClient.ChartFetch.unchanged());
+        scheduler.refresh("tw", "podcast").get(2, TimeUnit.SECONDS);
+        var cachedAt = rankingsCache.getCachedAt("tw", "podcast");
+        String etag = payloadCache.get("tw", "podcast", 20).etag();
+        Thread.sleep(5);
+
+        List<RankingsItem> items = scheduler.refresh("tw", "podcast").get(2, TimeUnit.SECONDS);
+
+        assertEquals(PODCAST_ITEMS, items);
+        assertTrue(rankingsCache.getCachedAt("tw", "podcast").isAfter(cachedAt));
+        assertEquals(etag, payloadCache.get("tw", "podcast", 20).etag());
+        assertEquals(1, meterRegistry.get("rankings.refresh.fetch.duration")
+                .tags("region", "tw", "type", "podcast", "outcome", "not_modified").timer().count());
+    }
+
+    @Test
+    @DisplayName("not-modified refresh re-caches when show metadata changed")
+    void refresh_notModifiedWithNewMetadata_replacesPayload() throws Exception {
+        when(appleChartClient.fetchPodcastChart("tw"))
+                .thenReturn(AppleChartClient.ChartFetch.of(PODCAST_ITEMS))
+                .thenReturn(AppleChartClient.ChartFetch.unchanged());
+        scheduler.refresh("tw", "podcast").get(2, TimeUnit.SECONDS);
+        String etag = payloadCache.get("tw", "podcast", 20).etag();
+
+        RankingsItem first = PODCAST_ITEMS.get(0);
+        List<RankingsItem> enriched = List.of(new RankingsItem(first.rank(), first.showId(), null, first.title(),
+                first.publisher(), first.imageUrl(), "zh-tw", 42, null), PODCAST_ITEMS.get(1));
+        when(enricher.enrich(eq(PODCAST_ITEMS), eq("podcast"))).thenReturn(enriched);
+
+        scheduler.refresh("tw", "podcast").get(2, TimeUnit.SECONDS);
+
+        assertEquals(enriched, rankingsCache.getStale("tw", "podcast"));
+        assertNotEquals(etag, payloadCache.get("tw", "podcast", 20).etag());
+    }
+
+    @Test
+    @DisplayName("not-modified with nothing cached fails and forgets the validators")
+    void refresh_notModifiedWithoutEntry_forgetsValidators() {
+        when(appleChartClient.fetchEpisodeChart("tw")).thenReturn(AppleChartClient.ChartFetch.unchanged());
+
+        CompletableFuture<List<RankingsItem>> refresh = scheduler.refresh("tw", "episode");
+
+        assertThrows(Exception.class, () -> refresh.get(2, TimeUnit.SECONDS));
+        verify(appleChartClient).forgetValidators("tw", "episode");
+    }
+
+    @Test
+    @DisplayName("concurrent refreshes of the same pair share one Apple fetch")
+    void refresh_concurrentCalls_singleFetch() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        var chart = AppleChartClient.ChartFetch.of(PODCAST_ITEMS);
+        when(appleChartClient.fetchPodcastChart("tw")).thenAnswer(inv -> {
+            release.await(2, TimeUnit.SECONDS);
+            return chart;
+        });
+
+        CompletableFuture<List<RankingsItem>> first = scheduler.refresh("tw", "podcast");
+        CompletableFuture<List<RankingsItem>> second = scheduler.refresh("tw", "podcast");
+        assertSame(first, second);
+        release.countDown();
+
+        assertEquals(2, first.get(2, TimeUnit.SECONDS).size());
+        verify(appleChartClient, times(1)).fetchPodcastChart("tw");
+    }
+
+    @Test
+    @DisplayName("failed refresh keeps the previous chart in the cache")
+    void refresh_failure_keepsPreviousEntry() {
+        List<RankingsItem> previous = List.of(
+                new RankingsItem(1, "show:apple:old", null, "Old", "Artist", "url", null, null, null));
+        rankingsCache.put("tw", "podcast", previous);
+        when(appleChartClient.fetchPodcastChart("tw")).thenReturn(null);
+
+        CompletableFuture<List<RankingsItem>> refresh = scheduler.refresh("tw", "podcast");
+
+        assertThrows(Exception.class, () -> refresh.get(2, TimeUnit.SECONDS));
+        assertEquals(previous, rankingsCache.getStale("tw", "podcast"));
+        assertEquals(1, meterRegistry.get("rankings.refresh.fetch.duration")
+                .tags("region", "tw", "type", "podcast", "outcome", "failure").timer().count());
+    }
+
+    @Test
+    @DisplayName("tick refreshes only pairs that are missing or due")
+    void refreshDue_skipsFreshEntries() throws Exception {
+        rankingsCache.put("tw", "podcast", List.of());
+        when(appleChartClient.fetchEpisodeChart("tw")).thenReturn(AppleChartClient.ChartFetch.of(EPISODE_ITEMS));
+
+        scheduler.refreshDue();
+        scheduler.refresh("tw", "episode").get(2, TimeUnit.SECONDS);
+
+        verify(appleChartClient, never()).fetchPodcastChart(anyString());
+        verify(appleChartClient, atLeastOnce()).fetchEpisodeChart("tw");
+        assertNotNull(rankingsCache.getStale("tw", "episode"));
+    }
+
+    @Test
+    @DisplayName("restoreSnapshot serves the previous run's chart with its original timestamp")
+    void restoreSnapshot_populatesCacheAndPayloads() {
+        Instant cachedAt = Instant.now().minusSeconds(7200);
+        when(snapshotStore.load()).thenReturn(List.of(
+                new RankingsSnapshotStore.Entry("jp", "podcast", cachedAt, PODCAST_ITEMS, null)));
+
+        scheduler.restoreSnapshot();
+
+        assertEquals(PODCAST_ITEMS, rankingsCache.getStale("jp", "podcast"));
+        assertEquals(cachedAt, rankingsCache.getCachedAt("jp", "podcast"));
+        assertEquals(cachedAt, payloadCache.get("jp", "podcast", 10).updatedAt());
+        assertNotNull(meterRegistry.find("rankings.refresh.age.seconds").tags("region", "jp").gauge());
+    }
+
+    @Test
+    @DisplayName("failed refresh does not write a snapshot")
+    void refresh_failure_doesNotSaveSnapshot() {
+        when(appleChartClient.fetchPodcastChart("tw")).thenReturn(null);
+
+        assertThrows(Exception.class, () -> scheduler.refresh("tw", "podcast").get(2, TimeUnit.SECONDS));
+        verify(snapshotStore, never()).save();
+    }
+
+    @Test
+    @DisplayName("awaitRefresh returns an empty list when the cold refresh fails")
+    void awaitRefresh_failure_returnsEmpty() {
+        when(appleChartClient.fetchPodcastChart("us")).thenThrow(new RuntimeException("boom"));
+
+        assertTrue(scheduler.awaitRefresh("us", "podcast").isEmpty());
+    }
+
+    @Test
+    @DisplayName("shared store: a fresh chart from another replica is adopted without calling Apple")
+    void refresh_sharedChartFresh_adoptsIt() throws Exception {
+        Instant publishedAt = Instant.now().minusSeconds(60);
+        when(sharedStore.isEnabled()).thenReturn(true);
+        when(sharedStore.read("tw", "podcast")).thenReturn(new SharedRankingsStore.SharedChart(PODCAST_ITEMS, publishedAt));
+
+        List<RankingsItem> items = scheduler.refresh("tw", "podcast").get(2, TimeUnit.SECONDS);
+
+        assertEquals(PODCAST_ITEMS, items);
+        assertEquals(publishedAt, rankingsCache.getCachedAt("tw", "podcast"));
+        assertEquals(publishedAt, payloadCache.get("tw", "podcast", 10).updatedAt());
+        verify(appleChartClient, never()).fetchPodcastChart(anyString());
+        verify(sharedStore, never()).tryAcquireLease(anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("shared store: the lease holder fetches from Apple and publishes the chart")
+    void refresh_sharedChartStale_fetchesUnderLeaseAndPublishes() throws Exception {
+        when(sharedStore.isEnabled()).thenReturn(true);
+        when(sharedStore.read("tw", "podcast"))
+                .thenReturn(new SharedRankingsStore.SharedChart(EPISODE_ITEMS, Instant.now().minusSeconds(7200)));
+        when(sharedStore.tryAcquireLease("tw", "podcast")).thenReturn(true);
+        when(appleChartClient.fetchPodcastChart("tw")).thenReturn(AppleChartClient.ChartFetch.of(PODCAST_ITEMS));
+
+        scheduler.refresh("tw", "podcast").get(2, TimeUnit.SECONDS);
+
+        List<RankingsItem> cached = rankingsCache.getStale("tw", "podcast");
+        assertEquals("show:apple:123", cached.get(0).showId());
+        verify(sharedStore).publish("tw", "podcast", cached, rankingsCache.getCachedAt("tw", "podcast"));
+    }
+
+    @Test
+    @DisplayName("shared store: without the lease the cached chart is kept and Apple is not called")
+    void refresh_leaseHeldElsewhere_keepsCachedChart() throws Exception {
+        rankingsCache.restore("tw", "podcast", PODCAST_ITEMS, Instant.now().minusSeconds(7200));
+        when(sharedStore.isEnabled()).thenReturn(true);
+        when(sharedStore.tryAcquireLease("tw", "podcast")).thenReturn(false);
+
+        List<RankingsItem> items = scheduler.refresh("tw", "podcast").get(2, TimeUnit.SECONDS);
+
+        assertEquals(PODCAST_ITEMS, items);
+        verify(appleChartClient, never()).fetchPodcastChart(anyString());
+        verify(sharedStore, never()).publish(anyString(), anyString(), anyList(), any());
+        assertEquals(1, meterRegistry.get("rankings.refresh.fetch.duration")
+                .tags("region", "tw", "type", "podcast", "outcome", "lease_held").timer().count());
+    }
+
+    @Test
+    @DisplayName("age gauge reports seconds since the last successful refresh")
+    void ageGauge_tracksCachedAt() {
+        double empty = meterRegistry.get("rankings.refresh.age.seconds")
+                .tags("region", "tw", "type", "podcast").gauge().value();
+        assertTrue(Double.isNaN(empty));
+
+        rankingsCache.put("tw", "podcast", List.of());
+        double age = meterRegistry.get("rankings.refresh.age.seconds")
+                .tags("region", "tw", "type", "podcast").gauge().value();
+        assertTrue(age >= 0 && age < 5);
+    }
+
+}
@@ -1,12 +1,10 @@
 package com.example.podcastbackend.service;
 
 import com.example.podcastbackend.cache.RankingsCache;
-import com.example.podcastbackend.client.AppleChartClient;
+import com.example.podcastbackend.cache.RankingsPayloadCache;
 import com.example.podcastbackend.request.RankingsRequest;
 import com.example.podcastbackend.response.RankingsItem;
 import com.example.podcastbackend.response.RankingsResponse;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -23,18 +21,19 @@ import static org.mockito.Mockito.*;
 class RankingsServiceTest {
 
     @Mock
-    private AppleChartClient appleChartClient;
+    private RankingsCache rankingsCache;
 
     @Mock
-    private RankingsCache rankingsCache;
+    private RankingsRefreshScheduler refreshScheduler;
 
-    private RankingsService rankingsService;
+    @Mock
+    private RankingsPayloadCache payloadCache;
 
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    private RankingsService rankingsService;
 
     @BeforeEach
     void setUp() {
-        rankingsService = new RankingsService(appleChartClient, rankingsCache);
+        rankingsService = new RankingsService(rankingsCache, refreshScheduler, payloadCache);
     }
 
     // =====================
@@ -49,7 +48,7 @@ class RankingsServiceTest {
                 new RankingsItem(1, "show:apple:123", null, "Podcast 1", "Artist 1", "https://img.url/1", null, null, null),
                 new RankingsItem(2, "show:apple:456", null, "Podcast 2", "Artist 2", "https://img.url/2", null, null, null)
         );
-        when(rankingsCache.get("tw", "podcast")).thenReturn(cachedItems);
+        when(rankingsCache.getStale("tw", "podcast")).thenReturn(cachedItems);
         when(rankingsCache.getCachedAt("tw", "podcast")).thenReturn(Instant.now());
 
         RankingsResponse response = rankingsService.getRankings(request);
@@ -57,70 +56,52 @@ class RankingsServiceTest {
         assertEquals("ok", response.status());
         assertNotNull(response.data());
         assertEquals(2, response.data().items().size());
-        verify(rankingsCache).get("tw", "podcast");
-        verify(appleChartClient, never()).fetchPodcastChart(anyString());
+        verify(refreshScheduler, never()).awaitRefresh(anyString(), anyString());
     }
 
     @Test
-    void getRankings_podcastCacheMiss_fetchesFromApi() throws Exception {
+    void getRankings_podcastExpiredEntry_servedWithoutFetching() {
         RankingsRequest request = new RankingsRequest("tw", "podcast", 10);
 
-        when(rankingsCache.get("tw", "podcast")).thenReturn(null);
-
-        String appleResponse = """
-                {
-                    "feed": {
-                        "results": [
-                            {"id": "123", "name": "Tech Podcast", "artistName": "Tech Corp", "artworkUrl100": "https://img.url/1"},
-                            {"id": "456", "name": "News Daily", "artistName": "News Inc", "artworkUrl100": "https://img.url/2"}
-                        ]
-                    }
-                }
-                """;
-        JsonNode chartData = objectMapper.readTree(appleResponse);
-        when(appleChartClient.fetchPodcastChart("tw")).thenReturn(chartData);
-        when(rankingsCache.getCachedAt("tw", "podcast")).thenReturn(Instant.now());
+        List<RankingsItem> staleItems = List.of(
+                new RankingsItem(1, "show:apple:old", null, "Stale Podcast", "Artist", "https://img.url", null, null, null)
+        );
+        Instant cachedAt = Instant.now().minusSeconds(7200);
+        when(rankingsCache.getStale("tw", "podcast")).thenReturn(staleItems);
+        when(rankingsCache.getCachedAt("tw", "podcast")).thenReturn(cachedAt);
 
         RankingsResponse response = rankingsService.getRankings(request);
 
         assertEquals("ok", response.status());
-        assertNotNull(response.data());
-        assertEquals(2, response.data().items().size());
-        assertEquals("show:apple:123", response.data().items().get(0).showId());
-        assertEquals("Tech Podcast", response.data().items().get(0).title());
-        verify(appleChartClient).fetchPodcastChart("tw");
-        verify(rankingsCache).put(eq("tw"), eq("podcast"), anyList());
+        assertEquals("Stale Podcast", response.data().items().get(0).title());
+        assertEquals(cachedAt, response.data().updatedAt());
+        verifyNoInteractions(refreshScheduler);
     }
 
     @Test
-    void getRankings_podcastApiFails_usesStaleCacheAsFallback() {
+    void getRankings_podcastColdMiss_waitsForSharedRefresh() {
         RankingsRequest request = new RankingsRequest("tw", "podcast", 10);
 
-        when(rankingsCache.get("tw", "podcast")).thenReturn(null);
-        when(appleChartClient.fetchPodcastChart("tw")).thenReturn(null);
-
-        List<RankingsItem> staleItems = List.of(
-                new RankingsItem(1, "show:apple:old", null, "Stale Podcast", "Artist", "https://img.url", null, null, null)
+        List<RankingsItem> fetched = List.of(
+                new RankingsItem(1, "show:apple:123", null, "Tech Podcast", "Tech Corp", "https://img.url/1", null, null, null)
         );
-        when(rankingsCache.getStale("tw", "podcast")).thenReturn(staleItems);
-        when(rankingsCache.getCachedAt("tw", "podcast")).thenReturn(Instant.now().minusSeconds(7200));
+        when(rankingsCache.getStale("tw", "podcast")).thenReturn(null);
+        when(refreshScheduler.awaitRefresh("tw", "podcast")).thenReturn(fetched);
+        when(rankingsCache.getCachedAt("tw", "podcast")).thenReturn(Instant.now());
 
         RankingsResponse response = rankingsService.getRankings(request);
 
         assertEquals("ok", response.status());
-        assertNotNull(response.data());
         assertEquals(1, response.data().items().size());
-        assertEquals("Stale Podcast", response.data().items().get(0).title());
-        verify(rankingsCache).getStale("tw", "podcast");
+        assertEquals("show:apple:123", response.data().items().get(0).showId());
     }
 
     @Test
-    void getRankings_podcastApiFails_noCache_returnsEmptyList() {
+    void getRankings_podcastColdMissRefreshFails_returnsEmptyList() {
         RankingsRequest request = new RankingsRequest("tw", "podcast", 10);
 
-        when(rankingsCache.get("tw", "podcast")).thenReturn(null);
-        when(appleChartClient.fetchPodcastChart("tw")).thenReturn(null);
         when(rankingsCache.getStale("tw", "podcast")).thenReturn(null);
+        when(refreshScheduler.awaitRefresh("tw", "podcast")).thenReturn(List.of());
         when(rankingsCache.getCachedAt("tw", "podcast")).thenReturn(null);
 
         RankingsResponse response = rankingsService.getRankings(request);
@@ -142,7 +123,7 @@ class RankingsServiceTest {
                 new RankingsItem(1, "episode:apple:ep1", null, "Episode 1", "Show Name", "https://img.url/1", null, null, null),
                 new RankingsItem(2, "episode:apple:ep2", null, "Episode 2", "Show Name", "https://img.url/2", null, null, null)
         );
-        when(rankingsCache.get("us", "episode")).thenReturn(cachedItems);
+        when(rankingsCache.getStale("us", "episode")).thenReturn(cachedItems);
         when(rankingsCache.getCachedAt("us", "episode")).thenReturn(Instant.now());
 
         RankingsResponse response = rankingsService.getRankings(request);
@@ -150,40 +131,8 @@ class RankingsServiceTest {
         assertEquals("ok", response.status());
         assertNotNull(response.data());
         assertEquals(2, response.data().items().size());
-        verify(rankingsCache).get("us", "episode");
-        verify(appleChartClient, never()).fetchEpisodeChart(anyString());
-    }
-
-    @Test
-    void getRankings_episodeCacheMiss_fetchesFromApi() throws Exception {
-        RankingsRequest request = new RankingsRequest("us", "episode", 10);
-
-        when(rankingsCache.get("us", "episode")).thenReturn(null);
-
-        String appleResponse = """
-                {
-                    "feed": {
-                        "results": [
-                            {"id": "ep1", "name": "Breaking News", "collectionName": "Daily News", "artworkUrl100": "https://img.url/1"},
-                            {"id": "ep2", "name": "Tech Review", "artistName": "Tech Show", "artworkUrl100": "https://img.url/2"}
-                        ]
-                    }
-                }
-                """;
-        JsonNode chartData = objectMapper.readTree(appleResponse);
-        when(appleChartClient.fetchEpisodeChart("us")).thenReturn(chartData);
-        when(rankingsCache.getCachedAt("us", "episode")).thenReturn(Instant.now());
-
-        RankingsResponse response = rankingsService.getRankings(request);
-
-        assertEquals("ok", response.status());
-        assertNotNull(response.data());
-        assertEquals(2, response.data().items().size());
-        assertEquals("episode:apple:ep1", response.data().items().get(0).showId());
-        assertEquals("Breaking News", response.data().items().get(0).title());
-        assertEquals("Daily News", response.data().items().get(0).publisher());
-        verify(appleChartClient).fetchEpisodeChart("us");
-        verify(rankingsCache).put(eq("us"), eq("episode"), anyList());
+        assertEquals("episode", response.data().type());
+        verify(refreshScheduler, never()).awaitRefresh(anyString(), anyString());
     }
 
     // =====================
@@ -200,7 +149,7 @@ class RankingsServiceTest {
                 new RankingsItem(3, "show:apple:3", null, "Podcast 3", "Artist", "url", null, null, null),
                 new RankingsItem(4, "show:apple:4", null, "Podcast 4", "Artist", "url", null, null, null)
         );
-        when(rankingsCache.get("tw", "podcast")).thenReturn(cachedItems);
+        when(rankingsCache.getStale("tw", "podcast")).thenReturn(cachedItems);
         when(rankingsCache.getCachedAt("tw", "podcast")).thenReturn(Instant.now());
 
         RankingsResponse response = rankingsService.getRankings(request);
@@ -219,7 +168,7 @@ class RankingsServiceTest {
     void getRankings_exceptionThrown_returnsError() {
         RankingsRequest request = new RankingsRequest("tw", "podcast", 10);
 
-        when(rankingsCache.get("tw", "podcast")).thenThrow(new RuntimeException("Cache failure"));
+        when(rankingsCache.getStale("tw", "podcast")).thenThrow(new RuntimeException("Cache failure"));
 
         RankingsResponse response = rankingsService.getRankings(request);
 
@@ -244,8 +193,8 @@ class RankingsServiceTest {
                 new RankingsItem(1, "show:apple:us1", null, "US Podcast", "Publisher", "url", null, null, null)
         );
 
-        when(rankingsCache.get("tw", "podcast")).thenReturn(twItems);
-        when(rankingsCache.get("us", "podcast")).thenReturn(usItems);
+        when(rankingsCache.getStale("tw", "podcast")).thenReturn(twItems);
+        when(rankingsCache.getStale("us", "podcast")).thenReturn(usItems);
         when(rankingsCache.getCachedAt(anyString(), anyString())).thenReturn(Instant.now());
 
         RankingsResponse twResponse = rankingsService.getRankings(twRequest);
@@ -253,7 +202,7 @@ class RankingsServiceTest {
 
         assertEquals("台灣播客", twResponse.data().items().get(0).title());
         assertEquals("US Podcast", usResponse.data().items().get(0).title());
-        verify(rankingsCache).get("tw", "podcast");
-        verify(rankingsCache).get("us", "podcast");
+        verify(rankingsCache).getStale("tw", "podcast");
+        verify(rankingsCache).getStale("us", "podcast");
     }
 }
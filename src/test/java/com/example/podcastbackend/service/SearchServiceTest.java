@@ -7,21 +7,34 @@ import co.elastic.clients.elasticsearch.core.SearchResponse;
 import co.elastic.clients.elasticsearch.core.search.HitsMetadata;
 import com.example.podcastbackend.exception.CrossIndexPageLimitException;
 import com.example.podcastbackend.exception.InvalidSearchParamException;
+import com.example.podcastbackend.exception.SearchServiceException;
+import com.example.podcastbackend.cache.EpisodePagePrefetcher;
+import com.example.podcastbackend.cache.MaterializedEpisodeResults;
+import com.example.podcastbackend.cache.SemanticKnnCache;
+import com.example.podcastbackend.cache.ShowVectorIndex;
 import com.example.podcastbackend.embedding.CachedEmbeddingService;
 import com.example.podcastbackend.embedding.EmbeddingProfile;
+import com.example.podcastbackend.embedding.EmbeddingUnavailableException;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import com.example.podcastbackend.log.QueryLogService;
 import com.example.podcastbackend.request.EpisodeSearchRequest;
 import com.example.podcastbackend.request.ShowSearchRequest;
+import com.example.podcastbackend.request.UnifiedSearchRequest;
 import com.example.podcastbackend.response.*;
 import com.example.podcastbackend.search.IndexRouter;
 import com.example.podcastbackend.search.LangParam;
+import com.example.podcastbackend.search.SearchModeClassifier;
 import com.example.podcastbackend.search.client.ElasticsearchSearchClient;
+import com.example.podcastbackend.search.fallback.ShowFallbackIndex;
+import com.example.podcastbackend.search.fusion.StoredVectorRanker;
 import com.example.podcastbackend.search.mapper.EpisodeSearchMapper;
 import com.example.podcastbackend.search.mapper.ShowSearchMapper;
 import com.example.podcastbackend.search.query.EpisodeSearchQueryBuilder;
 import com.example.podcastbackend.search.query.ShowSearchQueryBuilder;
 import com.fasterxml.jackson.databind.JsonNode;
+import jakarta.validation.Validation;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -30,9 +43,17 @@ import org.mockito.Mock;
 import org.mockito.ArgumentCaptor;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -54,24 +75,57 @@ class SearchServiceTest {
     @Mock
     private CachedEmbeddingService cachedEmbeddingService;
     @Mock
+    private ShowVectorIndex showVectorIndex;
+    @Mock
+    private ShowFallbackIndex showFallbackIndex;
+    @Mock
     private IndexRouter indexRouter;
     @Mock
+    private SearchModeClassifier modeClassifier;
+    @Mock
     private QueryLogService queryLogService;
 
     private SearchService searchService;
+    private SimpleMeterRegistry meterRegistry;
 
     @BeforeEach
     void setUp() {
-        searchService = new SearchService(
+        meterRegistry = new SimpleMeterRegistry();
+        searchService = searchService(false);
+    }
+
+    private SearchService searchService(boolean prefetch) {
+        return searchService(prefetch, new MaterializedEpisodeResults(meterRegistry, false, 20, 2, 1800));
+    }
+
+    private SearchService searchService(boolean prefetch, MaterializedEpisodeResults materialized) {
+        return searchService(prefetch, materialized, Runnable::run);
+    }
+
+    private SearchService searchService(boolean prefetch, MaterializedEpisodeResults materialized,
+                                        Executor fanOutExecutor) {
+        SemanticKnnCache knnCache = new SemanticKnnCache(meterRegistry, true, 0.97, 16, 8, 600, 0.0);
+        EpisodePagePrefetcher prefetcher = new EpisodePagePrefetcher(meterRegistry, RateLimiterRegistry.ofDefaults(),
+                CircuitBreakerRegistry.ofDefaults(), Runnable::run, prefetch, 120, 100, 0.5);
+        return new SearchService(
                 showQueryBuilder,
                 episodeQueryBuilder,
                 esClient,
                 showMapper,
                 episodeMapper,
                 cachedEmbeddingService,
+                showVectorIndex,
+                showFallbackIndex,
+                knnCache,
+                new StoredVectorRanker("embedding", meterRegistry),
+                prefetcher,
+                materialized,
                 indexRouter,
+                modeClassifier,
                 queryLogService,
-                new SimpleMeterRegistry(),
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                meterRegistry,
+                fanOutExecutor,
                 "shows");
     }
 
@@ -148,6 +202,67 @@ class SearchServiceTest {
         verify(cachedEmbeddingService).embed("technology", EmbeddingProfile.EN);
     }
 
+    @Test
+    @DisplayName("show KNN: answers from the in-process vector index when it is ready")
+    void searchShows_knn_usesLocalVectorIndexWhenReady() {
+        ShowSearchRequest request = mock(ShowSearchRequest.class);
+        when(request.getQ()).thenReturn("technology");
+        when(request.getSize()).thenReturn(10);
+        when(request.getSearchMode()).thenReturn(ShowSearchRequest.SearchMode.KNN);
+        when(request.getLanguage()).thenReturn(List.of("en"));
+        when(cachedEmbeddingService.isAvailable()).thenReturn(true);
+
+        float[] mockVector = new float[384];
+        when(cachedEmbeddingService.embed("technology", EmbeddingProfile.EN)).thenReturn(mockVector);
+
+        @SuppressWarnings("unchecked")
+        SearchResponse<JsonNode> localResponse = mock(SearchResponse.class);
+        HitsMetadata<JsonNode> mockHits = mock(HitsMetadata.class);
+        TotalHits totalHits = new TotalHits.Builder().value(1).relation(TotalHitsRelation.Eq).build();
+        when(mockHits.total()).thenReturn(totalHits);
+        when(localResponse.hits()).thenReturn(mockHits);
+        when(showVectorIndex.search(mockVector, List.of("en"), 10)).thenReturn(localResponse);
+
+        ShowSearchResponseData data = new ShowSearchResponseData(1, 10, 1, List.of());
+        when(showMapper.toResponse(localResponse, request)).thenReturn(ShowSearchResponse.ok(data));
+
+        searchService.searchShows(request);
+
+        verify(showMapper).toResponse(localResponse, request);
+        verify(showQueryBuilder, never()).buildKnnQuery(any(), any());
+        verify(esClient, never()).search(anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("show search: answers from the local index with a warning when ES fails")
+    void searchShows_esFailure_degradesToLocalIndex() {
+        ShowSearchRequest request = mock(ShowSearchRequest.class);
+        when(request.getSearchMode()).thenReturn(ShowSearchRequest.SearchMode.BM25);
+        when(showQueryBuilder.buildBm25Query(request)).thenReturn("{}");
+        when(esClient.search("shows", "{}"))
+                .thenThrow(new SearchServiceException("Elasticsearch circuit breaker is OPEN", null));
+        ShowSearchResponseData local = new ShowSearchResponseData(1, 10, 1, List.of());
+        when(showFallbackIndex.search(request)).thenReturn(local);
+
+        ShowSearchResponse response = searchService.searchShows(request);
+
+        assertEquals("partial_success", response.status());
+        assertSame(local, response.data());
+        assertTrue(response.warning().startsWith("search_unavailable:"));
+    }
+
+    @Test
+    @DisplayName("show search: rethrows the ES error while the local index is not built")
+    void searchShows_esFailure_localIndexNotReady_rethrows() {
+        ShowSearchRequest request = mock(ShowSearchRequest.class);
+        when(request.getSearchMode()).thenReturn(ShowSearchRequest.SearchMode.BM25);
+        when(showQueryBuilder.buildBm25Query(request)).thenReturn("{}");
+        SearchServiceException failure = new SearchServiceException("Elasticsearch search failed", null);
+        when(esClient.search("shows", "{}")).thenThrow(failure);
+
+        assertSame(failure, assertThrows(SearchServiceException.class, () -> searchService.searchShows(request)));
+    }
+
     @Test
     @DisplayName("show KNN: uses ZH profile when language filter is null")
     void searchShows_knn_usesZhProfileWhenLanguageFilterNull() {
@@ -322,6 +437,114 @@ class SearchServiceTest {
         assertNull(entryCaptor.getValue().degradationReason());
     }
 
+    @Test
+    @DisplayName("prefetch: page 2 is computed after page 1 and served without another ES call for it")
+    void searchEpisodes_bm25Prefetch_servesNextPageFromCache() {
+        SearchService prefetching = searchService(true);
+        EpisodeSearchRequest page1 = EpisodeSearchRequest.firstPage("podcast", 10, "zh-tw", "bm25");
+        EpisodeSearchRequest page2 = page1.withPage(2);
+        when(indexRouter.isCrossIndex("zh-tw")).thenReturn(false);
+        when(indexRouter.resolveIndex("zh-tw")).thenReturn("episodes-zh-tw");
+        when(indexRouter.resolveLangParam("zh-tw")).thenReturn(LangParam.ZH_TW);
+        when(episodeQueryBuilder.buildBm25Query(any())).thenAnswer(inv ->
+                "page-" + inv.getArgument(0, EpisodeSearchRequest.class).getPage());
+        when(esClient.search(eq("episodes-zh-tw"), anyString())).thenReturn(emptyResult());
+        when(episodeMapper.toResponse(any(), any())).thenAnswer(inv -> EpisodeSearchResponse.ok(
+                new EpisodeSearchResponseData(inv.getArgument(1, EpisodeSearchRequest.class).getPage(), 10, 35, List.of())));
+
+        prefetching.searchEpisodes(page1);
+        verify(esClient).search("episodes-zh-tw", "page-2");
+
+        EpisodeSearchResponse response = prefetching.searchEpisodes(page2);
+
+        assertEquals(2, response.data().page());
+        assertNotNull(response.searchRequestId());
+        verify(esClient, times(1)).search("episodes-zh-tw", "page-2");
+        verify(esClient).search("episodes-zh-tw", "page-3");
+        assertEquals(1.0, meterRegistry.counter("search.prefetch.lookups", "result", "hit").count());
+        verify(queryLogService, times(2)).logQuery(any());
+    }
+
+    @Test
+    void materializedEpisodes_hit_servesStoredBodyAndLogsQuery() {
+        MaterializedEpisodeResults materialized = new MaterializedEpisodeResults(meterRegistry, true, 20, 2, 1800);
+        EpisodeSearchResponse stored = EpisodeSearchResponse.ok(new EpisodeSearchResponseData(1, 20, 0, List.of()));
+        materialized.replace(Map.of(
+                MaterializedEpisodeResults.key("ai", "zh-tw", EpisodeSearchRequest.SearchMode.BM25, 1),
+                new MaterializedEpisodeResults.Entry("{\"searchRequestId\":\"".getBytes(StandardCharsets.UTF_8),
+                        "\"}".getBytes(StandardCharsets.UTF_8), stored, "episodes-zh-tw", "episodes-zh-tw-v1",
+                        Instant.now())));
+        SearchService service = searchService(false, materialized);
+        when(indexRouter.isCrossIndex("zh-tw")).thenReturn(false);
+        when(indexRouter.resolveLangParam("zh-tw")).thenReturn(LangParam.ZH_TW);
+
+        byte[] body = service.materializedEpisodes(EpisodeSearchRequest.firstPage("ai", 20, "zh-tw", "bm25"));
+
+        ArgumentCaptor<com.example.podcastbackend.log.QueryLogEntry> entryCaptor = ArgumentCaptor
+                .forClass(com.example.podcastbackend.log.QueryLogEntry.class);
+        verify(queryLogService).logQuery(entryCaptor.capture());
+        assertEquals("{\"searchRequestId\":\"" + entryCaptor.getValue().requestId() + "\"}",
+                new String(body, StandardCharsets.UTF_8));
+        assertEquals("bm25", entryCaptor.getValue().mode());
+        assertEquals("episodes-zh-tw", entryCaptor.getValue().targetIndex());
+        assertNull(service.materializedEpisodes(EpisodeSearchRequest.firstPage("ai", 10, "zh-tw", "bm25")));
+        verifyNoInteractions(esClient);
+    }
+
+    @Test
+    @DisplayName("materialized: mode=auto is looked up and logged like the live search that would run")
+    void materializedEpisodes_autoMode_keyedAndLoggedByRequestedMode() {
+        MaterializedEpisodeResults materialized = new MaterializedEpisodeResults(meterRegistry, true, 20, 2, 1800);
+        EpisodeSearchResponse stored = EpisodeSearchResponse.ok(new EpisodeSearchResponseData(1, 20, 0, List.of()));
+        materialized.replace(Map.of(
+                MaterializedEpisodeResults.key("ai", "zh-tw", EpisodeSearchRequest.SearchMode.AUTO, 1),
+                new MaterializedEpisodeResults.Entry("{\"searchRequestId\":\"".getBytes(StandardCharsets.UTF_8),
+                        "\"}".getBytes(StandardCharsets.UTF_8), stored, "episodes-zh-tw", "episodes-zh-tw-v1",
+                        Instant.now())));
+        SearchService service = searchService(false, materialized);
+        when(indexRouter.isCrossIndex("zh-tw")).thenReturn(false);
+        when(indexRouter.resolveLangParam("zh-tw")).thenReturn(LangParam.ZH_TW);
+        when(modeClassifier.classify("ai", "episodes"))
+                .thenReturn(new SearchModeClassifier.Decision(SearchModeClassifier.Mode.BM25, "short_query"));
+
+        assertNotNull(service.materializedEpisodes(EpisodeSearchRequest.firstPage("ai", 20, "zh-tw", "auto")));
+
+        ArgumentCaptor<com.example.podcastbackend.log.QueryLogEntry> entryCaptor = ArgumentCaptor
+                .forClass(com.example.podcastbackend.log.QueryLogEntry.class);
+        verify(queryLogService).logQuery(entryCaptor.capture());
+        assertEquals("bm25", entryCaptor.getValue().mode());
+        assertEquals("auto", entryCaptor.getValue().requestedMode());
+        assertEquals("zh-tw", entryCaptor.getValue().queryLang());
+        verifyNoInteractions(esClient);
+    }
+
+    @Test
+    void interruptibleAsync_cancel_interruptsTheRunningCall() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            CompletableFuture<String> future = SearchService.interruptibleAsync(() -> {
+                started.countDown();
+                try {
+                    Thread.sleep(10_000);
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                }
+                return "late";
+            }, executor);
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            future.cancel(true);
+
+            assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+            assertTrue(future.isCancelled());
+            assertFalse(executor.submit(() -> Thread.currentThread().isInterrupted()).get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     @Test
     @DisplayName("KNN: uses embedding service with resolved index")
     void searchEpisodes_knn_usesEmbeddingServiceAndIndexRouter() {
@@ -361,6 +584,373 @@ class SearchServiceTest {
         verify(cachedEmbeddingService).embed("machine learning", EmbeddingProfile.EN);
     }
 
+    @Test
+    @DisplayName("KNN: a reworded query with a near-identical vector reuses the cached kNN result")
+    void searchEpisodes_knn_nearDuplicateVectorSkipsEs() {
+        float[] first = new float[384];
+        first[0] = 1f;
+        float[] reworded = new float[384];
+        reworded[0] = 0.99f;
+        reworded[1] = 0.05f;
+        EpisodeSearchRequest original = knnEpisodeRequest("ai podcast", first);
+        EpisodeSearchRequest paraphrase = knnEpisodeRequest("podcasts about ai", reworded);
+        when(episodeQueryBuilder.buildKnnQuery(original, first)).thenReturn("{\"knn\":{}}");
+
+        @SuppressWarnings("unchecked")
+        SearchResponse<JsonNode> mockEsResponse = mock(SearchResponse.class);
+        HitsMetadata<JsonNode> mockHits = mock(HitsMetadata.class);
+        when(mockHits.total()).thenReturn(new TotalHits.Builder().value(2).relation(TotalHitsRelation.Eq).build());
+        when(mockEsResponse.hits()).thenReturn(mockHits);
+        when(esClient.search("episodes-en", "{\"knn\":{}}")).thenReturn(mockEsResponse);
+        EpisodeSearchResponseData data = new EpisodeSearchResponseData(1, 10, 2, List.of());
+        when(episodeMapper.toResponse(eq(mockEsResponse), any())).thenReturn(EpisodeSearchResponse.ok(data));
+
+        searchService.searchEpisodes(original);
+        searchService.searchEpisodes(paraphrase);
+
+        verify(esClient, times(1)).search(anyString(), anyString());
+        verify(episodeMapper).toResponse(mockEsResponse, paraphrase);
+        assertEquals(1.0, meterRegistry.counter("search.knn_cache.lookups", "result", "hit").count());
+    }
+
+    private EpisodeSearchRequest knnEpisodeRequest(String q, float[] vector) {
+        EpisodeSearchRequest request = mock(EpisodeSearchRequest.class);
+        when(request.getQ()).thenReturn(q);
+        when(request.getPage()).thenReturn(1);
+        when(request.getSize()).thenReturn(10);
+        when(request.getLang()).thenReturn("en");
+        when(request.getSearchMode()).thenReturn(EpisodeSearchRequest.SearchMode.KNN);
+        when(indexRouter.isCrossIndex("en")).thenReturn(false);
+        when(indexRouter.resolveIndex("en")).thenReturn("episodes-en");
+        when(indexRouter.resolveLangParam("en")).thenReturn(LangParam.EN);
+        when(cachedEmbeddingService.isAvailable()).thenReturn(true);
+        when(cachedEmbeddingService.embed(q, EmbeddingProfile.EN)).thenReturn(vector);
+        return request;
+    }
+
+    @Test
+    @DisplayName("AUTO: a query classified as BM25 skips the embedding call")
+    void searchEpisodes_auto_bm25DecisionSkipsEmbedding() {
+        EpisodeSearchRequest request = mock(EpisodeSearchRequest.class);
+        when(request.getQ()).thenReturn("Lex Fridman");
+        when(request.getPage()).thenReturn(1);
+        when(request.getSize()).thenReturn(10);
+        when(request.getLang()).thenReturn("en");
+        when(request.getSearchMode()).thenReturn(EpisodeSearchRequest.SearchMode.AUTO);
+        when(indexRouter.isCrossIndex("en")).thenReturn(false);
+        when(indexRouter.resolveIndex("en")).thenReturn("episodes-en");
+        when(indexRouter.resolveLangParam("en")).thenReturn(LangParam.EN);
+        when(modeClassifier.classify("Lex Fridman", "episodes"))
+                .thenReturn(new SearchModeClassifier.Decision(SearchModeClassifier.Mode.BM25, "title_match"));
+        when(episodeQueryBuilder.buildBm25Query(request)).thenReturn("{}");
+
+        @SuppressWarnings("unchecked")
+        SearchResponse<JsonNode> mockEsResponse = mock(SearchResponse.class);
+        HitsMetadata<JsonNode> mockHits = mock(HitsMetadata.class);
+        when(mockHits.total()).thenReturn(new TotalHits.Builder().value(1).relation(TotalHitsRelation.Eq).build());
+        when(mockEsResponse.hits()).thenReturn(mockHits);
+        when(esClient.search("episodes-en", "{}")).thenReturn(mockEsResponse);
+        when(episodeMapper.toResponse(mockEsResponse, request))
+                .thenReturn(EpisodeSearchResponse.ok(new EpisodeSearchResponseData(1, 10, 1, List.of())));
+
+        searchService.searchEpisodes(request);
+
+        verify(cachedEmbeddingService, never()).embed(any(), any());
+        ArgumentCaptor<com.example.podcastbackend.log.QueryLogEntry> entry =
+                ArgumentCaptor.forClass(com.example.podcastbackend.log.QueryLogEntry.class);
+        verify(queryLogService).logQuery(entry.capture());
+        assertEquals("bm25", entry.getValue().mode());
+    }
+
+    @Test
+    @DisplayName("lang=auto: routes to the detected index and logs the requested lang")
+    void searchEpisodes_autoLang_routesToDetectedIndex() {
+        EpisodeSearchRequest request = mock(EpisodeSearchRequest.class);
+        EpisodeSearchRequest routed = mock(EpisodeSearchRequest.class);
+        when(request.getQ()).thenReturn("history podcast");
+        when(request.getPage()).thenReturn(1);
+        when(request.getSize()).thenReturn(10);
+        when(request.getLang()).thenReturn("auto");
+        when(request.getSearchMode()).thenReturn(EpisodeSearchRequest.SearchMode.BM25);
+        when(request.withLang("en")).thenReturn(routed);
+        when(routed.getQ()).thenReturn("history podcast");
+        when(routed.getPage()).thenReturn(1);
+        when(routed.getLang()).thenReturn("en");
+        when(routed.getSearchMode()).thenReturn(EpisodeSearchRequest.SearchMode.BM25);
+        when(indexRouter.resolveAutoLang("history podcast", true)).thenReturn("en");
+        when(indexRouter.isCrossIndex("en")).thenReturn(false);
+        when(indexRouter.resolveIndex("en")).thenReturn("episodes-en");
+        when(indexRouter.resolveLangParam("en")).thenReturn(LangParam.EN);
+        when(episodeQueryBuilder.buildBm25Query(routed)).thenReturn("{}");
+
+        @SuppressWarnings("unchecked")
+        SearchResponse<JsonNode> mockEsResponse = mock(SearchResponse.class);
+        HitsMetadata<JsonNode> mockHits = mock(HitsMetadata.class);
+        when(mockHits.total()).thenReturn(new TotalHits.Builder().value(1).relation(TotalHitsRelation.Eq).build());
+        when(mockEsResponse.hits()).thenReturn(mockHits);
+        when(esClient.search("episodes-en", "{}")).thenReturn(mockEsResponse);
+        when(episodeMapper.toResponse(mockEsResponse, routed))
+                .thenReturn(EpisodeSearchResponse.ok(new EpisodeSearchResponseData(1, 10, 1, List.of())));
+
+        searchService.searchEpisodes(request);
+
+        verify(esClient).search("episodes-en", "{}");
+        assertEquals(1.0, meterRegistry.counter("search.auto_lang", "lang", "en").count());
+        ArgumentCaptor<com.example.podcastbackend.log.QueryLogEntry> entry =
+                ArgumentCaptor.forClass(com.example.podcastbackend.log.QueryLogEntry.class);
+        verify(queryLogService).logQuery(entry.capture());
+        assertEquals("auto", entry.getValue().queryLang());
+    }
+
+    @Test
+    @DisplayName("unified: profiles on one model embed once and fill both sections")
+    void searchAll_knn_embedsOnceForBothSections() {
+        UnifiedSearchRequest request = unifiedRequest("history podcast", "en", "knn");
+        when(indexRouter.isCrossIndex("en")).thenReturn(false);
+        when(indexRouter.resolveIndex("en")).thenReturn("episodes-en");
+        when(indexRouter.resolveLangParam("en")).thenReturn(LangParam.EN);
+        when(cachedEmbeddingService.isAvailable()).thenReturn(true);
+        when(cachedEmbeddingService.modelFor(EmbeddingProfile.ZH)).thenReturn("multilingual");
+        when(cachedEmbeddingService.modelFor(EmbeddingProfile.EN)).thenReturn("multilingual");
+        float[] vector = {0.1f, 0.2f};
+        when(cachedEmbeddingService.embed(eq("history podcast"), any())).thenReturn(vector);
+        when(showQueryBuilder.buildKnnQuery(any(), eq(vector))).thenReturn("shows-knn");
+        when(episodeQueryBuilder.buildKnnQuery(any(), eq(vector))).thenReturn("episodes-knn");
+
+        @SuppressWarnings("unchecked")
+        SearchResponse<JsonNode> showsResult = mock(SearchResponse.class);
+        @SuppressWarnings("unchecked")
+        SearchResponse<JsonNode> episodesResult = mock(SearchResponse.class);
+        HitsMetadata<JsonNode> hits = mock(HitsMetadata.class);
+        when(hits.total()).thenReturn(new TotalHits.Builder().value(1).relation(TotalHitsRelation.Eq).build());
+        when(showsResult.hits()).thenReturn(hits);
+        when(episodesResult.hits()).thenReturn(hits);
+        when(esClient.search("shows", "shows-knn")).thenReturn(showsResult);
+        when(esClient.search("episodes-en", "episodes-knn")).thenReturn(episodesResult);
+        when(showMapper.toResponse(eq(showsResult), any()))
+                .thenReturn(ShowSearchResponse.ok(new ShowSearchResponseData(1, 3, 0, List.of())));
+        when(episodeMapper.toResponse(eq(episodesResult), any()))
+                .thenReturn(EpisodeSearchResponse.ok(new EpisodeSearchResponseData(1, 10, 0, List.of())));
+
+        UnifiedSearchResponse response = searchService.searchAll(request);
+
+        assertEquals("ok", response.status());
+        assertEquals(3, response.shows().size());
+        assertEquals(10, response.episodes().size());
+        assertNotNull(response.searchRequestId());
+        verify(cachedEmbeddingService, times(1)).embed(any(), any());
+        verify(queryLogService, times(1)).logQuery(any());
+    }
+
+    @Test
+    @DisplayName("unified: show and episode profiles on different models each embed with their own")
+    void searchAll_knn_profilesOnDifferentModels_embedOncePerModel() {
+        UnifiedSearchRequest request = unifiedRequest("history podcast", "en", "knn");
+        when(indexRouter.isCrossIndex("en")).thenReturn(false);
+        when(indexRouter.resolveIndex("en")).thenReturn("episodes-en");
+        when(indexRouter.resolveLangParam("en")).thenReturn(LangParam.EN);
+        when(cachedEmbeddingService.isAvailable()).thenReturn(true);
+        when(cachedEmbeddingService.modelFor(EmbeddingProfile.ZH)).thenReturn("bge-m3");
+        when(cachedEmbeddingService.modelFor(EmbeddingProfile.EN)).thenReturn("minilm");
+        float[] zhVector = {0.1f, 0.2f};
+        float[] enVector = {0.3f, 0.4f, 0.5f};
+        when(cachedEmbeddingService.embed("history podcast", EmbeddingProfile.ZH)).thenReturn(zhVector);
+        when(cachedEmbeddingService.embed("history podcast", EmbeddingProfile.EN)).thenReturn(enVector);
+        when(showQueryBuilder.buildKnnQuery(any(), eq(zhVector))).thenReturn("shows-knn");
+        when(episodeQueryBuilder.buildKnnQuery(any(), eq(enVector))).thenReturn("episodes-knn");
+
+        @SuppressWarnings("unchecked")
+        SearchResponse<JsonNode> showsResult = mock(SearchResponse.class);
+        @SuppressWarnings("unchecked")
+        SearchResponse<JsonNode> episodesResult = mock(SearchResponse.class);
+        HitsMetadata<JsonNode> hits = mock(HitsMetadata.class);
+        when(hits.total()).thenReturn(new TotalHits.Builder().value(1).relation(TotalHitsRelation.Eq).build());
+        when(showsResult.hits()).thenReturn(hits);
+        when(episodesResult.hits()).thenReturn(hits);
+        when(esClient.search("shows", "shows-knn")).thenReturn(showsResult);
+        when(esClient.search("episodes-en", "episodes-knn")).thenReturn(episodesResult);
+        when(showMapper.toResponse(eq(showsResult), any()))
+                .thenReturn(ShowSearchResponse.ok(new ShowSearchResponseData(1, 3, 0, List.of())));
+        when(episodeMapper.toResponse(eq(episodesResult), any()))
+                .thenReturn(EpisodeSearchResponse.ok(new EpisodeSearchResponseData(1, 10, 0, List.of())));
+
+        UnifiedSearchResponse response = searchService.searchAll(request);
+
+        assertEquals("ok", response.status());
+        verify(cachedEmbeddingService).embed("history podcast", EmbeddingProfile.ZH);
+        verify(cachedEmbeddingService).embed("history podcast", EmbeddingProfile.EN);
+    }
+
+    @Test
+    @DisplayName("unified: embedding unavailable degrades both sections with one warning and one log entry")
+    void searchAll_hybrid_embeddingUnavailable_degradesBothSections() {
+        UnifiedSearchRequest request = unifiedRequest("history podcast", "en", "hybrid");
+        when(indexRouter.isCrossIndex("en")).thenReturn(false);
+        when(indexRouter.resolveIndex("en")).thenReturn("episodes-en");
+        when(indexRouter.resolveLangParam("en")).thenReturn(LangParam.EN);
+        when(cachedEmbeddingService.isAvailable()).thenReturn(true);
+        when(cachedEmbeddingService.modelFor(EmbeddingProfile.ZH)).thenReturn("multilingual");
+        when(cachedEmbeddingService.modelFor(EmbeddingProfile.EN)).thenReturn("multilingual");
+        when(cachedEmbeddingService.embed(eq("history podcast"), any()))
+                .thenThrow(new EmbeddingUnavailableException("timeout"));
+        when(showQueryBuilder.buildBm25QueryForHybrid(any(), eq(100))).thenReturn("shows-window");
+        when(showQueryBuilder.buildBm25Query(any())).thenReturn("shows-bm25");
+        when(episodeQueryBuilder.buildBm25QueryForHybrid(any(), eq(100))).thenReturn("episodes-window");
+        when(episodeQueryBuilder.buildBm25Query(any())).thenReturn("episodes-bm25");
+
+        @SuppressWarnings("unchecked")
+        SearchResponse<JsonNode> showsResult = mock(SearchResponse.class);
+        @SuppressWarnings("unchecked")
+        SearchResponse<JsonNode> episodesResult = mock(SearchResponse.class);
+        HitsMetadata<JsonNode> hits = mock(HitsMetadata.class);
+        when(hits.total()).thenReturn(new TotalHits.Builder().value(0).relation(TotalHitsRelation.Eq).build());
+        when(showsResult.hits()).thenReturn(hits);
+        when(episodesResult.hits()).thenReturn(hits);
+        when(esClient.search(eq("shows"), anyString())).thenReturn(showsResult);
+        when(esClient.search(eq("episodes-en"), anyString())).thenReturn(episodesResult);
+        when(showMapper.toResponse(eq(showsResult), any()))
+                .thenReturn(ShowSearchResponse.ok(new ShowSearchResponseData(1, 3, 0, List.of())));
+        when(episodeMapper.toResponse(eq(episodesResult), any()))
+                .thenReturn(EpisodeSearchResponse.ok(new EpisodeSearchResponseData(1, 10, 0, List.of())));
+
+        UnifiedSearchResponse response = searchService.searchAll(request);
+
+        assertEquals("partial_success", response.status());
+        assertEquals("embedding_unavailable: search degraded to bm25 (timeout)", response.warning());
+        verify(cachedEmbeddingService, times(1)).embed(any(), any());
+        ArgumentCaptor<com.example.podcastbackend.log.QueryLogEntry> entry =
+                ArgumentCaptor.forClass(com.example.podcastbackend.log.QueryLogEntry.class);
+        verify(queryLogService, times(1)).logQuery(entry.capture());
+        assertTrue(entry.getValue().wasDegraded());
+        assertEquals("bm25", entry.getValue().mode());
+    }
+
+    // =====================
+    // Batch Episode Search Tests
+    // =====================
+
+    @Test
+    @DisplayName("batch: one msearch per index, results in request order, invalid item isolated")
+    void searchEpisodesBatch_groupsByIndexAndKeepsOrder() {
+        EpisodeSearchRequest first = EpisodeSearchRequest.firstPage("ai", 10, "zh-tw", "bm25");
+        EpisodeSearchRequest invalid = EpisodeSearchRequest.firstPage(" ", 10, "zh-tw", "bm25");
+        EpisodeSearchRequest english = EpisodeSearchRequest.firstPage("news", 10, "en", "bm25");
+        EpisodeSearchRequest quoted = EpisodeSearchRequest.firstPage("\"ai\"", 10, "zh-tw", "exact");
+        when(indexRouter.isCrossIndex(anyString())).thenReturn(false);
+        when(indexRouter.resolveIndex("zh-tw")).thenReturn("episodes-zh-tw");
+        when(indexRouter.resolveIndex("en")).thenReturn("episodes-en");
+        when(episodeQueryBuilder.buildBm25Query(first)).thenReturn("q-first");
+        when(episodeQueryBuilder.buildBm25Query(english)).thenReturn("q-english");
+        when(episodeQueryBuilder.buildExactQuery(quoted)).thenReturn("q-quoted");
+
+        SearchResponse<JsonNode> firstResult = emptyResult();
+        SearchResponse<JsonNode> englishResult = emptyResult();
+        SearchResponse<JsonNode> quotedResult = emptyResult();
+        when(esClient.msearch("episodes-zh-tw", List.of("q-first", "q-quoted")))
+                .thenReturn(List.of(outcome(firstResult), outcome(quotedResult)));
+        when(esClient.msearch("episodes-en", List.of("q-english"))).thenReturn(List.of(outcome(englishResult)));
+        EpisodeSearchResponse firstResponse = EpisodeSearchResponse.ok(new EpisodeSearchResponseData(1, 10, 1, List.of()));
+        EpisodeSearchResponse englishResponse = EpisodeSearchResponse.ok(new EpisodeSearchResponseData(1, 10, 2, List.of()));
+        EpisodeSearchResponse quotedResponse = EpisodeSearchResponse.ok(new EpisodeSearchResponseData(1, 10, 3, List.of()));
+        when(episodeMapper.toResponse(firstResult, first)).thenReturn(firstResponse);
+        when(episodeMapper.toResponse(englishResult, english)).thenReturn(englishResponse);
+        when(episodeMapper.toResponse(quotedResult, quoted)).thenReturn(quotedResponse);
+
+        EpisodeBatchSearchResponse response = searchService.searchEpisodesBatch(List.of(first, invalid, english, quoted));
+
+        assertEquals("partial_success", response.status());
+        assertEquals(4, response.results().size());
+        assertSame(firstResponse, response.results().get(0));
+        assertEquals("error", response.results().get(1).status());
+        assertEquals("INVALID_PARAMETER", response.results().get(1).error().code());
+        assertSame(englishResponse, response.results().get(2));
+        assertSame(quotedResponse, response.results().get(3));
+        verify(esClient, times(2)).msearch(anyString(), anyList());
+        verify(esClient, never()).search(anyString(), anyString());
+        verifyNoInteractions(queryLogService);
+    }
+
+    @Test
+    @DisplayName("batch: one embedding call per profile; failure degrades those items, a rejected search fails its item")
+    void searchEpisodesBatch_embeddingFailureDegradesAndSearchFailureIsolated() {
+        EpisodeSearchRequest knn = EpisodeSearchRequest.firstPage("history", 10, "en", "knn");
+        EpisodeSearchRequest hybrid = EpisodeSearchRequest.firstPage("science", 10, "en", "hybrid");
+        EpisodeSearchRequest bm25 = EpisodeSearchRequest.firstPage("ai", 10, "zh-tw", "bm25");
+        when(indexRouter.isCrossIndex(anyString())).thenReturn(false);
+        when(indexRouter.resolveIndex("en")).thenReturn("episodes-en");
+        when(indexRouter.resolveIndex("zh-tw")).thenReturn("episodes-zh-tw");
+        when(indexRouter.resolveLangParam("en")).thenReturn(LangParam.EN);
+        when(cachedEmbeddingService.isAvailable()).thenReturn(true);
+        when(cachedEmbeddingService.embedAll(List.of("history", "science"), EmbeddingProfile.EN))
+                .thenThrow(new EmbeddingUnavailableException("timeout"));
+        when(episodeQueryBuilder.buildBm25Query(any())).thenAnswer(inv ->
+                "q-" + inv.getArgument(0, EpisodeSearchRequest.class).getQ());
+
+        SearchResponse<JsonNode> knnResult = emptyResult();
+        SearchResponse<JsonNode> hybridResult = emptyResult();
+        when(esClient.msearch("episodes-en", List.of("q-history", "q-science")))
+                .thenReturn(List.of(outcome(knnResult), outcome(hybridResult)));
+        when(esClient.msearch("episodes-zh-tw", List.of("q-ai")))
+                .thenReturn(List.of(new ElasticsearchSearchClient.MultiSearchOutcome(null, "parse error")));
+        when(episodeMapper.toResponse(any(), any()))
+                .thenReturn(EpisodeSearchResponse.ok(new EpisodeSearchResponseData(1, 10, 0, List.of())));
+
+        EpisodeBatchSearchResponse response = searchService.searchEpisodesBatch(List.of(knn, hybrid, bm25));
+
+        assertEquals("embedding_unavailable: search degraded to bm25 (timeout)", response.results().get(0).warning());
+        assertEquals("partial_success", response.results().get(1).status());
+        assertEquals("SEARCH_SERVICE_ERROR", response.results().get(2).error().code());
+        assertEquals("parse error", response.results().get(2).error().message());
+        verify(cachedEmbeddingService, times(1)).embedAll(anyList(), any());
+        assertEquals(2.0, meterRegistry.counter("search.degraded_to_bm25").count());
+    }
+
+    @Test
+    @DisplayName("batch: items are planned like single searches and rejected with the same message")
+    void searchEpisodesBatch_rejectsWhatSearchEpisodesRejects() {
+        when(indexRouter.isCrossIndex("zh-both")).thenReturn(true);
+        List<EpisodeSearchRequest> requests = List.of(
+                EpisodeSearchRequest.firstPage("ai", 10, "zh-tw", "bm25").withPage(101),
+                EpisodeSearchRequest.firstPage("ai", 10, "zh-both", "bm25").withPage(6),
+                EpisodeSearchRequest.firstPage("ai", 10, "zh-both", "knn"));
+
+        EpisodeBatchSearchResponse batch = searchService.searchEpisodesBatch(requests);
+
+        for (int i = 0; i < requests.size(); i++) {
+            EpisodeSearchRequest request = requests.get(i);
+            RuntimeException single = assertThrows(RuntimeException.class, () -> searchService.searchEpisodes(request));
+            assertEquals(single.getMessage(), batch.results().get(i).error().message());
+        }
+        assertEquals("INVALID_SEARCH_PARAM", batch.results().get(0).error().code());
+        assertEquals("CROSS_INDEX_PAGE_LIMIT", batch.results().get(1).error().code());
+        assertEquals("INVALID_SEARCH_PARAM", batch.results().get(2).error().code());
+
+        SearchService.EpisodePlan auto = searchService.planEpisodes(
+                EpisodeSearchRequest.firstPage("ai", 10, "zh-both", "auto"));
+        assertEquals(EpisodeSearchRequest.SearchMode.BM25, auto.mode());
+        assertTrue(auto.crossLang());
+        verifyNoInteractions(esClient, modeClassifier);
+    }
+
+    private static SearchResponse<JsonNode> emptyResult() {
+        return SearchResponse.of(r -> r
+                .took(1).timedOut(false)
+                .shards(s -> s.total(1).successful(1).failed(0))
+                .hits(h -> h.hits(List.of()).total(t -> t.value(0).relation(TotalHitsRelation.Eq))));
+    }
+
+    private static ElasticsearchSearchClient.MultiSearchOutcome outcome(SearchResponse<JsonNode> response) {
+        return new ElasticsearchSearchClient.MultiSearchOutcome(response, null);
+    }
+
+    private static UnifiedSearchRequest unifiedRequest(String q, String lang, String mode) {
+        UnifiedSearchRequest request = mock(UnifiedSearchRequest.class);
+        when(request.getQ()).thenReturn(q);
+        when(request.toShowRequest()).thenReturn(ShowSearchRequest.firstPage(q, 3, mode));
+        when(request.toEpisodeRequest()).thenReturn(EpisodeSearchRequest.firstPage(q, 10, lang, mode));
+        return request;
+    }
+
     @Test
     @DisplayName("KNN: falls back to BM25 when embedding unavailable")
     void searchEpisodes_knn_fallsBackToBm25WhenEmbeddingUnavailable() {
@@ -452,6 +1042,47 @@ class SearchServiceTest {
         verify(cachedEmbeddingService).embed("AI podcast", EmbeddingProfile.ZH);
     }
 
+    @Test
+    @DisplayName("HYBRID: a failed kNN leg cancels the running BM25 leg")
+    void searchEpisodes_hybrid_knnFails_cancelsBm25Leg() throws Exception {
+        EpisodeSearchRequest request = EpisodeSearchRequest.firstPage("AI podcast", 10, "zh-tw", "hybrid");
+        when(indexRouter.isCrossIndex("zh-tw")).thenReturn(false);
+        when(indexRouter.resolveIndex("zh-tw")).thenReturn("episodes-zh-tw");
+        when(indexRouter.resolveLangParam("zh-tw")).thenReturn(LangParam.ZH_TW);
+        when(cachedEmbeddingService.isAvailable()).thenReturn(true);
+        float[] mockVector = new float[384];
+        when(cachedEmbeddingService.embed("AI podcast", EmbeddingProfile.ZH)).thenReturn(mockVector);
+        when(episodeQueryBuilder.buildBm25QueryForHybrid(any(), eq(100))).thenReturn("bm25");
+        when(episodeQueryBuilder.buildKnnQueryForHybrid(any(), eq(mockVector), eq(100))).thenReturn("knn");
+
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        when(esClient.search("episodes-zh-tw", "bm25")).thenAnswer(inv -> {
+            started.countDown();
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return null;
+        });
+        when(esClient.search("episodes-zh-tw", "knn")).thenAnswer(inv -> {
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            throw new SearchServiceException("knn down", null);
+        });
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            SearchService service = searchService(false,
+                    new MaterializedEpisodeResults(meterRegistry, false, 20, 2, 1800), executor);
+
+            assertThrows(SearchServiceException.class, () -> service.searchEpisodes(request));
+
+            assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     @Test
     @DisplayName("HYBRID page>1: items are offset correctly and do not repeat page 1 results")
     void searchEpisodes_hybrid_page2_returnsCorrectOffset() {
@@ -522,6 +1153,95 @@ class SearchServiceTest {
         assertEquals(List.of("e6", "e7", "e8", "e9", "e10"), returnedIds);
     }
 
+    @Test
+    @DisplayName("HYBRID_LITE: one BM25 query, window re-ranked by stored vectors")
+    void searchEpisodes_hybridLite_reranksBm25WindowWithoutKnnQuery() {
+        EpisodeSearchRequest request = mock(EpisodeSearchRequest.class);
+        when(request.getQ()).thenReturn("AI podcast");
+        when(request.getPage()).thenReturn(1);
+        when(request.getSize()).thenReturn(2);
+        when(request.getLang()).thenReturn("en");
+        when(request.getSearchMode()).thenReturn(EpisodeSearchRequest.SearchMode.HYBRID_LITE);
+        when(indexRouter.isCrossIndex("en")).thenReturn(false);
+        when(indexRouter.resolveIndex("en")).thenReturn("episodes-en");
+        when(indexRouter.resolveLangParam("en")).thenReturn(LangParam.EN);
+        when(cachedEmbeddingService.isAvailable()).thenReturn(true);
+        when(cachedEmbeddingService.embed("AI podcast", EmbeddingProfile.EN)).thenReturn(new float[]{1f, 0f});
+
+        String bm25Query = "{\"query\":{\"match\":{}},\"size\":100}";
+        when(episodeQueryBuilder.buildBm25QueryForHybridLite(request, 100, "embedding")).thenReturn(bm25Query);
+
+        // BM25 order e0..e3; e2 points the same way as the query, e3 has no stored vector
+        com.fasterxml.jackson.databind.ObjectMapper json = new com.fasterxml.jackson.databind.ObjectMapper();
+        float[][] stored = {{0f, 1f}, {0f, 1f}, {1f, 0f}};
+        List<Hit<JsonNode>> hits = new ArrayList<>();
+        for (float[] vector : stored) {
+            JsonNode source = json.createObjectNode().set("embedding", json.valueToTree(vector));
+            hits.add(Hit.of(h -> h.index("episodes-en").id("e" + hits.size()).source(source)));
+        }
+        hits.add(Hit.of(h -> h.index("episodes-en").id("e3").source(json.createObjectNode())));
+        SearchResponse<JsonNode> bm25Response = SearchResponse.of(r -> r
+                .took(1).timedOut(false)
+                .shards(sh -> sh.total(1).successful(1).failed(0))
+                .hits(h -> h.hits(hits).total(t -> t.value(4).relation(TotalHitsRelation.Eq))));
+        when(esClient.search("episodes-en", bm25Query)).thenReturn(bm25Response);
+        when(episodeMapper.hitToItem(any())).thenAnswer(inv -> {
+            Hit<?> hit = inv.getArgument(0);
+            return new EpisodeSearchItem(hit.id(), null, null, Map.of(), null, null, null, null, null);
+        });
+
+        EpisodeSearchResponse response = searchService.searchEpisodes(request);
+
+        // e0: 1/61 + 1/62, e2: 1/63 + 1/61, e1: 1/62 + 1/63, e3: 1/64
+        assertEquals("ok", response.status());
+        assertEquals(4, response.data().total());
+        assertEquals(List.of("e0", "e2"),
+                response.data().items().stream().map(EpisodeSearchItem::episodeId).toList());
+        assertEquals(1.0, meterRegistry.counter("search.hybrid_lite.missing_vectors").count());
+        verify(esClient, times(1)).search(anyString(), anyString());
+        verify(episodeQueryBuilder, never()).buildKnnQueryForHybrid(any(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("HYBRID_LITE prefetch: later pages slice the fused ranking, which keeps no stored vectors")
+    void searchEpisodes_hybridLitePrefetch_keepsRankingWithoutStoredVectors() {
+        SearchService prefetching = searchService(true);
+        EpisodeSearchRequest page1 = EpisodeSearchRequest.firstPage("AI podcast", 2, "en", "hybrid_lite");
+        when(indexRouter.isCrossIndex("en")).thenReturn(false);
+        when(indexRouter.resolveIndex("en")).thenReturn("episodes-en");
+        when(indexRouter.resolveLangParam("en")).thenReturn(LangParam.EN);
+        when(cachedEmbeddingService.isAvailable()).thenReturn(true);
+        when(cachedEmbeddingService.embed("AI podcast", EmbeddingProfile.EN)).thenReturn(new float[]{1f, 0f});
+        when(episodeQueryBuilder.buildBm25QueryForHybridLite(any(), eq(100), eq("embedding"))).thenReturn("window");
+
+        com.fasterxml.jackson.databind.ObjectMapper json = new com.fasterxml.jackson.databind.ObjectMapper();
+        float[][] stored = {{0f, 1f}, {0f, 1f}, {1f, 0f}, {0f, 1f}};
+        List<Hit<JsonNode>> hits = new ArrayList<>();
+        for (float[] vector : stored) {
+            JsonNode source = json.createObjectNode().set("embedding", json.valueToTree(vector));
+            hits.add(Hit.of(h -> h.index("episodes-en").id("e" + hits.size()).source(source)));
+        }
+        SearchResponse<JsonNode> window = SearchResponse.of(r -> r
+                .took(1).timedOut(false)
+                .shards(sh -> sh.total(1).successful(1).failed(0))
+                .hits(h -> h.hits(hits).total(t -> t.value(4).relation(TotalHitsRelation.Eq))));
+        when(esClient.search("episodes-en", "window")).thenReturn(window);
+        when(episodeMapper.hitToItem(any())).thenAnswer(inv -> {
+            Hit<?> hit = inv.getArgument(0);
+            return new EpisodeSearchItem(hit.id(), null, null, Map.of(), null, null, null, null, null);
+        });
+
+        prefetching.searchEpisodes(page1);
+        EpisodeSearchResponse response = prefetching.searchEpisodes(page1.withPage(2));
+
+        // e0: 1/61 + 1/62, e2: 1/63 + 1/61, e1: 1/62 + 1/63, e3: 1/64 + 1/64
+        assertEquals(List.of("e1", "e3"),
+                response.data().items().stream().map(EpisodeSearchItem::episodeId).toList());
+        assertEquals(4, response.data().total());
+        verify(esClient, times(1)).search(anyString(), anyString());
+        assertTrue(hits.stream().noneMatch(hit -> hit.source().has("embedding")));
+    }
+
     @Test
     @DisplayName("HYBRID: falls back to BM25 when embedding unavailable")
     void searchEpisodes_hybrid_fallsBackToBm25WhenEmbeddingUnavailable() {
@@ -0,0 +1,188 @@
+package com.example.podcastbackend.service;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.FieldValue;
+import co.elastic.clients.elasticsearch.core.SearchRequest;
+import co.elastic.clients.elasticsearch.core.SearchResponse;
+import co.elastic.clients.elasticsearch.core.search.Hit;
+import co.elastic.clients.elasticsearch.core.search.TotalHitsRelation;
+import com.example.podcastbackend.response.ShowDetail;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ShowDetailLoaderTest {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private ElasticsearchClient esClient;
+    private SimpleMeterRegistry meterRegistry;
+    private ShowDetailLoader loader;
+    // _id -> source of the documents in the stubbed shows index
+    private final Map<String, ObjectNode> index = new LinkedHashMap<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        esClient = mock(ElasticsearchClient.class);
+        meterRegistry = new SimpleMeterRegistry();
+        for (int i = 0; i < 10; i++) {
+            index.put("show:apple:" + i, show("show:apple:" + i));
+        }
+        // Answers like the query: documents whose show_id or _id is one of the requested ids
+        when(esClient.search(any(SearchRequest.class), eq(JsonNode.class))).thenAnswer(inv -> {
+            Set<String> ids = requestedIds(inv.getArgument(0));
+            List<Hit<JsonNode>> hits = new ArrayList<>();
+            index.forEach((docId, source) -> {
+                JsonNode showId = source.get("show_id");
+                if (ids.contains(docId) || (showId != null && ids.contains(showId.asText()))) {
+                    hits.add(Hit.of(h -> h.index("shows").id(docId).source(source)));
+                }
+            });
+            return searchResponse(hits);
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (loader != null) {
+            loader.shutdown();
+        }
+    }
+
+    @Test
+    void load_keysResultsByShowIdLikeTheCatalog() throws Exception {
+        index.put("doc-1", show("show:apple:legacy"));
+        index.put("show:apple:bare", show(null));
+        loader = loader(0, 500, 30);
+
+        Map<String, ShowDetail> details = loader.load(List.of("show:apple:legacy", "show:apple:bare", "doc-1"));
+
+        assertEquals(Set.of("show:apple:legacy", "show:apple:bare"), details.keySet());
+        assertEquals("show:apple:legacy", details.get("show:apple:legacy").showId());
+        assertEquals("show:apple:bare", details.get("show:apple:bare").showId());
+    }
+
+    @Test
+    void load_missingIds_areNotFetchedAgainWithinTtl() throws Exception {
+        loader = loader(0, 500, 30);
+
+        assertEquals(Set.of("show:apple:1"), loader.load(List.of("show:apple:1", "gone:1")).keySet());
+        assertEquals(Map.of(), loader.load(List.of("gone:1")));
+        assertEquals(Set.of("show:apple:2"), loader.load(List.of("gone:1", "show:apple:2")).keySet());
+
+        ArgumentCaptor<SearchRequest> captor = ArgumentCaptor.forClass(SearchRequest.class);
+        verify(esClient, times(2)).search(captor.capture(), eq(JsonNode.class));
+        assertEquals(Set.of("show:apple:2"), requestedIds(captor.getAllValues().get(1)));
+        assertEquals(2.0, meterRegistry.counter("shows.batch.cached_misses").count());
+    }
+
+    @Test
+    void load_missTtlZero_fetchesMissesEveryTime() throws Exception {
+        loader = loader(0, 500, 0);
+
+        loader.load(List.of("gone:1"));
+        loader.load(List.of("gone:1"));
+
+        verify(esClient, times(2)).search(any(SearchRequest.class), eq(JsonNode.class));
+    }
+
+    @Test
+    void load_concurrentCalls_shareOneQuery() throws Exception {
+        loader = loader(200, 500, 30);
+        int callers = 4;
+        ExecutorService pool = Executors.newFixedThreadPool(callers);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Map<String, ShowDetail>>> results = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                String id = "show:apple:" + i;
+                results.add(pool.submit(() -> {
+                    start.await();
+                    return loader.load(List.of(id, "show:apple:9"));
+                }));
+            }
+            start.countDown();
+
+            for (int i = 0; i < callers; i++) {
+                assertEquals(Set.of("show:apple:" + i, "show:apple:9"),
+                        results.get(i).get(5, TimeUnit.SECONDS).keySet());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        verify(esClient, times(1)).search(any(SearchRequest.class), eq(JsonNode.class));
+        assertEquals(callers, meterRegistry.get("shows.batch.coalesced_calls").summary().max());
+        assertEquals(callers + 1, meterRegistry.get("shows.batch.ids").summary().max());
+    }
+
+    @Test
+    void load_batchReachingMaxIds_closesWithoutWaitingOutTheWindow() throws Exception {
+        loader = loader(60_000, 2, 30);
+
+        long start = System.nanoTime();
+        Map<String, ShowDetail> details = loader.load(List.of("show:apple:1", "show:apple:2"));
+
+        assertEquals(2, details.size());
+        assertTrue(System.nanoTime() - start < 5_000_000_000L);
+    }
+
+    @Test
+    void load_fetchThrowsError_failsTheCallInsteadOfHanging() throws Exception {
+        loader = loader(0, 500, 30);
+        when(esClient.search(any(SearchRequest.class), eq(JsonNode.class))).thenThrow(new OutOfMemoryError("test"));
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> loader.load(List.of("show:apple:1")));
+
+        assertInstanceOf(OutOfMemoryError.class, e.getCause());
+    }
+
+    private ShowDetailLoader loader(long windowMs, int maxIds, long missTtlSeconds) {
+        return new ShowDetailLoader(esClient, meterRegistry, "shows", windowMs, maxIds, missTtlSeconds);
+    }
+
+    /** The show_id terms of a loader query. */
+    private static Set<String> requestedIds(SearchRequest request) {
+        Set<String> ids = new HashSet<>();
+        for (FieldValue value : request.query().bool().should().get(0).terms().terms().value()) {
+            ids.add(value.stringValue());
+        }
+        return ids;
+    }
+
+    private static ObjectNode show(String showId) {
+        ObjectNode source = objectMapper.createObjectNode()
+                .put("language", "zh-tw")
+                .put("episode_count", 10);
+        return showId != null ? source.put("show_id", showId) : source;
+    }
+
+    private static SearchResponse<JsonNode> searchResponse(List<Hit<JsonNode>> hits) {
+        return SearchResponse.of(r -> r
+                .took(1).timedOut(false)
+                .shards(s -> s.total(1).successful(1).failed(0))
+                .hits(h -> h.hits(hits).total(t -> t.value(hits.size()).relation(TotalHitsRelation.Eq))));
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.podcastbackend.service;
+
+import com.example.podcastbackend.cache.ShowCatalog;
+import com.example.podcastbackend.cache.ShowCatalogLoader;
+import com.example.podcastbackend.response.ShowBatchResponse;
+import com.example.podcastbackend.response.ShowDetail;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ShowsServiceTest {
+
+    private ShowDetailLoader loader;
+    private ShowCatalogLoader catalogLoader;
+    private SimpleMeterRegistry meterRegistry;
+    private ShowsService service;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        loader = mock(ShowDetailLoader.class);
+        catalogLoader = mock(ShowCatalogLoader.class);
+        meterRegistry = new SimpleMeterRegistry();
+        // Answers every requested id as found
+        when(loader.load(any())).thenAnswer(inv -> {
+            Collection<String> ids = inv.getArgument(0);
+            Map<String, ShowDetail> details = new HashMap<>();
+            for (String id : ids) {
+                details.put(id, new ShowDetail(id, null, null, "zh-tw", 10));
+            }
+            return details;
+        });
+        service = new ShowsService(loader, catalogLoader, meterRegistry, 60, 1000);
+    }
+
+    @Test
+    void batchGetShows_secondCall_servedFromCache() throws Exception {
+        service.batchGetShows(List.of("show:apple:1", "show:apple:2"));
+        ShowBatchResponse response = service.batchGetShows(List.of("show:apple:2", "show:apple:3"));
+
+        assertEquals("ok", response.status());
+        assertEquals(2, response.data().size());
+        assertEquals("zh-tw", response.data().get("show:apple:2").language());
+        verify(loader).load(List.of("show:apple:3"));
+        assertEquals(1.0, meterRegistry.counter("shows.cache.hits").count());
+        assertEquals(3.0, meterRegistry.counter("shows.cache.misses").count());
+    }
+
+    @Test
+    void batchGetShows_catalogLoaded_fetchesOnlyUnmirroredShows() throws Exception {
+        ShowCatalog catalog = new ShowCatalog.Builder(new HashMap<>())
+                .put(new ShowCatalog.Show("show:apple:1", "One", "Pub", "img", "desc", "en", List.of("News"), 5, null, null, 1L))
+                .build();
+        when(catalogLoader.current()).thenReturn(catalog);
+
+        ShowBatchResponse response = service.batchGetShows(List.of("show:apple:1", "show:apple:new"));
+
+        assertEquals(List.of("News"), response.data().get("show:apple:1").categories());
+        assertNotNull(response.data().get("show:apple:new"));
+        verify(loader).load(List.of("show:apple:new"));
+    }
+
+    @Test
+    void batchGetShows_esFailure_returnsErrorAndCachesNothing() throws Exception {
+        doThrow(new IOException("connection refused")).when(loader).load(any());
+
+        ShowBatchResponse response = service.batchGetShows(List.of("show:apple:1"));
+
+        assertEquals("error", response.status());
+        assertEquals("ES_ERROR", response.error().code());
+        assertEquals(0.0, meterRegistry.counter("shows.cache.hits").count());
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.podcastbackend.service;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.aggregations.Aggregate;
+import co.elastic.clients.elasticsearch._types.aggregations.StringTermsBucket;
+import co.elastic.clients.elasticsearch.core.SearchRequest;
+import co.elastic.clients.elasticsearch.core.SearchResponse;
+import co.elastic.clients.elasticsearch.core.search.TotalHitsRelation;
+import co.elastic.clients.elasticsearch.indices.ElasticsearchIndicesClient;
+import co.elastic.clients.elasticsearch.indices.GetAliasRequest;
+import co.elastic.clients.elasticsearch.indices.GetAliasResponse;
+import com.example.podcastbackend.cache.MaterializedEpisodeResults;
+import com.example.podcastbackend.request.EpisodeSearchRequest;
+import com.example.podcastbackend.response.EpisodeBatchSearchResponse;
+import com.example.podcastbackend.response.EpisodeSearchResponse;
+import com.example.podcastbackend.response.EpisodeSearchResponseData;
+import com.example.podcastbackend.search.IndexRouter;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class TopQueryMaterializerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private ElasticsearchClient esClient;
+    private ElasticsearchIndicesClient indices;
+    private SearchService searchService;
+    private MaterializedEpisodeResults results;
+    private TopQueryMaterializer materializer;
+
+    @BeforeEach
+    void setUp() {
+        esClient = mock(ElasticsearchClient.class);
+        indices = mock(ElasticsearchIndicesClient.class);
+        when(esClient.indices()).thenReturn(indices);
+        searchService = mock(SearchService.class);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        results = new MaterializedEpisodeResults(meterRegistry, true, 20, 2, 1800);
+        IndexRouter indexRouter = new IndexRouter("episodes-zh-tw", "episodes-zh-cn", "episodes-en", "en", "zh-tw");
+        materializer = new TopQueryMaterializer(esClient, searchService, indexRouter, results, JsonMapper.builder().build(),
+                meterRegistry, 200, 5, 7);
+    }
+
+    @Test
+    void refresh_materializesPagesOfReplayableTopQueries() throws Exception {
+        when(esClient.search(any(SearchRequest.class), eq(JsonNode.class))).thenReturn(queryLogs(
+                query("ai", lang("zh-tw", mode("bm25", 12), mode("auto", 10)), lang("zh-both", mode("bm25", 9)),
+                        lang("auto", mode("hybrid", 8))),
+                query("history", lang("", mode("hybrid", 6)))));
+        when(indices.getAlias(any(GetAliasRequest.class))).thenAnswer(inv ->
+                alias(((GetAliasRequest) inv.getArgument(0)).name().get(0) + "-v1"));
+        when(searchService.searchEpisodesBatch(any())).thenAnswer(inv -> {
+            List<EpisodeSearchRequest> requests = inv.getArgument(0);
+            return EpisodeBatchSearchResponse.of(requests.stream().map(r -> EpisodeSearchResponse.ok(
+                    new EpisodeSearchResponseData(r.getPage(), r.getSize(), 40, List.of()))).toList(), null);
+        });
+
+        materializer.refresh();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<EpisodeSearchRequest>> batch = ArgumentCaptor.forClass(List.class);
+        verify(searchService).searchEpisodesBatch(batch.capture());
+        assertEquals(6, batch.getValue().size());
+        assertEquals(6, results.size());
+
+        MaterializedEpisodeResults.Entry entry =
+                results.get(EpisodeSearchRequest.firstPage("ai", 20, "zh-tw", "bm25").withPage(2));
+        assertNotNull(entry);
+        assertEquals("episodes-zh-tw", entry.alias());
+        assertEquals("episodes-zh-tw-v1", entry.generation());
+        JsonNode body = objectMapper.readTree(entry.body("req-1"));
+        assertEquals("req-1", body.get("searchRequestId").asText());
+        assertEquals(2, body.get("data").get("page").asInt());
+        assertNotNull(results.get(EpisodeSearchRequest.firstPage("history", 20, null, "hybrid")));
+        assertNotNull(results.get(EpisodeSearchRequest.firstPage("ai", 20, "zh-tw", "auto")));
+    }
+
+    @Test
+    void checkAliases_aliasMoved_dropsItsEntries() throws Exception {
+        when(esClient.search(any(SearchRequest.class), eq(JsonNode.class)))
+                .thenReturn(queryLogs(query("ai", lang("zh-tw", mode("bm25", 12)))));
+        when(indices.getAlias(any(GetAliasRequest.class)))
+                .thenReturn(alias("episodes-zh-tw-v1"), alias("episodes-zh-tw-v1"), alias("episodes-zh-tw-v2"));
+        when(searchService.searchEpisodesBatch(any())).thenAnswer(inv -> EpisodeBatchSearchResponse.of(
+                List.of(EpisodeSearchResponse.ok(new EpisodeSearchResponseData(1, 20, 1, List.of())),
+                        EpisodeSearchResponse.ok(new EpisodeSearchResponseData(2, 20, 1, List.of()))), null));
+        materializer.refresh();
+        assertEquals(2, results.size());
+
+        materializer.checkAliases();
+
+        assertEquals(0, results.size());
+    }
+
+    @Test
+    void refresh_queryLogsUnavailable_keepsPreviousEntries() throws Exception {
+        results.replace(Map.of("zh-tw|BM25|1|ai", mock(MaterializedEpisodeResults.Entry.class)));
+        when(esClient.search(any(SearchRequest.class), eq(JsonNode.class))).thenThrow(new IOException("down"));
+
+        materializer.refresh();
+
+        assertEquals(1, results.size());
+        verifyNoInteractions(searchService);
+    }
+
+    private static GetAliasResponse alias(String index) {
+        return GetAliasResponse.of(r -> r.result(index, a -> a.aliases(Map.of())));
+    }
+
+    private static StringTermsBucket mode(String mode, long count) {
+        return StringTermsBucket.of(b -> b.key(mode).docCount(count));
+    }
+
+    private static StringTermsBucket lang(String lang, StringTermsBucket... modes) {
+        long count = List.of(modes).stream().mapToLong(StringTermsBucket::docCount).sum();
+        return StringTermsBucket.of(b -> b.key(lang).docCount(count).aggregations("modes", terms(modes)));
+    }
+
+    private static StringTermsBucket query(String query, StringTermsBucket... langs) {
+        long count = List.of(langs).stream().mapToLong(StringTermsBucket::docCount).sum();
+        return StringTermsBucket.of(b -> b.key(query).docCount(count).aggregations("langs", terms(langs)));
+    }
+
+    private static Aggregate terms(StringTermsBucket... buckets) {
+        return Aggregate.of(a -> a.sterms(t -> t.buckets(b -> b.array(List.of(buckets))).sumOtherDocCount(0L)));
+    }
+
+    private static SearchResponse<JsonNode> queryLogs(StringTermsBucket... queries) {
+        return SearchResponse.of(r -> r
+                .took(1).timedOut(false)
+                .shards(s -> s.total(1).successful(1).failed(0))
+                .hits(h -> h.hits(List.of()).total(t -> t.value(0).relation(TotalHitsRelation.Eq)))
+                .aggregations("queries", terms(queries)));
+    }
+}
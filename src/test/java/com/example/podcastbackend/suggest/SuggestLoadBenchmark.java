@@ -0,0 +1,148 @@
+package com.example.podcastbackend.suggest;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * How many ES searches the suggest endpoint absorbs, and what a lookup costs.
+ *
+ * Simulates typing sessions against a synthetic trie of 20,000 titles and
+ * queries. Each session types a query drawn from a Zipf-like distribution
+ * with random inter-key gaps; a keystroke "fires" when the next key comes
+ * later than the frontend debounce. Today every fired keystroke is an
+ * episode search; with suggest, fired keystrokes are trie lookups and only
+ * the submitted query reaches ES. The session ends early when the query is
+ * among the shown suggestions and the user picks it.
+ *
+ * Run with {@code ./mvnw test -Pbenchmark -Dtest=SuggestLoadBenchmark}.
+ */
+@Tag("benchmark")
+class SuggestLoadBenchmark {
+
+    private static final int ENTRIES = 20_000;
+    private static final int SESSIONS = 50_000;
+    private static final long DEBOUNCE_MS = 250;
+    private static final int SUGGESTIONS = 10;
+    private static final int THREADS = 8;
+    private static final String[] WORDS = {
+            "tech", "daily", "news", "history", "science", "story", "talk", "money", "crime", "health",
+            "科技", "新聞", "歷史", "故事", "財經", "英文", "學習", "生活", "音樂", "電影"};
+
+    @Test
+    @DisplayName("suggest: ES searches absorbed and lookup latency")
+    void absorbedSearches() throws Exception {
+        Random random = new Random(7);
+        List<SuggestTrie.Entry> entries = new ArrayList<>(ENTRIES);
+        List<String> queries = new ArrayList<>(ENTRIES);
+        for (int i = 0; i < ENTRIES; i++) {
+            String text = phrase(random) + " " + i;
+            queries.add(text);
+            // Zipf-like popularity: rank i gets weight ~ 1/(i+1)
+            entries.add(new SuggestTrie.Entry(SuggestTrie.normalize(text), text, "query", null,
+                    1_000_000.0 / (i + 1)));
+        }
+        long buildStart = System.nanoTime();
+        SuggestTrie trie = SuggestTrie.build(entries, SUGGESTIONS);
+        long buildMs = (System.nanoTime() - buildStart) / 1_000_000;
+
+        long esBefore = 0;
+        long esAfter = 0;
+        long lookups = 0;
+        List<String> prefixes = new ArrayList<>();
+        for (int s = 0; s < SESSIONS; s++) {
+            String query = queries.get(zipf(random, ENTRIES));
+            boolean picked = false;
+            for (int typed = 1; typed <= query.length() && !picked; typed++) {
+                long gapMs = 60 + random.nextInt(400);
+                boolean fires = typed == query.length() || gapMs > DEBOUNCE_MS;
+                if (!fires) {
+                    continue;
+                }
+                String prefix = query.substring(0, typed);
+                esBefore++;
+                lookups++;
+                prefixes.add(prefix);
+                picked = trie.lookup(prefix, SUGGESTIONS).stream().anyMatch(e -> e.text().equals(query));
+            }
+            esAfter++; // the submitted (or picked) query is still a real search
+        }
+
+        long[] nanos = measure(trie, prefixes);
+        double throughput = concurrentThroughput(trie, prefixes);
+
+        System.out.printf("trie: %d entries built in %d ms%n", trie.size(), buildMs);
+        System.out.printf("sessions=%d es_searches_before=%d es_searches_after=%d absorbed=%.1f%% lookups=%d%n",
+                SESSIONS, esBefore, esAfter, 100.0 * (esBefore - esAfter) / esBefore, lookups);
+        System.out.printf("lookup p50=%.2f us p99=%.2f us, %d threads: %.0f lookups/s%n",
+                nanos[nanos.length / 2] / 1e3, nanos[(int) (nanos.length * 0.99)] / 1e3, THREADS, throughput);
+        assertTrue(esAfter < esBefore);
+    }
+
+    private static long[] measure(SuggestTrie trie, List<String> prefixes) {
+        for (int i = 0; i < Math.min(prefixes.size(), 200_000); i++) {
+            trie.lookup(prefixes.get(i), SUGGESTIONS); // warm-up
+        }
+        int samples = Math.min(prefixes.size(), 100_000);
+        long[] nanos = new long[samples];
+        for (int i = 0; i < samples; i++) {
+            long t0 = System.nanoTime();
+            trie.lookup(prefixes.get(i), SUGGESTIONS);
+            nanos[i] = System.nanoTime() - t0;
+        }
+        Arrays.sort(nanos);
+        return nanos;
+    }
+
+    private static double concurrentThroughput(SuggestTrie trie, List<String> prefixes) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            long start = System.nanoTime();
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(pool.submit(() -> {
+                    for (String prefix : prefixes) {
+                        trie.lookup(prefix, SUGGESTIONS);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+            return (double) prefixes.size() * THREADS / seconds;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static String phrase(Random random) {
+        int words = 1 + random.nextInt(3);
+        StringBuilder sb = new StringBuilder();
+        for (int w = 0; w < words; w++) {
+            if (w > 0) {
+                sb.append(' ');
+            }
+            sb.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Index in {@code [0, n)} with probability roughly proportional to
+     * {@code 1 / (index + 1)}.
+     */
+    private static int zipf(Random random, int n) {
+        return (int) Math.min(n - 1, Math.floor(Math.exp(random.nextDouble() * Math.log(n + 1)) - 1));
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.podcastbackend.suggest;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.aggregations.Aggregate;
+import co.elastic.clients.elasticsearch._types.aggregations.StringTermsBucket;
+import co.elastic.clients.elasticsearch.core.SearchRequest;
+import co.elastic.clients.elasticsearch.core.SearchResponse;
+import co.elastic.clients.elasticsearch.core.search.TotalHitsRelation;
+import com.example.podcastbackend.cache.RankingsCache;
+import com.example.podcastbackend.cache.ShowCatalog;
+import com.example.podcastbackend.cache.ShowCatalogLoader;
+import com.example.podcastbackend.response.RankingsItem;
+import com.example.podcastbackend.response.SuggestItem;
+import com.fasterxml.jackson.databind.JsonNode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class SuggestServiceTest {
+
+    private ElasticsearchClient esClient;
+    private ShowCatalogLoader catalogLoader;
+    private RankingsCache rankingsCache;
+    private SuggestService service;
+
+    @BeforeEach
+    void setUp() {
+        esClient = mock(ElasticsearchClient.class);
+        catalogLoader = mock(ShowCatalogLoader.class);
+        rankingsCache = new RankingsCache(3600);
+        service = new SuggestService(esClient, catalogLoader, rankingsCache, new SimpleMeterRegistry(),
+                true, 10, 5000, 2, 30, 1.0, 50.0);
+    }
+
+    @Test
+    void suggest_beforeRebuild_isEmpty() {
+        assertTrue(service.suggest("tech", 10).isEmpty());
+    }
+
+    @Test
+    void rebuild_mergesShowsChartsAndFrequentQueries() throws Exception {
+        ShowCatalog.Builder catalog = new ShowCatalog.Builder(new HashMap<>());
+        catalog.put(show("show:1", "Tech Daily"));
+        catalog.put(show("show:2", "Tech Weekly"));
+        when(catalogLoader.current()).thenReturn(catalog.build());
+        rankingsCache.put("tw", "podcast", List.of(item(1, "show:2", "Tech Weekly")));
+        rankingsCache.put("tw", "episode", List.of(item(1, "ep:9", "Technology and Us")));
+        when(esClient.search(any(SearchRequest.class), eq(JsonNode.class)))
+                .thenReturn(topQueries(bucket("tech news", 12)));
+
+        service.rebuild();
+
+        List<SuggestItem> items = service.suggest("TECH", 10);
+        assertEquals(List.of("Tech Weekly", "Technology and Us", "tech news", "Tech Daily"),
+                items.stream().map(SuggestItem::text).toList());
+        assertEquals(new SuggestItem("Tech Weekly", "show", "show:2"), items.get(0));
+        assertEquals(new SuggestItem("Technology and Us", "episode", "ep:9"), items.get(1));
+        assertEquals(new SuggestItem("tech news", "query", null), items.get(2));
+
+        ArgumentCaptor<SearchRequest> captor = ArgumentCaptor.forClass(SearchRequest.class);
+        verify(esClient).search(captor.capture(), eq(JsonNode.class));
+        assertEquals("query.raw", captor.getValue().aggregations().get("top_queries").terms().field());
+    }
+
+    @Test
+    void rebuild_queryLogsUnavailable_keepsOtherSources() throws Exception {
+        ShowCatalog.Builder catalog = new ShowCatalog.Builder(new HashMap<>());
+        catalog.put(show("show:1", "Tech Daily"));
+        when(catalogLoader.current()).thenReturn(catalog.build());
+        when(esClient.search(any(SearchRequest.class), eq(JsonNode.class)))
+                .thenThrow(new IOException("connection refused"));
+
+        service.rebuild();
+
+        assertEquals(List.of(new SuggestItem("Tech Daily", "show", "show:1")), service.suggest("te", 10));
+    }
+
+    private static ShowCatalog.Show show(String id, String title) {
+        return new ShowCatalog.Show(id, title, "Pub", null, null, "en", null, null, null, null, 1L);
+    }
+
+    private static RankingsItem item(int rank, String id, String title) {
+        return new RankingsItem(rank, id, null, title, "Pub", null, "en", null, null);
+    }
+
+    private static StringTermsBucket bucket(String key, long count) {
+        return StringTermsBucket.of(b -> b.key(key).docCount(count));
+    }
+
+    private static SearchResponse<JsonNode> topQueries(StringTermsBucket... buckets) {
+        Aggregate terms = Aggregate.of(a -> a.sterms(t -> t
+                .buckets(b -> b.array(List.of(buckets)))
+                .sumOtherDocCount(0L)));
+        return SearchResponse.of(r -> r
+                .took(1).timedOut(false)
+                .shards(s -> s.total(1).successful(1).failed(0))
+                .hits(h -> h.hits(List.of()).total(t -> t.value(0).relation(TotalHitsRelation.Eq)))
+                .aggregations("top_queries", terms));
+    }
+}
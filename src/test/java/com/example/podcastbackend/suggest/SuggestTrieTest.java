@@ -0,0 +1,100 @@
+package com.example.podcastbackend.suggest;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SuggestTrieTest {
+
+    @Test
+    void lookup_returnsHeaviestCompletionsOfPrefix() {
+        SuggestTrie trie = SuggestTrie.build(List.of(
+                entry("tech talk", 5),
+                entry("tech news", 9),
+                entry("technology weekly", 7),
+                entry("teaching", 20),
+                entry("travel", 1)), 10);
+
+        assertEquals(List.of("tech news", "technology weekly", "tech talk"), keys(trie.lookup("tech", 10)));
+        assertEquals(List.of("tech news", "tech talk"), keys(trie.lookup("Tech ", 10)));
+        assertEquals(List.of("teaching", "tech news"), keys(trie.lookup("te", 2)));
+        assertEquals(List.of("tech talk"), keys(trie.lookup("tech t", 10)));
+        assertTrue(trie.lookup("tex", 10).isEmpty());
+        assertTrue(trie.lookup("tech talks", 10).isEmpty());
+        assertTrue(trie.lookup("  ", 10).isEmpty());
+    }
+
+    @Test
+    void lookup_matchesCjkAndFullWidthPrefixes() {
+        SuggestTrie trie = SuggestTrie.build(List.of(
+                entry(SuggestTrie.normalize("科技新聞"), 3),
+                entry(SuggestTrie.normalize("科學家"), 4),
+                entry(SuggestTrie.normalize("ＡＩ 早餐"), 2)), 10);
+
+        assertEquals(List.of("科學家", "科技新聞"), keys(trie.lookup("科", 10)));
+        assertEquals(List.of("ai 早餐"), keys(trie.lookup("AI", 10)));
+    }
+
+    @Test
+    void build_mergesDuplicateKeysAddingWeights() {
+        SuggestTrie trie = SuggestTrie.build(List.of(
+                new SuggestTrie.Entry("daily", "Daily", "show", "show:1", 1),
+                new SuggestTrie.Entry("daily", "daily", "query", null, 30),
+                entry("dark", 20)), 10);
+
+        List<SuggestTrie.Entry> results = trie.lookup("da", 10);
+
+        assertEquals(2, trie.size());
+        assertEquals("daily", results.get(0).key());
+        assertEquals(31, results.get(0).weight());
+        assertEquals("query", results.get(0).type());
+    }
+
+    @Test
+    void lookup_agreesWithLinearScanOnRandomKeys() {
+        Random random = new Random(11);
+        List<SuggestTrie.Entry> entries = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            StringBuilder key = new StringBuilder();
+            int length = 1 + random.nextInt(8);
+            for (int c = 0; c < length; c++) {
+                key.append((char) ('a' + random.nextInt(4)));
+            }
+            entries.add(entry(key.toString(), random.nextInt(1000)));
+        }
+        SuggestTrie trie = SuggestTrie.build(entries, 5);
+
+        for (String prefix : List.of("a", "ab", "abc", "dd", "cab", "bbbb")) {
+            List<String> expected = entries.stream()
+                    .filter(e -> e.key().startsWith(prefix))
+                    .collect(java.util.stream.Collectors.toMap(SuggestTrie.Entry::key, e -> e, (a, b) ->
+                            new SuggestTrie.Entry(a.key(), a.text(), a.type(), a.id(), a.weight() + b.weight())))
+                    .values().stream()
+                    .sorted(Comparator.comparingDouble(SuggestTrie.Entry::weight).reversed()
+                            .thenComparing(SuggestTrie.Entry::key))
+                    .limit(5)
+                    .map(SuggestTrie.Entry::key)
+                    .toList();
+            assertEquals(expected, keys(trie.lookup(prefix, 5)), "prefix " + prefix);
+        }
+    }
+
+    @Test
+    void empty_returnsNothing() {
+        assertTrue(SuggestTrie.EMPTY.lookup("a", 10).isEmpty());
+        assertEquals(0, SuggestTrie.EMPTY.size());
+    }
+
+    private static SuggestTrie.Entry entry(String key, double weight) {
+        return new SuggestTrie.Entry(key, key, "query", null, weight);
+    }
+
+    private static List<String> keys(List<SuggestTrie.Entry> entries) {
+        return entries.stream().map(SuggestTrie.Entry::key).toList();
+    }
+}